@@ -0,0 +1,76 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.aerodynamics.AerodynamicCalculator;
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.aerodynamics.BarrowmanCalculator;
+import info.openrocket.core.aerodynamics.FlightConditions;
+import info.openrocket.core.aerodynamics.TabulatedAerodynamicCalculator;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+
+/**
+ * Benchmarks {@link AerodynamicCalculator#getAerodynamicForces} of the Barrowman calculator
+ * and the tabulated calculator.  The flight conditions cycle through a set of Mach numbers and
+ * angles of attack, so that the tabulated calculator is measured between the grid points.
+ * The tables are built during the setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AerodynamicsBenchmark {
+
+	private static final int CONDITIONS = 64;
+
+	@Param({ BenchmarkFixtures.ALPHA_III, BenchmarkFixtures.FALCON_9_HEAVY })
+	public String rocket;
+
+	@Param({ "barrowman", "tabulated" })
+	public String calculator;
+
+	private AerodynamicCalculator aerodynamicCalculator;
+	private FlightConfiguration configuration;
+	private FlightConditions[] conditions;
+	private final WarningSet warnings = new WarningSet();
+	private int index = 0;
+
+	@Setup
+	public void setup() {
+		configuration = BenchmarkFixtures.makeRocket(rocket).getSelectedConfiguration();
+		aerodynamicCalculator = switch (calculator) {
+			case "barrowman" -> new BarrowmanCalculator();
+			case "tabulated" -> new TabulatedAerodynamicCalculator();
+			default -> throw new IllegalArgumentException("Unknown calculator: " + calculator);
+		};
+
+		conditions = new FlightConditions[CONDITIONS];
+		for (int i = 0; i < CONDITIONS; i++) {
+			FlightConditions c = new FlightConditions(configuration);
+			c.setMach(0.1 + 1.5 * i / CONDITIONS);
+			c.setAOA(Math.toRadians((i * 7) % 15 + 0.5));
+			c.setTheta(0.1 * i);
+			c.setRollRate(5);
+			c.setPitchRate(0.2);
+			conditions[i] = c;
+		}
+		for (FlightConditions c : conditions) {
+			aerodynamicCalculator.getAerodynamicForces(configuration, c, warnings);
+		}
+	}
+
+	@Benchmark
+	public AerodynamicForces getAerodynamicForces() {
+		index = (index + 1) % CONDITIONS;
+		return aerodynamicCalculator.getAerodynamicForces(configuration, conditions[index], warnings);
+	}
+}
@@ -0,0 +1,46 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.models.atmosphere.ExtendedISAModel;
+
+/**
+ * Benchmarks {@link ExtendedISAModel#getConditions} at altitudes spread over the range of
+ * the model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AtmosphereBenchmark {
+
+	private static final int ALTITUDES = 256;
+
+	private ExtendedISAModel model;
+	private final double[] altitudes = new double[ALTITUDES];
+	private int index = 0;
+
+	@Setup
+	public void setup() {
+		BenchmarkFixtures.initialize();
+		model = new ExtendedISAModel();
+		for (int i = 0; i < ALTITUDES; i++) {
+			altitudes[i] = 80000.0 * i / ALTITUDES;
+		}
+		model.getConditions(0);
+	}
+
+	@Benchmark
+	public AtmosphericConditions getConditions() {
+		index = (index + 1) % ALTITUDES;
+		return model.getConditions(altitudes[index]);
+	}
+}
@@ -0,0 +1,132 @@
+package info.openrocket.benchmarks;
+
+import info.openrocket.core.cli.HeadlessModule;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.motor.Motor;
+import info.openrocket.core.motor.MotorConfiguration;
+import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.plugin.PluginModule;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.TestRockets;
+
+import com.google.inject.Guice;
+
+/**
+ * The rockets and documents used by the benchmarks, built from the {@link TestRockets} fixtures.
+ * <p>
+ * The application is initialized with the headless module without loading the motor and
+ * component databases.  The motors of the fixtures are added to the empty motor database,
+ * so that saved documents can be loaded back with the same motors.
+ */
+public final class BenchmarkFixtures {
+
+	/** The fixture names accepted by {@link #makeRocket(String)} */
+	public static final String ALPHA_III = "alphaIII";
+	public static final String FALCON_9_HEAVY = "falcon9Heavy";
+
+	private static boolean initialized = false;
+
+	private BenchmarkFixtures() {
+	}
+
+	/**
+	 * Initialize the application for the benchmarks.  Subsequent calls do nothing.
+	 */
+	public static synchronized void initialize() {
+		if (initialized) {
+			return;
+		}
+		System.setProperty("java.awt.headless", "true");
+		System.setProperty("openrocket.bypass.presets", "true");
+		System.setProperty("openrocket.bypass.motors", "true");
+
+		HeadlessModule module = new HeadlessModule();
+		Application.setInjector(Guice.createInjector(module, new PluginModule()));
+		module.startLoader();
+		initialized = true;
+	}
+
+	/**
+	 * Create a rocket fixture by name.  The motors of all flight configurations of the rocket are
+	 * added to the motor database.
+	 *
+	 * @param name	the fixture name, {@link #ALPHA_III} or {@link #FALCON_9_HEAVY}.
+	 * @return		a new rocket with its flight configuration selected.
+	 */
+	public static Rocket makeRocket(String name) {
+		initialize();
+		Rocket rocket;
+		switch (name) {
+			case ALPHA_III -> {
+				rocket = TestRockets.makeEstesAlphaIII();
+				rocket.setSelectedConfiguration(TestRockets.TEST_FCID_0);
+			}
+			case FALCON_9_HEAVY -> rocket = TestRockets.makeFalcon9Heavy();
+			default -> throw new IllegalArgumentException("Unknown rocket fixture: " + name);
+		}
+		registerMotors(rocket);
+		return rocket;
+	}
+
+	/**
+	 * Create a document of a rocket fixture with one simulation of the selected flight
+	 * configuration.
+	 *
+	 * @param name		the fixture name.
+	 * @param simulate	whether to run the simulation, so that the document contains flight data.
+	 */
+	public static OpenRocketDocument makeDocument(String name, boolean simulate) throws Exception {
+		Rocket rocket = makeRocket(name);
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		Simulation simulation = new Simulation(document, rocket);
+		simulation.setFlightConfigurationId(rocket.getSelectedConfiguration().getFlightConfigurationID());
+		configure(simulation);
+		if (simulate) {
+			simulation.simulate();
+		}
+		document.addSimulation(simulation);
+		return document;
+	}
+
+	/**
+	 * Set simulation options that make the fixtures fly reliably: the ISA atmosphere, a light
+	 * steady wind and a fixed random seed.
+	 */
+	public static void configure(Simulation simulation) {
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.getOptions().getAverageWindModel().setAverage(0.1);
+		simulation.getOptions().getAverageWindModel().setStandardDeviation(0.02);
+		simulation.getOptions().setRandomSeed(42);
+	}
+
+	/**
+	 * Return the thrust curve motor of the Estes Alpha III fixture.
+	 */
+	public static ThrustCurveMotor getAlphaIIIMotor() {
+		Rocket rocket = makeRocket(ALPHA_III);
+		for (MotorConfiguration motorConfig : rocket.getSelectedConfiguration().getActiveMotors()) {
+			if (motorConfig.getMotor() instanceof ThrustCurveMotor motor) {
+				return motor;
+			}
+		}
+		throw new IllegalStateException("The Alpha III fixture has no thrust curve motor");
+	}
+
+	private static void registerMotors(Rocket rocket) {
+		ThrustCurveMotorSetDatabase database = Application.getInjector().getInstance(ThrustCurveMotorSetDatabase.class);
+		for (FlightConfigurationId id : rocket.getIds()) {
+			for (MotorConfiguration motorConfig : rocket.getFlightConfiguration(id).getActiveMotors()) {
+				Motor motor = motorConfig.getMotor();
+				if (motor instanceof ThrustCurveMotor thrustCurveMotor) {
+					database.addMotor(thrustCurveMotor);
+				}
+			}
+		}
+	}
+}
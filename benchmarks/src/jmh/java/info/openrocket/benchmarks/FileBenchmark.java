@@ -0,0 +1,66 @@
+package info.openrocket.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.RocketLoadException;
+import info.openrocket.core.file.openrocket.OpenRocketSaver;
+import info.openrocket.core.logging.ErrorSet;
+import info.openrocket.core.logging.WarningSet;
+
+/**
+ * Benchmarks saving a document with {@link OpenRocketSaver} and loading it back with
+ * {@link GeneralRocketLoader}, in memory.  The documents contain one simulation, with
+ * its flight data when <code>simulationData</code> is set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FileBenchmark {
+
+	@Param({ BenchmarkFixtures.ALPHA_III, BenchmarkFixtures.FALCON_9_HEAVY })
+	public String rocket;
+
+	@Param({ "false", "true" })
+	public boolean simulationData;
+
+	private OpenRocketDocument document;
+	private StorageOptions options;
+	private byte[] saved;
+
+	@Setup
+	public void setup() throws Exception {
+		document = BenchmarkFixtures.makeDocument(rocket, simulationData);
+		options = new StorageOptions();
+		options.setSaveSimulationData(simulationData);
+		saved = save().toByteArray();
+	}
+
+	@Benchmark
+	public ByteArrayOutputStream save() throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		new OpenRocketSaver().save(output, document, options, new WarningSet(), new ErrorSet());
+		return output;
+	}
+
+	@Benchmark
+	public OpenRocketDocument load() throws RocketLoadException {
+		GeneralRocketLoader loader = new GeneralRocketLoader(new File(rocket + ".ork"));
+		return loader.load(new ByteArrayInputStream(saved), rocket);
+	}
+}
@@ -0,0 +1,86 @@
+package info.openrocket.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.GeneralRocketSaver;
+import info.openrocket.core.file.RocketLoadException;
+import info.openrocket.core.file.openrocket.OpenRocketSaver;
+import info.openrocket.core.logging.ErrorSet;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.simulation.FlightData;
+
+/**
+ * Benchmarks loading documents with large amounts of flight data, and accessing the data of
+ * every simulation.  The document contains <code>simulations</code> copies of an Estes
+ * Alpha III simulation with a 5 ms time step.
+ * <p>
+ * The <code>xml</code> format stores the data points as text, which is read with the
+ * streaming fast path of the XML import.  The <code>zip</code> format stores them in binary
+ * entries of the zip container.  The allocation rate of the gc profiler shows the garbage
+ * produced per load.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FlightDataLoadBenchmark {
+
+	@Param({ "xml", "zip" })
+	public String format;
+
+	@Param({ "1", "10" })
+	public int simulations;
+
+	private byte[] saved;
+
+	@Setup
+	public void setup() throws Exception {
+		OpenRocketDocument document = BenchmarkFixtures.makeDocument(BenchmarkFixtures.ALPHA_III, false);
+		Simulation simulation = document.getSimulation(0);
+		simulation.getOptions().setTimeStep(0.005);
+		simulation.simulate();
+		FlightData data = simulation.getSimulatedData();
+		for (int i = 1; i < simulations; i++) {
+			document.addSimulation(new Simulation(document, document.getRocket(), Simulation.Status.LOADED,
+					"Simulation " + i, simulation.getOptions().clone(), new ArrayList<>(), data));
+		}
+
+		StorageOptions options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		if (format.equals("zip")) {
+			new GeneralRocketSaver().saveAllPartsZipFile(output, document, options, new HashSet<>());
+		} else {
+			new OpenRocketSaver().save(output, document, options, new WarningSet(), new ErrorSet());
+		}
+		saved = output.toByteArray();
+	}
+
+	@Benchmark
+	public int load() throws RocketLoadException {
+		GeneralRocketLoader loader = new GeneralRocketLoader(new File("benchmark.ork"));
+		OpenRocketDocument document = loader.load(new ByteArrayInputStream(saved), "benchmark");
+		int points = 0;
+		for (Simulation simulation : document.getSimulations()) {
+			points += simulation.getSimulatedData().getBranch(0).getLength();
+		}
+		return points;
+	}
+}
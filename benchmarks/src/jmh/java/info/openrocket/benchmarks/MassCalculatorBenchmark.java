@@ -0,0 +1,47 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.masscalc.MassCalculator;
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+
+/**
+ * Benchmarks the mass calculations of {@link MassCalculator}: the full launch mass calculation
+ * and the cached structure mass used during the simulation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MassCalculatorBenchmark {
+
+	@Param({ BenchmarkFixtures.ALPHA_III, BenchmarkFixtures.FALCON_9_HEAVY })
+	public String rocket;
+
+	private FlightConfiguration configuration;
+	private final MassCalculator calculator = new MassCalculator();
+
+	@Setup
+	public void setup() {
+		configuration = BenchmarkFixtures.makeRocket(rocket).getSelectedConfiguration();
+	}
+
+	@Benchmark
+	public RigidBody calculateLaunch() {
+		return MassCalculator.calculateLaunch(configuration);
+	}
+
+	@Benchmark
+	public RigidBody getStructure() {
+		return calculator.getStructure(configuration);
+	}
+}
@@ -0,0 +1,44 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.motor.ThrustCurveMotor;
+
+/**
+ * Benchmarks {@link ThrustCurveMotor#getThrust} at times spread over the burn of the motor
+ * of the Estes Alpha III fixture.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MotorBenchmark {
+
+	private static final int TIMES = 256;
+
+	private ThrustCurveMotor motor;
+	private final double[] times = new double[TIMES];
+	private int index = 0;
+
+	@Setup
+	public void setup() {
+		motor = BenchmarkFixtures.getAlphaIIIMotor();
+		double burnTime = motor.getBurnTimeEstimate();
+		for (int i = 0; i < TIMES; i++) {
+			times[i] = 1.1 * burnTime * i / TIMES;
+		}
+	}
+
+	@Benchmark
+	public double getThrust() {
+		index = (index + 1) % TIMES;
+		return motor.getThrust(times[index]);
+	}
+}
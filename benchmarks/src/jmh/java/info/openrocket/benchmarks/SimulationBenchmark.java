@@ -0,0 +1,58 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.exception.SimulationException;
+
+/**
+ * Benchmarks complete simulations with the Barrowman and the tabulated aerodynamic calculator.
+ * <p>
+ * Each simulation creates a new aerodynamic calculator, as when simulations are run from the
+ * user interface.  The tabulated calculators share the tables of the rocket, so only the
+ * first simulation (during the warmup) builds them, and the measured simulations interpolate
+ * in the shared tables.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimulationBenchmark {
+
+	@Param({ BenchmarkFixtures.ALPHA_III, BenchmarkFixtures.FALCON_9_HEAVY })
+	public String rocket;
+
+	@Param({ "barrowman", "tabulated" })
+	public String aerodynamics;
+
+	private Simulation simulation;
+
+	@Setup
+	public void setup() {
+		Rocket r = BenchmarkFixtures.makeRocket(rocket);
+		simulation = new Simulation(r);
+		simulation.setFlightConfigurationId(r.getSelectedConfiguration().getFlightConfigurationID());
+		BenchmarkFixtures.configure(simulation);
+		simulation.getOptions().setTabulatedAerodynamics(switch (aerodynamics) {
+			case "barrowman" -> false;
+			case "tabulated" -> true;
+			default -> throw new IllegalArgumentException("Unknown aerodynamics: " + aerodynamics);
+		});
+	}
+
+	@Benchmark
+	public FlightData simulate() throws SimulationException {
+		simulation.simulate();
+		return simulation.getSimulatedData();
+	}
+}
@@ -0,0 +1,82 @@
+package info.openrocket.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.RK4SimulationStepper;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.Quaternion;
+
+/**
+ * Benchmarks {@link RK4SimulationStepper#step} during the coast phase of a flight.
+ * <p>
+ * Each invocation resets the rocket to the same state, a short distance above the launch
+ * rod with a small pitch angle, and integrates a fixed number of steps.  The flight data
+ * branch is replaced on every invocation, so that the stored data points do not accumulate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SimulationStepperBenchmark {
+
+	private static final int STEPS = 50;
+
+	private static final Coordinate POSITION = new Coordinate(0, 0, 20);
+	private static final Coordinate VELOCITY = new Coordinate(2, 0, 60);
+	private static final Quaternion ORIENTATION = Quaternion.rotation(new Coordinate(0, 0.05, 0));
+
+	@Param({ BenchmarkFixtures.ALPHA_III, BenchmarkFixtures.FALCON_9_HEAVY })
+	public String rocket;
+
+	private RK4SimulationStepper stepper;
+	private SimulationStatus status;
+
+	@Setup
+	public void setup() {
+		Rocket r = BenchmarkFixtures.makeRocket(rocket);
+		Simulation simulation = new Simulation(r);
+		simulation.setFlightConfigurationId(r.getSelectedConfiguration().getFlightConfigurationID());
+		BenchmarkFixtures.configure(simulation);
+
+		SimulationConditions conditions = simulation.getOptions().toSimulationConditions();
+		conditions.setSimulation(simulation);
+
+		stepper = new RK4SimulationStepper();
+		status = stepper.initialize(new SimulationStatus(r.getSelectedConfiguration(), conditions));
+		status.setMotorIgnited(true);
+		status.setLiftoff(true);
+		status.setLaunchRodCleared(true);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(STEPS)
+	public SimulationStatus step() throws SimulationException {
+		status.setFlightDataBranch(new FlightDataBranch(rocket, FlightDataType.TYPE_TIME));
+		status.setSimulationTime(3);
+		status.setRocketPosition(POSITION);
+		status.setRocketVelocity(VELOCITY);
+		status.setRocketOrientationQuaternion(ORIENTATION);
+		status.setRocketRotationVelocity(Coordinate.ZERO);
+
+		for (int i = 0; i < STEPS; i++) {
+			stepper.step(status, 0.05);
+		}
+		return status;
+	}
+}
@@ -0,0 +1,227 @@
+package info.openrocket.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+
+/**
+ * Compares JMH results against a baseline, both in the JSON result format of JMH.
+ * <p>
+ * For each benchmark present in both results, the score and the normalized allocation rate
+ * of the gc profiler (bytes per operation) are compared.  A benchmark has regressed if its
+ * score is worse than the baseline by more than the threshold, or its allocation rate is
+ * higher by more than the threshold and by at least one byte per operation.  The scores of
+ * the throughput mode are better when higher, the scores of the other modes when lower.
+ * <p>
+ * Usage: <code>BenchmarkComparison baseline.json current.json [threshold]</code>, where the
+ * threshold is a fraction and defaults to 0.1.  The exit status is 1 if any benchmark has
+ * regressed and 2 if the results cannot be read.
+ */
+public class BenchmarkComparison {
+
+	public static final double DEFAULT_THRESHOLD = 0.1;
+
+	/** The secondary metric of the gc profiler holding the allocation per operation */
+	static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+	/** Differences in allocation smaller than this (bytes per operation) are ignored */
+	private static final double ALLOCATION_SLACK = 1.0;
+
+	/**
+	 * The result of a single benchmark.
+	 *
+	 * @param name			the benchmark name including its parameters.
+	 * @param mode			the JMH mode, e.g. "thrpt" or "avgt".
+	 * @param score			the primary score.
+	 * @param unit			the unit of the primary score.
+	 * @param allocation	the allocation in bytes per operation, or NaN if not measured.
+	 */
+	record Result(String name, String mode, double score, String unit, double allocation) {
+
+		boolean isHigherBetter() {
+			return "thrpt".equals(mode);
+		}
+	}
+
+	/**
+	 * The comparison of a benchmark against the baseline.  The changes are relative and
+	 * positive when the benchmark has improved.
+	 */
+	record Comparison(Result baseline, Result current, double scoreChange, double allocationChange,
+			boolean regressed) {
+	}
+
+	public static void main(String[] args) {
+		if (args.length < 2 || args.length > 3) {
+			System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold]");
+			System.exit(2);
+		}
+
+		final Map<String, Result> baseline;
+		final Map<String, Result> current;
+		final double threshold;
+		try {
+			baseline = read(Path.of(args[0]));
+			current = read(Path.of(args[1]));
+			threshold = (args.length > 2) ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+		} catch (IOException | JsonException | NumberFormatException e) {
+			System.err.println("Unable to read the benchmark results: " + e.getMessage());
+			System.exit(2);
+			return;
+		}
+
+		List<Comparison> comparisons = compare(baseline, current, threshold);
+		System.out.print(report(comparisons, baseline, current, threshold));
+		if (comparisons.stream().anyMatch(Comparison::regressed)) {
+			System.exit(1);
+		}
+	}
+
+	static Map<String, Result> read(Path file) throws IOException {
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return read(reader);
+		}
+	}
+
+	/**
+	 * Read the results in the JSON result format of JMH.
+	 *
+	 * @return	the results by benchmark name, including the parameters.
+	 */
+	static Map<String, Result> read(Reader reader) {
+		Map<String, Result> results = new LinkedHashMap<>();
+		JsonArray array;
+		try (JsonReader json = Json.createReader(reader)) {
+			array = json.readArray();
+		}
+		for (JsonValue value : array) {
+			JsonObject benchmark = value.asJsonObject();
+			String name = getName(benchmark);
+			JsonObject primary = benchmark.getJsonObject("primaryMetric");
+
+			double allocation = Double.NaN;
+			JsonObject secondary = benchmark.getJsonObject("secondaryMetrics");
+			if (secondary != null && secondary.containsKey(ALLOCATION_METRIC)) {
+				allocation = secondary.getJsonObject(ALLOCATION_METRIC).getJsonNumber("score").doubleValue();
+			}
+
+			results.put(name, new Result(name, benchmark.getString("mode"),
+					primary.getJsonNumber("score").doubleValue(), primary.getString("scoreUnit"), allocation));
+		}
+		return results;
+	}
+
+	private static String getName(JsonObject benchmark) {
+		StringBuilder name = new StringBuilder(benchmark.getString("benchmark"));
+		JsonObject params = benchmark.getJsonObject("params");
+		if (params != null) {
+			// Sort the parameters so that the names do not depend on their order in the file
+			Map<String, String> sorted = new TreeMap<>();
+			params.forEach((key, v) -> sorted.put(key, ((JsonString) v).getString()));
+			StringBuilder suffix = new StringBuilder();
+			sorted.forEach((key, v) -> suffix.append(suffix.isEmpty() ? "" : ",").append(key).append('=').append(v));
+			name.append(" [").append(suffix).append(']');
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Compare the benchmarks present in both results.
+	 *
+	 * @param baseline		the baseline results.
+	 * @param current		the current results.
+	 * @param threshold		the relative change above which a benchmark has regressed.
+	 * @return				the comparisons, in the order of the current results.
+	 */
+	static List<Comparison> compare(Map<String, Result> baseline, Map<String, Result> current, double threshold) {
+		List<Comparison> comparisons = new ArrayList<>();
+		for (Result cur : current.values()) {
+			Result base = baseline.get(cur.name());
+			if (base == null || !base.mode().equals(cur.mode()) || !base.unit().equals(cur.unit())) {
+				continue;
+			}
+
+			double scoreChange = (cur.score() - base.score()) / base.score();
+			if (!cur.isHigherBetter()) {
+				scoreChange = -scoreChange;
+			}
+
+			double allocationChange = Double.NaN;
+			boolean allocationRegressed = false;
+			if (!Double.isNaN(base.allocation()) && !Double.isNaN(cur.allocation())) {
+				double difference = cur.allocation() - base.allocation();
+				allocationChange = (base.allocation() > 0) ? -difference / base.allocation() : (difference > 0 ? -1 : 0);
+				allocationRegressed = difference >= ALLOCATION_SLACK && -allocationChange > threshold;
+			}
+
+			comparisons.add(new Comparison(base, cur, scoreChange, allocationChange,
+					-scoreChange > threshold || allocationRegressed));
+		}
+		return comparisons;
+	}
+
+	/**
+	 * Return a plain text report of the comparisons, listing also the benchmarks missing
+	 * from either result.
+	 */
+	static String report(List<Comparison> comparisons, Map<String, Result> baseline, Map<String, Result> current,
+			double threshold) {
+		StringBuilder sb = new StringBuilder();
+		int width = "Benchmark".length();
+		for (Comparison c : comparisons) {
+			width = Math.max(width, c.current().name().length());
+		}
+
+		String format = "%-" + width + "s  %12s  %12s  %8s  %12s  %12s  %8s  %s%n";
+		sb.append(String.format(format, "Benchmark", "Baseline", "Current", "Change", "Alloc base", "Alloc cur",
+				"Change", ""));
+		int regressions = 0;
+		for (Comparison c : comparisons) {
+			sb.append(String.format(format, c.current().name(),
+					formatValue(c.baseline().score()), formatValue(c.current().score()), formatChange(c.scoreChange()),
+					formatValue(c.baseline().allocation()), formatValue(c.current().allocation()),
+					formatChange(c.allocationChange()), c.regressed() ? "REGRESSED" : ""));
+			if (c.regressed()) {
+				regressions++;
+			}
+		}
+
+		for (String name : baseline.keySet()) {
+			if (!current.containsKey(name)) {
+				sb.append("Missing from the current results: ").append(name).append(System.lineSeparator());
+			}
+		}
+		for (String name : current.keySet()) {
+			if (!baseline.containsKey(name)) {
+				sb.append("Missing from the baseline: ").append(name).append(System.lineSeparator());
+			}
+		}
+
+		sb.append(String.format("%d of %d benchmarks regressed by more than %.0f %%%n", regressions,
+				comparisons.size(), threshold * 100));
+		return sb.toString();
+	}
+
+	private static String formatValue(double value) {
+		return Double.isNaN(value) ? "-" : String.format("%.3f", value);
+	}
+
+	private static String formatChange(double change) {
+		return Double.isNaN(change) ? "-" : String.format("%+.1f%%", change * 100);
+	}
+}
@@ -0,0 +1,87 @@
+package info.openrocket.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class BenchmarkComparisonTest {
+
+	private static String result(String benchmark, String mode, double score, double allocation) {
+		return "{ \"benchmark\" : \"" + benchmark + "\", \"mode\" : \"" + mode + "\", "
+				+ "\"params\" : { \"rocket\" : \"alphaIII\", \"calculator\" : \"barrowman\" }, "
+				+ "\"primaryMetric\" : { \"score\" : " + score + ", \"scoreUnit\" : \"ops/ms\" }, "
+				+ "\"secondaryMetrics\" : { \"gc.alloc.rate.norm\" : { \"score\" : " + allocation
+				+ ", \"scoreUnit\" : \"B/op\" } } }";
+	}
+
+	private static Map<String, BenchmarkComparison.Result> read(String... results) {
+		return BenchmarkComparison.read(new StringReader("[" + String.join(",", results) + "]"));
+	}
+
+	@Test
+	public void testRead() {
+		Map<String, BenchmarkComparison.Result> results = read(result("a.B.run", "thrpt", 12.5, 480));
+		BenchmarkComparison.Result result = results.get("a.B.run [calculator=barrowman,rocket=alphaIII]");
+		assertEquals("thrpt", result.mode());
+		assertEquals(12.5, result.score(), 0);
+		assertEquals("ops/ms", result.unit());
+		assertEquals(480, result.allocation(), 0);
+	}
+
+	@Test
+	public void testThroughputRegression() {
+		Map<String, BenchmarkComparison.Result> baseline = read(result("a.B.fast", "thrpt", 100, 0),
+				result("a.B.slow", "thrpt", 100, 0));
+		Map<String, BenchmarkComparison.Result> current = read(result("a.B.fast", "thrpt", 95, 0),
+				result("a.B.slow", "thrpt", 80, 0));
+
+		List<BenchmarkComparison.Comparison> comparisons = BenchmarkComparison.compare(baseline, current, 0.1);
+		assertEquals(2, comparisons.size());
+		assertEquals(-0.05, comparisons.get(0).scoreChange(), 1e-12);
+		assertFalse(comparisons.get(0).regressed());
+		assertEquals(-0.2, comparisons.get(1).scoreChange(), 1e-12);
+		assertTrue(comparisons.get(1).regressed());
+	}
+
+	@Test
+	public void testAverageTimeRegression() {
+		Map<String, BenchmarkComparison.Result> baseline = read(result("a.B.run", "avgt", 100, 0));
+		Map<String, BenchmarkComparison.Result> current = read(result("a.B.run", "avgt", 120, 0));
+
+		BenchmarkComparison.Comparison comparison = BenchmarkComparison.compare(baseline, current, 0.1).get(0);
+		assertEquals(-0.2, comparison.scoreChange(), 1e-12);
+		assertTrue(comparison.regressed());
+	}
+
+	@Test
+	public void testAllocationRegression() {
+		Map<String, BenchmarkComparison.Result> baseline = read(result("a.B.small", "thrpt", 100, 0.01),
+				result("a.B.large", "thrpt", 100, 1000));
+		Map<String, BenchmarkComparison.Result> current = read(result("a.B.small", "thrpt", 100, 0.5),
+				result("a.B.large", "thrpt", 100, 1200));
+
+		List<BenchmarkComparison.Comparison> comparisons = BenchmarkComparison.compare(baseline, current, 0.1);
+		// Differences of less than a byte per operation are noise
+		assertFalse(comparisons.get(0).regressed());
+		assertEquals(-0.2, comparisons.get(1).allocationChange(), 1e-12);
+		assertTrue(comparisons.get(1).regressed());
+	}
+
+	@Test
+	public void testMissingBenchmarks() {
+		Map<String, BenchmarkComparison.Result> baseline = read(result("a.B.old", "thrpt", 100, 0));
+		Map<String, BenchmarkComparison.Result> current = read(result("a.B.new", "thrpt", 100, 0));
+
+		List<BenchmarkComparison.Comparison> comparisons = BenchmarkComparison.compare(baseline, current, 0.1);
+		assertTrue(comparisons.isEmpty());
+		String report = BenchmarkComparison.report(comparisons, baseline, current, 0.1);
+		assertTrue(report.contains("Missing from the current results: a.B.old"));
+		assertTrue(report.contains("Missing from the baseline: a.B.new"));
+	}
+}
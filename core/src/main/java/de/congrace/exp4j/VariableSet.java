@@ -1,26 +1,41 @@
 package de.congrace.exp4j;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 public class VariableSet extends HashSet<Variable> {
 
+	// The variables by name, so that setting and looking up a variable does not search the set
+	private final Map<String, Variable> byName = new HashMap<>();
+
 	@Override
 	public boolean add(Variable v){
-		Variable previous = getVariableNamed(v.getName());
+		Variable previous = byName.put(v.getName(), v);
 		if ( previous != null ){
-			this.remove( previous );
+			super.remove( previous );
 		}
 			
 		return super.add(v);
 	}
+
+	@Override
+	public boolean remove(Object o){
+		boolean removed = super.remove(o);
+		if ( removed ){
+			byName.remove(((Variable) o).getName());
+		}
+		return removed;
+	}
+
+	@Override
+	public void clear(){
+		super.clear();
+		byName.clear();
+	}
 	
 	public Variable getVariableNamed(String name){
-		for (Variable var : this){
-			if (var.getName().equals(name) ){
-				return var;
-			}
-		}
-		return null;
+		return byName.get(name);
 	}
 	
 	public String[] getVariableNames(){
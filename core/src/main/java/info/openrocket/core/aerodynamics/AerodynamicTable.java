@@ -0,0 +1,244 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.Arrays;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.util.Coordinate;
+
+/**
+ * Aerodynamic coefficients of a rocket configuration sampled over a grid of flight conditions,
+ * with multilinear interpolation between the grid points.
+ * <p>
+ * The non-axial coefficients are sampled over Mach number, angle of attack and roll rate per
+ * unit airspeed.  The drag coefficient components are sampled over Mach number and the base
+ * 10 logarithm of the Reynolds number, since they do not depend on the angle of attack or the
+ * roll rate, but the friction drag depends on the Reynolds number.
+ * <p>
+ * Instances are filled once by {@link TabulatedAerodynamicCalculator} and are read-only
+ * afterwards, so they can be shared between the calculators of concurrent simulations.
+ */
+class AerodynamicTable {
+
+	// Indices of the non-axial coefficients
+	static final int CN = 0;
+	static final int CNA = 1;
+	static final int CP_X = 2;
+	static final int CP_WEIGHT = 3;
+	static final int CM = 4;
+	static final int CSIDE = 5;
+	static final int CYAW = 6;
+	static final int CROLL = 7;
+	static final int CROLL_DAMP = 8;
+	static final int CROLL_FORCE = 9;
+	static final int NONAXIAL_COUNT = 10;
+
+	// Indices of the drag coefficient components
+	static final int FRICTION_CD = 0;
+	static final int PRESSURE_CD = 1;
+	static final int BASE_CD = 2;
+	static final int OVERRIDE_CD = 3;
+	static final int DRAG_COUNT = 4;
+
+	private final double[] mach;
+	private final double[] aoa;
+	private final double[] roll;
+	private final double[] logRe;
+
+	private final double refLength;
+	private final double refArea;
+
+	private final double[][] nonaxial;
+	private final double[][] drag;
+	private final WarningSet[] warnings;
+
+	/** The maximum normalized error against the direct calculation, or NaN if not checked */
+	private double error = Double.NaN;
+
+	AerodynamicTable(double[] mach, double[] aoa, double[] roll, double[] logRe, double refLength, double refArea) {
+		this.mach = mach;
+		this.aoa = aoa;
+		this.roll = roll;
+		this.logRe = logRe;
+		this.refLength = refLength;
+		this.refArea = refArea;
+		this.nonaxial = new double[NONAXIAL_COUNT][mach.length * aoa.length * roll.length];
+		this.drag = new double[DRAG_COUNT][mach.length * logRe.length];
+		this.warnings = new WarningSet[mach.length];
+	}
+
+	int nonaxialIndex(int machIndex, int aoaIndex, int rollIndex) {
+		return (machIndex * aoa.length + aoaIndex) * roll.length + rollIndex;
+	}
+
+	int dragIndex(int machIndex, int reIndex) {
+		return machIndex * logRe.length + reIndex;
+	}
+
+	/**
+	 * Store the non-axial coefficients calculated at a grid point.
+	 */
+	void setNonaxial(int index, AerodynamicForces forces) {
+		Coordinate cp = forces.getCP();
+		nonaxial[CN][index] = forces.getCN();
+		nonaxial[CNA][index] = forces.getCNa();
+		nonaxial[CP_X][index] = (cp == null || Double.isNaN(cp.x)) ? 0 : cp.x;
+		nonaxial[CP_WEIGHT][index] = (cp == null || Double.isNaN(cp.weight)) ? 0 : cp.weight;
+		nonaxial[CM][index] = forces.getCm();
+		nonaxial[CSIDE][index] = forces.getCside();
+		nonaxial[CYAW][index] = forces.getCyaw();
+		nonaxial[CROLL][index] = forces.getCroll();
+		nonaxial[CROLL_DAMP][index] = forces.getCrollDamp();
+		nonaxial[CROLL_FORCE][index] = forces.getCrollForce();
+	}
+
+	/**
+	 * Store the drag coefficient components calculated at a grid point.
+	 */
+	void setDrag(int index, AerodynamicForces forces) {
+		drag[FRICTION_CD][index] = forces.getFrictionCD();
+		drag[PRESSURE_CD][index] = forces.getPressureCD();
+		drag[BASE_CD][index] = forces.getBaseCD();
+		drag[OVERRIDE_CD][index] = forces.getOverrideCD();
+	}
+
+	/**
+	 * Store the warnings produced by the calculations at a Mach number of the grid.
+	 */
+	void setWarnings(int machIndex, WarningSet set) {
+		warnings[machIndex] = set;
+	}
+
+	double getRefLength() {
+		return refLength;
+	}
+
+	double getRefArea() {
+		return refArea;
+	}
+
+	double getError() {
+		return error;
+	}
+
+	void setError(double error) {
+		this.error = error;
+	}
+
+	/**
+	 * Return whether the flight conditions are within the range of the grid.
+	 *
+	 * @param m				the Mach number.
+	 * @param reducedRoll	the roll rate per unit airspeed.
+	 * @param re			the Reynolds number.
+	 */
+	boolean contains(double m, double reducedRoll, double re) {
+		return m >= mach[0] && m <= mach[mach.length - 1] &&
+				reducedRoll >= roll[0] && reducedRoll <= roll[roll.length - 1] &&
+				Math.log10(Math.max(re, 1)) <= logRe[logRe.length - 1];
+	}
+
+	/**
+	 * Interpolate the coefficients at the given flight conditions into <code>forces</code>.
+	 * The conditions must be within the range of the grid, except that the angle of attack
+	 * and Reynolds number are clamped to it.
+	 *
+	 * @param m				the Mach number.
+	 * @param a				the angle of attack.
+	 * @param reducedRoll	the roll rate per unit airspeed.
+	 * @param re			the Reynolds number.
+	 * @param forces		the forces to fill.
+	 * @param warningSet	the set to add the warnings of the nearest Mach number to.
+	 */
+	void interpolate(double m, double a, double reducedRoll, double re, AerodynamicForces forces,
+			WarningSet warningSet) {
+		final int i = findCell(mach, m);
+		final int j = findCell(aoa, a);
+		final int k = findCell(roll, reducedRoll);
+		final double fi = fraction(mach, i, m);
+		final double fj = fraction(aoa, j, a);
+		final double fk = fraction(roll, k, reducedRoll);
+
+		// Accumulate in locals, as this is called on every simulation step
+		double cn = 0, cna = 0, cpX = 0, cpWeight = 0, cm = 0, cside = 0, cyaw = 0, croll = 0, crollDamp = 0,
+				crollForce = 0;
+		for (int di = 0; di <= 1; di++) {
+			final double wi = (di == 0) ? 1 - fi : fi;
+			for (int dj = 0; dj <= 1; dj++) {
+				final double wj = wi * ((dj == 0) ? 1 - fj : fj);
+				for (int dk = 0; dk <= 1; dk++) {
+					final double w = wj * ((dk == 0) ? 1 - fk : fk);
+					if (w == 0) {
+						continue;
+					}
+					final int index = nonaxialIndex(i + di, j + dj, k + dk);
+					cn += w * nonaxial[CN][index];
+					cna += w * nonaxial[CNA][index];
+					cpX += w * nonaxial[CP_X][index];
+					cpWeight += w * nonaxial[CP_WEIGHT][index];
+					cm += w * nonaxial[CM][index];
+					cside += w * nonaxial[CSIDE][index];
+					cyaw += w * nonaxial[CYAW][index];
+					croll += w * nonaxial[CROLL][index];
+					crollDamp += w * nonaxial[CROLL_DAMP][index];
+					crollForce += w * nonaxial[CROLL_FORCE][index];
+				}
+			}
+		}
+
+		forces.setCN(cn);
+		forces.setCNa(cna);
+		forces.setCP(new Coordinate(cpX, 0, 0, cpWeight));
+		forces.setCm(cm);
+		forces.setCside(cside);
+		forces.setCyaw(cyaw);
+		forces.setCroll(croll);
+		forces.setCrollDamp(crollDamp);
+		forces.setCrollForce(crollForce);
+
+		final double r = Math.log10(Math.max(re, 1));
+		final int l = findCell(logRe, r);
+		final double fl = fraction(logRe, l, r);
+		final int i00 = dragIndex(i, l);
+		final int i10 = dragIndex(i + 1, l);
+		final double w00 = (1 - fi) * (1 - fl);
+		final double w01 = (1 - fi) * fl;
+		final double w10 = fi * (1 - fl);
+		final double w11 = fi * fl;
+		forces.setFrictionCD(bilinear(drag[FRICTION_CD], i00, i10, w00, w01, w10, w11));
+		forces.setPressureCD(bilinear(drag[PRESSURE_CD], i00, i10, w00, w01, w10, w11));
+		forces.setBaseCD(bilinear(drag[BASE_CD], i00, i10, w00, w01, w10, w11));
+		forces.setOverrideCD(bilinear(drag[OVERRIDE_CD], i00, i10, w00, w01, w10, w11));
+
+		if (warningSet != null) {
+			final WarningSet nearest = warnings[(fi < 0.5) ? i : i + 1];
+			if (nearest != null) {
+				warningSet.addAll(nearest);
+			}
+		}
+	}
+
+	private static double bilinear(double[] values, int i00, int i10, double w00, double w01, double w10,
+			double w11) {
+		return w00 * values[i00] + w01 * values[i00 + 1] + w10 * values[i10] + w11 * values[i10 + 1];
+	}
+
+	/**
+	 * Return the index of the grid cell containing <code>x</code>, that is the index of the
+	 * last grid value not greater than <code>x</code>, limited to the cells of the axis.
+	 */
+	static int findCell(double[] axis, double x) {
+		int index = Arrays.binarySearch(axis, x);
+		if (index < 0) {
+			index = -index - 2;
+		}
+		return Math.max(0, Math.min(index, axis.length - 2));
+	}
+
+	/**
+	 * Return the fractional position of <code>x</code> within a grid cell, clamped to 0...1.
+	 */
+	static double fraction(double[] axis, int cell, double x) {
+		final double f = (x - axis[cell]) / (axis[cell + 1] - axis[cell]);
+		return Math.max(0, Math.min(f, 1));
+	}
+}
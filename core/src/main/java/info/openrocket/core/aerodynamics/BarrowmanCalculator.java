@@ -210,6 +210,21 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 			FlightConditions conditions, WarningSet warnings) {
 		checkCache(configuration);
 		
+		AerodynamicForces total = calculateCoefficients(configuration, conditions, warnings);
+		return completeForces(configuration, conditions, total);
+	}
+
+	/**
+	 * Calculate the non-axial forces and the drag coefficient components of the rocket, without
+	 * the damping moments and the total drag coefficients.
+	 *
+	 * @param configuration Rocket configuration
+	 * @param conditions    flight conditions in consideration
+	 * @param warnings      the set in which to place warnings, or <code>null</code>
+	 * @return              the non-axial forces and drag coefficient components
+	 */
+	AerodynamicForces calculateCoefficients(FlightConfiguration configuration, FlightConditions conditions,
+			WarningSet warnings) {
 		if (warnings == null)
 			warnings = ignoreWarningSet;
 		
@@ -222,6 +237,25 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		total.setBaseCD(calculateBaseCD(configuration, conditions, null, warnings));
 		total.setOverrideCD(calculateOverrideCD(configuration, conditions, null, null, warnings));
 		
+		return total;
+	}
+
+	/**
+	 * Complete the total aerodynamic forces from the non-axial forces and the drag coefficient
+	 * components: calculate the total and axial drag coefficients and the pitch and yaw damping
+	 * moments, and update the stall margin.
+	 *
+	 * @param configuration Rocket configuration
+	 * @param conditions    flight conditions in consideration
+	 * @param total         the non-axial forces and drag coefficient components, modified in place
+	 * @return              <code>total</code>
+	 */
+	AerodynamicForces completeForces(FlightConfiguration configuration, FlightConditions conditions,
+			AerodynamicForces total) {
+		checkCache(configuration);
+		if (calcMap == null)
+			buildCalcMap(configuration);
+
 		total.setCD(total.getFrictionCD() + total.getPressureCD() + total.getBaseCD() + total.getOverrideCD());
 		
 		total.setCDaxial(calculateAxialCD(conditions, total.getCD()));
@@ -0,0 +1,439 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.ModID;
+
+/**
+ * An aerodynamic calculator that serves {@link #getAerodynamicForces} by interpolation in
+ * tables of coefficients that are precomputed with a {@link BarrowmanCalculator}.
+ * <p>
+ * The geometry of the rocket is fixed during a flight, so the Barrowman calculation of each
+ * component can be replaced by sampling the coefficients once over a grid of Mach number,
+ * angle of attack and roll rate.  The roll rate is tabulated per unit airspeed, since the
+ * roll damping of the fins depends only on the ratio of the roll rate and the airspeed.  The
+ * drag components are tabulated separately over Mach number and Reynolds number.  The pitch
+ * and yaw damping moments and the axial drag are calculated directly, as they depend on the
+ * CG position and are cheap to compute.
+ * <p>
+ * A table is built for each set of active stages the first time it is needed, and is
+ * discarded when the aerodynamic properties of the rocket change.  The tables are shared
+ * between all calculators, keyed on the aerodynamic and tree modification IDs of the rocket
+ * and the active stages, so that repeated simulations of the same design (whose rocket copies
+ * keep the modification IDs) build each table only once.  A table is built in parallel on a
+ * dedicated pool of daemon threads, not on the common fork-join pool, which may already be
+ * running the simulations.  After building, the table is compared against the direct calculation at
+ * random flight conditions off the grid points (including random lateral wind directions).
+ * If the error exceeds the tolerance, for example for rockets with fewer than three fins
+ * whose forces depend on the wind direction, the direct calculation is used instead.
+ * Flight conditions outside the grid or with a different reference length, the CP and the
+ * component force analysis always use the direct calculation.
+ */
+public class TabulatedAerodynamicCalculator extends AbstractAerodynamicCalculator {
+	private static final Logger log = LoggerFactory.getLogger(TabulatedAerodynamicCalculator.class);
+
+	/** Default maximum normalized error of the tables */
+	public static final double DEFAULT_TOLERANCE = 0.05;
+
+	/**
+	 * Mach numbers of the grid, denser at very low speeds where the body lift at large angles
+	 * of attack is faded in, and in the transonic region.  Lower speeds use the direct calculation.
+	 */
+	private static final double[] MACH = concat(range(0.01, 0.05, 0.01), range(0.1, 0.8, 0.05),
+			range(0.85, 1.3, 0.025), range(1.35, 3.0, 0.1));
+
+	/** Angles of attack of the grid, including the stall angles of the fins */
+	private static final double[] AOA = degrees(0, 1, 2, 3, 4, 6, 8, 10, 13, 15, 17.5, 20, 22.5, 26.25, 30, 35,
+			45, 60, 75, 90, 105, 120, 135, 150, 165, 180);
+
+	/** Roll rates per unit airspeed of the grid (rad/m) */
+	private static final double[] ROLL = { -8, -4, -2, -1, -0.5, -0.25, 0, 0.25, 0.5, 1, 2, 4, 8 };
+
+	/** Base 10 logarithms of the Reynolds numbers of the drag table */
+	private static final double[] LOG_RE = range(4, 9, 0.125);
+
+	/** Number of random flight conditions used for the accuracy check */
+	private static final int CHECK_SAMPLES = 200;
+
+	/** Maximum number of tables shared between the calculators, each takes about 1 MB */
+	private static final int SHARED_TABLES = 8;
+
+	/** The shared tables, least recently used first.  A table being built is not yet completed. */
+	private static final Map<TableKey, CompletableFuture<AerodynamicTable>> sharedTables =
+			new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<TableKey, CompletableFuture<AerodynamicTable>> eldest) {
+					return size() > SHARED_TABLES;
+				}
+			};
+
+	/** The threads building the tables, which exit when idle */
+	private static final ThreadPoolExecutor builders;
+	static {
+		final int threads = Math.max(1, Math.min(MACH.length, Runtime.getRuntime().availableProcessors()));
+		builders = new ThreadPoolExecutor(threads, threads, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread t = new Thread(r, "AerodynamicTableBuilder");
+			t.setDaemon(true);
+			return t;
+		});
+		builders.allowCoreThreadTimeOut(true);
+	}
+
+	private final BarrowmanCalculator delegate;
+	private final double tolerance;
+
+	private final Map<BitSet, AerodynamicTable> tables = new HashMap<>();
+
+	public TabulatedAerodynamicCalculator() {
+		this(new BarrowmanCalculator(), DEFAULT_TOLERANCE);
+	}
+
+	/**
+	 * Construct a tabulated calculator.
+	 *
+	 * @param delegate		the calculator used to build the tables and for the direct calculations.
+	 * @param tolerance		the maximum normalized error of a table against the direct calculation,
+	 * 						above which the direct calculation is used.
+	 */
+	public TabulatedAerodynamicCalculator(BarrowmanCalculator delegate, double tolerance) {
+		this.delegate = delegate;
+		this.tolerance = tolerance;
+	}
+
+	@Override
+	public TabulatedAerodynamicCalculator newInstance() {
+		return new TabulatedAerodynamicCalculator(delegate.newInstance(), tolerance);
+	}
+
+	@Override
+	public double getStallMargin() {
+		return delegate.getStallMargin();
+	}
+
+	@Override
+	public Coordinate getCP(FlightConfiguration configuration, FlightConditions conditions, WarningSet warnings) {
+		return delegate.getCP(configuration, conditions, warnings);
+	}
+
+	@Override
+	public Map<RocketComponent, AerodynamicForces> getForceAnalysis(FlightConfiguration configuration,
+			FlightConditions conditions, WarningSet warnings) {
+		return delegate.getForceAnalysis(configuration, conditions, warnings);
+	}
+
+	@Override
+	public void checkGeometry(FlightConfiguration configuration, RocketComponent component, WarningSet warnings) {
+		delegate.checkGeometry(configuration, component, warnings);
+	}
+
+	@Override
+	public AerodynamicForces getAerodynamicForces(FlightConfiguration configuration, FlightConditions conditions,
+			WarningSet warnings) {
+		checkCache(configuration);
+
+		AerodynamicTable table = getTable(configuration);
+		if (table.getError() > tolerance || !matchesReference(table, conditions)) {
+			return delegate.getAerodynamicForces(configuration, conditions, warnings);
+		}
+
+		final double velocity = conditions.getVelocity();
+		final double reducedRoll = conditions.getRollRate() / velocity;
+		final double re = getReynoldsNumber(configuration, conditions);
+		if (!(velocity > 0) || !table.contains(conditions.getMach(), reducedRoll, re)) {
+			return delegate.getAerodynamicForces(configuration, conditions, warnings);
+		}
+
+		AerodynamicForces total = new AerodynamicForces().zero();
+		table.interpolate(conditions.getMach(), conditions.getAOA(), reducedRoll, re, total, warnings);
+		return delegate.completeForces(configuration, conditions, total);
+	}
+
+	/**
+	 * Return the maximum normalized error of the table of the configuration against the direct
+	 * calculation, building the table if necessary.  The error of each of CN, Cm, Croll and CD
+	 * is normalized by the largest magnitude of the quantity over the checked flight conditions.
+	 *
+	 * @param configuration		the rocket configuration.
+	 * @return					the maximum normalized error.
+	 */
+	public double getTableError(FlightConfiguration configuration) {
+		checkCache(configuration);
+		return getTable(configuration).getError();
+	}
+
+	/**
+	 * Return whether the tabulated forces are used for the configuration, that is whether its
+	 * table is accurate to within the tolerance.
+	 */
+	public boolean isTabulated(FlightConfiguration configuration) {
+		return getTableError(configuration) <= tolerance;
+	}
+
+	@Override
+	protected void voidAerodynamicCache() {
+		super.voidAerodynamicCache();
+		tables.clear();
+	}
+
+	@Override
+	public ModID getModID() {
+		// Only cached data is stored, return constant mod ID
+		return ModID.ZERO;
+	}
+
+
+	/**
+	 * Return the table of the configuration, building it if necessary.
+	 */
+	/* package-private */ AerodynamicTable getTable(FlightConfiguration configuration) {
+		checkCache(configuration);
+		BitSet stages = getActiveStages(configuration);
+		AerodynamicTable table = tables.get(stages);
+		if (table == null) {
+			table = getSharedTable(configuration, stages);
+			tables.put(stages, table);
+		}
+		return table;
+	}
+
+	/**
+	 * Return the shared table of the configuration, building it if no other calculator has.
+	 * If another calculator is building the table, wait for it.
+	 */
+	private AerodynamicTable getSharedTable(FlightConfiguration configuration, BitSet stages) {
+		final Rocket rocket = configuration.getRocket();
+		final TableKey key = new TableKey(rocket.getAerodynamicModID(), rocket.getTreeModID(), stages,
+				delegate.getClass());
+		final CompletableFuture<AerodynamicTable> future;
+		final boolean build;
+		synchronized (sharedTables) {
+			CompletableFuture<AerodynamicTable> shared = sharedTables.get(key);
+			build = (shared == null);
+			future = build ? new CompletableFuture<>() : shared;
+			if (build) {
+				sharedTables.put(key, future);
+			}
+		}
+
+		if (!build) {
+			return join(future);
+		}
+
+		try {
+			long t0 = System.nanoTime();
+			AerodynamicTable table = buildTable(configuration);
+			table.setError(checkAccuracy(configuration, table));
+			log.info("Built aerodynamic table for stages {} in {} ms, error {}", stages,
+					(System.nanoTime() - t0) / 1000000, table.getError());
+			if (table.getError() > tolerance) {
+				log.info("Aerodynamic table error exceeds tolerance {}, using direct calculation", tolerance);
+			}
+			future.complete(table);
+			return table;
+		} catch (RuntimeException | Error e) {
+			synchronized (sharedTables) {
+				sharedTables.remove(key, future);
+			}
+			future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private static BitSet getActiveStages(FlightConfiguration configuration) {
+		BitSet active = new BitSet();
+		for (AxialStage stage : configuration.getRocket().getStageList()) {
+			if (configuration.isStageActive(stage.getStageNumber())) {
+				active.set(stage.getStageNumber());
+			}
+		}
+		return active;
+	}
+
+	/**
+	 * Sample the coefficients of the configuration over the grid.  Each worker calculates
+	 * every n:th Mach number with its own copy of the rocket and calculator, as the
+	 * calculations are not thread-safe.  The workers run on the builder threads, and the
+	 * calling thread waits for them without being interruptible.
+	 */
+	private AerodynamicTable buildTable(FlightConfiguration configuration) {
+		final FlightConditions reference = new FlightConditions(configuration);
+		final AerodynamicTable table = new AerodynamicTable(MACH, AOA, ROLL, LOG_RE, reference.getRefLength(),
+				reference.getRefArea());
+		final int workers = builders.getMaximumPoolSize();
+
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[workers];
+		for (int n = 0; n < workers; n++) {
+			final int worker = n;
+			futures[n] = CompletableFuture.runAsync(() -> buildRows(configuration, table, worker, workers), builders);
+		}
+		join(CompletableFuture.allOf(futures));
+		return table;
+	}
+
+	/**
+	 * Fill the rows of every n:th Mach number of the table, starting from the worker index.
+	 */
+	private void buildRows(FlightConfiguration configuration, AerodynamicTable table, int worker, int workers) {
+		Rocket rocket = configuration.getRocket().copyWithOriginalID();
+		FlightConfiguration config = configuration.clone(rocket);
+		BarrowmanCalculator calculator = delegate.newInstance();
+		FlightConditions conditions = new FlightConditions(config);
+		final double length = config.getLengthAerodynamic();
+
+		for (int i = worker; i < MACH.length; i += workers) {
+			WarningSet warnings = new WarningSet();
+			conditions.setAtmosphericConditions(new AtmosphericConditions());
+			conditions.setMach(MACH[i]);
+			final double velocity = conditions.getVelocity();
+
+			for (int j = 0; j < AOA.length; j++) {
+				conditions.setAOA(AOA[j]);
+				for (int k = 0; k < ROLL.length; k++) {
+					conditions.setRollRate(ROLL[k] * velocity);
+					AerodynamicForces forces = calculator.calculateCoefficients(config, conditions, warnings);
+					table.setNonaxial(table.nonaxialIndex(i, j, k), forces);
+				}
+			}
+			table.setWarnings(i, warnings);
+
+			// The Reynolds number is varied through the pressure, which is proportional to the
+			// density and thereby inversely proportional to the kinematic viscosity
+			conditions.setAOA(0);
+			conditions.setRollRate(0);
+			for (int l = 0; l < LOG_RE.length; l++) {
+				AtmosphericConditions atmosphere = new AtmosphericConditions();
+				if (velocity > 0) {
+					double re = velocity * length / atmosphere.getKinematicViscosity();
+					atmosphere.setPressure(atmosphere.getPressure() * Math.pow(10, LOG_RE[l]) / re);
+				}
+				conditions.setAtmosphericConditions(atmosphere);
+				conditions.setMach(MACH[i]);
+				AerodynamicForces forces = calculator.calculateCoefficients(config, conditions, null);
+				table.setDrag(table.dragIndex(i, l), forces);
+			}
+		}
+	}
+
+	/**
+	 * Compare the table against the direct calculation at random flight conditions within the
+	 * grid, and return the maximum normalized error.
+	 */
+	private double checkAccuracy(FlightConfiguration configuration, AerodynamicTable table) {
+		final Random random = new Random(0);
+		final FlightConditions conditions = new FlightConditions(configuration);
+		final double length = configuration.getLengthAerodynamic();
+		final double[][] values = new double[CHECK_SAMPLES][8];
+
+		for (int n = 0; n < CHECK_SAMPLES; n++) {
+			// Concentrate on the flight conditions of a normal flight, with some large angles
+			AtmosphericConditions atmosphere = new AtmosphericConditions(
+					AtmosphericConditions.STANDARD_TEMPERATURE - 30 * random.nextDouble(),
+					AtmosphericConditions.STANDARD_PRESSURE * (0.5 + 0.5 * random.nextDouble()));
+			conditions.setAtmosphericConditions(atmosphere);
+			conditions.setMach(0.05 + random.nextDouble() * (MACH[MACH.length - 1] - 0.05));
+			double aoa = (n % 4 == 0) ? random.nextDouble() * Math.PI : random.nextDouble() * Math.toRadians(20);
+			conditions.setAOA(aoa);
+			conditions.setTheta(2 * Math.PI * random.nextDouble());
+			conditions.setRollRate(ROLL[ROLL.length - 1] / 2 * (2 * random.nextDouble() - 1) * conditions.getVelocity());
+
+			AerodynamicForces direct = delegate.getAerodynamicForces(configuration, conditions, null);
+			AerodynamicForces tabulated = new AerodynamicForces().zero();
+			table.interpolate(conditions.getMach(), conditions.getAOA(),
+					conditions.getRollRate() / conditions.getVelocity(),
+					conditions.getVelocity() * length / atmosphere.getKinematicViscosity(), tabulated, null);
+			delegate.completeForces(configuration, conditions, tabulated);
+
+			values[n] = new double[] { direct.getCN(), tabulated.getCN(), direct.getCm(), tabulated.getCm(),
+					direct.getCroll(), tabulated.getCroll(), direct.getCD(), tabulated.getCD() };
+		}
+
+		double error = 0;
+		for (int q = 0; q < 8; q += 2) {
+			double scale = 0;
+			double maxError = 0;
+			for (double[] v : values) {
+				scale = Math.max(scale, Math.abs(v[q]));
+				maxError = Math.max(maxError, Math.abs(v[q] - v[q + 1]));
+			}
+			if (Double.isNaN(maxError)) {
+				return Double.POSITIVE_INFINITY;
+			}
+			if (scale > 0) {
+				error = Math.max(error, maxError / scale);
+			}
+		}
+		return error;
+	}
+
+	/**
+	 * Wait for a future without being interruptible, rethrowing a runtime exception it failed with.
+	 */
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private static boolean matchesReference(AerodynamicTable table, FlightConditions conditions) {
+		return table.getRefLength() == conditions.getRefLength() && table.getRefArea() == conditions.getRefArea();
+	}
+
+	private static double getReynoldsNumber(FlightConfiguration configuration, FlightConditions conditions) {
+		return conditions.getVelocity() * configuration.getLengthAerodynamic() /
+				conditions.getAtmosphericConditions().getKinematicViscosity();
+	}
+
+
+	/**
+	 * The key of a shared table.  The modification IDs are compared by identity.
+	 */
+	private record TableKey(ModID aeroModID, ModID treeModID, BitSet stages, Class<?> calculator) {
+	}
+
+
+	private static double[] range(double from, double to, double step) {
+		int n = (int) Math.round((to - from) / step) + 1;
+		double[] values = new double[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = from + i * step;
+		}
+		return values;
+	}
+
+	private static double[] degrees(double... values) {
+		double[] radians = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			radians[i] = Math.toRadians(values[i]);
+		}
+		return radians;
+	}
+
+	private static double[] concat(double[]... arrays) {
+		return Arrays.stream(arrays).flatMapToDouble(Arrays::stream).toArray();
+	}
+}
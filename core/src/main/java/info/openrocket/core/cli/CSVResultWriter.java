@@ -0,0 +1,142 @@
+package info.openrocket.core.cli;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.FlightEvent;
+import info.openrocket.core.simulation.SimulationTimers;
+
+/**
+ * Writes the results as comma separated values.
+ * <p>
+ * The values are written with full precision so that the output can be compared between
+ * runs.  Flight events are written as comment lines starting with <code>#</code> in the
+ * data files, in the same way as the CSV export of the user interface.
+ */
+public class CSVResultWriter implements ResultWriter {
+
+	private static final String SEPARATOR = ",";
+	private static final String COMMENT = "#";
+
+	@Override
+	public String getFileExtension() {
+		return "csv";
+	}
+
+	@Override
+	public void writeSummary(Writer writer, List<SimulationResult> results) throws IOException {
+		writer.write("file" + SEPARATOR + "simulation" + SEPARATOR + "status" + SEPARATOR + "warnings");
+		for (String key : SimulationResult.SUMMARY_KEYS) {
+			writer.write(SEPARATOR);
+			writer.write(key);
+		}
+		writer.write(SEPARATOR + "error\n");
+
+		for (SimulationResult result : results) {
+			Map<String, Double> values = result.getSummaryValues();
+			writer.write(escape(result.getFile().getPath()));
+			writer.write(SEPARATOR);
+			writer.write(escape(result.getSimulationName()));
+			writer.write(SEPARATOR);
+			writer.write(result.getState().name());
+			writer.write(SEPARATOR);
+			writer.write(Integer.toString(result.getWarningCount()));
+			for (String key : SimulationResult.SUMMARY_KEYS) {
+				writer.write(SEPARATOR);
+				writer.write(Double.toString(values.get(key)));
+			}
+			writer.write(SEPARATOR);
+			writer.write(escape(result.getErrorMessage()));
+			writer.write('\n');
+		}
+	}
+
+	@Override
+	public void writeBranch(Writer writer, SimulationResult result, FlightDataBranch branch) throws IOException {
+		FlightDataType[] types = branch.getTypes();
+
+		writer.write(COMMENT + " " + result.getSimulationName() + " - " + branch.getName() + "\n");
+		for (int i = 0; i < types.length; i++) {
+			if (i > 0) {
+				writer.write(SEPARATOR);
+			}
+			writer.write(escape(types[i].getName() + " (" + types[i].getUnitGroup().getSIUnit().getUnit() + ")"));
+		}
+		writer.write('\n');
+
+		double[][] columns = new double[types.length][];
+		for (int i = 0; i < types.length; i++) {
+			columns[i] = branch.getValues(types[i]);
+		}
+		double[] time = branch.getValues(FlightDataType.TYPE_TIME);
+
+		List<FlightEvent> events = branch.getEvents();
+		Collections.sort(events);
+		int eventPosition = 0;
+
+		StringBuilder line = new StringBuilder();
+		for (int pos = 0; pos < branch.getLength(); pos++) {
+			if (time != null) {
+				while (eventPosition < events.size() && events.get(eventPosition).getTime() <= time[pos]) {
+					writeEvent(writer, events.get(eventPosition++));
+				}
+			}
+
+			line.setLength(0);
+			for (int i = 0; i < columns.length; i++) {
+				if (i > 0) {
+					line.append(SEPARATOR);
+				}
+				line.append(columns[i][pos]);
+			}
+			line.append('\n');
+			writer.append(line);
+		}
+
+		while (eventPosition < events.size()) {
+			writeEvent(writer, events.get(eventPosition++));
+		}
+	}
+
+	@Override
+	public void writeTimings(Writer writer, List<SimulationResult> results) throws IOException {
+		writer.write("file" + SEPARATOR + "simulation" + SEPARATOR + "phase" + SEPARATOR + "time" + SEPARATOR + "count\n");
+		for (SimulationResult result : results) {
+			SimulationTimers timers = result.getTimers();
+			if (!timers.isEnabled()) {
+				continue;
+			}
+			for (SimulationTimers.Phase phase : SimulationTimers.Phase.values()) {
+				writer.write(escape(result.getFile().getPath()));
+				writer.write(SEPARATOR);
+				writer.write(escape(result.getSimulationName()));
+				writer.write(SEPARATOR);
+				writer.write(phase.getKey());
+				writer.write(SEPARATOR);
+				writer.write(Double.toString(timers.getTime(phase)));
+				writer.write(SEPARATOR);
+				writer.write(Long.toString(timers.getCount(phase)));
+				writer.write('\n');
+			}
+		}
+	}
+
+	private static void writeEvent(Writer writer, FlightEvent event) throws IOException {
+		writer.write(COMMENT + " Event " + event.getType().name() + " occurred at t=" + event.getTime() + " seconds\n");
+	}
+
+	/**
+	 * Quote a field value if it contains characters that have a special meaning in CSV.
+	 */
+	static String escape(String value) {
+		if (value.contains(SEPARATOR) || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+			return "\"" + value.replace("\"", "\"\"") + "\"";
+		}
+		return value;
+	}
+}
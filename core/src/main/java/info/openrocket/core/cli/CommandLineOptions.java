@@ -0,0 +1,223 @@
+package info.openrocket.core.cli;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import info.openrocket.core.simulation.RK45SimulationStepper;
+import info.openrocket.core.simulation.SimulationStepperType;
+
+/**
+ * The options of the headless simulation runner, parsed from the command line arguments.
+ */
+public class CommandLineOptions {
+
+	public static final String USAGE =
+			"Usage: " + OpenRocketCLI.class.getName() + " [options] <file>...\n" +
+			"\n" +
+			"Runs the simulations of OpenRocket design files and writes the results.\n" +
+			"\n" +
+			"Options:\n" +
+			"  -s, --simulation <name>  run only the simulations with this name (may be repeated)\n" +
+			"  -o, --output <dir>       directory to write the results to (default: current directory)\n" +
+			"  -f, --format <format>    output format, 'csv' or 'json' (default: csv)\n" +
+			"  -t, --threads <n>        number of simulations to run in parallel (default: number of processors)\n" +
+			"  -m, --motors <path>      additional thrust curve file or directory (may be repeated)\n" +
+			"      --summary-only       write only the summary values, not the flight data\n" +
+			"      --timings            record the time spent in each phase of the simulations\n" +
+			"      --stepper <method>   integration method, 'rk4' or 'rk45' (default: as in the design file)\n" +
+			"      --tolerance <value>  relative error tolerance per step of 'rk45' (default: as in the design file)\n" +
+			"  -q, --quiet              do not report the progress on standard error\n" +
+			"  -h, --help               print this message and exit\n";
+
+	/**
+	 * The output formats of the results.
+	 */
+	public enum Format {
+		CSV,
+		JSON
+	}
+
+	private final List<File> files = new ArrayList<>();
+	private final Set<String> simulationNames = new LinkedHashSet<>();
+	private final List<File> motorFiles = new ArrayList<>();
+	private File outputDirectory = new File(".");
+	private Format format = Format.CSV;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private boolean summaryOnly = false;
+	private boolean timings = false;
+	private SimulationStepperType stepperType = null;
+	private Double integrationTolerance = null;
+	private boolean quiet = false;
+	private boolean help = false;
+
+	/**
+	 * Parse the command line arguments.
+	 *
+	 * @param args	the command line arguments.
+	 * @return		the parsed options.
+	 * @throws IllegalArgumentException	if the arguments are invalid.
+	 */
+	public static CommandLineOptions parse(String... args) {
+		CommandLineOptions options = new CommandLineOptions();
+
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			switch (arg) {
+				case "-s":
+				case "--simulation":
+					options.simulationNames.add(value(args, ++i, arg));
+					break;
+				case "-o":
+				case "--output":
+					options.outputDirectory = new File(value(args, ++i, arg));
+					break;
+				case "-f":
+				case "--format":
+					String format = value(args, ++i, arg);
+					try {
+						options.format = Format.valueOf(format.toUpperCase(Locale.ENGLISH));
+					} catch (IllegalArgumentException e) {
+						throw new IllegalArgumentException("Unknown output format '" + format + "'");
+					}
+					break;
+				case "-t":
+				case "--threads":
+					String threads = value(args, ++i, arg);
+					try {
+						options.threads = Integer.parseInt(threads);
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException("Invalid number of threads '" + threads + "'");
+					}
+					if (options.threads <= 0) {
+						throw new IllegalArgumentException("The number of threads must be positive");
+					}
+					break;
+				case "-m":
+				case "--motors":
+					options.motorFiles.add(new File(value(args, ++i, arg)));
+					break;
+				case "--summary-only":
+					options.summaryOnly = true;
+					break;
+				case "--timings":
+					options.timings = true;
+					break;
+				case "--stepper":
+					String stepper = value(args, ++i, arg);
+					try {
+						options.stepperType = SimulationStepperType.fromString(stepper);
+					} catch (IllegalArgumentException e) {
+						throw new IllegalArgumentException("Unknown integration method '" + stepper + "'");
+					}
+					break;
+				case "--tolerance":
+					String tolerance = value(args, ++i, arg);
+					try {
+						options.integrationTolerance = Double.parseDouble(tolerance);
+					} catch (NumberFormatException e) {
+						throw new IllegalArgumentException("Invalid tolerance '" + tolerance + "'");
+					}
+					if (!(options.integrationTolerance >= RK45SimulationStepper.MIN_TOLERANCE &&
+							options.integrationTolerance <= RK45SimulationStepper.MAX_TOLERANCE)) {
+						throw new IllegalArgumentException("The tolerance must be between " +
+								RK45SimulationStepper.MIN_TOLERANCE + " and " + RK45SimulationStepper.MAX_TOLERANCE);
+					}
+					break;
+				case "-q":
+				case "--quiet":
+					options.quiet = true;
+					break;
+				case "-h":
+				case "--help":
+					options.help = true;
+					break;
+				default:
+					if (arg.startsWith("-") && arg.length() > 1) {
+						throw new IllegalArgumentException("Unknown option '" + arg + "'");
+					}
+					options.files.add(new File(arg));
+			}
+		}
+
+		if (options.files.isEmpty() && !options.help) {
+			throw new IllegalArgumentException("No design files specified");
+		}
+		return options;
+	}
+
+	private static String value(String[] args, int index, String option) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException("Missing value for option '" + option + "'");
+		}
+		return args[index];
+	}
+
+	/**
+	 * Return the design files to simulate.
+	 */
+	public List<File> getFiles() {
+		return Collections.unmodifiableList(files);
+	}
+
+	/**
+	 * Return the names of the simulations to run, or an empty set to run all simulations.
+	 */
+	public Set<String> getSimulationNames() {
+		return Collections.unmodifiableSet(simulationNames);
+	}
+
+	/**
+	 * Return the additional thrust curve files and directories to load.
+	 */
+	public List<File> getMotorFiles() {
+		return Collections.unmodifiableList(motorFiles);
+	}
+
+	public File getOutputDirectory() {
+		return outputDirectory;
+	}
+
+	public Format getFormat() {
+		return format;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public boolean isSummaryOnly() {
+		return summaryOnly;
+	}
+
+	public boolean isTimings() {
+		return timings;
+	}
+
+	/**
+	 * Return the integration method to simulate with, or null to use the method of each simulation.
+	 */
+	public SimulationStepperType getStepperType() {
+		return stepperType;
+	}
+
+	/**
+	 * Return the error tolerance of the RK45 integration method, or null to use the tolerance
+	 * of each simulation.
+	 */
+	public Double getIntegrationTolerance() {
+		return integrationTolerance;
+	}
+
+	public boolean isQuiet() {
+		return quiet;
+	}
+
+	public boolean isHelp() {
+		return help;
+	}
+}
@@ -0,0 +1,79 @@
+package info.openrocket.core.cli;
+
+import info.openrocket.core.database.ComponentPresetDao;
+import info.openrocket.core.database.ComponentPresetDatabaseLoader;
+import info.openrocket.core.database.MotorDatabaseLoader;
+import info.openrocket.core.database.motor.MotorDatabase;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+import info.openrocket.core.formatting.RocketDescriptor;
+import info.openrocket.core.formatting.RocketDescriptorImpl;
+import info.openrocket.core.l10n.ResourceBundleTranslator;
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.preferences.ApplicationPreferences;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
+import com.google.inject.Scopes;
+
+/**
+ * The Guice module for running OpenRocket without a user interface.
+ * <p>
+ * The module does not touch any AWT or Swing classes, the preferences are held in memory
+ * (see {@link HeadlessPreferences}) and the motor and component databases are returned
+ * as soon as they have been loaded in the background.  As with the GUI module, the loading
+ * must be started after the injector has been registered in the Application object:
+ * <code>
+ * HeadlessModule module = new HeadlessModule();
+ * Application.setInjector(Guice.createInjector(module, new PluginModule()));
+ * module.startLoader();
+ * </code>
+ */
+public class HeadlessModule extends AbstractModule {
+
+	private final ComponentPresetDatabaseLoader presetLoader = new ComponentPresetDatabaseLoader();
+	private final MotorDatabaseLoader motorLoader = new MotorDatabaseLoader();
+
+	@Override
+	protected void configure() {
+		bind(ApplicationPreferences.class).to(HeadlessPreferences.class).in(Scopes.SINGLETON);
+		bind(Translator.class).toInstance(new ResourceBundleTranslator("l10n.messages"));
+		bind(RocketDescriptor.class).to(RocketDescriptorImpl.class).in(Scopes.SINGLETON);
+
+		bind(ComponentPresetDao.class).toProvider(new Provider<ComponentPresetDao>() {
+			@Override
+			public ComponentPresetDao get() {
+				return presetLoader.getDatabase();
+			}
+		}).in(Scopes.SINGLETON);
+
+		Provider<ThrustCurveMotorSetDatabase> motorDatabaseProvider = new Provider<ThrustCurveMotorSetDatabase>() {
+			@Override
+			public ThrustCurveMotorSetDatabase get() {
+				return motorLoader.getDatabase();
+			}
+		};
+		bind(ThrustCurveMotorSetDatabase.class).toProvider(motorDatabaseProvider).in(Scopes.SINGLETON);
+		bind(MotorDatabase.class).toProvider(motorDatabaseProvider).in(Scopes.SINGLETON);
+	}
+
+	/**
+	 * Start loading the motor and component databases in the background.  This must be called
+	 * after the injector created with this module is registered in the Application object.
+	 * <p>
+	 * The system properties <code>openrocket.bypass.presets</code> and
+	 * <code>openrocket.bypass.motors</code> skip loading the respective database.
+	 */
+	public void startLoader() {
+		if (System.getProperty("openrocket.bypass.presets") == null) {
+			presetLoader.startLoading();
+		} else {
+			presetLoader.markAsLoaded();
+		}
+		if (System.getProperty("openrocket.bypass.motors") == null) {
+			motorLoader.startLoading();
+		} else {
+			motorLoader.markAsLoaded();
+		}
+	}
+
+}
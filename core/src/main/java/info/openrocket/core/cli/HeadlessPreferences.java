@@ -0,0 +1,197 @@
+package info.openrocket.core.cli;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.prefs.AbstractPreferences;
+import java.util.prefs.Preferences;
+
+import info.openrocket.core.material.Material;
+import info.openrocket.core.preferences.ApplicationPreferences;
+import info.openrocket.core.preset.ComponentPreset;
+
+/**
+ * Application preferences for headless use.
+ * <p>
+ * The preferences are held in memory only and start from the application defaults, so
+ * the results of a headless run do not depend on the preferences of the user running it.
+ * No user-defined thrust curves or component presets are loaded unless they are
+ * explicitly configured.
+ */
+public class HeadlessPreferences extends ApplicationPreferences {
+
+	private final Preferences root = new MemoryPreferences(null, "");
+	private final Set<Material> userMaterials = ConcurrentHashMap.newKeySet();
+	private final Map<ComponentPreset.Type, Set<String>> favorites = new EnumMap<>(ComponentPreset.Type.class);
+
+	public HeadlessPreferences() {
+		putString(USER_THRUST_CURVES_KEY, "");
+		putString(USER_COMPONENT_PRESETS_KEY, "");
+	}
+
+	@Override
+	public boolean getBoolean(String key, boolean defaultValue) {
+		return root.getBoolean(key, defaultValue);
+	}
+
+	@Override
+	public void putBoolean(String key, boolean value) {
+		root.putBoolean(key, value);
+	}
+
+	@Override
+	public int getInt(String key, int defaultValue) {
+		return root.getInt(key, defaultValue);
+	}
+
+	@Override
+	public void putInt(String key, int value) {
+		root.putInt(key, value);
+	}
+
+	@Override
+	public double getDouble(String key, double defaultValue) {
+		return root.getDouble(key, defaultValue);
+	}
+
+	@Override
+	public void putDouble(String key, double value) {
+		root.putDouble(key, value);
+	}
+
+	@Override
+	public String getString(String key, String defaultValue) {
+		return root.get(key, defaultValue);
+	}
+
+	@Override
+	public void putString(String key, String value) {
+		if (value == null) {
+			root.remove(key);
+		} else {
+			root.put(key, value);
+		}
+	}
+
+	@Override
+	public String getString(String directory, String key, String defaultValue) {
+		return root.node(directory).get(key, defaultValue);
+	}
+
+	@Override
+	public void putString(String directory, String key, String value) {
+		if (value == null) {
+			root.node(directory).remove(key);
+		} else {
+			root.node(directory).put(key, value);
+		}
+	}
+
+	@Override
+	public Preferences getNode(String nodeName) {
+		return root.node(nodeName);
+	}
+
+	@Override
+	public Preferences getPreferences() {
+		return root;
+	}
+
+	@Override
+	public void addUserMaterial(Material m) {
+		userMaterials.add(m);
+	}
+
+	@Override
+	public Set<Material> getUserMaterials() {
+		return Collections.unmodifiableSet(new HashSet<>(userMaterials));
+	}
+
+	@Override
+	public void removeUserMaterial(Material m) {
+		userMaterials.remove(m);
+	}
+
+	@Override
+	public void setComponentFavorite(ComponentPreset preset, ComponentPreset.Type type, boolean favorite) {
+		synchronized (favorites) {
+			Set<String> set = favorites.computeIfAbsent(type, t -> new HashSet<>());
+			if (favorite) {
+				set.add(preset.preferenceKey());
+			} else {
+				set.remove(preset.preferenceKey());
+			}
+		}
+	}
+
+	@Override
+	public Set<String> getComponentFavorites(ComponentPreset.Type type) {
+		synchronized (favorites) {
+			Set<String> set = favorites.get(type);
+			return (set == null) ? Collections.emptySet() : new HashSet<>(set);
+		}
+	}
+
+
+	/**
+	 * A preferences node that is stored in memory only.
+	 */
+	private static class MemoryPreferences extends AbstractPreferences {
+		private final Map<String, String> values = new TreeMap<>();
+		private final Map<String, MemoryPreferences> children = new TreeMap<>();
+
+		private MemoryPreferences(MemoryPreferences parent, String name) {
+			super(parent, name);
+		}
+
+		@Override
+		protected void putSpi(String key, String value) {
+			values.put(key, value);
+		}
+
+		@Override
+		protected String getSpi(String key) {
+			return values.get(key);
+		}
+
+		@Override
+		protected void removeSpi(String key) {
+			values.remove(key);
+		}
+
+		@Override
+		protected void removeNodeSpi() {
+			values.clear();
+			children.clear();
+		}
+
+		@Override
+		protected String[] keysSpi() {
+			return values.keySet().toArray(new String[0]);
+		}
+
+		@Override
+		protected String[] childrenNamesSpi() {
+			return children.keySet().toArray(new String[0]);
+		}
+
+		@Override
+		protected AbstractPreferences childSpi(String name) {
+			return children.computeIfAbsent(name, n -> new MemoryPreferences(this, n));
+		}
+
+		@Override
+		protected void syncSpi() {
+			// Nothing to synchronize
+		}
+
+		@Override
+		protected void flushSpi() {
+			// Nothing to flush
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package info.openrocket.core.cli;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.FlightEvent;
+import info.openrocket.core.simulation.SimulationTimers;
+
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Writes the results as JSON documents.  Values that are not finite numbers, which JSON
+ * cannot represent, are written as <code>null</code>.
+ */
+public class JSONResultWriter implements ResultWriter {
+
+	@Override
+	public String getFileExtension() {
+		return "json";
+	}
+
+	@Override
+	public void writeSummary(Writer writer, List<SimulationResult> results) throws IOException {
+		try {
+			JsonGenerator json = Json.createGenerator(writer);
+			json.writeStartArray();
+			for (SimulationResult result : results) {
+				json.writeStartObject();
+				json.write("file", result.getFile().getPath());
+				json.write("simulation", result.getSimulationName());
+				json.write("status", result.getState().name());
+				json.write("warnings", result.getWarningCount());
+				for (Map.Entry<String, Double> entry : result.getSummaryValues().entrySet()) {
+					write(json, entry.getKey(), entry.getValue());
+				}
+				if (result.getError() != null) {
+					json.write("error", result.getErrorMessage());
+				}
+				json.writeEnd();
+			}
+			json.writeEnd();
+			json.flush();
+		} catch (JsonException e) {
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public void writeBranch(Writer writer, SimulationResult result, FlightDataBranch branch) throws IOException {
+		try {
+			JsonGenerator json = Json.createGenerator(writer);
+			json.writeStartObject();
+			json.write("simulation", result.getSimulationName());
+			json.write("branch", branch.getName());
+			json.write("length", branch.getLength());
+
+			List<FlightEvent> events = branch.getEvents();
+			Collections.sort(events);
+			json.writeStartArray("events");
+			for (FlightEvent event : events) {
+				json.writeStartObject();
+				json.write("type", event.getType().name());
+				write(json, "time", event.getTime());
+				if (event.getSource() != null) {
+					json.write("source", event.getSource().getName());
+				}
+				json.writeEnd();
+			}
+			json.writeEnd();
+
+			json.writeStartArray("data");
+			for (FlightDataType type : branch.getTypes()) {
+				json.writeStartObject();
+				json.write("name", type.getName());
+				json.write("symbol", type.getSymbol());
+				json.write("unit", type.getUnitGroup().getSIUnit().getUnit());
+				json.writeStartArray("values");
+				for (double value : branch.getValues(type)) {
+					if (Double.isFinite(value)) {
+						json.write(value);
+					} else {
+						json.writeNull();
+					}
+				}
+				json.writeEnd();
+				json.writeEnd();
+			}
+			json.writeEnd();
+
+			json.writeEnd();
+			json.flush();
+		} catch (JsonException e) {
+			throw new IOException(e);
+		}
+	}
+
+	@Override
+	public void writeTimings(Writer writer, List<SimulationResult> results) throws IOException {
+		try {
+			JsonGenerator json = Json.createGenerator(writer);
+			json.writeStartArray();
+			for (SimulationResult result : results) {
+				SimulationTimers timers = result.getTimers();
+				if (!timers.isEnabled()) {
+					continue;
+				}
+				json.writeStartObject();
+				json.write("file", result.getFile().getPath());
+				json.write("simulation", result.getSimulationName());
+				json.writeStartObject("phases");
+				for (SimulationTimers.Phase phase : SimulationTimers.Phase.values()) {
+					json.writeStartObject(phase.getKey());
+					json.write("time", timers.getTime(phase));
+					json.write("count", timers.getCount(phase));
+					json.writeEnd();
+				}
+				json.writeEnd();
+				json.writeEnd();
+			}
+			json.writeEnd();
+			json.flush();
+		} catch (JsonException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static void write(JsonGenerator json, String key, double value) {
+		if (Double.isFinite(value)) {
+			json.write(key, value);
+		} else {
+			json.writeNull(key);
+		}
+	}
+}
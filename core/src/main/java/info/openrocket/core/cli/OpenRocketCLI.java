@@ -0,0 +1,321 @@
+package info.openrocket.core.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.plugin.PluginModule;
+import info.openrocket.core.simulation.BatchSimulationListener;
+import info.openrocket.core.simulation.BatchSimulationRunner;
+import info.openrocket.core.simulation.BatchSimulationRunner.SimulationTask;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.startup.Application;
+
+import com.google.inject.Guice;
+
+/**
+ * Command line entry point that runs the simulations of OpenRocket design files without
+ * a user interface.
+ * <p>
+ * The design files are loaded and simulated in parallel, and the results are written to
+ * the output directory: the summary values of all simulations to <code>summary.csv</code>
+ * (or <code>.json</code>), and the flight data of each simulation to a file in a
+ * subdirectory named after the design file.  The process exits with status 0 if all
+ * simulations succeeded, 1 if any design file or simulation failed and 2 if the command
+ * line was invalid.
+ * <p>
+ * With <code>--timings</code>, the time spent in each phase of the simulations is also
+ * written to <code>timings.csv</code> (or <code>.json</code>).  The integration method and
+ * its tolerance stored in the design files can be overridden with <code>--stepper</code> and
+ * <code>--tolerance</code>.
+ * <p>
+ * No AWT or Swing classes are initialized, so the runner can be used on machines without
+ * a display, for example to regression-test a collection of designs.
+ */
+public class OpenRocketCLI {
+	static {
+		// Must be set before the first logger is created
+		if (System.getProperty("logback.configurationFile") == null) {
+			System.setProperty("logback.configurationFile", "logback-cli.xml");
+		}
+	}
+
+	private static final Logger log = LoggerFactory.getLogger(OpenRocketCLI.class);
+
+	public static final int EXIT_SUCCESS = 0;
+	public static final int EXIT_FAILURE = 1;
+	public static final int EXIT_USAGE = 2;
+
+	private final CommandLineOptions options;
+	private final PrintStream err;
+
+	public OpenRocketCLI(CommandLineOptions options, PrintStream err) {
+		this.options = options;
+		this.err = err;
+	}
+
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		CommandLineOptions options;
+		try {
+			options = CommandLineOptions.parse(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println();
+			System.err.print(CommandLineOptions.USAGE);
+			System.exit(EXIT_USAGE);
+			return;
+		}
+		if (options.isHelp()) {
+			System.out.print(CommandLineOptions.USAGE);
+			System.exit(EXIT_SUCCESS);
+			return;
+		}
+
+		initializeApplication(options);
+
+		int status;
+		try {
+			status = new OpenRocketCLI(options, System.err).run();
+		} catch (IOException e) {
+			System.err.println("Unable to write results: " + e.getMessage());
+			status = EXIT_FAILURE;
+		} catch (InterruptedException e) {
+			System.err.println("Interrupted");
+			status = EXIT_FAILURE;
+		}
+		System.exit(status);
+	}
+
+	/**
+	 * Set up the application injector for headless use and start loading the motor and
+	 * component databases in the background.  The databases are loaded while the design
+	 * files are read.
+	 */
+	static void initializeApplication(CommandLineOptions options) {
+		HeadlessModule module = new HeadlessModule();
+		Application.setInjector(Guice.createInjector(module, new PluginModule()));
+		if (!options.getMotorFiles().isEmpty()) {
+			Application.getPreferences().setUserThrustCurveFiles(options.getMotorFiles());
+		}
+		module.startLoader();
+	}
+
+	/**
+	 * Load the design files, run the simulations and write the results.  The application
+	 * injector must have been set up before calling this method.
+	 *
+	 * @return	the exit status of the run.
+	 */
+	public int run() throws IOException, InterruptedException {
+		List<SimulationResult> results = new ArrayList<>();
+		Map<Simulation, File> simulations = new LinkedHashMap<>();
+
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(options.getThreads())) {
+			// Load all design files on the worker threads
+			List<Future<OpenRocketDocument>> documents = new ArrayList<>();
+			for (File file : options.getFiles()) {
+				documents.add(runner.getExecutor().submit(loadTask(file)));
+			}
+
+			Set<String> matchedNames = new HashSet<>();
+			for (int i = 0; i < documents.size(); i++) {
+				File file = options.getFiles().get(i);
+				OpenRocketDocument document;
+				try {
+					document = documents.get(i).get();
+				} catch (ExecutionException e) {
+					Throwable cause = unwrap(e);
+					log.debug("Unable to load " + file, cause);
+					err.println("Unable to load " + file + ": " + cause.getMessage());
+					results.add(SimulationResult.loadFailure(file, cause));
+					continue;
+				}
+
+				for (Simulation simulation : document.getSimulations()) {
+					if (options.getSimulationNames().isEmpty() ||
+							options.getSimulationNames().contains(simulation.getName())) {
+						if (options.isTimings()) {
+							simulation.getOptions().setCollectTimings(true);
+						}
+						if (options.getStepperType() != null) {
+							simulation.getOptions().setStepperType(options.getStepperType());
+						}
+						if (options.getIntegrationTolerance() != null) {
+							simulation.getOptions().setIntegrationTolerance(options.getIntegrationTolerance());
+						}
+						simulations.put(simulation, file);
+						matchedNames.add(simulation.getName());
+					}
+				}
+			}
+
+			for (String name : options.getSimulationNames()) {
+				if (!matchedNames.contains(name)) {
+					err.println("No simulation named '" + name + "' found");
+				}
+			}
+
+			List<SimulationTask> tasks = runner.runAll(simulations.keySet(), new ProgressListener());
+			for (SimulationTask task : tasks) {
+				results.add(SimulationResult.of(simulations.get(task.getSimulation()), task));
+			}
+		}
+
+		writeResults(results);
+
+		for (SimulationResult result : results) {
+			if (!result.isSuccessful()) {
+				return EXIT_FAILURE;
+			}
+		}
+		return EXIT_SUCCESS;
+	}
+
+	private static Callable<OpenRocketDocument> loadTask(File file) {
+		return () -> {
+			GeneralRocketLoader loader = new GeneralRocketLoader(file);
+			return loader.load();
+		};
+	}
+
+	/**
+	 * Return the exception thrown by a load task.  The fork-join pool wraps checked exceptions
+	 * thrown by a callable in (possibly several levels of) RuntimeException.
+	 */
+	private static Throwable unwrap(ExecutionException e) {
+		Throwable cause = (e.getCause() != null) ? e.getCause() : e;
+		while (cause.getClass() == RuntimeException.class && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	private void writeResults(List<SimulationResult> results) throws IOException {
+		ResultWriter writer = ResultWriter.forFormat(options.getFormat());
+		File outputDirectory = options.getOutputDirectory();
+		Files.createDirectories(outputDirectory.toPath());
+
+		File summaryFile = new File(outputDirectory, "summary." + writer.getFileExtension());
+		try (Writer out = newWriter(summaryFile)) {
+			writer.writeSummary(out, results);
+		}
+
+		if (options.isTimings()) {
+			File timingsFile = new File(outputDirectory, "timings." + writer.getFileExtension());
+			try (Writer out = newWriter(timingsFile)) {
+				writer.writeTimings(out, results);
+			}
+		}
+
+		if (options.isSummaryOnly()) {
+			return;
+		}
+
+		Set<File> usedDirectories = new HashSet<>();
+		Set<File> usedFiles = new HashSet<>();
+		Map<File, File> directories = new LinkedHashMap<>();
+		for (SimulationResult result : results) {
+			FlightData data = result.getFlightData();
+			if (data == null) {
+				continue;
+			}
+
+			File directory = directories.computeIfAbsent(result.getFile(),
+					f -> uniqueFile(outputDirectory, baseName(f), "", usedDirectories));
+			Files.createDirectories(directory.toPath());
+
+			List<FlightDataBranch> branches = data.getBranches();
+			for (int i = 0; i < branches.size(); i++) {
+				FlightDataBranch branch = branches.get(i);
+				String name = result.getSimulationName();
+				if (i > 0) {
+					name += " - " + branch.getName();
+				}
+				File file = uniqueFile(directory, sanitize(name), "." + writer.getFileExtension(), usedFiles);
+				try (Writer out = newWriter(file)) {
+					writer.writeBranch(out, result, branch);
+				}
+			}
+		}
+	}
+
+	private static Writer newWriter(File file) throws IOException {
+		return Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Return a file in the directory with the given name that has not been used yet in this run.
+	 * Simulations and design files may share a name, in which case a running number is appended.
+	 */
+	private static File uniqueFile(File directory, String name, String extension, Set<File> used) {
+		File file = new File(directory, name + extension);
+		for (int n = 2; !used.add(file); n++) {
+			file = new File(directory, name + " (" + n + ")" + extension);
+		}
+		return file;
+	}
+
+	private static String baseName(File file) {
+		String name = file.getName();
+		int dot = name.lastIndexOf('.');
+		return sanitize((dot > 0) ? name.substring(0, dot) : name);
+	}
+
+	/**
+	 * Replace characters that are not allowed in file names on common platforms.
+	 */
+	static String sanitize(String name) {
+		String sanitized = name.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").trim();
+		return sanitized.isEmpty() ? "_" : sanitized;
+	}
+
+
+	/**
+	 * Reports the completion of each simulation on the error stream.
+	 */
+	private class ProgressListener implements BatchSimulationListener {
+		@Override
+		public void simulationDone(Simulation simulation, FlightData data) {
+			report("Simulated '" + simulation.getName() + "': max altitude " + data.getMaxAltitude() + " m");
+		}
+
+		@Override
+		public void simulationCancelled(Simulation simulation) {
+			report("Simulation '" + simulation.getName() + "' was cancelled");
+		}
+
+		@Override
+		public void simulationFailed(Simulation simulation, Throwable t) {
+			report("Simulation '" + simulation.getName() + "' failed: " + t.getMessage());
+		}
+
+		private void report(String message) {
+			if (!options.isQuiet()) {
+				synchronized (err) {
+					err.println(message);
+				}
+			}
+		}
+	}
+}
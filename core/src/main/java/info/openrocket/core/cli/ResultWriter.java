@@ -0,0 +1,61 @@
+package info.openrocket.core.cli;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.SimulationTimers;
+
+/**
+ * Writes the results of the headless simulation runner in a specific format.  All values
+ * are written in SI units.
+ */
+public interface ResultWriter {
+
+	/**
+	 * Return the file name extension of the files written, without the dot.
+	 */
+	String getFileExtension();
+
+	/**
+	 * Write the summary values of all simulations.
+	 *
+	 * @param writer	the writer to write to.
+	 * @param results	the results to write, in output order.
+	 */
+	void writeSummary(Writer writer, List<SimulationResult> results) throws IOException;
+
+	/**
+	 * Write all data points and flight events of a single flight data branch.
+	 *
+	 * @param writer	the writer to write to.
+	 * @param result	the result the branch belongs to.
+	 * @param branch	the branch to write.
+	 */
+	void writeBranch(Writer writer, SimulationResult result, FlightDataBranch branch) throws IOException;
+
+	/**
+	 * Write the time spent in each phase of the simulations, in seconds, and the number of
+	 * times each phase was timed.  Simulations that were not timed are skipped.
+	 *
+	 * @param writer	the writer to write to.
+	 * @param results	the results to write, in output order.
+	 * @see SimulationTimers
+	 */
+	void writeTimings(Writer writer, List<SimulationResult> results) throws IOException;
+
+	/**
+	 * Return the writer for the specified output format.
+	 */
+	static ResultWriter forFormat(CommandLineOptions.Format format) {
+		switch (format) {
+			case CSV:
+				return new CSVResultWriter();
+			case JSON:
+				return new JSONResultWriter();
+			default:
+				throw new IllegalArgumentException("Unknown format " + format);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package info.openrocket.core.cli;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.simulation.BatchSimulationRunner.SimulationTask;
+import info.openrocket.core.simulation.BatchSimulationRunner.State;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.SimulationTimers;
+
+/**
+ * The outcome of running a single simulation of a design file.  A design file that could not
+ * be loaded is represented by a failed result without a simulation.
+ */
+public class SimulationResult {
+
+	/** The identifiers of the summary values, in output order */
+	public static final List<String> SUMMARY_KEYS = List.of("maxAltitude", "maxVelocity", "maxAcceleration",
+			"maxMachNumber", "timeToApogee", "flightTime", "groundHitVelocity", "launchRodVelocity",
+			"deploymentVelocity", "optimumDelay");
+
+	private final File file;
+	private final Simulation simulation;
+	private final State state;
+	private final FlightData data;
+	private final Throwable error;
+
+	private SimulationResult(File file, Simulation simulation, State state, FlightData data, Throwable error) {
+		this.file = file;
+		this.simulation = simulation;
+		this.state = state;
+		this.data = data;
+		this.error = error;
+	}
+
+	/**
+	 * Create the result of a finished simulation task.
+	 */
+	public static SimulationResult of(File file, SimulationTask task) {
+		return new SimulationResult(file, task.getSimulation(), task.getState(), task.getFlightData(),
+				task.getThrowable());
+	}
+
+	/**
+	 * Create the result of a design file that could not be loaded.
+	 */
+	public static SimulationResult loadFailure(File file, Throwable error) {
+		return new SimulationResult(file, null, State.FAILED, null, error);
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Return the simulation, or <code>null</code> if the design file could not be loaded.
+	 */
+	public Simulation getSimulation() {
+		return simulation;
+	}
+
+	/**
+	 * Return the name of the simulation, or an empty string if the design file could not be loaded.
+	 */
+	public String getSimulationName() {
+		return (simulation != null) ? simulation.getName() : "";
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	public boolean isSuccessful() {
+		return state == State.DONE;
+	}
+
+	/**
+	 * Return the simulated flight data, or <code>null</code> if the simulation did not complete.
+	 */
+	public FlightData getFlightData() {
+		return data;
+	}
+
+	/**
+	 * Return the time spent in the phases of the simulation, or {@link SimulationTimers#DISABLED}
+	 * if the simulation was not timed or did not complete.
+	 */
+	public SimulationTimers getTimers() {
+		return (data != null) ? data.getTimers() : SimulationTimers.DISABLED;
+	}
+
+	/**
+	 * Return the error that caused the failure, or <code>null</code>.
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	/**
+	 * Return the error message, or an empty string if there was no error.
+	 */
+	public String getErrorMessage() {
+		if (error == null) {
+			return "";
+		}
+		return (error.getMessage() != null) ? error.getMessage() : error.getClass().getSimpleName();
+	}
+
+	/**
+	 * Return the number of warnings produced by the simulation.
+	 */
+	public int getWarningCount() {
+		return (data != null) ? data.getWarningSet().size() : 0;
+	}
+
+	/**
+	 * Return the summary values of the flight in SI units, keyed by the identifiers of
+	 * {@link #SUMMARY_KEYS}.  The values are NaN if the simulation did not complete.
+	 */
+	public Map<String, Double> getSummaryValues() {
+		Map<String, Double> values = new LinkedHashMap<>();
+		boolean hasData = data != null;
+		values.put("maxAltitude", hasData ? data.getMaxAltitude() : Double.NaN);
+		values.put("maxVelocity", hasData ? data.getMaxVelocity() : Double.NaN);
+		values.put("maxAcceleration", hasData ? data.getMaxAcceleration() : Double.NaN);
+		values.put("maxMachNumber", hasData ? data.getMaxMachNumber() : Double.NaN);
+		values.put("timeToApogee", hasData ? data.getTimeToApogee() : Double.NaN);
+		values.put("flightTime", hasData ? data.getFlightTime() : Double.NaN);
+		values.put("groundHitVelocity", hasData ? data.getGroundHitVelocity() : Double.NaN);
+		values.put("launchRodVelocity", hasData ? data.getLaunchRodVelocity() : Double.NaN);
+		values.put("deploymentVelocity", hasData ? data.getDeploymentVelocity() : Double.NaN);
+		values.put("optimumDelay", hasData ? data.getOptimumDelay() : Double.NaN);
+		return values;
+	}
+}
@@ -38,11 +38,7 @@ public class CADataBranch extends DataBranch<CADataType> {
 
 	@Override
 	public void addPoint() {
-		mutable.check();
-
-		for (Map.Entry<CADataType, ArrayList<Double>> entry : values.entrySet()) {
-			entry.getValue().add(Double.NaN);
-		}
+		super.addPoint();
 
 		for (Map<RocketComponent, ArrayList<Double>> componentMap : componentValues.values()) {
 			for (ArrayList<Double> list : componentMap.values()) {
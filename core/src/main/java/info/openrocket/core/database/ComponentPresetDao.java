@@ -73,4 +73,14 @@ public interface ComponentPresetDao {
 	 */
 	public List<ComponentPreset> find(String manufacturer, String partNo);
 
+	/**
+	 * returns a list of components preset whose manufacturer, part number or description
+	 * contains a text, ignoring case as the regular expression flags <code>(?iu)</code> do
+	 * 
+	 * @param type the type of the components, or null for all types
+	 * @param text the text to be searched for
+	 * @return the matching components, in the order of the database
+	 */
+	public List<ComponentPreset> search(ComponentPreset.Type type, String text);
+
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package info.openrocket.core.database;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
@@ -15,10 +17,36 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 
 	private static final Logger logger = LoggerFactory.getLogger(ComponentPresetDatabase.class);
 
+	/**
+	 * Search index of the presets, built on first query after the database has changed.
+	 * The index is built and reset holding the lock of the database, so an index built
+	 * from the list before a change is never published after the change has reset it.
+	 */
+	private volatile ComponentPresetIndex index = null;
+
 	public ComponentPresetDatabase() {
 		super();
 	}
 
+	@Override
+	protected synchronized void listChanged() {
+		index = null;
+	}
+
+	private ComponentPresetIndex getIndex() {
+		ComponentPresetIndex current = index;
+		if (current == null) {
+			synchronized (this) {
+				current = index;
+				if (current == null) {
+					current = new ComponentPresetIndex(list);
+					index = current;
+				}
+			}
+		}
+		return current;
+	}
+
 	@Override
 	public List<ComponentPreset> listAll() {
 		return list;
@@ -27,6 +55,7 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 	@Override
 	public void insert(ComponentPreset preset) {
 		list.add(preset);
+		listChanged();
 	}
 
 	@Override
@@ -35,15 +64,7 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 			return Collections.emptyList();
 		}
 
-		List<ComponentPreset> result = new ArrayList<>(list.size() / 6);
-
-		for (ComponentPreset preset : list) {
-			if (preset.get(ComponentPreset.TYPE).equals(type)) {
-				result.add(preset);
-			}
-		}
-		return result;
-
+		return new ArrayList<>(getIndex().getPresets(type));
 	}
 
 	/**
@@ -61,12 +82,12 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 			return listForType(type);
 		}
 
-		List<ComponentPreset> result = new ArrayList<>(list.size() / 6);
+		List<ComponentPreset> result = new ArrayList<>();
 
 		Set<String> favorites = Application.getPreferences().getComponentFavorites(type);
 
-		for (ComponentPreset preset : list) {
-			if (preset.get(ComponentPreset.TYPE).equals(type) && favorites.contains(preset.preferenceKey())) {
+		for (ComponentPreset preset : getIndex().getPresets(type)) {
+			if (favorites.contains(preset.preferenceKey())) {
 				result.add(preset);
 			}
 		}
@@ -83,20 +104,9 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 			return listForType(type[0]);
 		}
 
-		List<ComponentPreset> result = new ArrayList<>(list.size() / 6);
-
-		for (ComponentPreset preset : list) {
-			ComponentPreset.Type presetType = preset.get(ComponentPreset.TYPE);
-			typeLoop:
-			for (ComponentPreset.Type value : type) {
-				if (presetType.equals(value)) {
-					result.add(preset);
-					break typeLoop; // from inner loop.
-				}
-			}
-
-		}
-		return result;
+		Set<ComponentPreset.Type> types = EnumSet.noneOf(ComponentPreset.Type.class);
+		types.addAll(Arrays.asList(type));
+		return getIndex().getPresets(types);
 	}
 
 	@Override
@@ -107,14 +117,22 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 	@Override
 	public List<ComponentPreset> find(String manufacturer, String partNo) {
 		List<ComponentPreset> presets = new ArrayList<>();
-		for (ComponentPreset preset : list) {
-			if (preset.getManufacturer().matches(manufacturer) && preset.getPartNo().equals(partNo)) {
+		for (ComponentPreset preset : getIndex().getPresets(partNo)) {
+			if (preset.getManufacturer().matches(manufacturer)) {
 				presets.add(preset);
 			}
 		}
 		return presets;
 	}
 
+	@Override
+	public List<ComponentPreset> search(ComponentPreset.Type type, String text) {
+		if (text == null || text.isEmpty()) {
+			return (type == null) ? new ArrayList<>(list) : listForType(type);
+		}
+		return getIndex().search(type, text);
+	}
+
 	@Override
 	public void setFavorite(ComponentPreset preset, ComponentPreset.Type type, boolean favorite) {
 		Application.getPreferences().setComponentFavorite(preset, type, favorite);
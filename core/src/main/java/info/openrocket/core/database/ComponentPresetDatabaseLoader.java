@@ -4,7 +4,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import info.openrocket.core.file.iterator.DirectoryIterator;
 import info.openrocket.core.file.iterator.FileIterator;
@@ -94,13 +96,7 @@ public class ComponentPresetDatabaseLoader extends AsynchronousDatabaseLoader {
 		if (iterator == null)
 			return;
 
-		while (iterator.hasNext()) {
-			Pair<File, InputStream> f = iterator.next();
-			Collection<ComponentPreset> presets = loadFile(f.getU().getName(), f.getV());
-			componentPresetDao.addAll(presets);
-			fileCount++;
-			presetCount += presets.size();
-		}
+		componentPresetDao.addAll(loadFiles(iterator));
 	}
 	
 	/**
@@ -132,12 +128,24 @@ public class ComponentPresetDatabaseLoader extends AsynchronousDatabaseLoader {
 			log.debug("Error opening UserComponentDirectory", ioex);
 			return;
 		}
+		componentPresetDao.addAll(loadFiles(iterator));
+	}
+
+	/**
+	 * load the components from all files of an iterator, to be added to the database at once
+	 * 
+	 * @param iterator	the files to load
+	 * @return	the components preset from all the files
+	 */
+	private List<ComponentPreset> loadFiles(FileIterator iterator) {
+		List<ComponentPreset> presets = new ArrayList<>();
 		while (iterator.hasNext()) {
 			Pair<File, InputStream> f = iterator.next();
-			Collection<ComponentPreset> presets = loadFile(f.getU().getName(), f.getV());
-			componentPresetDao.addAll(presets);
+			Collection<ComponentPreset> filePresets = loadFile(f.getU().getName(), f.getV());
+			presets.addAll(filePresets);
 			fileCount++;
-			presetCount += presets.size();
+			presetCount += filePresets.size();
 		}
+		return presets;
 	}
 }
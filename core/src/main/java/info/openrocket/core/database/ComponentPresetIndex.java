@@ -0,0 +1,193 @@
+package info.openrocket.core.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import info.openrocket.core.preset.ComponentPreset;
+
+/**
+ * An immutable search index over the presets of a {@link ComponentPresetDatabase}.
+ * <p>
+ * The presets are numbered in the order of the database.  The index holds the presets of
+ * each type, the presets of each part number, and for the text search the numbers of the
+ * presets whose manufacturer, part number or description contains each sequence of three
+ * characters.  A
+ * text search looks up the presets containing every three character sequence of the text and
+ * checks only those for the whole text.
+ */
+final class ComponentPresetIndex {
+
+	/** The length of the character sequences indexed for the text search */
+	private static final int GRAM = 3;
+
+	private static final int[] NONE = new int[0];
+
+	private final ComponentPreset[] presets;
+	/** Case folded manufacturer, part number and description of each preset, separated by newlines */
+	private final String[] texts;
+
+	private final Map<ComponentPreset.Type, List<ComponentPreset>> byType;
+	private final Map<ComponentPreset.Type, int[]> indicesByType;
+	private final Map<String, List<ComponentPreset>> byPartNo;
+	private final Map<Long, int[]> byGram;
+
+	ComponentPresetIndex(List<ComponentPreset> list) {
+		presets = list.toArray(new ComponentPreset[0]);
+		texts = new String[presets.length];
+
+		Map<ComponentPreset.Type, List<ComponentPreset>> types = new EnumMap<>(ComponentPreset.Type.class);
+		Map<ComponentPreset.Type, List<Integer>> typeIndices = new EnumMap<>(ComponentPreset.Type.class);
+		Map<String, List<ComponentPreset>> partNos = new HashMap<>();
+		Map<Long, List<Integer>> grams = new HashMap<>();
+		for (int i = 0; i < presets.length; i++) {
+			ComponentPreset preset = presets[i];
+			if (preset.has(ComponentPreset.TYPE)) {
+				types.computeIfAbsent(preset.getType(), k -> new ArrayList<>()).add(preset);
+				typeIndices.computeIfAbsent(preset.getType(), k -> new ArrayList<>()).add(i);
+			}
+			String partNo = preset.has(ComponentPreset.PARTNO) ? preset.getPartNo() : "";
+			partNos.computeIfAbsent(partNo, k -> new ArrayList<>()).add(preset);
+
+			String manufacturer = preset.has(ComponentPreset.MANUFACTURER) ? preset.getManufacturer().getDisplayName() : "";
+			String description = preset.has(ComponentPreset.DESCRIPTION) ? preset.get(ComponentPreset.DESCRIPTION) : "";
+			texts[i] = toSearchText(manufacturer + "\n" + partNo + "\n" + description);
+			for (int start = 0; start + GRAM <= texts[i].length(); start++) {
+				List<Integer> indices = grams.computeIfAbsent(getGram(texts[i], start), k -> new ArrayList<>());
+				// Each preset is added once, in order
+				if (indices.isEmpty() || indices.get(indices.size() - 1) != i) {
+					indices.add(i);
+				}
+			}
+		}
+
+		byType = types;
+		indicesByType = toArrays(typeIndices, new EnumMap<>(ComponentPreset.Type.class));
+		byPartNo = partNos;
+		byGram = toArrays(grams, new HashMap<>());
+	}
+
+	/**
+	 * Return the presets of a type in database order.  The returned list must not be modified.
+	 */
+	List<ComponentPreset> getPresets(ComponentPreset.Type type) {
+		return byType.getOrDefault(type, Collections.emptyList());
+	}
+
+	/**
+	 * Return the presets of any of the types in database order.
+	 */
+	List<ComponentPreset> getPresets(Set<ComponentPreset.Type> types) {
+		int[][] typeIndices = new int[types.size()][];
+		int size = 0;
+		int n = 0;
+		for (ComponentPreset.Type type : types) {
+			typeIndices[n] = indicesByType.getOrDefault(type, NONE);
+			size += typeIndices[n].length;
+			n++;
+		}
+		int[] indices = new int[size];
+		int offset = 0;
+		for (int[] a : typeIndices) {
+			System.arraycopy(a, 0, indices, offset, a.length);
+			offset += a.length;
+		}
+		Arrays.sort(indices);
+
+		List<ComponentPreset> result = new ArrayList<>(size);
+		for (int i : indices) {
+			result.add(presets[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the presets with a part number in database order.  The returned list must not
+	 * be modified.
+	 */
+	List<ComponentPreset> getPresets(String partNo) {
+		return byPartNo.getOrDefault(partNo, Collections.emptyList());
+	}
+
+	/**
+	 * Search the presets as described in {@link ComponentPresetDatabase#search}.
+	 */
+	List<ComponentPreset> search(ComponentPreset.Type type, String text) {
+		String str = toSearchText(text);
+		List<ComponentPreset> result = new ArrayList<>();
+		if (str.length() < GRAM) {
+			// Too short to use the index
+			for (int i = 0; i < presets.length; i++) {
+				addIfMatches(result, i, type, str);
+			}
+			return result;
+		}
+
+		// Presets containing every sequence of the text, starting with the rarest sequence
+		int[][] candidates = new int[str.length() - GRAM + 1][];
+		for (int start = 0; start < candidates.length; start++) {
+			candidates[start] = byGram.getOrDefault(getGram(str, start), NONE);
+		}
+		Arrays.sort(candidates, (a, b) -> Integer.compare(a.length, b.length));
+		int[] positions = new int[candidates.length];
+		outer:
+		for (int i : candidates[0]) {
+			for (int n = 1; n < candidates.length; n++) {
+				int[] indices = candidates[n];
+				while (positions[n] < indices.length && indices[positions[n]] < i) {
+					positions[n]++;
+				}
+				if (positions[n] == indices.length) {
+					break outer;
+				}
+				if (indices[positions[n]] != i) {
+					continue outer;
+				}
+			}
+			addIfMatches(result, i, type, str);
+		}
+		return result;
+	}
+
+	private void addIfMatches(List<ComponentPreset> result, int i, ComponentPreset.Type type, String str) {
+		ComponentPreset preset = presets[i];
+		if (type != null && !(preset.has(ComponentPreset.TYPE) && preset.getType() == type)) {
+			return;
+		}
+		if (texts[i].contains(str)) {
+			result.add(preset);
+		}
+	}
+
+	private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> map, Map<K, int[]> result) {
+		for (Map.Entry<K, List<Integer>> entry : map.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+		return result;
+	}
+
+	/**
+	 * Fold the case of each character of a string as a case-insensitive Unicode regular
+	 * expression does, so the text found by a search is also matched by the regular
+	 * expression <code>"(?iu)" + text</code> when the text has no metacharacters.
+	 * Unlike {@link String#toLowerCase}, this maps each character to one character.
+	 */
+	private static String toSearchText(String str) {
+		StringBuilder sb = new StringBuilder(str.length());
+		str.codePoints().forEach(c -> sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+		return sb.toString();
+	}
+
+	private static long getGram(String str, int start) {
+		long gram = 0;
+		for (int i = start; i < start + GRAM; i++) {
+			gram = (gram << Character.SIZE) | str.charAt(i);
+		}
+		return gram;
+	}
+}
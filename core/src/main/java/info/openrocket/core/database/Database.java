@@ -2,6 +2,7 @@ package info.openrocket.core.database;
 
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -49,10 +50,62 @@ public class Database<T extends Comparable<T>> extends AbstractSet<T> {
 			index = -(index + 1);
 		}
 		list.add(index, element);
+		listChanged();
 		fireAddEvent(element);
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The elements are sorted and merged into the database at once, instead of inserting
+	 * each element in order.  Elements already in the database, or repeated in the collection,
+	 * are added only once.  A single add event is fired for all the elements added, see
+	 * {@link DatabaseListener#elementsAdded(Collection, Database)}.
+	 */
+	@Override
+	public boolean addAll(Collection<? extends T> elements) {
+		if (elements.isEmpty()) {
+			return false;
+		}
+
+		List<T> sorted = new ArrayList<>(elements);
+		Collections.sort(sorted);
+
+		// Merge the sorted elements into the list.  Elements comparing equal are adjacent,
+		// and a new element is added only if the run of equal elements does not contain it.
+		List<T> merged = new ArrayList<>(list.size() + sorted.size());
+		List<T> added = new ArrayList<>();
+		int index = 0;
+		int runStart = 0;
+		for (T element : sorted) {
+			while (index < list.size() && list.get(index).compareTo(element) <= 0) {
+				T existing = list.get(index++);
+				if (merged.isEmpty() || merged.get(merged.size() - 1).compareTo(existing) != 0) {
+					runStart = merged.size();
+				}
+				merged.add(existing);
+			}
+			if (merged.isEmpty() || merged.get(merged.size() - 1).compareTo(element) != 0) {
+				runStart = merged.size();
+			} else if (merged.subList(runStart, merged.size()).contains(element)) {
+				continue;
+			}
+			merged.add(element);
+			added.add(element);
+		}
+		merged.addAll(list.subList(index, list.size()));
+
+		if (added.isEmpty()) {
+			return false;
+		}
+		list.clear();
+		list.addAll(merged);
+		listChanged();
+		fireAddEvent(added);
+		return true;
+	}
+
 	/**
 	 * Get the element with the specified index.
 	 * 
@@ -92,6 +145,14 @@ public class Database<T extends Comparable<T>> extends AbstractSet<T> {
 		listeners.remove(listener);
 	}
 
+	/**
+	 * called when elements have been added to or removed from the list, before the
+	 * listeners are notified; subclasses may override this to update data derived from
+	 * the list
+	 */
+	protected void listChanged() {
+	}
+
 	/**
 	 * wake up call for database listeners for when elements are added
 	 * 
@@ -105,6 +166,20 @@ public class Database<T extends Comparable<T>> extends AbstractSet<T> {
 		}
 	}
 
+	/**
+	 * wake up call for database listeners for when several elements are added at once
+	 * 
+	 * @param elements the elements added
+	 */
+	@SuppressWarnings("unchecked")
+	protected void fireAddEvent(Collection<T> elements) {
+		Collection<T> unmodifiable = Collections.unmodifiableCollection(elements);
+		Object[] array = listeners.toArray();
+		for (Object l : array) {
+			((DatabaseListener<T>) l).elementsAdded(unmodifiable, this);
+		}
+	}
+
 	/**
 	 * wake up call for database listeners when elements are removed
 	 * 
@@ -143,6 +218,7 @@ public class Database<T extends Comparable<T>> extends AbstractSet<T> {
 		@Override
 		public void remove() {
 			iterator.remove();
+			listChanged();
 			fireRemoveEvent(current);
 		}
 	}
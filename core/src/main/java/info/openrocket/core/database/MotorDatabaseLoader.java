@@ -6,8 +6,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.List;
 
 import info.openrocket.core.l10n.Translator;
@@ -20,6 +20,7 @@ import info.openrocket.core.file.iterator.FileIterator;
 import info.openrocket.core.file.motor.GeneralMotorLoader;
 import info.openrocket.core.gui.util.SimpleFileFilter;
 import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.motor.ThrustCurveMotorBinaryFormat;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.Pair;
@@ -40,6 +41,7 @@ public class MotorDatabaseLoader extends AsynchronousDatabaseLoader {
 	private final static Logger log = LoggerFactory.getLogger(MotorDatabaseLoader.class);
 
 	private static final String THRUSTCURVE_DIRECTORY = "datafiles/thrustcurves/";
+	private static final String SERIALIZED_EXTENSION = "motors";
 	private static final long STARTUP_DELAY = 0;
 	
 	private final ThrustCurveMotorSetDatabase database = new ThrustCurveMotorSetDatabase();
@@ -87,7 +89,8 @@ public class MotorDatabaseLoader extends AsynchronousDatabaseLoader {
 	 */
 	private void loadSerializedMotorDatabase() {
 		log.info("Starting reading serialized motor database");
-		FileIterator iterator = DirectoryIterator.findDirectory(THRUSTCURVE_DIRECTORY, new SimpleFileFilter("", false, "ser"));
+		FileIterator iterator = DirectoryIterator.findDirectory(THRUSTCURVE_DIRECTORY,
+				new SimpleFileFilter("", false, SERIALIZED_EXTENSION));
 		while (iterator.hasNext()) {
 			Pair<File, InputStream> f = iterator.next();
 			loadSerialized(f);
@@ -97,15 +100,15 @@ public class MotorDatabaseLoader extends AsynchronousDatabaseLoader {
 	
 	
 	/**
-	 * loads a serailized motor data from an stream
+	 * loads a serailized motor data from an stream, in the format of
+	 * {@link ThrustCurveMotorBinaryFormat}
 	 * 
 	 * @param f	the pair of a File (for logging) and the input stream
 	 */
-	@SuppressWarnings("unchecked")
 	private void loadSerialized(Pair<File, InputStream> f) {
 		log.debug("Reading motors from file " + f.getU().getPath());
-		try (ObjectInputStream ois = new ObjectInputStream(f.getV())) {
-			List<ThrustCurveMotor> motors = (List<ThrustCurveMotor>) ois.readObject();
+		try (InputStream is = f.getV()) {
+			List<ThrustCurveMotor> motors = ThrustCurveMotorBinaryFormat.read(is);
 			addMotors(motors);
 		} catch (Exception ex) {
 			throw new BugException(ex);
@@ -198,10 +201,8 @@ public class MotorDatabaseLoader extends AsynchronousDatabaseLoader {
 	 * @param motors	the list of motors to be added
 	 */
 	private synchronized void addMotors(List<ThrustCurveMotor> motors) {
-		for (ThrustCurveMotor m : motors) {
-			motorCount++;
-			database.addMotor(m);
-		}
+		motorCount += motors.size();
+		database.addMotors(motors);
 	}
 	
 	/**
@@ -210,9 +211,14 @@ public class MotorDatabaseLoader extends AsynchronousDatabaseLoader {
 	 * @param motorBuilders List of motor builders to be used for adding motor into the database
 	 */
 	private synchronized void addMotorsFromBuilders(List<ThrustCurveMotor.Builder> motorBuilders) {
-		for (ThrustCurveMotor.Builder m : motorBuilders) {
-			motorCount++;
-			database.addMotor(m.build());
+		List<ThrustCurveMotor> motors = new ArrayList<>(motorBuilders.size());
+		try {
+			for (ThrustCurveMotor.Builder m : motorBuilders) {
+				motors.add(m.build());
+			}
+		} finally {
+			// Add the motors built before an invalid one
+			addMotors(motors);
 		}
 	}
 	
@@ -0,0 +1,295 @@
+package info.openrocket.core.database.motor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.motor.Manufacturer;
+import info.openrocket.core.motor.Motor;
+import info.openrocket.core.motor.ThrustCurveMotor;
+
+/**
+ * An immutable search index over the motors of a {@link ThrustCurveMotorSetDatabase}.
+ * <p>
+ * The motors are numbered in the order of the database, and each index maps a search
+ * criterion to the numbers of the motors that may match it:
+ * <ul>
+ * <li>digests in a hash map,</li>
+ * <li>manufacturers in a hash map, matched with {@link Manufacturer#matches(String)},</li>
+ * <li>designations in a sorted array of all their suffixes, so that the designations
+ *     containing a string are found with a binary search,</li>
+ * <li>common names in a hash map, looked up with every substring of the designation
+ *     searched for, and</li>
+ * <li>diameters and lengths in sorted arrays, searched for the range within the tolerance.</li>
+ * </ul>
+ * A search uses the most selective index for its criteria and checks the candidates with
+ * the full criteria, so the results are the same as those of checking every motor.
+ */
+final class ThrustCurveMotorIndex {
+
+	/** The tolerance of the diameter and length criteria */
+	private static final double TOLERANCE = 0.005;
+
+	private static final int[] NONE = new int[0];
+
+	private final ThrustCurveMotor[] motors;
+	private final Motor.Type[] types;
+
+	private final Map<String, int[]> byDigest;
+	private final Map<Manufacturer, int[]> byManufacturer;
+	private final Map<String, int[]> byCommonName;
+
+	/** Upper case designations, and their suffixes sorted as motor number and offset pairs */
+	private final String[] designations;
+	private final int[] suffixMotors;
+	private final int[] suffixOffsets;
+
+	private final int[] byDiameter;
+	private final double[] diameters;
+	private final int[] byLength;
+	private final double[] lengths;
+
+	ThrustCurveMotorIndex(List<ThrustCurveMotorSet> motorSets) {
+		List<ThrustCurveMotor> motorList = new ArrayList<>();
+		List<Motor.Type> typeList = new ArrayList<>();
+		for (ThrustCurveMotorSet set : motorSets) {
+			for (ThrustCurveMotor m : set.getMotors()) {
+				motorList.add(m);
+				typeList.add(set.getType());
+			}
+		}
+		motors = motorList.toArray(new ThrustCurveMotor[0]);
+		types = typeList.toArray(new Motor.Type[0]);
+
+		Map<String, List<Integer>> digests = new HashMap<>();
+		Map<Manufacturer, List<Integer>> manufacturers = new LinkedHashMap<>();
+		Map<String, List<Integer>> commonNames = new HashMap<>();
+		designations = new String[motors.length];
+		int suffixCount = 0;
+		for (int i = 0; i < motors.length; i++) {
+			ThrustCurveMotor m = motors[i];
+			if (m.getDigest() != null) {
+				digests.computeIfAbsent(m.getDigest(), k -> new ArrayList<>()).add(i);
+			}
+			manufacturers.computeIfAbsent(m.getManufacturer(), k -> new ArrayList<>()).add(i);
+			if (m.getCommonName() != null) {
+				commonNames.computeIfAbsent(m.getCommonName().toUpperCase(), k -> new ArrayList<>()).add(i);
+			}
+			designations[i] = (m.getDesignation() != null) ? m.getDesignation().toUpperCase() : "";
+			suffixCount += designations[i].length();
+		}
+		byDigest = toArrays(digests);
+		byManufacturer = toArrays(manufacturers);
+		byCommonName = toArrays(commonNames);
+
+		// Sort the suffixes of all designations
+		Integer[] suffixes = new Integer[suffixCount];
+		int[] motorOf = new int[suffixCount];
+		int[] offsetOf = new int[suffixCount];
+		int n = 0;
+		for (int i = 0; i < motors.length; i++) {
+			for (int offset = 0; offset < designations[i].length(); offset++) {
+				suffixes[n] = n;
+				motorOf[n] = i;
+				offsetOf[n] = offset;
+				n++;
+			}
+		}
+		Arrays.sort(suffixes, (a, b) -> compare(designations[motorOf[a]], offsetOf[a],
+				designations[motorOf[b]], offsetOf[b]));
+		suffixMotors = new int[suffixCount];
+		suffixOffsets = new int[suffixCount];
+		for (int i = 0; i < suffixCount; i++) {
+			suffixMotors[i] = motorOf[suffixes[i]];
+			suffixOffsets[i] = offsetOf[suffixes[i]];
+		}
+
+		byDiameter = sortBy(motors, true);
+		diameters = new double[motors.length];
+		byLength = sortBy(motors, false);
+		lengths = new double[motors.length];
+		for (int i = 0; i < motors.length; i++) {
+			diameters[i] = motors[byDiameter[i]].getDiameter();
+			lengths[i] = motors[byLength[i]].getLength();
+		}
+	}
+
+	/**
+	 * Search the motors as described in {@link ThrustCurveMotorSetDatabase#findMotors}.
+	 */
+	List<ThrustCurveMotor> findMotors(String digest, Motor.Type type, String manufacturer, String designation,
+			double diameter, double length) {
+		ArrayList<ThrustCurveMotor> fullMatches = new ArrayList<>();
+		ArrayList<ThrustCurveMotor> digestMatches = new ArrayList<>();
+		ArrayList<ThrustCurveMotor> descriptionMatches = new ArrayList<>();
+
+		// Motors with the digest, in database order
+		if (digest != null) {
+			for (int i : byDigest.getOrDefault(digest, NONE)) {
+				digestMatches.add(motors[i]);
+				if (matchesDescription(i, type, manufacturer, designation, diameter, length)) {
+					fullMatches.add(motors[i]);
+				}
+			}
+		}
+		if (!fullMatches.isEmpty())
+			return fullMatches;
+		if (!digestMatches.isEmpty())
+			return digestMatches;
+
+		BitSet candidates = getCandidates(manufacturer, designation, diameter, length);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			if (matchesDescription(i, type, manufacturer, designation, diameter, length)) {
+				descriptionMatches.add(motors[i]);
+			}
+		}
+		return descriptionMatches;
+	}
+
+	/**
+	 * Return the motors that may match the description, using the most selective index available.
+	 */
+	private BitSet getCandidates(String manufacturer, String designation, double diameter, double length) {
+		BitSet candidates = new BitSet(motors.length);
+		if (designation != null && !designation.isEmpty()) {
+			String str = designation.toUpperCase();
+
+			// Designations containing the string
+			int i = lowerBound(str);
+			while (i < suffixMotors.length && designations[suffixMotors[i]].startsWith(str, suffixOffsets[i])) {
+				candidates.set(suffixMotors[i]);
+				i++;
+			}
+
+			// Common names contained in the string
+			addAll(candidates, byCommonName.get(""));
+			for (int start = 0; start < str.length(); start++) {
+				for (int end = start + 1; end <= str.length(); end++) {
+					addAll(candidates, byCommonName.get(str.substring(start, end)));
+				}
+			}
+		} else if (manufacturer != null) {
+			for (Map.Entry<Manufacturer, int[]> entry : byManufacturer.entrySet()) {
+				if (entry.getKey().matches(manufacturer)) {
+					addAll(candidates, entry.getValue());
+				}
+			}
+		} else if (!Double.isNaN(diameter)) {
+			addRange(candidates, byDiameter, diameters, diameter);
+		} else if (!Double.isNaN(length)) {
+			addRange(candidates, byLength, lengths, length);
+		} else {
+			candidates.set(0, motors.length);
+		}
+		return candidates;
+	}
+
+	private boolean matchesDescription(int i, Motor.Type type, String manufacturer, String designation,
+			double diameter, double length) {
+		ThrustCurveMotor m = motors[i];
+		if (type != null && type != types[i])
+			return false;
+		if (manufacturer != null && !m.getManufacturer().matches(manufacturer))
+			return false;
+		if (designation != null &&
+				!m.getDesignation().toUpperCase().contains(designation.toUpperCase()) &&
+				!designation.toUpperCase().contains(m.getCommonName().toUpperCase()))
+			return false;
+		if (!Double.isNaN(diameter) && (Math.abs(diameter - m.getDiameter()) > TOLERANCE))
+			return false;
+		if (!Double.isNaN(length) && (Math.abs(length - m.getLength()) > TOLERANCE))
+			return false;
+		return true;
+	}
+
+	/**
+	 * Return the position of the first suffix that is not less than the string.
+	 */
+	private int lowerBound(String str) {
+		int low = 0;
+		int high = suffixMotors.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (compare(designations[suffixMotors[mid]], suffixOffsets[mid], str, 0) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static void addRange(BitSet candidates, int[] order, double[] values, double value) {
+		// Widen the range slightly, the candidates are checked against the exact tolerance
+		double min = value - 2 * TOLERANCE;
+		double max = value + 2 * TOLERANCE;
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < min) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		for (int i = low; i < values.length && values[i] <= max; i++) {
+			candidates.set(order[i]);
+		}
+
+		// Unknown values are sorted last and match any value
+		for (int i = values.length - 1; i >= 0 && Double.isNaN(values[i]); i--) {
+			candidates.set(order[i]);
+		}
+	}
+
+	private static void addAll(BitSet candidates, int[] indices) {
+		if (indices != null) {
+			for (int i : indices) {
+				candidates.set(i);
+			}
+		}
+	}
+
+	/**
+	 * Compare the suffixes of two strings lexicographically, as by {@link String#compareTo(String)}.
+	 */
+	private static int compare(String a, int aOffset, String b, int bOffset) {
+		int aLength = a.length() - aOffset;
+		int bLength = b.length() - bOffset;
+		int length = Math.min(aLength, bLength);
+		for (int i = 0; i < length; i++) {
+			char ca = a.charAt(aOffset + i);
+			char cb = b.charAt(bOffset + i);
+			if (ca != cb) {
+				return ca - cb;
+			}
+		}
+		return aLength - bLength;
+	}
+
+	private static int[] sortBy(ThrustCurveMotor[] motors, boolean diameter) {
+		Integer[] order = new Integer[motors.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		if (diameter) {
+			Arrays.sort(order, (a, b) -> Double.compare(motors[a].getDiameter(), motors[b].getDiameter()));
+		} else {
+			Arrays.sort(order, (a, b) -> Double.compare(motors[a].getLength(), motors[b].getLength()));
+		}
+		return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+	}
+
+	private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> map) {
+		Map<K, int[]> result = new LinkedHashMap<>();
+		for (Map.Entry<K, List<Integer>> entry : map.entrySet()) {
+			result.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+		return result;
+	}
+}
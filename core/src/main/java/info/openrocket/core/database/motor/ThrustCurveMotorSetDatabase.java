@@ -1,8 +1,11 @@
 package info.openrocket.core.database.motor;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,60 +24,42 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 
 	private final List<ThrustCurveMotorSet> motorSets = new ArrayList<>();
 
+	/**
+	 * The motor sets by the case-insensitive key of their designation, in database order.
+	 * A motor can only match sets of the same designation.
+	 */
+	private final Map<String, List<ThrustCurveMotorSet>> setsByDesignation = new HashMap<>();
+
+	/**
+	 * Search index of the motors, built on first search after the database has changed.
+	 */
+	private volatile ThrustCurveMotorIndex index = null;
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Motors matching the digest and the other criteria are returned if any, otherwise
+	 * motors matching the digest, otherwise motors matching the other criteria.  The
+	 * motors are looked up from indexes instead of checking every motor.
+	 */
 	@Override
 	public List<ThrustCurveMotor> findMotors(String digest, Motor.Type type, String manufacturer, String designation,
 			double diameter, double length) {
-		ArrayList<ThrustCurveMotor> fullMatches = new ArrayList<>();
-		ArrayList<ThrustCurveMotor> digestMatches = new ArrayList<>();
-		ArrayList<ThrustCurveMotor> descriptionMatches = new ArrayList<>();
-
-		// Apply filters to see if we can find any motors that match the given criteria.
-		// We'll return
-		// the most restrictive nonempty list we find, or empty list if no matches at
-		// all
-		for (ThrustCurveMotorSet set : motorSets) {
-			for (ThrustCurveMotor m : set.getMotors()) {
-				boolean matchDescription = true;
-				boolean matchDigest = true;
-
-				// unlike the description, digest must be present in search criteria to get a
-				// match
-				if (digest == null || !digest.equals(m.getDigest()))
-					matchDigest = false;
-
-				// match description
-				if (type != null && type != set.getType())
-					matchDescription = false;
-				else if (manufacturer != null && !m.getManufacturer().matches(manufacturer))
-					matchDescription = false;
-				else if (designation != null &&
-						!m.getDesignation().toUpperCase().contains(designation.toUpperCase()) &&
-						!designation.toUpperCase().contains(m.getCommonName().toUpperCase()))
-					matchDescription = false;
-				else if (!Double.isNaN(diameter) && (Math.abs(diameter - m.getDiameter()) > 0.005))
-					matchDescription = false;
-				else if (!Double.isNaN(length) && (Math.abs(length - m.getLength()) > 0.005))
-					matchDescription = false;
-
-				if (matchDigest)
-					digestMatches.add(m);
-
-				if (matchDescription)
-					descriptionMatches.add(m);
-
-				if (matchDigest && matchDescription)
-					fullMatches.add(m);
+		return getIndex().findMotors(digest, type, manufacturer, designation, diameter, length);
+	}
+
+	private ThrustCurveMotorIndex getIndex() {
+		ThrustCurveMotorIndex current = index;
+		if (current == null) {
+			synchronized (this) {
+				current = index;
+				if (current == null) {
+					current = new ThrustCurveMotorIndex(motorSets);
+					index = current;
+				}
 			}
 		}
-
-		if (!fullMatches.isEmpty())
-			return fullMatches;
-
-		if (!digestMatches.isEmpty())
-			return digestMatches;
-
-		return descriptionMatches;
-
+		return current;
 	}
 
 	/**
@@ -92,11 +77,32 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 	 * 
 	 * @param motor the motor to add
 	 */
-	public void addMotor(ThrustCurveMotor motor) {
+	public synchronized void addMotor(ThrustCurveMotor motor) {
+		index = null;
+		addMotorToSet(motor);
+	}
+
+	/**
+	 * Add motors to the database, as by {@link #addMotor(ThrustCurveMotor)} for each motor
+	 * in order, holding the lock of the database only once.
+	 * 
+	 * @param motors the motors to add
+	 */
+	public synchronized void addMotors(Collection<ThrustCurveMotor> motors) {
+		index = null;
+		for (ThrustCurveMotor motor : motors) {
+			addMotorToSet(motor);
+		}
+	}
+
+	private void addMotorToSet(ThrustCurveMotor motor) {
+		List<ThrustCurveMotorSet> candidates = setsByDesignation.computeIfAbsent(
+				getDesignationKey(motor.getDesignation()), k -> new ArrayList<>());
+
 		// Iterate from last to first, as this is most likely to hit early when loading
 		// files
-		for (int i = motorSets.size() - 1; i >= 0; i--) {
-			ThrustCurveMotorSet set = motorSets.get(i);
+		for (int i = candidates.size() - 1; i >= 0; i--) {
+			ThrustCurveMotorSet set = candidates.get(i);
 			if (set.matches(motor)) {
 				set.addMotor(motor);
 				return;
@@ -106,6 +112,22 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 		ThrustCurveMotorSet newSet = new ThrustCurveMotorSet();
 		newSet.addMotor(motor);
 		motorSets.add(newSet);
+		candidates.add(newSet);
+	}
+
+	/**
+	 * Return a key that is equal for two designations if and only if they are equal
+	 * by {@link String#equalsIgnoreCase(String)}.
+	 */
+	private static String getDesignationKey(String designation) {
+		if (designation == null) {
+			return null;
+		}
+		char[] chars = designation.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+		}
+		return new String(chars);
 	}
 
 }
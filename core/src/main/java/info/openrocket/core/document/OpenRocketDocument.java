@@ -70,6 +70,11 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	 * UNDO_LEVELS by this amount the undo is purged to that length.
 	 */
 	public static final int UNDO_MARGIN = 10;
+	/**
+	 * The maximum number of component copies stored in the undo history.  When this is
+	 * exceeded the oldest undo levels are purged, keeping at least one undo level.
+	 */
+	public static final int UNDO_COMPONENT_LIMIT = 20000;
 	
 	public static final String SIMULATION_NAME_PREFIX = "Simulation ";
 	
@@ -90,9 +95,10 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	
 	/** 
 	 * The undo history of the rocket.   Whenever a new undo position is created while the
-	 * rocket is in "dirty" state, the rocket is copied here.
+	 * rocket is in "dirty" state, a snapshot of the rocket is stored here.  Each snapshot
+	 * shares the components that have not changed with the previous one.
 	 */
-	private final LinkedList<Rocket> undoHistory = new LinkedList<>();
+	private final LinkedList<RocketSnapshot> undoHistory = new LinkedList<>();
 	private final LinkedList<String> undoDescription = new LinkedList<>();
 	
 	/**
@@ -541,6 +547,24 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 				undoPosition--;
 			}
 		}
+		while (undoPosition > 1 && getUndoComponentCount() > UNDO_COMPONENT_LIMIT) {
+			undoHistory.removeFirst();
+			undoDescription.removeFirst();
+			undoPosition--;
+		}
+	}
+
+	/**
+	 * Return the number of component copies stored in the undo history.  The oldest
+	 * snapshot holds a copy of every component, the later ones hold the components
+	 * changed since the previous snapshot.
+	 */
+	private int getUndoComponentCount() {
+		int count = undoHistory.getFirst().getComponentCount();
+		for (RocketSnapshot snapshot : undoHistory.subList(1, undoHistory.size())) {
+			count += snapshot.getCopiedComponentCount();
+		}
+		return count;
 	}
 
 	/**
@@ -548,7 +572,7 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 	 */
 	private void addStateToUndoHistory(String description) {
 		// Add the current state to the undo history
-		undoHistory.add(rocket.copyWithOriginalID());
+		undoHistory.add(new RocketSnapshot(rocket, undoHistory.peekLast()));
 		undoDescription.add(null);
 		nextDescription = description;
 		undoPosition++;
@@ -637,7 +661,7 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 		undoHistory.clear();
 		undoDescription.clear();
 		
-		undoHistory.add(rocket.copyWithOriginalID());
+		undoHistory.add(new RocketSnapshot(rocket, null));
 		undoDescription.add(null);
 		undoPosition = 0;
 		
@@ -758,12 +782,12 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 				logUndoError("undo position inconsistency");
 			}
 			// Modifications have been made, save the state and restore previous state
-			undoHistory.add(rocket.copyWithOriginalID());
+			undoHistory.add(new RocketSnapshot(rocket, undoHistory.getLast()));
 			undoDescription.add(null);
 		}
 		
 		rocket.checkComponentStructure();
-		rocket.loadFrom(undoHistory.get(undoPosition));
+		rocket.loadFrom(undoHistory.get(undoPosition).toRocket());
 		rocket.checkComponentStructure();
 	}
 	
@@ -785,7 +809,7 @@ public class OpenRocketDocument implements ComponentChangeListener, StateChangeL
 		
 		undoPosition++;
 		
-		rocket.loadFrom(undoHistory.get(undoPosition).copyWithOriginalID());
+		rocket.loadFrom(undoHistory.get(undoPosition).toRocket());
 	}
 	
 	
@@ -15,6 +15,10 @@ public class StorageOptions implements Cloneable {
 
 	private boolean saveSimulationData = false;
 
+	private boolean binaryFlightData = false;
+
+	private boolean compressFlightData = true;
+
 	private boolean explicitlySet = false;
 
 	public FileType getFileType() {
@@ -33,6 +37,31 @@ public class StorageOptions implements Cloneable {
 		saveSimulationData = s;
 	}
 
+	/**
+	 * Return whether simulation data is stored in binary entries of the zip container
+	 * instead of as text in the XML.  Such documents require file version 1.11, which
+	 * older versions of OpenRocket cannot open, so this is off unless chosen explicitly.
+	 */
+	public boolean isBinaryFlightData() {
+		return binaryFlightData;
+	}
+
+	public void setBinaryFlightData(boolean binaryFlightData) {
+		this.binaryFlightData = binaryFlightData;
+	}
+
+	/**
+	 * Return whether the binary simulation data entries are compressed.  Uncompressed
+	 * entries are larger but faster to save and load.
+	 */
+	public boolean isCompressFlightData() {
+		return compressFlightData;
+	}
+
+	public void setCompressFlightData(boolean compressFlightData) {
+		this.compressFlightData = compressFlightData;
+	}
+
 	public boolean isExplicitlySet() {
 		return explicitlySet;
 	}
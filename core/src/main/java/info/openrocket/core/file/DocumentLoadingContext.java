@@ -1,5 +1,8 @@
 package info.openrocket.core.file;
 
+import java.util.Collections;
+import java.util.Map;
+
 import info.openrocket.core.document.OpenRocketDocument;
 
 public class DocumentLoadingContext {
@@ -8,6 +11,7 @@ public class DocumentLoadingContext {
 	private MotorFinder motorFinder;
 	private AttachmentFactory attachmentFactory = new FileSystemAttachmentFactory();
 	private OpenRocketDocument document;
+	private Map<String, byte[]> flightDataEntries = Collections.emptyMap();
 
 	public int getFileVersion() {
 		return fileVersion;
@@ -41,4 +45,18 @@ public class DocumentLoadingContext {
 		this.attachmentFactory = attachmentFactory;
 	}
 
+	/**
+	 * Return the contents of a binary flight data entry of the zip container.
+	 *
+	 * @param name	the name of the entry.
+	 * @return		the contents of the entry, or <code>null</code> if the entry was not found.
+	 */
+	public byte[] getFlightDataEntry(String name) {
+		return flightDataEntries.get(name);
+	}
+
+	public void setFlightDataEntries(Map<String, byte[]> flightDataEntries) {
+		this.flightDataEntries = flightDataEntries;
+	}
+
 }
@@ -1,6 +1,7 @@
 package info.openrocket.core.file;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -8,7 +9,9 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -16,6 +19,7 @@ import java.util.zip.ZipInputStream;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.file.openrocket.FlightDataBinaryFormat;
 import info.openrocket.core.file.openrocket.importt.OpenRocketLoader;
 import info.openrocket.core.file.rasaero.importt.RASAeroLoader;
 import info.openrocket.core.file.rocksim.importt.RockSimLoader;
@@ -54,6 +58,7 @@ public class GeneralRocketLoader {
 
 	private final MotorFinder motorFinder;
 	private AttachmentFactory attachmentFactory;
+	private final Map<String, byte[]> flightDataEntries = new HashMap<>();
 	private final OpenRocketDocument doc = OpenRocketDocumentFactory.createEmptyRocket();
 
 	public GeneralRocketLoader(File file) {
@@ -166,7 +171,10 @@ public class GeneralRocketLoader {
 				throw new RocketLoadException("Unsupported or corrupt file.");
 			}
 			if (entry.getName().matches(".*\\.[oO][rR][kK]$")) {
-				loadRocket(in, fileName);
+				// The flight data entries follow the document, so read them before parsing it
+				byte[] rocket = in.readAllBytes();
+				readFlightDataEntries(in);
+				loadRocket(new ByteArrayInputStream(rocket), fileName);
 			} else if (entry.getName().matches(".*\\.[rR][kK][tT]$")) {
 				loadRocket(in, fileName);
 			} else if (entry.getName().matches(".*\\.[cC][dD][xX]1$")) {
@@ -181,6 +189,18 @@ public class GeneralRocketLoader {
 		loadRocket(source, fileName);
 	}
 
+	/**
+	 * Read the binary flight data entries from the rest of the zip container.
+	 */
+	private void readFlightDataEntries(ZipInputStream in) throws IOException {
+		ZipEntry entry;
+		while ((entry = in.getNextEntry()) != null) {
+			if (entry.getName().startsWith(FlightDataBinaryFormat.ENTRY_PREFIX)) {
+				flightDataEntries.put(entry.getName(), in.readAllBytes());
+			}
+		}
+	}
+
 	private void loadRocket(InputStream source, String fileName) throws IOException, RocketLoadException {
 
 		// Check for mark() support
@@ -252,6 +272,7 @@ public class GeneralRocketLoader {
 		context.setOpenRocketDocument(doc);
 		context.setMotorFinder(motorFinder);
 		context.setAttachmentFactory(attachmentFactory);
+		context.setFlightDataEntries(flightDataEntries);
 		loader.load(context, source, fileName);
 		warnings.addAll(loader.getWarnings());
 
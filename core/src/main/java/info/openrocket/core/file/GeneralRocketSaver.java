@@ -7,8 +7,12 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -217,9 +221,15 @@ public class GeneralRocketSaver {
 
 			ZipEntry mainFile = new ZipEntry("rocket.ork");
 			zos.putNextEntry(mainFile);
-			saveInternal(zos, document, options);
+			Map<String, Supplier<byte[]>> flightData = new LinkedHashMap<>();
+			saveInternal(zos, document, options, options.isBinaryFlightData() ? flightData : null);
 			zos.closeEntry();
 
+			// Write the flight data referenced by the document
+			for (Map.Entry<String, Supplier<byte[]>> entry : flightData.entrySet()) {
+				saveFlightData(zos, entry.getKey(), entry.getValue().get(), options.isCompressFlightData());
+			}
+
 			// Now we write out all the decal images files.
 			for (DecalImage image : decals) {
 				if (image.isIgnored()) {
@@ -245,10 +255,39 @@ public class GeneralRocketSaver {
 
 	}
 
+	/**
+	 * Write the encoded data points of a flight data branch into a zip entry.  Uncompressed
+	 * entries are stored as-is, which requires their size and checksum up front.
+	 */
+	private static void saveFlightData(ZipOutputStream zos, String name, byte[] data, boolean compress)
+			throws IOException {
+		ZipEntry entry = new ZipEntry(name);
+		if (!compress) {
+			CRC32 crc = new CRC32();
+			crc.update(data);
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(data.length);
+			entry.setCompressedSize(data.length);
+			entry.setCrc(crc.getValue());
+		}
+		zos.putNextEntry(entry);
+		zos.write(data);
+		zos.closeEntry();
+	}
+
 	// package scope for testing.
 
 	private void saveInternal(OutputStream output, OpenRocketDocument document, StorageOptions options)
 			throws IOException {
+		saveInternal(output, document, options, null);
+	}
+
+	/**
+	 * Save the document.  If flightData is non-null, the data points of an OpenRocket document
+	 * are added to it for storing in binary entries instead of being written to the XML.
+	 */
+	private void saveInternal(OutputStream output, OpenRocketDocument document, StorageOptions options,
+			Map<String, Supplier<byte[]>> flightData) throws IOException {
 		warnings.clear();
 		errors.clear();
 
@@ -257,7 +296,9 @@ public class GeneralRocketSaver {
 		} else if (options.getFileType() == FileType.RASAERO) {
 			new RASAeroSaver().save(output, document, options, warnings, errors);
 		} else {
-			new OpenRocketSaver().save(output, document, options, warnings, errors);
+			OpenRocketSaver saver = new OpenRocketSaver();
+			saver.setFlightDataEntries(flightData);
+			saver.save(output, document, options, warnings, errors);
 		}
 	}
 
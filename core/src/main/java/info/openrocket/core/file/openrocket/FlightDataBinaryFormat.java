@@ -0,0 +1,199 @@
+package info.openrocket.core.file.openrocket;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.util.BugException;
+
+/**
+ * The binary encoding of the data points of a flight data branch, stored as a separate entry
+ * of the zip container of an .ork file.
+ * <p>
+ * The XML <code>&lt;databranch&gt;</code> element references the entry with its
+ * <code>datafile</code> attribute and keeps the name, types and events of the branch.  The
+ * entry stores the values column by column, in the order of the <code>types</code> attribute:
+ * <pre>
+ * int      magic, "ORFD"
+ * int      format version, {@value #VERSION}
+ * int      number of columns
+ * int      number of data points
+ * byte[]   the encoded values of each column in turn
+ * </pre>
+ * The header is little-endian.  The values are stored as IEEE 754 single precision floats,
+ * which is more precise than the five significant digits of the XML text.  Each column stores
+ * the differences of the bit patterns of consecutive values, split into four planes of the
+ * lowest, second, third and highest bytes of the differences.  Slowly changing data thus
+ * results in long runs of equal bytes, which the compression of the zip container packs
+ * efficiently.  Decoding reverses this exactly.
+ */
+public final class FlightDataBinaryFormat {
+
+	/** The directory of the flight data entries in the zip container */
+	public static final String ENTRY_PREFIX = "flightdata/";
+
+	/** The file format version written */
+	public static final int VERSION = 1;
+
+	private static final int MAGIC = 0x4F524644; // "ORFD"
+	private static final int HEADER_SIZE = 4 * Integer.BYTES;
+
+	private FlightDataBinaryFormat() {
+	}
+
+	/**
+	 * Return the name of the zip entry of the n'th flight data branch of a document.
+	 */
+	public static String getEntryName(int n) {
+		return ENTRY_PREFIX + "branch" + n + ".bin";
+	}
+
+	/**
+	 * Encode the data points of a branch.  The columns are in the order of
+	 * {@link FlightDataBranch#getTypes()}, which is also the order written to the XML.
+	 *
+	 * @param branch	the branch to encode.
+	 * @return			the encoded data.
+	 */
+	public static byte[] encode(FlightDataBranch branch) {
+		FlightDataType[] types = branch.getTypes();
+		int length = branch.getLength();
+
+		byte[] data = new byte[HEADER_SIZE + types.length * length * Float.BYTES];
+		ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN)
+				.putInt(MAGIC)
+				.putInt(VERSION)
+				.putInt(types.length)
+				.putInt(length);
+
+		double[] column = new double[length];
+		int offset = HEADER_SIZE;
+		for (FlightDataType type : types) {
+			branch.copyValues(type, 0, length, column, 0);
+			int previous = 0;
+			for (int i = 0; i < length; i++) {
+				int bits = Float.floatToRawIntBits((float) column[i]);
+				int delta = bits - previous;
+				previous = bits;
+				data[offset + i] = (byte) delta;
+				data[offset + length + i] = (byte) (delta >>> 8);
+				data[offset + 2 * length + i] = (byte) (delta >>> 16);
+				data[offset + 3 * length + i] = (byte) (delta >>> 24);
+			}
+			offset += length * Float.BYTES;
+		}
+		return data;
+	}
+
+	/**
+	 * Check the header of encoded flight data and return the number of data points, without
+	 * decoding the values.
+	 *
+	 * @param data		the encoded data.
+	 * @param columns	the number of columns expected, from the types of the branch.
+	 * @return			the number of data points.
+	 * @throws IOException	if the data is not valid flight data with the expected number of columns.
+	 */
+	public static int getLength(byte[] data, int columns) throws IOException {
+		ByteBuffer header = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+		if (data.length < HEADER_SIZE || header.getInt() != MAGIC) {
+			throw new IOException("Not a flight data file");
+		}
+		int version = header.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported flight data file version " + version);
+		}
+		int count = header.getInt();
+		int length = header.getInt();
+		if (count != columns) {
+			throw new IOException("Flight data file has " + count + " columns, expected " + columns);
+		}
+		if (length < 0 || (long) count * length * Float.BYTES != data.length - HEADER_SIZE) {
+			throw new IOException("Flight data file has an invalid length");
+		}
+		return length;
+	}
+
+	/**
+	 * Decode the columns of encoded flight data.
+	 *
+	 * @param data		the encoded data.
+	 * @param columns	the number of columns expected, from the types of the branch.
+	 * @return			the values of each column.
+	 * @throws IOException	if the data is not valid flight data with the expected number of columns.
+	 */
+	public static double[][] decode(byte[] data, int columns) throws IOException {
+		int length = getLength(data, columns);
+
+		double[][] result = new double[columns][length];
+		int offset = HEADER_SIZE;
+		for (double[] column : result) {
+			int bits = 0;
+			for (int i = 0; i < length; i++) {
+				bits += (data[offset + i] & 0xff)
+						| (data[offset + length + i] & 0xff) << 8
+						| (data[offset + 2 * length + i] & 0xff) << 16
+						| (data[offset + 3 * length + i] & 0xff) << 24;
+				column[i] = Float.intBitsToFloat(bits);
+			}
+			offset += length * Float.BYTES;
+		}
+		return result;
+	}
+
+	/**
+	 * A flight data branch read from an encoded entry, whose data points are decoded when the
+	 * branch is loaded.  The encoded data can be stored again as-is without decoding it.
+	 */
+	public static final class EncodedBranch implements FlightData.BranchLoader {
+		private final FlightDataBranch header;
+		private final byte[] data;
+		private final int length;
+		
+		/**
+		 * @param header	the immutable branch without data points, holding the name, types
+		 * 					and events of the branch.
+		 * @param data		the encoded data points, which must not be modified afterwards.
+		 * @throws IOException	if the data is not valid flight data for the types of the header.
+		 */
+		public EncodedBranch(FlightDataBranch header, byte[] data) throws IOException {
+			this.length = FlightDataBinaryFormat.getLength(data, header.getTypes().length);
+			this.header = header;
+			this.data = data;
+		}
+		
+		/**
+		 * Return the branch without data points, holding the name, types and events.
+		 */
+		public FlightDataBranch getHeader() {
+			return header;
+		}
+		
+		/**
+		 * Return the encoded data points.  The array must not be modified.
+		 */
+		public byte[] getData() {
+			return data;
+		}
+		
+		@Override
+		public int getLength() {
+			return length;
+		}
+		
+		@Override
+		public FlightDataBranch load() {
+			FlightDataBranch loaded = header.clone();
+			try {
+				loaded.addPoints(header.getTypes(), decode(data, header.getTypes().length));
+			} catch (IOException e) {
+				throw new BugException("Flight data was checked when reading it", e);
+			}
+			loaded.immute();
+			return loaded;
+		}
+	}
+}
@@ -10,6 +10,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import info.openrocket.core.file.openrocket.savers.PhotoStudioSaver;
 import info.openrocket.core.logging.ErrorSet;
@@ -33,6 +34,7 @@ import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.FlightEvent;
 import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.SimulationStepperType;
 import info.openrocket.core.simulation.customexpression.CustomExpression;
 import info.openrocket.core.simulation.extension.SimulationExtension;
 import info.openrocket.core.util.BugException;
@@ -64,11 +66,30 @@ public class OpenRocketSaver extends RocketSaver {
 	private static final int BYTES_PER_COMPONENT_COMPRESSED = 80;
 	private static final int BYTES_PER_SIMULATION_COMPRESSED = 100;
 	private static final int BYTES_PER_DATAPOINT_COMPRESSED = 100;
+	private static final int BYTES_PER_DATAPOINT_BINARY_COMPRESSED = 40;
+	private static final int BYTES_PER_DATAPOINT_BINARY = 220;
 	
 	
 	private int indent;
 	private Writer dest;
 	
+	/** The encoded branches to store as binary entries by entry name, or null to store the data as XML */
+	private Map<String, Supplier<byte[]>> flightDataEntries = null;
+	
+	/**
+	 * Store the data points of the flight data branches in separate binary entries instead of
+	 * as text in the XML.  The XML references the entries by name, and the suppliers of the
+	 * data encoded with {@link FlightDataBinaryFormat} are added to the given map during
+	 * {@link #save}.  The caller must write the data of each supplier into an entry of the same
+	 * name in the zip container of the document.  Branches that have not been loaded from a
+	 * binary entry are stored without decoding them.
+	 * 
+	 * @param entries	the map to add the encoded data to, or <code>null</code> to store the data as text.
+	 */
+	public void setFlightDataEntries(Map<String, Supplier<byte[]>> entries) {
+		this.flightDataEntries = entries;
+	}
+	
 	@Override
 	public void save(OutputStream output, OpenRocketDocument document, StorageOptions options, WarningSet warnings, ErrorSet errors) throws IOException {
 		
@@ -191,13 +212,19 @@ public class OpenRocketSaver extends RocketSaver {
 				FlightData data = s.getSimulatedData();
 				if (data != null) {
 					for (int i = 0; i < data.getBranchCount(); i++) {
-						pointCount += countFlightDataBranchPoints(data.getBranch(i));
+						pointCount += data.getBranchLength(i);
 					}
 				}
 			}
 		}
 		
-		size += pointCount * BYTES_PER_DATAPOINT_COMPRESSED;
+		if (options.isBinaryFlightData() && options.isCompressFlightData()) {
+			size += pointCount * BYTES_PER_DATAPOINT_BINARY_COMPRESSED;
+		} else if (options.isBinaryFlightData()) {
+			size += pointCount * BYTES_PER_DATAPOINT_BINARY;
+		} else {
+			size += pointCount * BYTES_PER_DATAPOINT_COMPRESSED;
+		}
 		
 		return size;
 	}
@@ -226,11 +253,51 @@ public class OpenRocketSaver extends RocketSaver {
 	private int calculateNecessaryFileVersion(OpenRocketDocument document, StorageOptions opts) {
 		/*
 		 * NOTE:  Remember to update the supported versions in DocumentConfig as well!
+		 * 
+		 * File version 1.11 is required when storing flight data in binary entries, or
+		 * simulation conditions added in 1.11.
 		 */
+		if (flightDataEntries != null && hasStoredFlightData(document, opts)) {
+			return FILE_VERSION_DIVISOR + 11;
+		}
+		if (hasConditions111(document)) {
+			return FILE_VERSION_DIVISOR + 11;
+		}
 		return FILE_VERSION_DIVISOR + 10;
 		
 	}
 	
+	/**
+	 * Return whether any simulation uses conditions that are stored only since file version 1.11.
+	 */
+	private static boolean hasConditions111(OpenRocketDocument document) {
+		for (Simulation s : document.getSimulations()) {
+			if (s.getOptions().isTabulatedAerodynamics())
+				return true;
+			if (s.getOptions().getStepperType() != SimulationStepperType.RK4)
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Return whether any data points of the simulations will be stored.
+	 */
+	private static boolean hasStoredFlightData(OpenRocketDocument document, StorageOptions opts) {
+		for (Simulation s : document.getSimulations()) {
+			FlightData data = s.getSimulatedData();
+			if (data == null)
+				continue;
+			if (s.getStatus() != Simulation.Status.EXTERNAL && (opts == null || !opts.getSaveSimulationData()))
+				continue;
+			for (int i = 0; i < data.getBranchCount(); i++) {
+				if (data.getBranchLength(i) > 0)
+					return true;
+			}
+		}
+		return false;
+	}
+	
 	
 	/**
 	 * Finds a getElements method somewhere in the *saver class hierarchy corresponding to the given component.
@@ -382,6 +449,13 @@ public class OpenRocketSaver extends RocketSaver {
 		}
 		
 		writeElement("timestep", cond.getTimeStep());
+		if (cond.isTabulatedAerodynamics()) {
+			writeElement("tabulatedaerodynamics", true);
+		}
+		if (cond.getStepperType() != SimulationStepperType.RK4) {
+			writeElement("stepper", cond.getStepperType().toStringValue());
+			writeElement("tolerance", cond.getIntegrationTolerance());
+		}
 		
 		indent--;
 		writeln("</conditions>");
@@ -453,9 +527,24 @@ public class OpenRocketSaver extends RocketSaver {
 			// Check whether to store data
 			if ((simulation.getStatus() == Simulation.Status.EXTERNAL) || // Always store external data
 				saveSimulationData) {
-				for (int i = 0; i < data.getBranchCount(); i++) {
-					FlightDataBranch branch = data.getBranch(i);
-					saveFlightDataBranch(branch);
+				List<FlightData.BranchLoader> loaders = data.getBranchLoaders();
+				if (loaders != null && flightDataEntries != null) {
+					// Copy branches still encoded as they were loaded, without decoding them
+					for (FlightData.BranchLoader loader : loaders) {
+						if (loader instanceof FlightDataBinaryFormat.EncodedBranch encoded) {
+							saveFlightDataBranch(encoded.getHeader(), encoded.getLength(), encoded::getData);
+						} else {
+							FlightDataBranch branch = loader.load();
+							saveFlightDataBranch(branch, branch.getLength(), () -> FlightDataBinaryFormat.encode(branch));
+						}
+					}
+				} else {
+					for (int i = 0; i < data.getBranchCount(); i++) {
+						FlightDataBranch branch = data.getBranch(i);
+						if (branch != null) {
+							saveFlightDataBranch(branch, branch.getLength(), () -> FlightDataBinaryFormat.encode(branch));
+						}
+					}
 				}
 			}
 			
@@ -564,24 +653,23 @@ public class OpenRocketSaver extends RocketSaver {
 		}
 	}
 	
-	private void saveFlightDataBranch(FlightDataBranch branch)
+	/**
+	 * Save a flight data branch.  When storing binary entries, the data points are not read from
+	 * the branch, which may then contain only the name, types and events.
+	 * 
+	 * @param branch	the branch to save.
+	 * @param length	the number of data points of the branch.
+	 * @param encoded	the supplier of the encoded data points for a binary entry.
+	 */
+	private void saveFlightDataBranch(FlightDataBranch branch, int length, Supplier<byte[]> encoded)
 			throws IOException {
 		
-		if (branch == null)
-			return;
-		
 		// Retrieve the types from the branch
 		FlightDataType[] types = branch.getTypes();
 		
 		if (types.length == 0)
 			return;
 		
-		// Retrieve the data from the branch
-		List<List<Double>> data = new ArrayList<>(types.length);
-		for (FlightDataType type : types) {
-			data.add(branch.get(type));
-		}
-		
 		// Build the <databranch> tag
 		StringBuilder sb = new StringBuilder();
 		sb.append("<databranch name=\"");
@@ -616,7 +704,18 @@ public class OpenRocketSaver extends RocketSaver {
 				sb.append(",");
 			sb.append(TextUtil.escapeXML(types[i].getName()));
 		}
-		sb.append("\">");
+		sb.append("\"");
+		
+		// Reference the binary entry of the data points
+		String entryName = null;
+		if (flightDataEntries != null && length > 0) {
+			entryName = FlightDataBinaryFormat.getEntryName(flightDataEntries.size() + 1);
+			flightDataEntries.put(entryName, encoded);
+			sb.append(" datafile=\"");
+			sb.append(TextUtil.escapeXML(entryName));
+			sb.append("\"");
+		}
+		sb.append(">");
 		writeln(sb.toString());
 		indent++;
 		
@@ -641,42 +740,21 @@ public class OpenRocketSaver extends RocketSaver {
 			writeln(eventStr);
 		}
 		
-		// Write the data
-		int length = branch.getLength();
-		for (int i = 0; i < length; i++) {
-			writeDataPointString(data, i, sb);
+		// Write the data, unless it is stored in a binary entry
+		if (entryName == null) {
+			List<List<Double>> data = new ArrayList<>(types.length);
+			for (FlightDataType type : types) {
+				data.add(branch.get(type));
+			}
+			for (int i = 0; i < length; i++) {
+				writeDataPointString(data, i, sb);
+			}
 		}
 		
 		indent--;
 		writeln("</databranch>");
 	}
 	
-	/* TODO: LOW: This is largely duplicated from above! */
-	private int countFlightDataBranchPoints(FlightDataBranch branch) {
-		int count = 0;
-		
-		if (branch == null)
-			return 0;
-		
-		// Retrieve the types from the branch
-		FlightDataType[] types = branch.getTypes();
-		
-		if (types.length == 0)
-			return 0;
-		
-		List<Double> timeData = branch.get(FlightDataType.TYPE_TIME);
-		if (timeData == null) {
-			// If time data not available, store all points
-			return branch.getLength();
-		}
-		
-		// Count the data
-		count += branch.getLength();
-		
-		return count;
-	}
-	
-	
 	
 	private void writeDataPointString(List<List<Double>> data, int index, StringBuilder sb)
 			throws IOException {
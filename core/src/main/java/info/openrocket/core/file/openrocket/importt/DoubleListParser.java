@@ -0,0 +1,217 @@
+package info.openrocket.core.file.openrocket.importt;
+
+import java.util.Arrays;
+
+/**
+ * A parser of comma-separated double values, such as the content of a
+ * <code>&lt;datapoint&gt;</code> element, that parses the values directly from the
+ * character chunks of the XML parser without creating strings.
+ * <p>
+ * The values are parsed as by {@link DocumentConfig#stringToDouble(String)}.  Decimal values
+ * with at most 18 significant digits whose magnitude is exactly representable after scaling
+ * by a power of ten up to 10^22 are computed directly, which is correctly rounded.  This covers
+ * the values written by OpenRocket.  Other values fall back to {@link Double#parseDouble(String)}.
+ * <p>
+ * Usage: call {@link #reset()}, {@link #characters(char[], int, int)} for each chunk of text and
+ * {@link #finish()}, after which {@link #getCount()}, {@link #hasError()} and
+ * {@link #getValues()} describe the parsed values.
+ */
+class DoubleListParser {
+
+	private static final int MAX_TOKEN_LENGTH = 64;
+	private static final int MAX_DIGITS = 18;
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private final char[] token = new char[MAX_TOKEN_LENGTH];
+	private int tokenLength = 0;
+	private boolean tokenOverflow = false;
+
+	private double[] values;
+	private int count = 0;
+	private boolean error = false;
+
+	/**
+	 * @param capacity	the initial number of values to allocate room for.
+	 */
+	public DoubleListParser(int capacity) {
+		values = new double[Math.max(capacity, 1)];
+	}
+
+	/**
+	 * Start parsing a new list of values.
+	 */
+	public void reset() {
+		tokenLength = 0;
+		tokenOverflow = false;
+		count = 0;
+		error = false;
+	}
+
+	/**
+	 * Parse a chunk of text.
+	 */
+	public void characters(char[] chars, int start, int length) {
+		int end = start + length;
+		for (int i = start; i < end; i++) {
+			char c = chars[i];
+			if (c == ',') {
+				endToken();
+			} else if (tokenLength < MAX_TOKEN_LENGTH) {
+				token[tokenLength++] = c;
+			} else {
+				tokenOverflow = true;
+			}
+		}
+	}
+
+	/**
+	 * Finish parsing the current list of values.
+	 */
+	public void finish() {
+		endToken();
+	}
+
+	/**
+	 * Return the number of values in the list, including values that could not be parsed.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Return whether any of the values could not be parsed.
+	 */
+	public boolean hasError() {
+		return error;
+	}
+
+	/**
+	 * Return the parsed values.  The array is reused for the next list, and only the first
+	 * {@link #getCount()} values are valid.
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	private void endToken() {
+		double value;
+		if (tokenOverflow) {
+			value = Double.NaN;
+			error = true;
+		} else {
+			value = parseToken();
+		}
+
+		if (count == values.length) {
+			values = Arrays.copyOf(values, values.length * 2);
+		}
+		values[count++] = value;
+		tokenLength = 0;
+		tokenOverflow = false;
+	}
+
+	private double parseToken() {
+		// Trim whitespace, as Double.parseDouble does
+		int start = 0;
+		int end = tokenLength;
+		while (start < end && token[start] <= ' ') {
+			start++;
+		}
+		while (end > start && token[end - 1] <= ' ') {
+			end--;
+		}
+
+		double value = parseDecimal(start, end);
+		if (!Double.isNaN(value)) {
+			return value;
+		}
+
+		try {
+			return DocumentConfig.stringToDouble(new String(token, start, end - start));
+		} catch (NumberFormatException e) {
+			error = true;
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Parse a plain decimal number, or return NaN if the fast path does not apply.
+	 */
+	private double parseDecimal(int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (token[i] == '-' || token[i] == '+')) {
+			negative = token[i] == '-';
+			i++;
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int exponent = 0;
+		boolean anyDigits = false;
+		boolean point = false;
+		for (; i < end; i++) {
+			char c = token[i];
+			if (c >= '0' && c <= '9') {
+				anyDigits = true;
+				if (mantissa != 0 || c != '0') {
+					if (++digits > MAX_DIGITS) {
+						return Double.NaN;
+					}
+					mantissa = mantissa * 10 + (c - '0');
+				}
+				if (point) {
+					exponent--;
+				}
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				break;
+			}
+		}
+		if (!anyDigits) {
+			return Double.NaN;
+		}
+
+		if (i < end && (token[i] == 'e' || token[i] == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (token[i] == '-' || token[i] == '+')) {
+				negativeExponent = token[i] == '-';
+				i++;
+			}
+			if (i == end || end - i > 3) {
+				return Double.NaN;
+			}
+			int e = 0;
+			for (; i < end; i++) {
+				char c = token[i];
+				if (c < '0' || c > '9') {
+					return Double.NaN;
+				}
+				e = e * 10 + (c - '0');
+			}
+			exponent += negativeExponent ? -e : e;
+		}
+		if (i != end) {
+			return Double.NaN;
+		}
+
+		double value;
+		if (mantissa == 0) {
+			value = 0;
+		} else if (mantissa <= MAX_EXACT_MANTISSA && exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+			value = mantissa * POWERS_OF_TEN[exponent];
+		} else if (mantissa <= MAX_EXACT_MANTISSA && exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+			value = mantissa / POWERS_OF_TEN[-exponent];
+		} else {
+			return Double.NaN;
+		}
+		return negative ? -value : value;
+	}
+}
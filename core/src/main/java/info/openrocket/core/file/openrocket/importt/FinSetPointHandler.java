@@ -3,7 +3,7 @@ package info.openrocket.core.file.openrocket.importt;
 import java.util.ArrayList;
 import java.util.HashMap;
 
-import org.xml.sax.SAXException;
+import org.xml.sax.Attributes;
 
 import info.openrocket.core.logging.Warning;
 import info.openrocket.core.logging.WarningSet;
@@ -11,18 +11,21 @@ import info.openrocket.core.file.DocumentLoadingContext;
 import info.openrocket.core.file.simplesax.AbstractElementHandler;
 import info.openrocket.core.file.simplesax.ElementHandler;
 import info.openrocket.core.file.simplesax.PlainTextHandler;
+import info.openrocket.core.file.simplesax.StreamingElementHandler;
 import info.openrocket.core.rocketcomponent.FreeformFinSet;
 import info.openrocket.core.util.Coordinate;
 
 /**
  * A handler that reads the <point> specifications within the freeformfinset's
- * <finpoints> elements.
+ * <finpoints> elements.  The points are read with the streaming fast path, directly
+ * from the attributes of the XML parser.
  */
-class FinSetPointHandler extends AbstractElementHandler {
+class FinSetPointHandler extends AbstractElementHandler implements StreamingElementHandler {
 	@SuppressWarnings("unused")
 	private final DocumentLoadingContext context;
 	private final FreeformFinSet finset;
 	private final ArrayList<Coordinate> coordinates = new ArrayList<>();
+	private boolean unknownText = false;
 
 	public FinSetPointHandler(FreeformFinSet finset, DocumentLoadingContext context) {
 		this.finset = finset;
@@ -36,11 +39,14 @@ class FinSetPointHandler extends AbstractElementHandler {
 	}
 
 	@Override
-	public void closeElement(String element, HashMap<String, String> attributes,
-			String content, WarningSet warnings) throws SAXException {
+	public boolean isStreamingElement(String element) {
+		return element.equals("point");
+	}
 
-		String strx = attributes.remove("x");
-		String stry = attributes.remove("y");
+	@Override
+	public void startStreamingElement(String element, Attributes attributes, WarningSet warnings) {
+		String strx = attributes.getValue("x");
+		String stry = attributes.getValue("y");
 		if (strx == null || stry == null) {
 			warnings.add(Warning.fromString("Illegal fin points specification, ignoring."));
 			return;
@@ -54,7 +60,26 @@ class FinSetPointHandler extends AbstractElementHandler {
 			return;
 		}
 
-		super.closeElement(element, attributes, content, warnings);
+		if (attributes.getLength() > 2) {
+			warnings.add(Warning.fromString("Unknown attributes in element '" + element + "', ignoring."));
+		}
+	}
+
+	@Override
+	public void characters(char[] chars, int start, int length) {
+		for (int i = start; i < start + length; i++) {
+			if (chars[i] > ' ') {
+				unknownText = true;
+			}
+		}
+	}
+
+	@Override
+	public void endStreamingElement(String element, WarningSet warnings) {
+		if (unknownText) {
+			warnings.add(Warning.fromString("Unknown text in element '" + element + "', ignoring."));
+			unknownText = false;
+		}
 	}
 
 	@Override
@@ -1,5 +1,7 @@
 package info.openrocket.core.file.openrocket.importt;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.UUID;
 
@@ -8,12 +10,14 @@ import info.openrocket.core.logging.SimulationAbort;
 import info.openrocket.core.logging.SimulationAbort.Cause;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.file.DocumentLoadingContext;
+import info.openrocket.core.file.openrocket.FlightDataBinaryFormat;
 import info.openrocket.core.file.simplesax.AbstractElementHandler;
 import info.openrocket.core.file.simplesax.ElementHandler;
-import info.openrocket.core.file.simplesax.PlainTextHandler;
+import info.openrocket.core.file.simplesax.StreamingElementHandler;
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.FlightData;
 import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.FlightEvent;
@@ -21,17 +25,33 @@ import info.openrocket.core.simulation.FlightEvent.Type;
 import info.openrocket.core.simulation.customexpression.CustomExpression;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.util.BugException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
 
-class FlightDataBranchHandler extends AbstractElementHandler {
-	@SuppressWarnings("unused")
+/**
+ * A handler for a &lt;databranch&gt; element.  The &lt;datapoint&gt; and &lt;event&gt; elements,
+ * which occur in large numbers, are read with the streaming fast path: the values of the data
+ * points are parsed directly from the XML parser's character buffers into primitive column
+ * arrays, which are added to the branch in bulk.
+ */
+class FlightDataBranchHandler extends AbstractElementHandler implements StreamingElementHandler {
 	private final DocumentLoadingContext context;
 	private final FlightDataType[] types;
 	private final FlightDataBranch branch;
+	private byte[] dataFile = null;
+	private int dataFileLength = 0;
+	
+	// The data points read from the XML, by column
+	private final DoubleListParser parser;
+	private final double[][] columns;
+	private int pointCount = 0;
+	private boolean inDataPoint = false;
 	
 	private static final Logger log = LoggerFactory.getLogger(FlightDataBranchHandler.class);
+	private static final int INITIAL_CAPACITY = 64;
 	private final SingleSimulationHandler simHandler;
 	private static final Translator trans = Application.getTranslator();
 
@@ -50,6 +70,9 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 		
 		// TODO: LOW: May throw an IllegalArgumentException
 		branch = new FlightDataBranch(name, types);
+		
+		parser = new DoubleListParser(types.length);
+		columns = new double[types.length][INITIAL_CAPACITY];
 	}
 	
 	/**
@@ -68,6 +91,68 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 		branch.setOptimumAltitude(optimumAltitude);
 	}
 	
+	/**
+	 * Use the data points stored in a binary entry of the zip container for the branch.
+	 * The entry is checked now, but only decoded when the branch is loaded.
+	 * 
+	 * @param name		the name of the entry.
+	 * @param warnings	the warning set to add warnings to.
+	 * @see #getBranchLoader()
+	 */
+	public void readDataFile(String name, WarningSet warnings) {
+		byte[] data = context.getFlightDataEntry(name);
+		if (data == null) {
+			warnings.add("Flight data file '" + name + "' not found, ignoring data.");
+			return;
+		}
+		try {
+			dataFileLength = FlightDataBinaryFormat.getLength(data, types.length);
+			dataFile = data;
+		} catch (IOException e) {
+			warnings.add("Illegal flight data file '" + name + "', ignoring data: " + e.getMessage());
+		}
+	}
+	
+	/**
+	 * Return whether the data points of the branch are stored in a binary entry.
+	 */
+	public boolean hasDataFile() {
+		return dataFile != null;
+	}
+	
+	/**
+	 * Return the number of data points of the branch, without loading a binary entry.
+	 */
+	public int getLength() {
+		return hasDataFile() ? dataFileLength : branch.getLength() + pointCount;
+	}
+	
+	/**
+	 * Return a loader of the branch.  A branch stored in a binary entry is decoded into a new,
+	 * immutable branch on each call of the loader.
+	 */
+	public FlightData.BranchLoader getBranchLoader() {
+		final FlightDataBranch template = getBranch();
+		if (dataFile == null) {
+			return new FlightData.BranchLoader() {
+				@Override
+				public int getLength() {
+					return template.getLength();
+				}
+				
+				@Override
+				public FlightDataBranch load() {
+					return template;
+				}
+			};
+		}
+		try {
+			return new FlightDataBinaryFormat.EncodedBranch(template, dataFile);
+		} catch (IOException e) {
+			throw new BugException("Flight data was checked when reading it", e);
+		}
+	}
+	
 	// Find the full flight data type given name only
 	// Note: this way of doing it requires that custom expressions always come before flight data in the file,
 	// not the nicest but this is always the case anyway.
@@ -108,6 +193,7 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 	}
 	
 	public FlightDataBranch getBranch() {
+		flushPoints();
 		branch.immute();
 		return branch;
 	}
@@ -115,98 +201,120 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 	@Override
 	public ElementHandler openElement(String element, HashMap<String, String> attributes,
 			WarningSet warnings) {
-		
-		if (element.equals("datapoint"))
-			return PlainTextHandler.INSTANCE;
-		if (element.equals("event"))
-			return PlainTextHandler.INSTANCE;
-		
 		warnings.add("Unknown element '" + element + "' encountered, ignoring.");
 		return null;
 	}
 	
+	@Override
+	public boolean isStreamingElement(String element) {
+		return element.equals("datapoint") || element.equals("event");
+	}
 	
 	@Override
-	public void closeElement(String element, HashMap<String, String> attributes,
-			String content, WarningSet warnings) {
-		
+	public void startStreamingElement(String element, Attributes attributes, WarningSet warnings) {
 		if (element.equals("event")) {
-			double time;
-			FlightEvent.Type type;
-			Message data = null;
-			RocketComponent source = null;
-			String sourceID;
-
-			try {
-				time = DocumentConfig.stringToDouble(attributes.get("time"));
-			} catch (NumberFormatException e) {
-				warnings.add("Illegal event time specification, ignoring: " + e.getMessage());
-				return;
-			}
-			
-			type = (Type) DocumentConfig.findEnum(attributes.get("type"), FlightEvent.Type.class);
-			if (type == null) {
-				warnings.add("Illegal event specification, ignoring.");
-				return;
-			}
-
-			// Get the event source
-			Rocket rocket = context.getOpenRocketDocument().getRocket();
-			sourceID = attributes.get("source");
-			if (sourceID != null) {
-				source = rocket.findComponent(UUID.fromString(sourceID));
-			}
-
-			// For warning events, get the warning
-			if (type == FlightEvent.Type.SIM_WARN) {
-				data = simHandler.getWarningSet().findById(UUID.fromString(attributes.get("id")));
-			}
-			
-			// For aborts, get the cause
-			Cause cause = (Cause) DocumentConfig.findEnum(attributes.get("cause"), SimulationAbort.Cause.class);
-			if (cause != null) {
-				data = new SimulationAbort(cause);
-			}
-
-			try {
-				branch.addEvent(new FlightEvent(type, time, source, data));
-			} catch (Exception e) {
-				warnings.add("Illegal parameters for FlightEvent: " + e.getMessage());
-			}
-			
-			return;
+			addEvent(attributes, warnings);
+		} else {
+			inDataPoint = true;
+			parser.reset();
 		}
-		
-		if (!element.equals("datapoint")) {
-			warnings.add("Unknown element '" + element + "' encountered, ignoring.");
+	}
+	
+	@Override
+	public void characters(char[] chars, int start, int length) {
+		if (inDataPoint) {
+			parser.characters(chars, start, length);
+		}
+	}
+	
+	@Override
+	public void endStreamingElement(String element, WarningSet warnings) {
+		if (!inDataPoint) {
 			return;
 		}
-		
-		// element == "datapoint"
-		
+		inDataPoint = false;
+		parser.finish();
 		
 		// Check line format
-		String[] split = content.split(",");
-		if (split.length != types.length) {
+		if (parser.getCount() != types.length) {
 			warnings.add("Data point did not contain correct amount of values, ignoring point.");
 			return;
 		}
+		if (parser.hasError()) {
+			warnings.add("Data point format error, ignoring point.");
+			return;
+		}
 		
-		// Parse the doubles
-		double[] values = new double[split.length];
-		for (int i = 0; i < values.length; i++) {
-			try {
-				values[i] = DocumentConfig.stringToDouble(split[i]);
-			} catch (NumberFormatException e) {
-				warnings.add("Data point format error, ignoring point.");
-				return;
+		// Add point to the columns, which are added to the branch in bulk
+		if (pointCount == columns[0].length) {
+			for (int i = 0; i < columns.length; i++) {
+				columns[i] = Arrays.copyOf(columns[i], pointCount * 2);
 			}
 		}
-		
-		// Add point to branch
-		branch.addPoint();
+		double[] values = parser.getValues();
 		for (int i = 0; i < types.length; i++) {
-			branch.setValue(types[i], values[i]);
+			columns[i][pointCount] = values[i];
+		}
+		pointCount++;
+	}
+	
+	/**
+	 * Add the data points read so far to the branch.
+	 */
+	private void flushPoints() {
+		if (pointCount == 0) {
+			return;
+		}
+		double[][] points = new double[columns.length][];
+		for (int i = 0; i < columns.length; i++) {
+			points[i] = Arrays.copyOf(columns[i], pointCount);
+		}
+		branch.addPoints(types, points);
+		pointCount = 0;
+	}
+	
+	private void addEvent(Attributes attributes, WarningSet warnings) {
+		double time;
+		FlightEvent.Type type;
+		Message data = null;
+		RocketComponent source = null;
+		String sourceID;
+
+		try {
+			time = DocumentConfig.stringToDouble(attributes.getValue("time"));
+		} catch (NumberFormatException e) {
+			warnings.add("Illegal event time specification, ignoring: " + e.getMessage());
+			return;
+		}
+		
+		type = (Type) DocumentConfig.findEnum(attributes.getValue("type"), FlightEvent.Type.class);
+		if (type == null) {
+			warnings.add("Illegal event specification, ignoring.");
+			return;
+		}
+
+		// Get the event source
+		Rocket rocket = context.getOpenRocketDocument().getRocket();
+		sourceID = attributes.getValue("source");
+		if (sourceID != null) {
+			source = rocket.findComponent(UUID.fromString(sourceID));
+		}
+
+		// For warning events, get the warning
+		if (type == FlightEvent.Type.SIM_WARN) {
+			data = simHandler.getWarningSet().findById(UUID.fromString(attributes.getValue("id")));
+		}
+		
+		// For aborts, get the cause
+		Cause cause = (Cause) DocumentConfig.findEnum(attributes.getValue("cause"), SimulationAbort.Cause.class);
+		if (cause != null) {
+			data = new SimulationAbort(cause);
+		}
+
+		try {
+			branch.addEvent(new FlightEvent(type, time, source, data));
+		} catch (Exception e) {
+			warnings.add("Illegal parameters for FlightEvent: " + e.getMessage());
 		}
 	}
 }
@@ -14,12 +14,20 @@ import info.openrocket.core.file.simplesax.PlainTextHandler;
 import info.openrocket.core.simulation.FlightData;
 import info.openrocket.core.simulation.FlightDataBranch;
 
+/**
+ * A handler for a &lt;flightdata&gt; element.  The data points of branches stored in binary
+ * entries are loaded when the branches are first accessed.  The data points of branches stored
+ * as text are parsed when the file is read, so that malformed points are reported in the
+ * warnings of the file; loading them on first access would require keeping the text.
+ */
 class FlightDataHandler extends AbstractElementHandler {
 	private final DocumentLoadingContext context;
 	
 	private FlightDataBranchHandler dataHandler;
 	private final WarningSet warningSet = new WarningSet();
 	private final List<FlightDataBranch> branches = new ArrayList<>();
+	private final List<FlightData.BranchLoader> branchLoaders = new ArrayList<>();
+	private boolean deferred = false;
 	
 	private final SingleSimulationHandler simHandler;
 	private FlightData data;
@@ -66,6 +74,9 @@ class FlightDataHandler extends AbstractElementHandler {
 				}
 				dataHandler.setTimeToOptimumAltitude(timeToOptimumAltitude);
 			}
+			if (attributes.get("datafile") != null) {
+				dataHandler.readDataFile(attributes.get("datafile"), warnings);
+			}
 			return dataHandler;
 		}
 		
@@ -79,9 +90,13 @@ class FlightDataHandler extends AbstractElementHandler {
 			String content, WarningSet warnings) {
 		
 		if (element.equals("databranch")) {
-			FlightDataBranch branch = dataHandler.getBranch();
-			if (branch.getLength() > 0) {
-				branches.add(branch);
+			if (dataHandler.getLength() > 0) {
+				branchLoaders.add(dataHandler.getBranchLoader());
+				if (dataHandler.hasDataFile()) {
+					deferred = true;
+				} else {
+					branches.add(dataHandler.getBranch());
+				}
 			}
 			//		} else if (element.equals("warning")) {
 			//			String priorityStr = attributes.get("priority");
@@ -95,63 +110,15 @@ class FlightDataHandler extends AbstractElementHandler {
 	public void endHandler(String element, HashMap<String, String> attributes,
 			String content, WarningSet warnings) {
 
-		if (branches.size() > 0) {
+		if (deferred) {
+			// Load the data points stored in binary entries on first access, and use the
+			// summary values of the file until then
+			data = readSummaryData(attributes);
+			data.setBranchLoaders(branchLoaders);
+		} else if (branches.size() > 0) {
 			data = new FlightData(branches.toArray(new FlightDataBranch[0]));
 		} else {
-			double maxAltitude = Double.NaN;
-			double maxVelocity = Double.NaN;
-			double maxAcceleration = Double.NaN;
-			double maxMach = Double.NaN;
-			double timeToApogee = Double.NaN;
-			double flightTime = Double.NaN;
-			double groundHitVelocity = Double.NaN;
-			double launchRodVelocity = Double.NaN;
-			double deploymentVelocity = Double.NaN;
-			double optimumDelay = Double.NaN;
-
-			try {
-				maxAltitude = DocumentConfig.stringToDouble(attributes.get("maxaltitude"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				maxVelocity = DocumentConfig.stringToDouble(attributes.get("maxvelocity"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				maxAcceleration = DocumentConfig.stringToDouble(attributes.get("maxacceleration"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				maxMach = DocumentConfig.stringToDouble(attributes.get("maxmach"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				timeToApogee = DocumentConfig.stringToDouble(attributes.get("timetoapogee"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				flightTime = DocumentConfig.stringToDouble(attributes.get("flighttime"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				groundHitVelocity = DocumentConfig.stringToDouble(attributes.get("groundhitvelocity"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				launchRodVelocity = DocumentConfig.stringToDouble(attributes.get("launchrodvelocity"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				deploymentVelocity = DocumentConfig.stringToDouble(attributes.get("deploymentvelocity"));
-			} catch (NumberFormatException ignore) {
-			}
-			try {
-				optimumDelay = DocumentConfig.stringToDouble(attributes.get("optimumdelay"));
-			} catch (NumberFormatException ignore) {
-			}
-
-			data = new FlightData(maxAltitude, maxVelocity, maxAcceleration, maxMach,
-					timeToApogee, flightTime, groundHitVelocity, launchRodVelocity, deploymentVelocity, optimumDelay);
+			data = readSummaryData(attributes);
 		}
 		
 		data.getWarningSet().addAll(warningSet);
@@ -159,6 +126,67 @@ class FlightDataHandler extends AbstractElementHandler {
 	}
 
 
+	/**
+	 * Create flight data with the summary values of the flightdata element and no branches.
+	 */
+	private static FlightData readSummaryData(HashMap<String, String> attributes) {
+		double maxAltitude = Double.NaN;
+		double maxVelocity = Double.NaN;
+		double maxAcceleration = Double.NaN;
+		double maxMach = Double.NaN;
+		double timeToApogee = Double.NaN;
+		double flightTime = Double.NaN;
+		double groundHitVelocity = Double.NaN;
+		double launchRodVelocity = Double.NaN;
+		double deploymentVelocity = Double.NaN;
+		double optimumDelay = Double.NaN;
+
+		try {
+			maxAltitude = DocumentConfig.stringToDouble(attributes.get("maxaltitude"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			maxVelocity = DocumentConfig.stringToDouble(attributes.get("maxvelocity"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			maxAcceleration = DocumentConfig.stringToDouble(attributes.get("maxacceleration"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			maxMach = DocumentConfig.stringToDouble(attributes.get("maxmach"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			timeToApogee = DocumentConfig.stringToDouble(attributes.get("timetoapogee"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			flightTime = DocumentConfig.stringToDouble(attributes.get("flighttime"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			groundHitVelocity = DocumentConfig.stringToDouble(attributes.get("groundhitvelocity"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			launchRodVelocity = DocumentConfig.stringToDouble(attributes.get("launchrodvelocity"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			deploymentVelocity = DocumentConfig.stringToDouble(attributes.get("deploymentvelocity"));
+		} catch (NumberFormatException ignore) {
+		}
+		try {
+			optimumDelay = DocumentConfig.stringToDouble(attributes.get("optimumdelay"));
+		} catch (NumberFormatException ignore) {
+		}
+
+		return new FlightData(maxAltitude, maxVelocity, maxAcceleration, maxMach,
+				timeToApogee, flightTime, groundHitVelocity, launchRodVelocity, deploymentVelocity, optimumDelay);
+	}
+
+
 	public WarningSet getWarningSet() {
 		return warningSet;
 	}
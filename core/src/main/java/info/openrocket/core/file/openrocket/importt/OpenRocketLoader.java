@@ -2,7 +2,6 @@ package info.openrocket.core.file.openrocket.importt;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
 
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import org.slf4j.Logger;
@@ -17,6 +16,7 @@ import info.openrocket.core.file.AbstractRocketLoader;
 import info.openrocket.core.file.DocumentLoadingContext;
 import info.openrocket.core.file.RocketLoadException;
 import info.openrocket.core.file.simplesax.SimpleSAX;
+import info.openrocket.core.simulation.FlightData;
 import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.extension.SimulationExtension;
@@ -66,16 +66,21 @@ public class OpenRocketLoader extends AbstractRocketLoader {
 			if (s.getStatus() == Simulation.Status.EXTERNAL ||
 					s.getStatus() == Simulation.Status.NOT_SIMULATED)
 				continue;
-			if (s.getSimulatedData() == null)
+			FlightData data = s.getSimulatedData();
+			if (data == null)
 				continue;
-			if (s.getSimulatedData().getBranchCount() == 0)
-				continue;
-			FlightDataBranch branch = s.getSimulatedData().getBranch(0);
-			if (branch == null)
-				continue;
-			List<Double> list = branch.get(FlightDataType.TYPE_TIME);
-			if (list == null)
+			if (data.getBranchCount() == 0)
 				continue;
+			// Data that is loaded on demand was stored in binary entries
+			if (data.isLoaded()) {
+				FlightDataBranch branch = data.getBranch(0);
+				if (branch == null)
+					continue;
+				if (!branch.containsType(FlightDataType.TYPE_TIME))
+					continue;
+			} else {
+				doc.getDefaultStorageOptions().setBinaryFlightData(true);
+			}
 
 			doc.getDefaultStorageOptions().setSaveSimulationData(true);
 		}
@@ -11,6 +11,7 @@ import info.openrocket.core.models.wind.WindModelType;
 import info.openrocket.core.rocketcomponent.FlightConfigurationId;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.SimulationStepperType;
 import info.openrocket.core.util.GeodeticComputationStrategy;
 
 class SimulationConditionsHandler extends AbstractElementHandler {
@@ -144,6 +145,21 @@ class SimulationConditionsHandler extends AbstractElementHandler {
 					options.setTimeStep(d);
 				}
 			}
+			case "tabulatedaerodynamics" -> options.setTabulatedAerodynamics(Boolean.parseBoolean(content.trim()));
+			case "stepper" -> {
+				try {
+					options.setStepperType(SimulationStepperType.fromString(content.trim()));
+				} catch (IllegalArgumentException e) {
+					warnings.add("Unknown integration method '" + content + "', ignoring.");
+				}
+			}
+			case "tolerance" -> {
+				if (Double.isNaN(d) || d <= 0) {
+					warnings.add("Illegal integration tolerance defined, ignoring.");
+				} else {
+					options.setIntegrationTolerance(d);
+				}
+			}
 		}
 	}
 }
\ No newline at end of file
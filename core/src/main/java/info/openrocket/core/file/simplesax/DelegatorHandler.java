@@ -8,12 +8,15 @@ import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
+import info.openrocket.core.logging.Warning;
 import info.openrocket.core.logging.WarningSet;
 
 /**
  * The actual SAX handler class. Contains the necessary methods for parsing the
  * SAX source.
  * Delegates the actual content parsing to {@link ElementHandler} objects.
+ * Elements handled by a {@link StreamingElementHandler} are passed on without
+ * copying their attributes or collecting their content.
  */
 class DelegatorHandler extends DefaultHandler {
 	private final WarningSet warnings;
@@ -25,6 +28,9 @@ class DelegatorHandler extends DefaultHandler {
 	// Ignore all elements as long as ignore > 0
 	private int ignore = 0;
 
+	// The handler of the current streaming element, or null
+	private StreamingElementHandler streaming = null;
+
 	public DelegatorHandler(ElementHandler initialHandler, WarningSet warnings) {
 		this.warnings = warnings;
 		handlerStack.add(initialHandler);
@@ -43,12 +49,25 @@ class DelegatorHandler extends DefaultHandler {
 			return;
 		}
 
+		// Streaming elements may not contain other elements
+		if (streaming != null) {
+			warnings.add(Warning.fromString("Unknown element " + localName + ", ignoring."));
+			ignore++;
+			return;
+		}
+
+		ElementHandler h = handlerStack.peek();
+		if (h instanceof StreamingElementHandler s && s.isStreamingElement(localName)) {
+			streaming = s;
+			s.startStreamingElement(localName, attributes, warnings);
+			return;
+		}
+
 		// Add layer to data stacks
 		elementData.push(new StringBuilder());
 		elementAttributes.push(copyAttributes(attributes));
 
 		// Call the handler
-		ElementHandler h = handlerStack.peek();
 		h = h.openElement(localName, elementAttributes.peek(), warnings);
 		if (h != null) {
 			handlerStack.push(h);
@@ -67,6 +86,11 @@ class DelegatorHandler extends DefaultHandler {
 		if (ignore > 0)
 			return;
 
+		if (streaming != null) {
+			streaming.characters(chars, start, length);
+			return;
+		}
+
 		StringBuilder sb = elementData.peek();
 		sb.append(chars, start, length);
 	}
@@ -83,6 +107,13 @@ class DelegatorHandler extends DefaultHandler {
 			return;
 		}
 
+		if (streaming != null) {
+			StreamingElementHandler s = streaming;
+			streaming = null;
+			s.endStreamingElement(localName, warnings);
+			return;
+		}
+
 		// Remove data from stack
 		String data = elementData.pop().toString(); // throws on error
 		HashMap<String, String> attr = elementAttributes.pop();
@@ -0,0 +1,62 @@
+package info.openrocket.core.file.simplesax;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+
+import info.openrocket.core.logging.WarningSet;
+
+/**
+ * An element handler that handles some of its contained elements directly from the parser
+ * events.  This is a fast path for elements that occur in large numbers, such as the data
+ * points of a simulation.
+ * <p>
+ * For a contained element for which {@link #isStreamingElement(String)} returns
+ * <code>true</code>, the element attributes are not copied and its textual content is not
+ * collected into a string.  Instead the following methods are called:
+ * <ol>
+ * <li>{@link #startStreamingElement(String, Attributes, WarningSet)} for the opening tag,</li>
+ * <li>{@link #characters(char[], int, int)} for each chunk of textual content, and</li>
+ * <li>{@link #endStreamingElement(String, WarningSet)} for the closing tag.</li>
+ * </ol>
+ * The {@link #openElement} and {@link #closeElement} methods are not called for such
+ * elements.  Streaming elements may not contain other elements, which are ignored with a
+ * warning.
+ */
+public interface StreamingElementHandler extends ElementHandler {
+
+	/**
+	 * Return whether the contained element is handled by the streaming methods.
+	 *
+	 * @param element	the element name.
+	 */
+	public boolean isStreamingElement(String element);
+
+	/**
+	 * Called when the opening tag of a streaming element is encountered.
+	 *
+	 * @param element		the element name.
+	 * @param attributes	the attributes of the element, only valid during this call.
+	 * @param warnings		the warning set to store warnings in.
+	 */
+	public void startStreamingElement(String element, Attributes attributes, WarningSet warnings)
+			throws SAXException;
+
+	/**
+	 * Called with a chunk of the textual content of the current streaming element.  The
+	 * content may be split into any number of chunks.
+	 *
+	 * @param chars		the parser's character buffer, only valid during this call.
+	 * @param start		the start of the chunk in the buffer.
+	 * @param length	the length of the chunk.
+	 */
+	public void characters(char[] chars, int start, int length) throws SAXException;
+
+	/**
+	 * Called when the closing tag of a streaming element is encountered.
+	 *
+	 * @param element	the element name.
+	 * @param warnings	the warning set to store warnings in.
+	 */
+	public void endStreamingElement(String element, WarningSet warnings) throws SAXException;
+
+}
@@ -9,6 +9,7 @@ import info.openrocket.core.motor.MotorConfiguration;
 import info.openrocket.core.rocketcomponent.ComponentAssembly;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.MotorMount;
+import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.simulation.MotorClusterState;
 import info.openrocket.core.util.Coordinate;
@@ -82,7 +83,9 @@ public class MassCalculation {
 	}
 	
 	public MassCalculation copy(final RocketComponent _root, final Transformation _transform){
-		return new MassCalculation( this.type, this.config, this.simulationTime, this.activeMotorList, _root, _transform, this.analysisMap);
+		MassCalculation copy = new MassCalculation( this.type, this.config, this.simulationTime, this.activeMotorList, _root, _transform, this.analysisMap);
+		copy.structureCache = this.structureCache;
+		return copy;
 	}
 		
 	public Coordinate getCM() {
@@ -191,6 +194,9 @@ public class MassCalculation {
 
 	Map<Integer, CMAnalysisEntry> analysisMap;
 
+	// cache of the structure of the stages, or null to always calculate it
+	StructureCache structureCache = null;
+
 	// =========== Private Instance Functions ========================
 
 	private MassCalculation calculateMountData(){
@@ -339,10 +345,15 @@ public class MassCalculation {
 
 			for (RocketComponent child : component.getChildren()) {
 				// child data, relative to rocket reference frame
-				MassCalculation eachChild = copy(child, currentTransform);
-				
-				eachChild.prefix = prefix + "....";
-				eachChild.calculateStructure(); 
+				MassCalculation eachChild;
+				if (structureCache != null && component instanceof Rocket) {
+					eachChild = structureCache.getStage(this, child, currentTransform);
+				} else {
+					eachChild = copy(child, currentTransform);
+
+					eachChild.prefix = prefix + "....";
+					eachChild.calculateStructure();
+				}
 
 				// accumulate children's data
 				children.merge( eachChild );
@@ -20,10 +20,7 @@ public class MassCalculator implements Monitorable {
 	 * Cached data. All CG data is in absolute coordinates. All moments of inertia
 	 * are relative to their respective CG.
 	 */
-	// private HashMap< Integer, MassData> stageMassCache = new HashMap<Integer,
-	// MassData >();
-	// private MassData rocketSpentMassCache;
-	// private MassData motorMassCache;
+	private final StructureCache structureCache = new StructureCache();
 
 	private final ModID modID = ModID.ZERO;
 
@@ -99,6 +96,36 @@ public class MassCalculator implements Monitorable {
 		return calculate(MassCalculation.Type.MOTOR, status);
 	}
 
+	////////////////// Cached calculations ///////////////////
+
+	/**
+	 * Calculates mass data of the rocket's structure, like {@link #calculateStructure(FlightConfiguration)}.
+	 * The structure of each stage is cached in this calculator and recalculated only when the
+	 * mass or component tree of the rocket changes, or when the activeness of the stage changes.
+	 * <p>
+	 * This method is intended for repeated calculations of the same rocket, such as during a
+	 * simulation.  It is not thread-safe.  Changes to the rocket are only detected through
+	 * component change events; if the rocket does not fire events, {@link #clearCache()} must
+	 * be called after modifying it.
+	 *
+	 * @param config the rocket configuration to calculate for
+	 * @return the MassData struct of the rocket structure
+	 */
+	public RigidBody getStructure(final FlightConfiguration config) {
+		return structureCache.getStructure(config);
+	}
+
+	/**
+	 * Discard all cached mass data.
+	 */
+	public void clearCache() {
+		structureCache.clear();
+	}
+
+	StructureCache getStructureCache() {
+		return structureCache;
+	}
+
 	////////////////// Mass property Wrappers ///////////////////
 	// all mass calculation calls should probably call through one of these two
 	////////////////// wrappers.
@@ -0,0 +1,161 @@
+package info.openrocket.core.masscalc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.motor.Motor;
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.ModID;
+import info.openrocket.core.util.Transformation;
+
+/**
+ * Memoises the structure mass data of a rocket per top-level stage.
+ * <p>
+ * An entry is valid as long as the mass and tree modification IDs of the rocket are
+ * unchanged and the stages within the cached stage are active in the same way.  Any
+ * component change event that affects the mass or the component tree changes the
+ * modification IDs and thereby invalidates the entries, and activating or deactivating
+ * a stage (for example at stage separation) only invalidates the stage concerned.
+ * <p>
+ * This class is not thread-safe.
+ */
+class StructureCache {
+
+	private final Map<RocketComponent, Entry> stages = new IdentityHashMap<>();
+
+	private Rocket lastRocket = null;
+	private ModID lastMassModID = ModID.INVALID;
+	private ModID lastTreeModID = ModID.INVALID;
+	private boolean[] lastActiveStages = null;
+	private RigidBody lastStructure = null;
+
+	private int hits = 0;
+	private int misses = 0;
+
+	/**
+	 * Return the structure mass data of the configuration.
+	 */
+	RigidBody getStructure(final FlightConfiguration config) {
+		final Rocket rocket = config.getRocket();
+		final boolean[] activeStages = getActiveStages(config);
+
+		if (rocket == lastRocket && rocket.getMassModID() == lastMassModID &&
+				rocket.getTreeModID() == lastTreeModID && Arrays.equals(activeStages, lastActiveStages)) {
+			return lastStructure;
+		}
+
+		MassCalculation calculation = new MassCalculation(MassCalculation.Type.STRUCTURE, config,
+				Motor.PSEUDO_TIME_EMPTY, null, rocket, Transformation.IDENTITY, null);
+		calculation.structureCache = this;
+		calculation.calculateAssembly();
+
+		lastRocket = rocket;
+		lastMassModID = rocket.getMassModID();
+		lastTreeModID = rocket.getTreeModID();
+		lastActiveStages = activeStages;
+		lastStructure = calculation.calculateMomentOfInertia();
+		return lastStructure;
+	}
+
+	/**
+	 * Return the structure calculation of a top-level stage, calculating it if the cached
+	 * data is not valid.
+	 *
+	 * @param parent		the calculation of the rocket.
+	 * @param stage			the stage.
+	 * @param transform		the transformation of the stage.
+	 */
+	MassCalculation getStage(final MassCalculation parent, final RocketComponent stage, final Transformation transform) {
+		final Rocket rocket = parent.config.getRocket();
+		Entry entry = stages.get(stage);
+		if (entry != null && entry.isValid(rocket, parent.config, transform)) {
+			hits++;
+			return entry.structure;
+		}
+
+		misses++;
+		MassCalculation structure = parent.copy(stage, transform);
+		structure.prefix = parent.prefix + "....";
+		structure.calculateStructure();
+		stages.put(stage, new Entry(rocket, parent.config, stage, transform, structure));
+		return structure;
+	}
+
+	/**
+	 * Discard all cached data.
+	 */
+	void clear() {
+		stages.clear();
+		lastRocket = null;
+		lastStructure = null;
+		lastActiveStages = null;
+	}
+
+	int getHitCount() {
+		return hits;
+	}
+
+	int getMissCount() {
+		return misses;
+	}
+
+	private static boolean[] getActiveStages(final FlightConfiguration config) {
+		int count = 0;
+		for (AxialStage stage : config.getRocket().getStageList()) {
+			count = Math.max(count, stage.getStageNumber() + 1);
+		}
+		boolean[] active = new boolean[count];
+		for (int i = 0; i < count; i++) {
+			active[i] = config.isStageActive(i);
+		}
+		return active;
+	}
+
+
+	private static class Entry {
+		private final ModID massModID;
+		private final ModID treeModID;
+		private final Transformation transform;
+		private final int[] stageNumbers;
+		private final boolean[] active;
+		private final MassCalculation structure;
+
+		Entry(Rocket rocket, FlightConfiguration config, RocketComponent stage, Transformation transform,
+			  MassCalculation structure) {
+			this.massModID = rocket.getMassModID();
+			this.treeModID = rocket.getTreeModID();
+			this.transform = transform;
+			this.structure = structure;
+
+			// The stages (the stage itself and any boosters or pods within it) whose
+			// activeness the components of the stage depend on
+			List<Integer> numbers = new ArrayList<>();
+			for (RocketComponent c : stage) {
+				if (c instanceof AxialStage) {
+					numbers.add(c.getStageNumber());
+				}
+			}
+			this.stageNumbers = numbers.stream().mapToInt(Integer::intValue).toArray();
+			this.active = getActive(config);
+		}
+
+		boolean isValid(Rocket rocket, FlightConfiguration config, Transformation transform) {
+			return rocket.getMassModID() == massModID && rocket.getTreeModID() == treeModID &&
+					this.transform.equals(transform) && Arrays.equals(active, getActive(config));
+		}
+
+		private boolean[] getActive(FlightConfiguration config) {
+			boolean[] result = new boolean[stageNumbers.length];
+			for (int i = 0; i < stageNumbers.length; i++) {
+				result[i] = config.isStageActive(stageNumbers[i]);
+			}
+			return result;
+		}
+	}
+}
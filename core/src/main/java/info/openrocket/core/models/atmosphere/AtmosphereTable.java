@@ -0,0 +1,148 @@
+package info.openrocket.core.models.atmosphere;
+
+import java.util.Arrays;
+import java.util.function.DoubleFunction;
+
+/**
+ * An immutable table of the temperature and pressure at a number of altitudes, between
+ * which the values are interpolated linearly.  Values below the first and above the last
+ * altitude are those of the first and last altitude.
+ * <p>
+ * The table is built completely when constructed and never modified, so it can be shared
+ * between threads without synchronization.  Looking up the temperature or pressure does not
+ * allocate any objects.
+ */
+public final class AtmosphereTable {
+
+	private final double[] altitudes;
+	private final double[] temperatures;
+	private final double[] pressures;
+
+	/** The spacing of uniformly spaced altitudes, or zero if they are not uniformly spaced. */
+	private final double step;
+
+	/**
+	 * Construct a table of conditions at the given altitudes.
+	 *
+	 * @param altitudes		the altitudes in strictly increasing order.
+	 * @param temperatures	the temperatures at the altitudes, in Kelvins.
+	 * @param pressures		the pressures at the altitudes, in Pascals.
+	 * @throws IllegalArgumentException	if the arrays are empty, of different lengths, or
+	 * 									the altitudes are not strictly increasing.
+	 */
+	public AtmosphereTable(double[] altitudes, double[] temperatures, double[] pressures) {
+		this(altitudes.clone(), temperatures.clone(), pressures.clone(), 0);
+		for (int i = 1; i < altitudes.length; i++) {
+			if (!(altitudes[i - 1] < altitudes[i])) {
+				throw new IllegalArgumentException("Altitudes not strictly increasing at altitude " +
+						altitudes[i]);
+			}
+		}
+	}
+
+	private AtmosphereTable(double[] altitudes, double[] temperatures, double[] pressures, double step) {
+		if (altitudes.length == 0) {
+			throw new IllegalArgumentException("No altitudes given");
+		}
+		if (temperatures.length != altitudes.length || pressures.length != altitudes.length) {
+			throw new IllegalArgumentException("Array lengths do not match, altitudes=" + altitudes.length +
+					" temperatures=" + temperatures.length + " pressures=" + pressures.length);
+		}
+		this.altitudes = altitudes;
+		this.temperatures = temperatures;
+		this.pressures = pressures;
+		this.step = step;
+	}
+
+	/**
+	 * Create a table by sampling conditions at uniformly spaced altitudes, whose values
+	 * are found without searching.
+	 *
+	 * @param conditions	the function returning the conditions at an altitude.
+	 * @param first		the first altitude.
+	 * @param step		the spacing of the altitudes, positive.
+	 * @param count		the number of altitudes, at least one.
+	 */
+	public static AtmosphereTable sample(DoubleFunction<AtmosphericConditions> conditions, double first, double step, int count) {
+		if (!(step > 0)) {
+			throw new IllegalArgumentException("Illegal altitude step " + step);
+		}
+		double[] altitudes = new double[count];
+		double[] temperatures = new double[count];
+		double[] pressures = new double[count];
+		for (int i = 0; i < count; i++) {
+			altitudes[i] = first + i * step;
+			AtmosphericConditions c = conditions.apply(altitudes[i]);
+			temperatures[i] = c.getTemperature();
+			pressures[i] = c.getPressure();
+		}
+		return new AtmosphereTable(altitudes, temperatures, pressures, step);
+	}
+
+	/**
+	 * Return the temperature at an altitude, in Kelvins.
+	 */
+	public double getTemperature(double altitude) {
+		return interpolate(temperatures, indexOf(altitude), altitude);
+	}
+
+	/**
+	 * Return the pressure at an altitude, in Pascals.
+	 */
+	public double getPressure(double altitude) {
+		return interpolate(pressures, indexOf(altitude), altitude);
+	}
+
+	/**
+	 * Return new atmospheric conditions at an altitude.
+	 */
+	public AtmosphericConditions getConditions(double altitude) {
+		int index = indexOf(altitude);
+		return new AtmosphericConditions(interpolate(temperatures, index, altitude),
+				interpolate(pressures, index, altitude));
+	}
+
+	public int getLength() {
+		return altitudes.length;
+	}
+
+	public double getMinAltitude() {
+		return altitudes[0];
+	}
+
+	public double getMaxAltitude() {
+		return altitudes[altitudes.length - 1];
+	}
+
+	/**
+	 * Return the index of the last altitude not greater than the given altitude, or -1 if
+	 * the altitude is not above the first altitude.
+	 */
+	private int indexOf(double altitude) {
+		if (altitude <= altitudes[0]) {
+			return -1;
+		}
+		if (step > 0) {
+			return (int) Math.min((altitude - altitudes[0]) / step, altitudes.length - 1);
+		}
+		int index = Arrays.binarySearch(altitudes, altitude);
+		return (index >= 0) ? index : -index - 2;
+	}
+
+	private double interpolate(double[] values, int index, double altitude) {
+		if (index < 0) {
+			return values[0];
+		}
+		if (index >= altitudes.length - 1) {
+			return values[altitudes.length - 1];
+		}
+		double d = (altitude - altitudes[index]) / (altitudes[index + 1] - altitudes[index]);
+		return values[index] * (1 - d) + values[index + 1] * d;
+	}
+
+	@Override
+	public String toString() {
+		return "AtmosphereTable[altitudes=" + getMinAltitude() + "..." + getMaxAltitude() +
+				", length=" + getLength() + "]";
+	}
+}
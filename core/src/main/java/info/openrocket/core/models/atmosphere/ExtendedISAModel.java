@@ -75,6 +75,8 @@ public class ExtendedISAModel extends InterpolatingAtmosphericModel {
 		for (int i = 1; i < basePressure.length; i++) {
 			basePressure[i] = getExactConditions(layer[i] - 1).getPressure();
 		}
+		// Build the layers now, so that the model can be used by several threads
+		getTable();
 	}
 
 	@Override
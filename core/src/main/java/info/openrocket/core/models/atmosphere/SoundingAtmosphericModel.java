@@ -0,0 +1,205 @@
+package info.openrocket.core.models.atmosphere;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import info.openrocket.core.models.wind.MultiLevelPinkNoiseWindModel;
+import info.openrocket.core.util.ModID;
+
+/**
+ * An atmospheric model of a measured sounding, such as from a radiosonde launched near
+ * the launch site.  The temperature and pressure are interpolated linearly between the
+ * measured altitudes, and the wind measured with the sounding can be used through
+ * {@link #createWindModel(double)}.
+ * <p>
+ * A sounding file contains one measurement per line, with the values separated by
+ * whitespace, commas or semicolons:
+ * <pre>
+ * altitude temperature pressure [wind speed] [wind direction]
+ * </pre>
+ * The altitude is above mean sea level in meters, the temperature in degrees Celsius,
+ * the pressure in hectopascals, the wind speed in m/s and the wind direction in degrees,
+ * as usually reported by radiosondes.  Either all or none of the lines contain wind.
+ * Empty lines and lines starting with '#' are ignored.
+ * <p>
+ * The model is immutable and can be shared between threads.
+ */
+public class SoundingAtmosphericModel implements AtmosphericModel {
+
+	private final AtmosphereTable table;
+
+	/** The wind speeds and directions at the altitudes of the table, or null */
+	private final double[] altitudes;
+	private final double[] windSpeeds;
+	private final double[] windDirections;
+
+	private final ModID modID = new ModID();
+
+	/**
+	 * Construct a model of a sounding without wind.
+	 *
+	 * @param altitudes		the altitudes in strictly increasing order, in meters.
+	 * @param temperatures	the temperatures, in Kelvins.
+	 * @param pressures		the pressures, in Pascals.
+	 */
+	public SoundingAtmosphericModel(double[] altitudes, double[] temperatures, double[] pressures) {
+		this.table = new AtmosphereTable(altitudes, temperatures, pressures);
+		this.altitudes = null;
+		this.windSpeeds = null;
+		this.windDirections = null;
+	}
+
+	/**
+	 * Construct a model of a sounding with wind.
+	 *
+	 * @param altitudes			the altitudes in strictly increasing order, in meters.
+	 * @param temperatures		the temperatures, in Kelvins.
+	 * @param pressures			the pressures, in Pascals.
+	 * @param windSpeeds		the wind speeds, in m/s.
+	 * @param windDirections	the wind directions, in radians.
+	 */
+	public SoundingAtmosphericModel(double[] altitudes, double[] temperatures, double[] pressures,
+			double[] windSpeeds, double[] windDirections) {
+		this.table = new AtmosphereTable(altitudes, temperatures, pressures);
+		if (windSpeeds.length != altitudes.length || windDirections.length != altitudes.length) {
+			throw new IllegalArgumentException("Array lengths do not match, altitudes=" + altitudes.length +
+					" windSpeeds=" + windSpeeds.length + " windDirections=" + windDirections.length);
+		}
+		this.altitudes = altitudes.clone();
+		this.windSpeeds = windSpeeds.clone();
+		this.windDirections = windDirections.clone();
+	}
+
+	/**
+	 * Load a sounding from a file in the format described above.
+	 *
+	 * @param file	the file to read.
+	 * @throws IOException	if an I/O error occurs or if the file format is illegal.
+	 */
+	public static SoundingAtmosphericModel load(File file) throws IOException {
+		try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			return load(reader);
+		}
+	}
+
+	/**
+	 * Load a sounding in the format described above.  The reader is not closed.
+	 *
+	 * @param reader	the reader to read the sounding from.
+	 * @throws IOException	if an I/O error occurs or if the format is illegal.
+	 */
+	public static SoundingAtmosphericModel load(Reader reader) throws IOException {
+		BufferedReader in = new BufferedReader(reader);
+		int count = 0;
+		double[][] columns = null;
+		int lineNumber = 0;
+		String line;
+		while ((line = in.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			String[] pieces = line.split("[\\s,;]+");
+			if (columns == null) {
+				if (pieces.length != 3 && pieces.length != 5) {
+					throw new IOException("Illegal file format. Sounding lines must contain 3 or 5 fields, line " +
+							lineNumber + ": " + line);
+				}
+				columns = new double[pieces.length][16];
+			} else if (pieces.length != columns.length) {
+				throw new IOException("Illegal file format. Expected " + columns.length + " fields, line " +
+						lineNumber + ": " + line);
+			}
+			if (count == columns[0].length) {
+				for (int i = 0; i < columns.length; i++) {
+					columns[i] = Arrays.copyOf(columns[i], 2 * count);
+				}
+			}
+			try {
+				for (int i = 0; i < pieces.length; i++) {
+					columns[i][count] = Double.parseDouble(pieces[i]);
+				}
+			} catch (NumberFormatException e) {
+				throw new IOException("Illegal file format. Could not convert value to a number, line " +
+						lineNumber + ": " + line, e);
+			}
+			if (count > 0 && !(columns[0][count - 1] < columns[0][count])) {
+				throw new IOException("Illegal file format. Altitudes must be strictly increasing, line " +
+						lineNumber + ": " + line);
+			}
+			count++;
+		}
+		if (count == 0) {
+			throw new IOException("Illegal file format. The sounding contains no measurements.");
+		}
+
+		double[] altitudes = Arrays.copyOf(columns[0], count);
+		double[] temperatures = new double[count];
+		double[] pressures = new double[count];
+		for (int i = 0; i < count; i++) {
+			temperatures[i] = columns[1][i] + 273.15;
+			pressures[i] = columns[2][i] * 100;
+		}
+		if (columns.length == 3) {
+			return new SoundingAtmosphericModel(altitudes, temperatures, pressures);
+		}
+
+		double[] windSpeeds = Arrays.copyOf(columns[3], count);
+		double[] windDirections = new double[count];
+		for (int i = 0; i < count; i++) {
+			windDirections[i] = Math.toRadians(columns[4][i]);
+		}
+		return new SoundingAtmosphericModel(altitudes, temperatures, pressures, windSpeeds, windDirections);
+	}
+
+	@Override
+	public AtmosphericConditions getConditions(double altitude) {
+		return table.getConditions(altitude);
+	}
+
+	public AtmosphereTable getTable() {
+		return table;
+	}
+
+	/**
+	 * Return whether the sounding contains wind measurements.
+	 */
+	public boolean hasWind() {
+		return windSpeeds != null;
+	}
+
+	/**
+	 * Create a wind model with a level at each altitude of the sounding.  The model is
+	 * independent of this one and may be modified.
+	 *
+	 * @param standardDeviation	the standard deviation of the turbulence at each level, in m/s.
+	 * @throws IllegalStateException	if the sounding contains no wind measurements.
+	 */
+	public MultiLevelPinkNoiseWindModel createWindModel(double standardDeviation) {
+		if (!hasWind()) {
+			throw new IllegalStateException("The sounding contains no wind measurements");
+		}
+		MultiLevelPinkNoiseWindModel model = new MultiLevelPinkNoiseWindModel();
+		for (int i = 0; i < altitudes.length; i++) {
+			model.addWindLevel(altitudes[i], windSpeeds[i], windDirections[i], standardDeviation);
+		}
+		return model;
+	}
+
+	@Override
+	public ModID getModID() {
+		return modID;
+	}
+
+	@Override
+	public String toString() {
+		return "SoundingAtmosphericModel[" + table + ", wind=" + hasWind() + "]";
+	}
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Objects;
+import java.util.Random;
 
 import info.openrocket.core.util.ChangeSource;
 import info.openrocket.core.util.Coordinate;
@@ -23,7 +24,16 @@ public class MultiLevelPinkNoiseWindModel implements WindModel {
 	}
 
 	public void addWindLevel(double altitude, double speed, double direction, double standardDeviation) {
-		PinkNoiseWindModel pinkNoiseModel = new PinkNoiseWindModel();
+		addWindLevel(altitude, speed, direction, standardDeviation, new Random().nextInt());
+	}
+
+	/**
+	 * Add a wind level whose turbulence is generated from a specific seed value.
+	 *
+	 * @param seed	the seed value of the pink noise of the level.
+	 */
+	public void addWindLevel(double altitude, double speed, double direction, double standardDeviation, int seed) {
+		PinkNoiseWindModel pinkNoiseModel = new PinkNoiseWindModel(seed);
 		pinkNoiseModel.setAverage(speed);
 		pinkNoiseModel.setStandardDeviation(standardDeviation);
 		pinkNoiseModel.setDirection(direction);
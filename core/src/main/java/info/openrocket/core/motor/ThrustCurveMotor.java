@@ -1,6 +1,9 @@
 package info.openrocket.core.motor;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.text.Collator;
 import java.util.Arrays;
 import java.util.Locale;
@@ -61,6 +64,12 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	private double unitRotationalInertia;
 	private double unitLongitudinalInertia;
 
+	/**
+	 * The encoded time, thrust and CG points of a motor read with
+	 * {@link ThrustCurveMotorBinaryFormat}, or <code>null</code> once they have been decoded.
+	 */
+	private transient volatile ByteBuffer encodedCurve;
+
 	public static class Builder {
 
 		ThrustCurveMotor motor = new ThrustCurveMotor();
@@ -262,6 +271,73 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 			return motor;
 		}
 
+		/**
+		 * Build a motor whose thrust curve is decoded from the buffer when it is first used.
+		 * The statistics of the curve are set from the arguments instead of being computed,
+		 * and the motor is not validated, it must have been built with {@link #build()}
+		 * before being encoded.
+		 */
+		ThrustCurveMotor buildEncoded(ByteBuffer curve, double maxThrust, double burnTimeEstimate,
+				double averageThrust, double totalImpulse) {
+			motor.unitRotationalInertia = Inertia.filledCylinderRotational(motor.diameter / 2);
+			motor.unitLongitudinalInertia = Inertia.filledCylinderLongitudinal(motor.diameter / 2, motor.length);
+			motor.maxThrust = maxThrust;
+			motor.burnTimeEstimate = burnTimeEstimate;
+			motor.averageThrust = averageThrust;
+			motor.totalImpulse = totalImpulse;
+			motor.encodedCurve = curve;
+			return motor;
+		}
+
+	}
+
+	/**
+	 * Decode the thrust curve of a motor read with {@link ThrustCurveMotorBinaryFormat},
+	 * if it has not been decoded yet.  This must be called before accessing the time,
+	 * thrust or CG points.
+	 */
+	private void decodeCurve() {
+		if (encodedCurve == null) {
+			return;
+		}
+		synchronized (this) {
+			ByteBuffer curve = encodedCurve;
+			if (curve != null) {
+				int n = ThrustCurveMotorBinaryFormat.getCurveLength(curve);
+				double[] t = new double[n];
+				double[] f = new double[n];
+				Coordinate[] c = new Coordinate[n];
+				ThrustCurveMotorBinaryFormat.decodeCurve(curve, t, f, c);
+				time = t;
+				thrust = f;
+				cg = c;
+				// The volatile write publishes the arrays to other threads
+				encodedCurve = null;
+			}
+		}
+	}
+
+	/**
+	 * Return the number of data points of the thrust curve, without decoding it.
+	 */
+	private int getPointCount() {
+		ByteBuffer curve = encodedCurve;
+		if (curve != null) {
+			return ThrustCurveMotorBinaryFormat.getCurveLength(curve);
+		}
+		return time.length;
+	}
+
+	/**
+	 * Return whether the thrust curve has been decoded, or was never encoded.
+	 */
+	boolean isCurveDecoded() {
+		return encodedCurve == null;
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		decodeCurve();
+		oos.defaultWriteObject();
 	}
 
 	/**
@@ -279,6 +355,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	 * @return an array of time points where the thrust is sampled
 	 */
 	public double[] getTimePoints() {
+		decodeCurve();
 		return time.clone();
 	}
 
@@ -295,6 +372,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	 * @return a pseudo index to this motor's data.
 	 */
 	protected double getPseudoIndex(final double motorTime) {
+		decodeCurve();
 		if ((time.length == 0) || (0 > motorTime)) {
 			return Double.NaN;
 		}
@@ -345,6 +423,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 
 	@Override
 	public double getAverageThrust(final double startTime, final double endTime) {
+		decodeCurve();
 
 		int timeIndex = 0;
 
@@ -434,6 +513,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	 * @return an array of thrust samples
 	 */
 	public double[] getThrustPoints() {
+		decodeCurve();
 		return thrust.clone();
 	}
 
@@ -446,6 +526,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	// }
 
 	public Coordinate[] getCGPoints() {
+		decodeCurve();
 		return cg;
 	}
 
@@ -543,26 +624,31 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 
 	@Override
 	public double getLaunchCGx() {
+		decodeCurve();
 		return cg[0].x;// cgx[0];
 	}
 
 	@Override
 	public double getBurnoutCGx() {
+		decodeCurve();
 		return cg[cg.length - 1].x;// cgx[ cg.length - 1];
 	}
 
 	@Override
 	public double getLaunchMass() {
+		decodeCurve();
 		return cg[0].weight;// mass[0];
 	}
 
 	@Override
 	public double getBurnoutMass() {
+		decodeCurve();
 		return cg[cg.length - 1].weight; // mass[mass.length - 1];
 	}
 
 	@Override
 	public double getBurnTime() {
+		decodeCurve();
 		return time[time.length - 1];
 	}
 
@@ -622,6 +708,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	}
 
 	protected Coordinate interpolateCenterOfMassAtIndex(final double pseudoIndex) {
+		decodeCurve();
 		final double SNAP_TOLERANCE = 0.0001;
 
 		final double upperFrac = pseudoIndex % 1;
@@ -644,7 +731,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	}
 
 	public int getDataSize() {
-		return this.time.length;
+		return getPointCount();
 	}
 
 	@Override
@@ -673,6 +760,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	}
 
 	public double getCutOffTime() {
+		decodeCurve();
 		return time[time.length - 1];
 	}
 
@@ -811,7 +899,7 @@ public class ThrustCurveMotor implements Motor, Comparable<ThrustCurveMotor>, Se
 	 * @return return the size of the data arrays
 	 */
 	public int getSampleSize() {
-		return time.length;
+		return getPointCount();
 	}
 
 	@Override
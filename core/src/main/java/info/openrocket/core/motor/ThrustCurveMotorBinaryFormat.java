@@ -0,0 +1,252 @@
+package info.openrocket.core.motor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.util.Coordinate;
+
+/**
+ * The binary format of the built-in thrust curve motor database, written by
+ * <code>SerializeThrustcurveMotors</code> and read at startup by the motor database loader.
+ * <p>
+ * The format stores the strings of all motors once in a table, followed by the motors:
+ * <pre>
+ * int      magic, "ORTC"
+ * int      format version, {@value #VERSION}
+ * int      number of strings
+ * string[] the strings, each an int byte count followed by the UTF-8 bytes
+ * int      number of motors
+ * motor[]  the motors
+ * </pre>
+ * Each motor stores the string table indices of its digest, manufacturer, code, common name,
+ * designation, description, type, case info and propellant info (-1 for <code>null</code>),
+ * a byte for the availability, the diameter, length, initial mass, maximum thrust, burn time,
+ * average thrust and total impulse as doubles, the number of delays and the delays, and finally
+ * the number of data points and the time, thrust and CG x, y, z and mass of each point as
+ * doubles.  All values are big-endian.
+ * <p>
+ * Reading only decodes the fields used for listing and searching the motors.  The data points
+ * are decoded when the thrust curve of a motor is first used, so that loading the database
+ * neither allocates nor parses the curves of thousands of motors that are never simulated.
+ */
+public final class ThrustCurveMotorBinaryFormat {
+
+	/** The file format version written */
+	public static final int VERSION = 1;
+
+	private static final int MAGIC = 0x4F525443; // "ORTC"
+	private static final int POINT_SIZE = 6 * Double.BYTES;
+
+	private ThrustCurveMotorBinaryFormat() {
+	}
+
+	/**
+	 * Write motors to a stream.
+	 *
+	 * @param motors	the motors to write.
+	 * @param out		the stream to write to, not closed.
+	 * @throws IOException	if writing fails.
+	 */
+	public static void write(List<ThrustCurveMotor> motors, OutputStream out) throws IOException {
+		List<String> strings = new ArrayList<>();
+		Map<String, Integer> stringIndices = new HashMap<>();
+
+		ByteArrayOutputStream motorBytes = new ByteArrayOutputStream();
+		DataOutputStream data = new DataOutputStream(motorBytes);
+		data.writeInt(motors.size());
+		for (ThrustCurveMotor m : motors) {
+			writeString(data, m.getDigest(), strings, stringIndices);
+			writeString(data, m.getManufacturer().getDisplayName(), strings, stringIndices);
+			writeString(data, m.getCode(), strings, stringIndices);
+			writeString(data, m.getCommonName(), strings, stringIndices);
+			writeString(data, m.getDesignation(), strings, stringIndices);
+			writeString(data, m.getDescription(), strings, stringIndices);
+			writeString(data, m.getMotorType().name(), strings, stringIndices);
+			writeString(data, m.getCaseInfo(), strings, stringIndices);
+			writeString(data, m.getPropellantInfo(), strings, stringIndices);
+			data.writeBoolean(m.isAvailable());
+			data.writeDouble(m.getDiameter());
+			data.writeDouble(m.getLength());
+			data.writeDouble(m.getInitialMass());
+			data.writeDouble(m.getMaxThrustEstimate());
+			data.writeDouble(m.getBurnTimeEstimate());
+			data.writeDouble(m.getAverageThrustEstimate());
+			data.writeDouble(m.getTotalImpulseEstimate());
+
+			double[] delays = m.getStandardDelays();
+			data.writeInt(delays.length);
+			for (double d : delays) {
+				data.writeDouble(d);
+			}
+
+			double[] time = m.getTimePoints();
+			double[] thrust = m.getThrustPoints();
+			Coordinate[] cg = m.getCGPoints();
+			data.writeInt(time.length);
+			for (double t : time) {
+				data.writeDouble(t);
+			}
+			for (double f : thrust) {
+				data.writeDouble(f);
+			}
+			for (Coordinate c : cg) {
+				data.writeDouble(c.x);
+				data.writeDouble(c.y);
+				data.writeDouble(c.z);
+				data.writeDouble(c.weight);
+			}
+		}
+		data.flush();
+
+		DataOutputStream header = new DataOutputStream(out);
+		header.writeInt(MAGIC);
+		header.writeInt(VERSION);
+		header.writeInt(strings.size());
+		for (String str : strings) {
+			byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+			header.writeInt(bytes.length);
+			header.write(bytes);
+		}
+		motorBytes.writeTo(header);
+		header.flush();
+	}
+
+	/**
+	 * Read motors from a stream.  The thrust curves of the motors are kept encoded in the
+	 * data read until they are used.
+	 *
+	 * @param in	the stream to read, not closed.
+	 * @return		the motors in the order written.
+	 * @throws IOException	if reading fails or the data is not in this format.
+	 */
+	public static List<ThrustCurveMotor> read(InputStream in) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(in.readAllBytes());
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Not a thrust curve motor database");
+			}
+			int version = buffer.getInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported thrust curve motor database version " + version);
+			}
+
+			String[] strings = new String[buffer.getInt()];
+			for (int i = 0; i < strings.length; i++) {
+				int length = buffer.getInt();
+				strings[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+				buffer.position(buffer.position() + length);
+			}
+
+			// Looking up a manufacturer by name is slow, look up each only once
+			Manufacturer[] manufacturers = new Manufacturer[strings.length];
+
+			int count = buffer.getInt();
+			List<ThrustCurveMotor> motors = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				motors.add(readMotor(buffer, strings, manufacturers));
+			}
+			return motors;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Invalid thrust curve motor database", e);
+		}
+	}
+
+	private static ThrustCurveMotor readMotor(ByteBuffer buffer, String[] strings, Manufacturer[] manufacturers) {
+		String digest = readString(buffer, strings);
+		int manufacturer = buffer.getInt();
+		if (manufacturers[manufacturer] == null) {
+			manufacturers[manufacturer] = Manufacturer.getManufacturer(strings[manufacturer]);
+		}
+		ThrustCurveMotor.Builder builder = new ThrustCurveMotor.Builder()
+				.setDigest(digest)
+				.setManufacturer(manufacturers[manufacturer])
+				.setCode(readString(buffer, strings))
+				.setCommonName(readString(buffer, strings))
+				.setDesignation(readString(buffer, strings))
+				.setDescription(readString(buffer, strings))
+				.setMotorType(Motor.Type.valueOf(readString(buffer, strings)))
+				.setCaseInfo(readString(buffer, strings))
+				.setPropellantInfo(readString(buffer, strings))
+				.setAvailability(buffer.get() != 0)
+				.setDiameter(buffer.getDouble())
+				.setLength(buffer.getDouble())
+				.setInitialMass(buffer.getDouble());
+		double maxThrust = buffer.getDouble();
+		double burnTimeEstimate = buffer.getDouble();
+		double averageThrust = buffer.getDouble();
+		double totalImpulse = buffer.getDouble();
+
+		double[] delays = new double[buffer.getInt()];
+		for (int i = 0; i < delays.length; i++) {
+			delays[i] = buffer.getDouble();
+		}
+		builder.setStandardDelays(delays);
+
+		// Slice the data points, they are decoded by decodeCurve(...)
+		int points = buffer.getInt();
+		int length = Math.multiplyExact(points, POINT_SIZE);
+		ByteBuffer curve = buffer.slice(buffer.position(), length);
+		buffer.position(buffer.position() + length);
+
+		return builder.buildEncoded(curve, maxThrust, burnTimeEstimate, averageThrust, totalImpulse);
+	}
+
+	/**
+	 * Return the number of data points of an encoded thrust curve.
+	 */
+	static int getCurveLength(ByteBuffer curve) {
+		return curve.capacity() / POINT_SIZE;
+	}
+
+	/**
+	 * Decode the data points of a thrust curve into the arrays, whose length must be
+	 * the number of data points.  The buffer is not modified.
+	 */
+	static void decodeCurve(ByteBuffer curve, double[] time, double[] thrust, Coordinate[] cg) {
+		int n = time.length;
+		int position = 0;
+		for (int i = 0; i < n; i++) {
+			time[i] = curve.getDouble(position);
+			position += Double.BYTES;
+		}
+		for (int i = 0; i < n; i++) {
+			thrust[i] = curve.getDouble(position);
+			position += Double.BYTES;
+		}
+		for (int i = 0; i < n; i++) {
+			cg[i] = new Coordinate(curve.getDouble(position), curve.getDouble(position + Double.BYTES),
+					curve.getDouble(position + 2 * Double.BYTES), curve.getDouble(position + 3 * Double.BYTES));
+			position += 4 * Double.BYTES;
+		}
+	}
+
+	private static void writeString(DataOutputStream data, String str, List<String> strings,
+			Map<String, Integer> stringIndices) throws IOException {
+		if (str == null) {
+			data.writeInt(-1);
+			return;
+		}
+		Integer index = stringIndices.get(str);
+		if (index == null) {
+			index = strings.size();
+			strings.add(str);
+			stringIndices.put(str, index);
+		}
+		data.writeInt(index);
+	}
+
+	private static String readString(ByteBuffer buffer, String[] strings) {
+		int index = buffer.getInt();
+		return (index < 0) ? null : strings[index];
+	}
+}
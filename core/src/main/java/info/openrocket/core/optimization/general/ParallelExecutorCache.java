@@ -4,12 +4,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -27,12 +29,20 @@ import info.openrocket.core.util.BugException;
  * execution,
  * the public methods themselves are NOT thread-safe and should be called from
  * only one thread at a time.
+ * <p>
+ * The cache keeps a bounded number of function values, discarding the least recently
+ * used values first.  Values known beforehand can be added with
+ * {@link #setValue(Point, double)}.
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
  */
 public class ParallelExecutorCache implements ParallelFunctionCache {
 
-	private final Map<Point, Double> functionCache = new HashMap<>();
+	/** The default maximum number of function values kept in the cache. */
+	public static final int DEFAULT_CACHE_SIZE = 10000;
+
+	private final int maximumSize;
+	private final Map<Point, Double> functionCache;
 	private final Map<Point, Future<Double>> futureMap = new HashMap<>();
 
 	private final ExecutorService executor;
@@ -70,12 +80,35 @@ public class ParallelExecutorCache implements ParallelFunctionCache {
 
 	/**
 	 * Construct a cache that uses the specified ExecutorService for managing
-	 * computational threads.
+	 * computational threads, for example the executor of a
+	 * {@link info.openrocket.core.simulation.BatchSimulationRunner}.
 	 * 
 	 * @param executor the executor to use for function evaluations.
 	 */
 	public ParallelExecutorCache(ExecutorService executor) {
+		this(executor, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Construct a cache that uses the specified ExecutorService for managing
+	 * computational threads and keeps at most the specified number of function values.
+	 * The size should be much larger than the number of points computed at a time.
+	 *
+	 * @param executor		the executor to use for function evaluations.
+	 * @param maximumSize	the maximum number of function values to keep.
+	 */
+	public ParallelExecutorCache(ExecutorService executor, int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Illegal cache size " + maximumSize);
+		}
 		this.executor = executor;
+		this.maximumSize = maximumSize;
+		this.functionCache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Point, Double> eldest) {
+				return size() > ParallelExecutorCache.this.maximumSize;
+			}
+		};
 	}
 
 	@Override
@@ -103,9 +136,15 @@ public class ParallelExecutorCache implements ParallelFunctionCache {
 			return;
 		}
 
-		// Submit point for evaluation
-		FunctionCallable callable = new FunctionCallable(function, point);
-		Future<Double> future = executor.submit(callable);
+		// Submit point for evaluation.  The task is run as a FutureTask, which interrupts the
+		// evaluation when it is aborted also on executors whose own futures do not, such as
+		// the fork-join pool of a BatchSimulationRunner.
+		FutureTask<Double> future = new FutureTask<>(new FunctionCallable(function, point));
+		executor.execute(() -> {
+			future.run();
+			// Clear the interrupt of an aborted evaluation before the thread runs other tasks
+			Thread.interrupted();
+		});
 		futureMap.put(point, future);
 	}
 
@@ -133,6 +172,7 @@ public class ParallelExecutorCache implements ParallelFunctionCache {
 
 		try {
 			double value = future.get();
+			futureMap.remove(point);
 			functionCache.put(point, value);
 		} catch (ExecutionException e) {
 			Throwable cause = e.getCause();
@@ -253,6 +293,28 @@ public class ParallelExecutorCache implements ParallelFunctionCache {
 		return executor;
 	}
 
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Return the number of function values in the cache.
+	 */
+	public int size() {
+		return functionCache.size();
+	}
+
+	/**
+	 * Store a function value known beforehand, such as one computed by an earlier
+	 * optimization of the same function.  The function is not evaluated at the point.
+	 *
+	 * @param point	the point of the value.
+	 * @param value	the function value at the point.
+	 */
+	public void setValue(Point point, double value) {
+		functionCache.put(point, value);
+	}
+
 	/**
 	 * Check whether a point is outside of the valid optimization range.
 	 */
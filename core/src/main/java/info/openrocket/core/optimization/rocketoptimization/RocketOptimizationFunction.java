@@ -1,19 +1,38 @@
 package info.openrocket.core.optimization.rocketoptimization;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
 import info.openrocket.core.document.Simulation;
+import info.openrocket.core.document.StorageOptions;
+import info.openrocket.core.file.openrocket.OpenRocketSaver;
+import info.openrocket.core.logging.ErrorSet;
+import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.optimization.general.Function;
 import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.optimization.general.Point;
 import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.rocketcomponent.RocketSnapshot;
+import info.openrocket.core.simulation.SimulationOptions;
 import info.openrocket.core.unit.Value;
+import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.Pair;
+import info.openrocket.core.util.TextUtil;
 
 /**
  * A Function that optimizes a specific RocketOptimizationParameter to some goal
@@ -38,6 +57,14 @@ public class RocketOptimizationFunction implements Function {
 
 	private final List<RocketOptimizationListener> listeners = new ArrayList<>();
 
+	/*
+	 * Each evaluating thread keeps its own copy of the base simulation, whose rocket is
+	 * modified in place and restored from a snapshot instead of duplicating the simulation
+	 * for every evaluated point.  The contexts are kept by the function rather than in
+	 * thread-locals, so that idle executor threads do not keep them alive.
+	 */
+	private final Map<Thread, EvaluationContext> contexts = new ConcurrentHashMap<>();
+
 	/**
 	 * Sole constructor.
 	 * <p>
@@ -63,27 +90,42 @@ public class RocketOptimizationFunction implements Function {
 
 	@Override
 	public double evaluate(Point point) throws InterruptedException, OptimizationException {
-
-		/*
-		 * parameterValue is the computed parameter value (e.g. altitude)
-		 * goalValue is the value that needs to be minimized
-		 */
-		double goalValue, parameterValue;
-
 		log.debug("Computing optimization function value at point " + point);
 
-		// Create the new simulation based on the point
+		// Modify the simulation of this thread based on the point
 		double[] p = point.asArray();
 		if (p.length != modifiers.length) {
 			throw new IllegalArgumentException("Point has length " + p.length + " while function has " +
 					modifiers.length + " simulation modifiers");
 		}
 
-		final Simulation simulation = newSimulationInstance(baseSimulation);
+		final EvaluationContext context = getContext();
+		final Simulation simulation = context.simulation;
 
-		for (int i = 0; i < modifiers.length; i++) {
-			modifiers[i].modify(simulation, p[i]);
+		double goalValue;
+		boolean completed = false;
+		try {
+			for (int i = 0; i < modifiers.length; i++) {
+				modifiers[i].modify(simulation, p[i]);
+			}
+			goalValue = evaluate(simulation, point);
+			completed = true;
+		} finally {
+			if (!completed) {
+				// The state of the simulation is unknown, use a new copy for the next point
+				contexts.remove(Thread.currentThread());
+			}
 		}
+		return goalValue;
+	}
+
+	private double evaluate(Simulation simulation, Point point) throws InterruptedException, OptimizationException {
+
+		/*
+		 * parameterValue is the computed parameter value (e.g. altitude)
+		 * goalValue is the value that needs to be minimized
+		 */
+		double goalValue, parameterValue;
 
 		// Check whether the point is within the simulation domain
 		Pair<Double, Value> d = domain.getDistanceToDomain(simulation);
@@ -121,6 +163,29 @@ public class RocketOptimizationFunction implements Function {
 		return goalValue;
 	}
 
+	/**
+	 * Return the evaluation context of the current thread, with the values of the
+	 * modifiers reset to those of the base simulation.
+	 */
+	private EvaluationContext getContext() {
+		EvaluationContext context = contexts.get(Thread.currentThread());
+		if (context == null) {
+			context = new EvaluationContext(newSimulationInstance(baseSimulation));
+			contexts.put(Thread.currentThread(), context);
+		} else {
+			context.reset();
+		}
+		return context;
+	}
+
+	/**
+	 * Release the simulation copies kept by the evaluating threads.  This should be called
+	 * when the optimization has ended; later evaluations make new copies.
+	 */
+	public void clearEvaluationContexts() {
+		contexts.clear();
+	}
+
 	/**
 	 * Returns a new deep copy of the simulation and rocket.
 	 * <p>
@@ -132,6 +197,54 @@ public class RocketOptimizationFunction implements Function {
 		return simulation.duplicateSimulation(simulation.getRocket().copyWithOriginalID());
 	}
 
+	/**
+	 * Return a key identifying the values of this function, so that values computed by
+	 * an optimization can be stored and reused by a later optimization of the same design.
+	 * The key is a digest of the base rocket and simulation as they are stored in a file,
+	 * the simulation options that are not stored in the file, such as the random seed,
+	 * the parameter, goal and domain, and the modifiers with their ranges.
+	 *
+	 * @return	the key as a hexadecimal string.
+	 */
+	public String getCacheKey() {
+		try {
+			Rocket rocket = baseSimulation.getRocket().copyWithOriginalID();
+			OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+			document.addSimulation(baseSimulation.duplicateSimulation(rocket));
+			StorageOptions options = new StorageOptions();
+			options.setSaveSimulationData(false);
+
+			ByteArrayOutputStream design = new ByteArrayOutputStream();
+			new OpenRocketSaver().save(design, document, options, new WarningSet(), new ErrorSet());
+
+			// Options that affect the results but are not stored in the file
+			SimulationOptions simulationOptions = baseSimulation.getOptions();
+			StringBuilder sb = new StringBuilder();
+			sb.append("seed=").append(simulationOptions.getRandomSeed())
+					.append(" maxangle=").append(simulationOptions.getMaximumStepAngle())
+					.append(" intowind=").append(simulationOptions.getLaunchIntoWind()).append('\n');
+			sb.append(parameter.getClass().getName()).append(':').append(parameter.getName()).append('\n');
+			sb.append(goal).append('\n');
+			sb.append(domain).append('\n');
+			for (SimulationModifier modifier : modifiers) {
+				Object related = modifier.getRelatedObject();
+				if (related instanceof RocketComponent) {
+					related = ((RocketComponent) related).getID();
+				}
+				sb.append(modifier.getClass().getName()).append(':').append(modifier.getName()).append(':')
+						.append(related).append(':').append(modifier.getMinValue()).append(':')
+						.append(modifier.getMaxValue()).append('\n');
+			}
+
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(design.toByteArray());
+			digest.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+			return TextUtil.hexString(digest.digest());
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new BugException(e);
+		}
+	}
+
 	/**
 	 * Add a listener to this function. The listener will be notified each time the
 	 * function is successfully evaluated.
@@ -168,4 +281,29 @@ public class RocketOptimizationFunction implements Function {
 			l.evaluated(p, values, domainReference, parameterValue, goalValue);
 		}
 	}
+
+	/**
+	 * A copy of the base simulation used by one thread for all its evaluations.
+	 */
+	private static final class EvaluationContext {
+		private final Simulation simulation;
+		private final RocketSnapshot base;
+
+		private EvaluationContext(Simulation simulation) {
+			this.simulation = simulation;
+			this.base = new RocketSnapshot(simulation.getRocket(), null);
+		}
+
+		/**
+		 * Restore the rocket to the state of the base simulation.  Setting the modifiers back
+		 * to their base values is not enough, as they may change other values, such as
+		 * a wall thickness limited by the radius, or clear a component preset.
+		 */
+		private void reset() {
+			Rocket rocket = simulation.getRocket();
+			if (rocket.getModID() != base.getModID()) {
+				rocket.loadFrom(base.toRocket());
+			}
+		}
+	}
 }
@@ -0,0 +1,286 @@
+package info.openrocket.core.optimization.rocketoptimization;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.optimization.general.ParallelExecutorCache;
+import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.unit.GeneralUnit;
+import info.openrocket.core.unit.Unit;
+import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.unit.Value;
+
+/**
+ * The function evaluations of a rocket optimization, stored in a file so that a later
+ * optimization of the same design can reuse them.  The evaluations are collected by listening
+ * to a {@link RocketOptimizationFunction}, and each is stored with the values reported to the
+ * listeners, so that reused evaluations can be reported again with {@link Evaluation#replay}.
+ * <p>
+ * Each design is stored in its own file, named by the cache key of the function (see
+ * {@link RocketOptimizationFunction#getCacheKey()}).  The number of files in a directory
+ * can be limited with {@link #prune(File, int)}.  At most {@link ParallelExecutorCache#DEFAULT_CACHE_SIZE}
+ * evaluations are kept, discarding the least recently used ones first.
+ * <p>
+ * The listener method may be called from several threads, all other methods must be called
+ * from one thread at a time.
+ */
+public class StoredEvaluations implements RocketOptimizationListener {
+
+	/** The extension of the files of stored evaluations. */
+	public static final String FILE_EXTENSION = ".txt";
+
+	private static final String FILE_HEADER = "# OpenRocket optimization evaluations";
+	private static final String NONE = "-";
+
+	private final UnitGroup parameterUnit;
+	private final UnitGroup[] stateUnits;
+	private final Map<Point, Evaluation> evaluations = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Point, Evaluation> eldest) {
+			return size() > ParallelExecutorCache.DEFAULT_CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * @param parameter	the parameter optimized.
+	 * @param modifiers	the modifiers of the optimization, in the order of the points.
+	 */
+	public StoredEvaluations(OptimizableParameter parameter, SimulationModifier... modifiers) {
+		this.parameterUnit = parameter.getUnitGroup();
+		this.stateUnits = new UnitGroup[modifiers.length];
+		for (int i = 0; i < modifiers.length; i++) {
+			stateUnits[i] = modifiers[i].getUnitGroup();
+		}
+	}
+
+	@Override
+	public synchronized void evaluated(Point point, Value[] state, Value domainReference, Value parameterValue,
+			double goalValue) {
+		double[] values = new double[state.length];
+		for (int i = 0; i < state.length; i++) {
+			values[i] = state[i].getValue();
+		}
+		evaluations.put(point, new Evaluation(point, values, domainReference,
+				(parameterValue != null) ? parameterValue.getValue() : Double.NaN, goalValue));
+	}
+
+	/**
+	 * Return the stored evaluations, least recently used first.
+	 */
+	public synchronized List<Evaluation> getEvaluations() {
+		return new ArrayList<>(evaluations.values());
+	}
+
+	/**
+	 * Return the number of stored evaluations.
+	 */
+	public synchronized int size() {
+		return evaluations.size();
+	}
+
+	/**
+	 * Load the evaluations saved by {@link #save(File, String)}.  Nothing is loaded if the
+	 * file does not exist or was saved with a different key.  A loaded file is marked as
+	 * recently used for {@link #prune(File, int)}.
+	 *
+	 * @param file	the file to read.
+	 * @param key	the key identifying the function, see {@link #save(File, String)}.
+	 * @return		the number of evaluations loaded.
+	 * @throws IOException	if an I/O error occurs or if the file format is illegal.
+	 */
+	public int load(File file, String key) throws IOException {
+		if (!file.isFile()) {
+			return 0;
+		}
+		List<Evaluation> loaded = new ArrayList<>();
+		try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			if (!FILE_HEADER.equals(in.readLine()) || !key.equals(in.readLine())) {
+				return 0;
+			}
+			String line;
+			while ((line = in.readLine()) != null) {
+				loaded.add(parseEvaluation(line));
+			}
+		}
+		synchronized (this) {
+			for (Evaluation e : loaded) {
+				evaluations.put(e.getPoint(), e);
+			}
+		}
+		file.setLastModified(System.currentTimeMillis());
+		return loaded.size();
+	}
+
+	/**
+	 * Save the evaluations to a file, replacing it.  The key must identify the function so
+	 * that the evaluations are loaded only by optimizations of the same function; it must be
+	 * a single line of text.
+	 *
+	 * @param file	the file to write.
+	 * @param key	the key identifying the function.
+	 * @throws IOException	if an I/O error occurs.
+	 */
+	public void save(File file, String key) throws IOException {
+		if (key.contains("\n") || key.contains("\r")) {
+			throw new IllegalArgumentException("Key is not a single line: " + key);
+		}
+		Path target = file.toPath().toAbsolutePath();
+		Files.createDirectories(target.getParent());
+
+		// Write a temporary file first, so that a failure does not leave a partial file
+		Path temporary = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+		try {
+			try (BufferedWriter out = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+				out.write(FILE_HEADER);
+				out.newLine();
+				out.write(key);
+				out.newLine();
+				for (Evaluation e : getEvaluations()) {
+					out.write(formatEvaluation(e));
+					out.newLine();
+				}
+			}
+			Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	/**
+	 * Delete the least recently used files of stored evaluations in a directory, keeping
+	 * at most the given number of files.
+	 *
+	 * @param directory		the directory of the files.
+	 * @param maximumFiles	the maximum number of files to keep.
+	 * @return				the number of files deleted.
+	 */
+	public static int prune(File directory, int maximumFiles) {
+		File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+		if (files == null || files.length <= maximumFiles) {
+			return 0;
+		}
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
+		int count = 0;
+		for (int i = maximumFiles; i < files.length; i++) {
+			if (files[i].delete()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/*
+	 * A line contains the coordinates of the point, the goal value, the parameter value and
+	 * the domain reference value in SI units, and the modified values in SI units, separated
+	 * by spaces.  Missing values are written as "-".  If there is a domain reference, the
+	 * multiplier and name of its unit follow; the name is the rest of the line.
+	 */
+
+	private String formatEvaluation(Evaluation e) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < e.getPoint().dim(); i++) {
+			sb.append(e.getPoint().get(i)).append(' ');
+		}
+		sb.append(e.getGoalValue()).append(' ');
+		sb.append(Double.isNaN(e.parameterValue) ? NONE : Double.toString(e.parameterValue)).append(' ');
+		Value reference = e.getDomainReference();
+		sb.append((reference != null) ? Double.toString(reference.getValue()) : NONE);
+		for (double value : e.state) {
+			sb.append(' ').append(value);
+		}
+		if (reference != null) {
+			sb.append(' ').append(reference.getUnit().getMultiplier());
+			sb.append(' ').append(reference.getUnit().getUnit());
+		}
+		return sb.toString();
+	}
+
+	private Evaluation parseEvaluation(String line) throws IOException {
+		int n = stateUnits.length;
+		String[] pieces = line.split(" ", 2 * n + 5);
+		if (pieces.length != 2 * n + 3 && pieces.length != 2 * n + 5) {
+			throw new IOException("Illegal file format, line: " + line);
+		}
+		try {
+			double[] coordinates = new double[n];
+			double[] state = new double[n];
+			for (int i = 0; i < n; i++) {
+				coordinates[i] = Double.parseDouble(pieces[i]);
+				state[i] = Double.parseDouble(pieces[n + 3 + i]);
+			}
+			double goalValue = Double.parseDouble(pieces[n]);
+			double parameterValue = NONE.equals(pieces[n + 1]) ? Double.NaN : Double.parseDouble(pieces[n + 1]);
+
+			Value reference = null;
+			if (!NONE.equals(pieces[n + 2])) {
+				if (pieces.length != 2 * n + 5) {
+					throw new IOException("Illegal file format, missing domain reference unit, line: " + line);
+				}
+				Unit unit = new GeneralUnit(Double.parseDouble(pieces[2 * n + 3]), pieces[2 * n + 4]);
+				reference = new Value(Double.parseDouble(pieces[n + 2]), unit);
+			}
+			return new Evaluation(new Point(coordinates), state, reference, parameterValue, goalValue);
+		} catch (NumberFormatException e) {
+			throw new IOException("Illegal file format. Could not convert value to a number, line: " + line, e);
+		}
+	}
+
+	/**
+	 * A stored function evaluation.
+	 */
+	public final class Evaluation {
+		private final Point point;
+		private final double[] state;
+		private final Value domainReference;
+		private final double parameterValue;
+		private final double goalValue;
+
+		private Evaluation(Point point, double[] state, Value domainReference, double parameterValue,
+				double goalValue) {
+			this.point = point;
+			this.state = state;
+			this.domainReference = domainReference;
+			this.parameterValue = parameterValue;
+			this.goalValue = goalValue;
+		}
+
+		public Point getPoint() {
+			return point;
+		}
+
+		public Value getDomainReference() {
+			return domainReference;
+		}
+
+		public double getGoalValue() {
+			return goalValue;
+		}
+
+		/**
+		 * Report this evaluation to a listener as if the function had been evaluated.  The
+		 * values are in the current default units of their unit groups.
+		 *
+		 * @param listener	the listener to notify.
+		 */
+		public void replay(RocketOptimizationListener listener) {
+			Value[] values = new Value[state.length];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = new Value(state[i], stateUnits[i].getDefaultUnit());
+			}
+			Value parameter = Double.isNaN(parameterValue) ? null : new Value(parameterValue, parameterUnit.getDefaultUnit());
+			listener.evaluated(point, values, domainReference, parameter, goalValue);
+		}
+	}
+}
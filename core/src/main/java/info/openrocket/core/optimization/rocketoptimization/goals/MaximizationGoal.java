@@ -15,4 +15,9 @@ public class MaximizationGoal implements OptimizationGoal {
 		return -value;
 	}
 
+	@Override
+	public String toString() {
+		return "MaximizationGoal";
+	}
+
 }
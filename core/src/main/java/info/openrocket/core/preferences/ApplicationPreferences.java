@@ -86,6 +86,7 @@ public abstract class ApplicationPreferences implements ChangeSource, ORPreferen
 	// Node names
 	public static final String PREFERRED_THRUST_CURVE_MOTOR_NODE = "PreferredThrustCurveMotors";
 	private static final String AUTO_OPEN_LAST_DESIGN = "AutoOpenLastDesign";
+	private static final String STORE_OPTIMIZATION_EVALUATIONS = "StoreOptimizationEvaluations";
 	private static final String OPEN_LEFTMOST_DESIGN_TAB = "OpenLeftmostDesignTab";
 	private static final String SHOW_DISCARD_CONFIRMATION = "IgnoreDiscardEditingWarning";
 	private static final String SHOW_SAVE_ROCKET_INFO = "ShowSaveRocketInfo";
@@ -589,6 +590,23 @@ public abstract class ApplicationPreferences implements ChangeSource, ORPreferen
 		return this.getBoolean(AUTO_OPEN_LAST_DESIGN, false);
 	}
 
+	/**
+	 * Enable/Disable storing the function evaluations of optimizations, which are reused
+	 * by later optimizations of the same design.
+	 */
+	public final void setStoreOptimizationEvaluations(boolean enabled) {
+		this.putBoolean(STORE_OPTIMIZATION_EVALUATIONS, enabled);
+	}
+
+	/**
+	 * Answer if the function evaluations of optimizations are stored for reuse.
+	 *
+	 * @return true if the evaluations of optimizations are stored in the user application directory.
+	 */
+	public final boolean isStoreOptimizationEvaluations() {
+		return this.getBoolean(STORE_OPTIMIZATION_EVALUATIONS, false);
+	}
+
 	/**
 	 * Enable/Disable the opening the leftmost tab on the component design panel, or using the tab that was opened last time.
 	 */
@@ -92,8 +92,8 @@ public class ParallelStage extends AxialStage implements FlightConfigurableCompo
 	}
 	
 	@Override
-	protected RocketComponent copyWithOriginalID() {
-		ParallelStage copy = (ParallelStage) (super.copyWithOriginalID());
+	protected RocketComponent copyComponentWithOriginalID() {
+		ParallelStage copy = (ParallelStage) (super.copyComponentWithOriginalID());
 		return copy;
 	}
 
@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import info.openrocket.core.document.OpenRocketDocument;
 import org.slf4j.Logger;
@@ -400,32 +401,48 @@ public class Rocket extends ComponentAssembly {
 	@Override
 	public Rocket copyWithOriginalID() {
 		final Rocket copyRocket = (Rocket) super.copyWithOriginalID();
+		copyRocket.copyStagesAndConfigurations(this, copyRocket::findComponent);
+		return copyRocket;
+	}
 
-		// Rocket copy is cloned, so non-trivial members must be cloned as well:
+	@Override
+	protected RocketComponent copyComponentWithOriginalID() {
+		final Rocket copyRocket = (Rocket) super.copyComponentWithOriginalID();
 		copyRocket.stageMap = new ConcurrentHashMap<>();
-		for (Map.Entry<Integer,AxialStage> entry : this.stageMap.entrySet()){
-			final AxialStage stage = (AxialStage)copyRocket.findComponent(entry.getValue().getID());
+		copyRocket.listenerList = new HashSet<>();
+		return copyRocket;
+	}
+
+	/**
+	 * Set the stages and flight configurations of this rocket to those of the source rocket,
+	 * referencing the copies of the source rocket's components.
+	 *
+	 * @param source		the rocket that this rocket is a copy of.
+	 * @param components	returns the copy of a component of the source rocket by its ID.
+	 */
+	/* package-local */ void copyStagesAndConfigurations(Rocket source, Function<UUID, RocketComponent> components) {
+		// Rocket copy is cloned, so non-trivial members must be cloned as well:
+		this.stageMap = new ConcurrentHashMap<>();
+		for (Map.Entry<Integer,AxialStage> entry : source.stageMap.entrySet()){
+			final AxialStage stage = (AxialStage) components.apply(entry.getValue().getID());
 			if (stage == null) {
 				throw new IllegalStateException("Stage not found in copy");
 			}
-			copyRocket.stageMap.put(entry.getKey(), stage);
+			this.stageMap.put(entry.getKey(), stage);
 		}
 
 		// these flight configurations need to reference the _new_ Rocket copy
 		// the default value needs to be explicitly set, because it has different semantics
-		copyRocket.configSet = new FlightConfigurableParameterSet<>(new FlightConfiguration(copyRocket));
-		for (FlightConfigurationId configID : this.configSet.getIds()) {
-			FlightConfiguration originalCfg = this.configSet.get(configID);
-			FlightConfiguration newCfg = new FlightConfiguration(copyRocket, configID);
+		this.configSet = new FlightConfigurableParameterSet<>(new FlightConfiguration(this));
+		for (FlightConfigurationId configID : source.configSet.getIds()) {
+			FlightConfiguration originalCfg = source.configSet.get(configID);
+			FlightConfiguration newCfg = new FlightConfiguration(this, configID);
 			newCfg.setName(originalCfg.getNameRaw());			// Copy config name
 			newCfg.copyStageActiveness(originalCfg);
-			copyRocket.configSet.set(configID, newCfg);
+			this.configSet.set(configID, newCfg);
 		}
 
-		copyRocket.selectedConfiguration = copyRocket.configSet.get( this.getSelectedConfiguration().getId());
-		copyRocket.listenerList = new HashSet<>();
-		
-		return copyRocket;
+		this.selectedConfiguration = this.configSet.get(source.getSelectedConfiguration().getId());
 	}
 	
 	public int getFlightConfigurationCount() {
@@ -459,6 +476,7 @@ public class Rocket extends ComponentAssembly {
 		type |= ComponentChangeEvent.TREE_CHANGE;
 		
 		this.modID = source.modID;
+		this.setComponentModID(source.getComponentModID());
 		this.massModID = source.massModID;
 		this.aeroModID = source.aeroModID;
 		this.treeModID = source.treeModID;
@@ -574,6 +592,9 @@ public class Rocket extends ComponentAssembly {
 			// Update modification ID's only for normal (not undo/redo) events
 			if (!cce.isUndoChange()) {
 				modID = new ModID();
+				if (cce.getSource() != null) {
+					cce.getSource().setComponentModID(modID);
+				}
 				if (cce.isMassChange())
 					massModID = modID;
 				if (cce.isAerodynamicChange())
@@ -149,6 +149,14 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	// If true, component change events will not be fired
 	private boolean bypassComponentChangeEvent = false;
 
+	/**
+	 * Modification ID of the state of this component, excluding its children.  This is
+	 * changed whenever the component fires a change event, and is retained by the copies
+	 * made with the original ID.  Used by {@link RocketSnapshot} to share unchanged components
+	 * between undo levels.
+	 */
+	private ModID componentModID = new ModID();
+
 	/**
 	 * Controls the visibility of the component. If false, the component will not be rendered.
 	 * Visibility does not affect component simulation.
@@ -413,10 +421,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 * undo/redo mechanism.  This method should not be used for other purposes,
 	 * such as copy/paste.  This method does not fire any events.
 	 * <p>
-	 * This method must be overridden by any component that refers to mutable objects,
-	 * or if some fields should not be copied.  This should be performed by
-	 * <code>RocketComponent c = super.copyWithOriginalID();</code> and then cloning/modifying
-	 * the appropriate fields.
+	 * Each component is copied with {@link #copyComponentWithOriginalID()}.
 	 * <p>
 	 * This is not performed as serializing/deserializing for performance reasons.
 	 *
@@ -426,20 +431,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		mutex.lock("copyWithOriginalID");
 		try {
 			checkState();
-			RocketComponent clone;
-			try {
-				clone = this.clone();
-				clone.id = this.id;
-			} catch (CloneNotSupportedException e) {
-				throw new BugException("CloneNotSupportedException encountered, report a bug!", e);
-			}
-			
-			// Reset the mutex
-			clone.mutex = SafetyMutex.newInstance();
-			
-			// Reset all parent/child information
-			clone.parent = null;
-			clone.children = new ArrayList<>();
+			RocketComponent clone = copyComponentWithOriginalID();
 			
 			// Add copied children to the structure without firing events.
 			for (RocketComponent child : this.children) {
@@ -457,6 +449,54 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 			mutex.unlock("copyWithOriginalID");
 		}
 	}
+	
+	/**
+	 * Make a copy of this component alone while maintaining the component ID.  The copy
+	 * has no parent and no children.  This method does not fire any events.
+	 * <p>
+	 * This method must be overridden by any component that refers to mutable objects,
+	 * or if some fields should not be copied.  This should be performed by
+	 * <code>RocketComponent c = super.copyComponentWithOriginalID();</code> and then
+	 * cloning/modifying the appropriate fields.
+	 *
+	 * @return A copy of this component without its children.
+	 */
+	protected RocketComponent copyComponentWithOriginalID() {
+		RocketComponent clone;
+		try {
+			clone = this.clone();
+			clone.id = this.id;
+		} catch (CloneNotSupportedException e) {
+			throw new BugException("CloneNotSupportedException encountered, report a bug!", e);
+		}
+		
+		// Reset the mutex
+		clone.mutex = SafetyMutex.newInstance();
+		
+		// Reset all parent/child information
+		clone.parent = null;
+		clone.children = new ArrayList<>();
+		
+		return clone;
+	}
+
+	/**
+	 * Return the modification ID of the state of this component, excluding its children.
+	 * The ID changes whenever this component fires a change event, and copies made with
+	 * the original ID have the same modification ID as long as neither is changed.
+	 * Dimensions this component takes from other components, such as automatic radii,
+	 * may change without changing this ID.
+	 */
+	public ModID getComponentModID() {
+		return componentModID;
+	}
+
+	/**
+	 * Mark the state of this component as changed.
+	 */
+	void setComponentModID(ModID modID) {
+		this.componentModID = modID;
+	}
 
 	@Override
 	public RocketComponent clone() throws CloneNotSupportedException {
@@ -2608,6 +2648,9 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 */
 	protected void fireComponentChangeEvent(ComponentChangeEvent e) {
 		checkState();
+		if (!e.isUndoChange()) {
+			componentModID = new ModID();
+		}
 		if (parent == null || bypassComponentChangeEvent) {
 			/* Ignore if root invalid. */
 			return;
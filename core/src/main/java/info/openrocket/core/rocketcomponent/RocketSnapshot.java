@@ -0,0 +1,147 @@
+package info.openrocket.core.rocketcomponent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import info.openrocket.core.util.ArrayList;
+import info.openrocket.core.util.ModID;
+
+/**
+ * An immutable snapshot of the state of a rocket, used as one level of the undo history.
+ * <p>
+ * The snapshot stores a copy of each component without its children, and the structure of
+ * the component tree separately.  A component that has not changed since the previous
+ * snapshot was taken shares the copy of the previous snapshot, so that a snapshot costs
+ * memory and time proportional to the number of components changed, and only the structure
+ * is stored for the rest.  A component is considered changed when it has fired a change event,
+ * see {@link RocketComponent#getComponentModID()}.  Events fired by the rocket itself may
+ * modify any component, so after those all components are copied.
+ * <p>
+ * The copies stored in a snapshot are never modified.  {@link #toRocket()} returns a new copy
+ * of the rocket that can be loaded with {@link Rocket#loadFrom(Rocket)}.
+ */
+public final class RocketSnapshot {
+
+	/** Copies of the components in depth-first order, the rocket first */
+	private final RocketComponent[] components;
+	/** The number of children of each component */
+	private final int[] childCounts;
+	/** The number of components copied for this snapshot, the others are shared */
+	private final int copiedCount;
+
+	/**
+	 * Take a snapshot of the current state of a rocket.
+	 *
+	 * @param rocket	the rocket.
+	 * @param previous	a previous snapshot of the same rocket to share unchanged components with,
+	 * 					or <code>null</code> to copy all components.
+	 */
+	public RocketSnapshot(Rocket rocket, RocketSnapshot previous) {
+		Map<UUID, RocketComponent> shared = new HashMap<>();
+		if (previous != null && previous.getRocketNode().getComponentModID() == rocket.getComponentModID()) {
+			for (RocketComponent c : previous.components) {
+				shared.put(c.getID(), c);
+			}
+		}
+
+		List<RocketComponent> live = new ArrayList<>();
+		rocket.iterator(true).forEachRemaining(live::add);
+		components = new RocketComponent[live.size()];
+		childCounts = new int[live.size()];
+
+		// Copy the components other than the rocket, in depth-first order
+		Map<UUID, RocketComponent> copies = new HashMap<>();
+		int copied = 1;
+		for (int i = 0; i < live.size(); i++) {
+			RocketComponent component = live.get(i);
+			childCounts[i] = component.getChildCount();
+			if (i == 0) {
+				continue;
+			}
+			component.checkState();
+			RocketComponent copy = shared.get(component.getID());
+			if (copy == null || copy.getClass() != component.getClass() ||
+					copy.getComponentModID() != component.getComponentModID()) {
+				copy = component.copyComponentWithOriginalID();
+				copied++;
+			}
+			components[i] = copy;
+			copies.put(copy.getID(), copy);
+		}
+
+		Rocket node = (Rocket) rocket.copyComponentWithOriginalID();
+		node.copyStagesAndConfigurations(rocket, copies::get);
+		components[0] = node;
+		copiedCount = copied;
+	}
+
+	/**
+	 * Return the modification ID of the rocket when the snapshot was taken.
+	 */
+	public ModID getModID() {
+		return getRocketNode().getModID();
+	}
+
+	/**
+	 * Return the number of components in the rocket, including the rocket itself.
+	 */
+	public int getComponentCount() {
+		return components.length;
+	}
+
+	/**
+	 * Return the number of components copied when this snapshot was taken.  The rest of the
+	 * components are shared with the previous snapshot.
+	 */
+	public int getCopiedComponentCount() {
+		return copiedCount;
+	}
+
+	/**
+	 * Return a new copy of the rocket in the state of this snapshot.  The copy does not share
+	 * any components with the snapshot.
+	 */
+	public Rocket toRocket() {
+		Map<UUID, RocketComponent> copies = new HashMap<>();
+		RocketComponent[] copy = new RocketComponent[components.length];
+		for (int i = 0; i < components.length; i++) {
+			copy[i] = components[i].copyComponentWithOriginalID();
+			copies.put(copy[i].getID(), copy[i]);
+		}
+
+		// Rebuild the tree from the depth-first order and the child counts
+		int next = 1;
+		int[] stack = new int[components.length];
+		int[] remaining = new int[components.length];
+		int depth = 0;
+		stack[0] = 0;
+		remaining[0] = childCounts[0];
+		while (depth >= 0) {
+			if (remaining[depth] == 0) {
+				depth--;
+				continue;
+			}
+			remaining[depth]--;
+			RocketComponent parent = copy[stack[depth]];
+			RocketComponent child = copy[next];
+			// Don't use addChild(...) method since it fires events
+			parent.children.add(child);
+			child.parent = parent;
+			depth++;
+			stack[depth] = next;
+			remaining[depth] = childCounts[next];
+			next++;
+		}
+
+		Rocket rocket = (Rocket) copy[0];
+		rocket.copyStagesAndConfigurations(getRocketNode(), copies::get);
+		rocket.checkComponentStructure();
+		return rocket;
+	}
+
+	private Rocket getRocketNode() {
+		return (Rocket) components[0];
+	}
+}
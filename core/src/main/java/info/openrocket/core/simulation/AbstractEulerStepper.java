@@ -178,6 +178,9 @@ public abstract class AbstractEulerStepper extends AbstractSimulationStepper {
 		// Store data
 		final FlightDataBranch dataBranch = status.getFlightDataBranch();
 
+		final SimulationTimers timers = status.getSimulationConditions().getTimers();
+		final long start = timers.start();
+
 		// Values looked up or calculated at start of time step
 		store.storeData(status);
 		
@@ -190,6 +193,7 @@ public abstract class AbstractEulerStepper extends AbstractSimulationStepper {
 			status.getConfiguration().getLengthAerodynamic() /
 			store.atmosphericConditions.getKinematicViscosity();
 		dataBranch.setValue(FlightDataType.TYPE_REYNOLDS_NUMBER, Re);
+		timers.stop(SimulationTimers.Phase.DATA_STORAGE, start);
 
 		log.trace("time " + dataBranch.getLast(FlightDataType.TYPE_TIME) + ", altitude " + dataBranch.getLast(FlightDataType.TYPE_ALTITUDE) + ", velocity " + dataBranch.getLast(FlightDataType.TYPE_VELOCITY_Z));
 	}
@@ -37,8 +37,11 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		}
 
 		// Compute conditions
+		SimulationTimers timers = status.getSimulationConditions().getTimers();
+		long start = timers.start();
 		double altitude = status.getRocketPosition().z + status.getSimulationConditions().getLaunchSite().getAltitude();
 		conditions = status.getSimulationConditions().getAtmosphericModel().getConditions(altitude);
+		timers.stop(SimulationTimers.Phase.ATMOSPHERE, start);
 
 		// Call post-listener
 		conditions = SimulationListenerHelper.firePostAtmosphericModel(status, conditions);
@@ -66,8 +69,11 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		}
 
 		// Compute conditions
+		SimulationTimers timers = status.getSimulationConditions().getTimers();
+		long start = timers.start();
 		double altitude = status.getRocketPosition().z + status.getSimulationConditions().getLaunchSite().getAltitude();
 		wind = status.getSimulationConditions().getWindModel().getWindVelocity(status.getSimulationTime(), altitude);
+		timers.stop(SimulationTimers.Phase.WIND, start);
 
 		// Call post-listener
 		wind = SimulationListenerHelper.firePostWindModel(status, wind);
@@ -120,7 +126,15 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return structureMass;
 		}
 
-		structureMass = MassCalculator.calculateStructure(status.getConfiguration());
+		SimulationTimers timers = status.getSimulationConditions().getTimers();
+		long start = timers.start();
+		MassCalculator calculator = status.getSimulationConditions().getMassCalculator();
+		if (calculator != null) {
+			structureMass = calculator.getStructure(status.getConfiguration());
+		} else {
+			structureMass = MassCalculator.calculateStructure(status.getConfiguration());
+		}
+		timers.stop(SimulationTimers.Phase.MASS, start);
 
 		// Call post-listener
 		structureMass = SimulationListenerHelper.firePostMassCalculation(status, structureMass);
@@ -141,9 +155,11 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return motorMass;
 		}
 
+		SimulationTimers timers = status.getSimulationConditions().getTimers();
+		long start = timers.start();
 		motorMass = MassCalculator.calculateMotor(status);
+		timers.stop(SimulationTimers.Phase.MASS, start);
 
-				
 		// Call post-listener
 		motorMass = SimulationListenerHelper.firePostMassCalculation(status, motorMass);
 
@@ -36,8 +36,7 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	private static final Translator trans = Application.getTranslator();
 	private static final Logger log = LoggerFactory.getLogger(BasicEventSimulationEngine.class);
 	
-	// TODO: MEDIUM: Allow selecting steppers
-	private final SimulationStepper flightStepper = new RK4SimulationStepper();
+	private SimulationStepper flightStepper;
 	private final SimulationStepper landingStepper = new BasicLandingStepper();
 	private final SimulationStepper tumbleStepper = new BasicTumbleStepper();
 	private final SimulationStepper groundStepper = new GroundStepper();
@@ -56,13 +55,24 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	Deque<SimulationStatus> toSimulate = new ArrayDeque<>();
 
 	FlightData flightData;
+
+	// whether this engine computes the coast time of an enclosing simulation, which already
+	// times the complete simulation
+	private boolean nested = false;
 	
 	@Override
 	public void simulate(SimulationConditions simulationConditions) throws SimulationException {
 
 		// Set up flight data
 		flightData = new FlightData();
-			
+
+		flightStepper = switch (simulationConditions.getStepperType()) {
+			case RK4 -> new RK4SimulationStepper();
+			case RK45 -> new RK45SimulationStepper();
+		};
+
+		final SimulationTimers timers = simulationConditions.getTimers();
+		final long start = timers.start();
 		try {
 			// Set up rocket configuration
 			this.fcid = simulationConditions.getFlightConfigurationID();
@@ -144,6 +154,10 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		} catch (SimulationException e) {
 			throw e;
 		} finally {
+			if (!nested) {
+				timers.stop(SimulationTimers.Phase.SIMULATION, start);
+			}
+			flightData.setTimers(timers);
 			flightData.calculateInterestingValues();
 		}
 	}
@@ -169,7 +183,7 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			checkGeometry(currentStatus);
 			
 			// Start the simulation
-			while (handleEvents()) {
+			while (handleTimedEvents()) {
 				// Take the step
 				double oldAlt = currentStatus.getRocketPosition().z;
 				
@@ -305,6 +319,19 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		}
 	}	
 	
+	/**
+	 * Handle the events in the queue, recording the time spent in the timers of the simulation.
+	 */
+	private boolean handleTimedEvents() throws SimulationException {
+		final SimulationTimers timers = currentStatus.getSimulationConditions().getTimers();
+		final long start = timers.start();
+		try {
+			return handleEvents();
+		} finally {
+			timers.stop(SimulationTimers.Phase.EVENTS, start);
+		}
+	}
+
 	/**
 	 * Handles events occurring during the flight from the event queue.
 	 * Each event that has occurred before or at the current simulation time is
@@ -754,6 +781,7 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			SimulationConditions conds = currentStatus.getSimulationConditions().clone();
 			conds.getSimulationListenerList().add(OptimumCoastListener.INSTANCE);
 			BasicEventSimulationEngine coastEngine = new BasicEventSimulationEngine();
+			coastEngine.nested = true;
 		
 			coastEngine.simulate(conds);
 			return coastEngine.getFlightData();
@@ -0,0 +1,63 @@
+package info.openrocket.core.simulation;
+
+import info.openrocket.core.document.Simulation;
+
+/**
+ * A listener for the progress of simulations run by a {@link BatchSimulationRunner}.
+ * <p>
+ * All methods are called from the worker thread running the simulation, so
+ * implementations must be thread-safe and should return quickly.  All methods
+ * have an empty default implementation.
+ */
+public interface BatchSimulationListener {
+
+	/**
+	 * Called when a worker thread starts running a simulation.
+	 *
+	 * @param simulation	the simulation that was started.
+	 */
+	default void simulationStarted(Simulation simulation) {
+		// Do nothing
+	}
+
+	/**
+	 * Called periodically while a simulation is running.  The interval between calls
+	 * is defined by {@link BatchSimulationRunner#setProgressInterval(long)}.
+	 *
+	 * @param simulation	the simulation that is running.
+	 * @param status		the current status of the simulation.  The status must not be modified.
+	 */
+	default void simulationProgress(Simulation simulation, SimulationStatus status) {
+		// Do nothing
+	}
+
+	/**
+	 * Called when a simulation has completed successfully.
+	 *
+	 * @param simulation	the simulation that completed.
+	 * @param data			the simulated flight data.
+	 */
+	default void simulationDone(Simulation simulation, FlightData data) {
+		// Do nothing
+	}
+
+	/**
+	 * Called when a simulation was cancelled before or during the run.
+	 *
+	 * @param simulation	the simulation that was cancelled.
+	 */
+	default void simulationCancelled(Simulation simulation) {
+		// Do nothing
+	}
+
+	/**
+	 * Called when a simulation ended in an exception.
+	 *
+	 * @param simulation	the simulation that failed.
+	 * @param t				the exception that caused the failure.
+	 */
+	default void simulationFailed(Simulation simulation, Throwable t) {
+		// Do nothing
+	}
+
+}
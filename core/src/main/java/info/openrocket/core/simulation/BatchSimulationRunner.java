@@ -0,0 +1,391 @@
+package info.openrocket.core.simulation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.simulation.exception.SimulationCancelledException;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.simulation.listeners.SimulationListener;
+
+/**
+ * Runs a batch of simulations in parallel on a work-stealing thread pool.
+ * <p>
+ * Each submitted simulation is represented by a {@link SimulationTask} that can be
+ * cancelled individually.  The results are streamed to a {@link BatchSimulationListener}
+ * as each simulation completes, so callers do not need to wait for the whole batch.
+ * <p>
+ * The same runner can be shared by any number of batches; simulations of all batches
+ * share the worker threads of the runner.  The worker threads are daemon threads, but
+ * the runner should be closed when it is no longer needed.
+ */
+public class BatchSimulationRunner implements AutoCloseable {
+	private static final Logger log = LoggerFactory.getLogger(BatchSimulationRunner.class);
+
+	/** Default interval between progress callbacks, in milliseconds */
+	public static final long DEFAULT_PROGRESS_INTERVAL = 100;
+
+	private static final AtomicInteger poolNumber = new AtomicInteger(1);
+
+	private final ForkJoinPool pool;
+	/** The submitted tasks that have not finished */
+	private final Set<SimulationTask> unfinished = ConcurrentHashMap.newKeySet();
+	private volatile long progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_PROGRESS_INTERVAL);
+
+	/**
+	 * Construct a runner that uses as many worker threads as there are processors available.
+	 */
+	public BatchSimulationRunner() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Construct a runner that uses the specified number of worker threads.
+	 *
+	 * @param parallelism	the number of worker threads, must be positive.
+	 */
+	public BatchSimulationRunner(int parallelism) {
+		if (parallelism <= 0) {
+			throw new IllegalArgumentException("parallelism must be positive, was " + parallelism);
+		}
+		final String prefix = "BatchSimulation-" + poolNumber.getAndIncrement() + "-";
+		this.pool = new ForkJoinPool(parallelism, p -> {
+			ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+			t.setName(prefix + t.getPoolIndex());
+			t.setDaemon(true);
+			return t;
+		}, null, true);
+	}
+
+	/**
+	 * Return the number of worker threads of this runner.
+	 */
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Return the executor used to run the simulations.  Other work that should share the
+	 * worker threads with the simulations (for example optimization function evaluations)
+	 * may be submitted to this executor.  The executor must not be shut down directly.
+	 */
+	public ExecutorService getExecutor() {
+		return pool;
+	}
+
+	/**
+	 * Set the minimum interval between progress callbacks of a single simulation.
+	 *
+	 * @param millis	the interval in milliseconds, or zero to report progress after every step.
+	 */
+	public void setProgressInterval(long millis) {
+		if (millis < 0) {
+			throw new IllegalArgumentException("Progress interval must not be negative, was " + millis);
+		}
+		this.progressIntervalNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	/**
+	 * Submit a single simulation for execution.
+	 *
+	 * @param simulation		the simulation to run.
+	 * @param listener			the listener to notify of the progress, or <code>null</code>.
+	 * @param extraListeners	additional simulation listeners to use during the simulation.
+	 * @return					the task that runs the simulation.
+	 */
+	public SimulationTask submit(Simulation simulation, BatchSimulationListener listener,
+								 SimulationListener... extraListeners) {
+		SimulationTask task = new SimulationTask(simulation, listener, extraListeners);
+		unfinished.add(task);
+		try {
+			task.future = pool.submit(task::run, null);
+		} catch (RejectedExecutionException e) {
+			unfinished.remove(task);
+			throw e;
+		}
+		return task;
+	}
+
+	/**
+	 * Submit a batch of simulations for execution.
+	 *
+	 * @param simulations	the simulations to run.
+	 * @param listener		the listener to notify of the progress, or <code>null</code>.
+	 * @return				the tasks running the simulations, in the same order as the simulations.
+	 */
+	public List<SimulationTask> submitAll(Collection<Simulation> simulations, BatchSimulationListener listener) {
+		List<SimulationTask> tasks = new ArrayList<>(simulations.size());
+		for (Simulation simulation : simulations) {
+			tasks.add(submit(simulation, listener));
+		}
+		return tasks;
+	}
+
+	/**
+	 * Run a batch of simulations and wait for all of them to finish.  Failures of individual
+	 * simulations are reported to the listener and do not stop the other simulations.
+	 *
+	 * @param simulations	the simulations to run.
+	 * @param listener		the listener to notify of the progress, or <code>null</code>.
+	 * @return				the tasks that ran the simulations, in the same order as the simulations.
+	 * @throws InterruptedException	if the calling thread is interrupted while waiting.  The
+	 * 								remaining simulations are cancelled in this case.
+	 */
+	public List<SimulationTask> runAll(Collection<Simulation> simulations, BatchSimulationListener listener)
+			throws InterruptedException {
+		List<SimulationTask> tasks = submitAll(simulations, listener);
+		try {
+			for (SimulationTask task : tasks) {
+				task.await();
+			}
+		} catch (InterruptedException e) {
+			for (SimulationTask task : tasks) {
+				task.cancel();
+			}
+			throw e;
+		}
+		return tasks;
+	}
+
+	/**
+	 * Stop accepting new simulations.  Simulations that have already been submitted are
+	 * still run to completion.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Wait until all submitted simulations have finished after a {@link #shutdown()}.
+	 *
+	 * @return	<code>true</code> if all simulations finished, <code>false</code> if the timeout elapsed.
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return pool.awaitTermination(timeout, unit);
+	}
+
+	/**
+	 * Cancel all simulations and stop the worker threads.  Running simulations are stopped
+	 * after their current step, and simulations that have not started are never run.  Every
+	 * simulation that did not finish is reported as cancelled to its listener.
+	 */
+	@Override
+	public void close() {
+		for (SimulationTask task : unfinished) {
+			task.cancel();
+		}
+		pool.shutdownNow();
+		// The queued simulations were dropped by the pool and will not report themselves
+		for (SimulationTask task : unfinished) {
+			task.cancelQueued();
+		}
+	}
+
+
+	/**
+	 * The state of a single simulation run.
+	 */
+	public enum State {
+		QUEUED,
+		RUNNING,
+		DONE,
+		CANCELLED,
+		FAILED
+	}
+
+	/**
+	 * A handle for a single simulation submitted to a {@link BatchSimulationRunner}.
+	 */
+	public class SimulationTask {
+		private final Simulation simulation;
+		private final BatchSimulationListener listener;
+		private final SimulationListener[] extraListeners;
+
+		private volatile Future<?> future;
+		private volatile boolean cancelled = false;
+		private volatile State state = State.QUEUED;
+		private volatile FlightData data = null;
+		private volatile Throwable throwable = null;
+
+		private SimulationTask(Simulation simulation, BatchSimulationListener listener,
+							   SimulationListener[] extraListeners) {
+			this.simulation = simulation;
+			this.listener = listener;
+			this.extraListeners = extraListeners;
+		}
+
+		public Simulation getSimulation() {
+			return simulation;
+		}
+
+		public State getState() {
+			return state;
+		}
+
+		/**
+		 * Return whether the simulation has finished, either successfully, by cancellation
+		 * or by an exception.
+		 */
+		public boolean isDone() {
+			State s = state;
+			return s == State.DONE || s == State.CANCELLED || s == State.FAILED;
+		}
+
+		/**
+		 * Return the simulated flight data, or <code>null</code> if the simulation has not
+		 * completed successfully.
+		 */
+		public FlightData getFlightData() {
+			return data;
+		}
+
+		/**
+		 * Return the exception that caused the simulation to fail, or <code>null</code>.
+		 */
+		public Throwable getThrowable() {
+			return throwable;
+		}
+
+		/**
+		 * Cancel this simulation.  A queued simulation is never started, a running simulation
+		 * is stopped after its current step.
+		 */
+		public void cancel() {
+			cancelled = true;
+		}
+
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		/**
+		 * Wait for the simulation to finish.
+		 *
+		 * @throws InterruptedException	if the calling thread is interrupted while waiting.
+		 */
+		public void await() throws InterruptedException {
+			try {
+				future.get();
+			} catch (CancellationException | ExecutionException e) {
+				// Outcome is recorded in the state of this task
+			}
+		}
+
+		private void run() {
+			if (cancelled) {
+				cancelQueued();
+				return;
+			}
+			synchronized (this) {
+				if (state != State.QUEUED) {
+					// Cancelled by close()
+					return;
+				}
+				state = State.RUNNING;
+			}
+			try {
+				runSimulation();
+			} finally {
+				unfinished.remove(this);
+			}
+		}
+
+		private void runSimulation() {
+			if (listener != null) {
+				listener.simulationStarted(simulation);
+			}
+
+			SimulationListener[] listeners = new SimulationListener[extraListeners.length + 1];
+			System.arraycopy(extraListeners, 0, listeners, 0, extraListeners.length);
+			listeners[extraListeners.length] = new TaskListener();
+
+			try {
+				simulation.simulate(listeners);
+			} catch (SimulationCancelledException e) {
+				finishCancelled();
+				return;
+			} catch (Throwable t) {
+				if (cancelled) {
+					finishCancelled();
+					return;
+				}
+				log.info("Simulation " + simulation.getName() + " failed", t);
+				throwable = t;
+				state = State.FAILED;
+				if (listener != null) {
+					listener.simulationFailed(simulation, t);
+				}
+				return;
+			}
+
+			data = simulation.getSimulatedData();
+			state = State.DONE;
+			if (listener != null) {
+				listener.simulationDone(simulation, data);
+			}
+		}
+
+		/**
+		 * Finish the task as cancelled if it has not been started.
+		 */
+		private void cancelQueued() {
+			synchronized (this) {
+				if (state != State.QUEUED) {
+					return;
+				}
+				state = State.CANCELLED;
+			}
+			unfinished.remove(this);
+			if (listener != null) {
+				listener.simulationCancelled(simulation);
+			}
+		}
+
+		private void finishCancelled() {
+			state = State.CANCELLED;
+			if (listener != null) {
+				listener.simulationCancelled(simulation);
+			}
+		}
+
+		/**
+		 * Simulation listener that stops the simulation when the task is cancelled and
+		 * reports the progress to the batch listener.
+		 */
+		private class TaskListener extends AbstractSimulationListener {
+			private long lastProgress = System.nanoTime();
+
+			@Override
+			public void postStep(SimulationStatus status) throws SimulationException {
+				if (cancelled || Thread.currentThread().isInterrupted()) {
+					cancelled = true;
+					throw new SimulationCancelledException("The simulation was cancelled.");
+				}
+
+				if (listener != null) {
+					long now = System.nanoTime();
+					if (now - lastProgress >= progressIntervalNanos) {
+						lastProgress = now;
+						listener.simulationProgress(simulation, status);
+					}
+				}
+			}
+		}
+	}
+}
@@ -7,7 +7,6 @@ import info.openrocket.core.util.Mutable;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,15 +14,31 @@ import java.util.Set;
 
 /**
  * A branch of data / collection of data points for a specific type of data.
+ * <p>
+ * The values are stored column-wise in primitive <code>double</code> arrays.  Each data type
+ * is assigned a dense column index when it is first added to the branch, so storing a value
+ * for a data point does not box the value or walk over the other columns.  Unused capacity
+ * in the columns is always filled with NaN, which makes adding a new data point a constant-time
+ * operation.
+ *
  * @param <T> the type of data in this branch
  */
 public abstract class DataBranch<T extends DataType> implements Monitorable {
+	private static final int INITIAL_CAPACITY = 16;
+	private static final double[] EMPTY = new double[0];
+
 	protected final String name;
-	protected final Map<T, ArrayList<Double>> values = new LinkedHashMap<>();
-	protected final Map<T, Double> maxValues = new HashMap<>();
-	protected final Map<T, Double> minValues = new HashMap<>();
+
+	/** Column index of each data type, in insertion order */
+	private final Map<T, Integer> columnIndex = new LinkedHashMap<>();
+	private double[][] columns = new double[0][];
+	private double[] minValues = EMPTY;
+	private double[] maxValues = EMPTY;
+	private int capacity = INITIAL_CAPACITY;
+	private int length = 0;
 
 	protected final Mutable mutable = new Mutable();
+	/** The current modification ID, or <code>null</code> if the branch has been modified since it was last queried */
 	protected ModID modID = ModID.INVALID;
 
 	/**
@@ -50,13 +65,10 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	}
 
 	public void addType(T type) {
-		if (values.containsKey(type)) {
+		if (columnIndex.containsKey(type)) {
 			throw new IllegalArgumentException("Value type " + type + " already exists.");
 		}
-
-		values.put(type, new ArrayList<>());
-		minValues.put(type, Double.NaN);
-		maxValues.put(type, Double.NaN);
+		addColumn(type);
 	}
 
 	/**
@@ -67,26 +79,13 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	public void addPoint() {
 		mutable.check();
 
-		for (Map.Entry<T, ArrayList<Double>> entry : values.entrySet()) {
-			sanityCheckValues(entry.getKey(), Double.NaN);
-			entry.getValue().add(Double.NaN);
-		}
-		modID = new ModID();
-	}
-
-	private void sanityCheckValues(T type, Double value) {
-		ArrayList<Double> list = values.get(type);
-
-		if (list == null) {
-			list = new info.openrocket.core.util.ArrayList<>();
-			int n = getLength();
-			for (int i = 0; i < n; i++) {
-				list.add(Double.NaN);
+		if (columns.length > 0) {
+			if (length == capacity) {
+				grow(capacity * 2);
 			}
-			values.put(type, list);
-			minValues.put(type, value);
-			maxValues.put(type, value);
+			length++;
 		}
+		modID = null;
 	}
 
 	/**
@@ -100,46 +99,156 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	public void setValue(T type, double value) {
 		mutable.check();
 
-		ArrayList<Double> list = values.computeIfAbsent(type, k -> {
-			ArrayList<Double> newList = new ArrayList<>();
-			int n = getLength();
-			for (int i = 0; i < n; i++) {
-				newList.add(Double.NaN);
-			}
-			minValues.put(k, Double.NaN);
-			maxValues.put(k, Double.NaN);
-			return newList;
-		});
+		Integer index = columnIndex.get(type);
+		int column = (index != null) ? index : addColumn(type);
 
-		if (list.size() > 0) {
-			list.set(list.size() - 1, value);
+		if (length > 0) {
+			columns[column][length - 1] = value;
 		}
 
-		double min = minValues.get(type);
-		double max = maxValues.get(type);
+		double min = minValues[column];
+		double max = maxValues[column];
 
 		if (Double.isNaN(min) || (value < min)) {
-			minValues.put(type, value);
+			minValues[column] = value;
 		}
 		if (Double.isNaN(max) || (value > max)) {
-			maxValues.put(type, value);
+			maxValues[column] = value;
 		}
-		modID = new ModID();
+		modID = null;
 	}
 
 
+	/**
+	 * Add a number of data points at once.  The values of the new points are given column
+	 * by column, and the values of types not given are set to NaN.  This is equivalent to
+	 * calling {@link #addPoint()} and {@link #setValue(DataType, double)} for each point,
+	 * but copies each column in bulk.
+	 *
+	 * @param types		the variable types of the columns.
+	 * @param values	the values of each column, all of the same length.
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 */
+	public void addPoints(T[] types, double[][] values) {
+		mutable.check();
+		if (types.length != values.length) {
+			throw new IllegalArgumentException("Got " + values.length + " columns for " + types.length + " types");
+		}
+		if (types.length == 0) {
+			return;
+		}
+
+		int count = values[0].length;
+		int[] indices = new int[types.length];
+		for (int i = 0; i < types.length; i++) {
+			if (values[i].length != count) {
+				throw new IllegalArgumentException("Columns have different lengths");
+			}
+			Integer index = columnIndex.get(types[i]);
+			indices[i] = (index != null) ? index : addColumn(types[i]);
+		}
+
+		if (length + count > capacity) {
+			grow(Math.max(capacity * 2, length + count));
+		}
+
+		for (int i = 0; i < types.length; i++) {
+			int column = indices[i];
+			System.arraycopy(values[i], 0, columns[column], length, count);
+
+			double min = minValues[column];
+			double max = maxValues[column];
+			for (double value : values[i]) {
+				if (Double.isNaN(min) || (value < min)) {
+					min = value;
+				}
+				if (Double.isNaN(max) || (value > max)) {
+					max = value;
+				}
+			}
+			minValues[column] = min;
+			maxValues[column] = max;
+		}
+		length += count;
+		modID = null;
+	}
+
 	/**
 	 * Return an array of values for the specified variable type.
+	 * <p>
+	 * The returned list is a boxed copy of the data, prefer {@link #getValues(DataType)} or
+	 * {@link #getValue(DataType, int)} in performance-sensitive code.
 	 *
 	 * @param type	the variable type.
 	 * @return		a list of the variable values, or <code>null</code> if
 	 * 				the variable type hasn't been added to this branch.
 	 */
 	public List<Double> get(T type) {
-		ArrayList<Double> list = values.get(type);
-		if (list == null)
+		Integer index = columnIndex.get(type);
+		if (index == null)
 			return null;
-		return list.clone();
+
+		double[] column = columns[index];
+		ArrayList<Double> list = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			list.add(column[i]);
+		}
+		return list;
+	}
+
+	/**
+	 * Return a copy of the values of the specified variable type.
+	 *
+	 * @param type	the variable type.
+	 * @return		an array of the variable values, or <code>null</code> if
+	 * 				the variable type hasn't been added to this branch.
+	 */
+	public double[] getValues(T type) {
+		Integer index = columnIndex.get(type);
+		if (index == null)
+			return null;
+		return Arrays.copyOf(columns[index], length);
+	}
+
+	/**
+	 * Copy a range of values of the specified variable type into the given array.
+	 *
+	 * @param type		the variable type.
+	 * @param from		the first data index to copy (inclusive).
+	 * @param to		the last data index to copy (exclusive).
+	 * @param dest		the destination array.
+	 * @param destPos	the starting position in the destination array.
+	 * @return			<code>true</code> if the values were copied, <code>false</code> if
+	 * 					the variable type hasn't been added to this branch.
+	 * @throws IndexOutOfBoundsException	if the range is outside this branch or the destination array.
+	 */
+	public boolean copyValues(T type, int from, int to, double[] dest, int destPos) {
+		if (from < 0 || to > length || from > to) {
+			throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+		}
+		Integer index = columnIndex.get(type);
+		if (index == null)
+			return false;
+		System.arraycopy(columns[index], from, dest, destPos, to - from);
+		return true;
+	}
+
+	/**
+	 * Return the value of the specified type at the specified index, without boxing.
+	 *
+	 * @param type the variable type
+	 * @param index the data index of the value
+	 * @return the value at the specified index, or NaN if the variable type hasn't been added to this branch.
+	 */
+	public double getValue(T type, int index) {
+		if (index < 0 || index >= length) {
+			throw new IllegalArgumentException("Index out of bounds");
+		}
+		Integer column = columnIndex.get(type);
+		if (column == null) {
+			return Double.NaN;
+		}
+		return columns[column][index];
 	}
 
 	/**
@@ -152,11 +261,11 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 		if (index < 0 || index >= getLength()) {
 			throw new IllegalArgumentException("Index out of bounds");
 		}
-		ArrayList<Double> list = values.get(type);
-		if (list == null) {
+		Integer column = columnIndex.get(type);
+		if (column == null) {
 			return null;
 		}
-		return list.get(index);
+		return columns[column][index];
 	}
 
 	/**
@@ -167,10 +276,10 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the last value in this branch, or NaN.
 	 */
 	public double getLast(T type) {
-		ArrayList<Double> list = values.get(type);
-		if (list == null || list.isEmpty())
+		Integer index = columnIndex.get(type);
+		if (index == null || length == 0)
 			return Double.NaN;
-		return list.get(list.size() - 1);
+		return columns[index][length - 1];
 	}
 
 	/**
@@ -181,10 +290,10 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the minimum value in this branch, or NaN.
 	 */
 	public double getMinimum(T type) {
-		Double v = minValues.get(type);
-		if (v == null)
+		Integer index = columnIndex.get(type);
+		if (index == null)
 			return Double.NaN;
-		return v;
+		return minValues[index];
 	}
 
 	/**
@@ -195,20 +304,32 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 * @return		the maximum value in this branch, or NaN.
 	 */
 	public double getMaximum(T type) {
-		Double v = maxValues.get(type);
-		if (v == null)
+		Integer index = columnIndex.get(type);
+		if (index == null)
 			return Double.NaN;
-		return v;
+		return maxValues[index];
 	}
 
 	/**
 	 * Return the number of data points in this branch.
 	 */
 	public int getLength() {
-		for (ArrayList<Double> doubles : values.values()) {
-			return doubles.size();
-		}
-		return 0;
+		return length;
+	}
+
+	/**
+	 * Return whether the specified variable type has been added to this branch.
+	 */
+	public boolean containsType(T type) {
+		return columnIndex.containsKey(type);
+	}
+
+	/**
+	 * Return the number of variable types included in this branch.  Types are never removed,
+	 * so a change in the count tells that types have been added.
+	 */
+	public int getTypeCount() {
+		return columnIndex.size();
 	}
 
 	/**
@@ -217,7 +338,7 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	 */
 	@SuppressWarnings("unchecked")
 	public T[] getTypes() {
-		Set<T> keySet = values.keySet();
+		Set<T> keySet = columnIndex.keySet();
 		T[] array = (T[]) Array.newInstance(keySet.iterator().next().getClass(), keySet.size());
 		keySet.toArray(array);
 		Arrays.sort(array);
@@ -247,6 +368,87 @@ public abstract class DataBranch<T extends DataType> implements Monitorable {
 	}
 
 	public ModID getModID() {
+		if (modID == null) {
+			modID = new ModID();
+		}
 		return modID;
 	}
+
+	/**
+	 * Remove all data types and data points from this branch.
+	 */
+	protected void clearValues() {
+		columnIndex.clear();
+		columns = new double[0][];
+		minValues = EMPTY;
+		maxValues = EMPTY;
+		capacity = INITIAL_CAPACITY;
+		length = 0;
+		modID = null;
+	}
+
+	/**
+	 * Replace the data of this branch with a copy of the data of another branch.  The minimum
+	 * and maximum values are copied as-is.
+	 *
+	 * @param src	the branch to copy the data from.
+	 */
+	protected void copyValuesFrom(DataBranch<T> src) {
+		columnIndex.clear();
+		columnIndex.putAll(src.columnIndex);
+		capacity = Math.max(src.length, INITIAL_CAPACITY);
+		length = src.length;
+		columns = new double[src.columns.length][];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = Arrays.copyOf(src.columns[i], capacity);
+		}
+		minValues = src.minValues.clone();
+		maxValues = src.maxValues.clone();
+	}
+
+	/**
+	 * Recompute the minimum and maximum values of every data type from the stored data points.
+	 */
+	protected void recomputeExtrema() {
+		for (int c = 0; c < columns.length; c++) {
+			double min = Double.NaN;
+			double max = Double.NaN;
+			double[] column = columns[c];
+			for (int i = 0; i < length; i++) {
+				double value = column[i];
+				if (Double.isNaN(min) || value < min) {
+					min = value;
+				}
+				if (Double.isNaN(max) || value > max) {
+					max = value;
+				}
+			}
+			minValues[c] = min;
+			maxValues[c] = max;
+		}
+	}
+
+	private int addColumn(T type) {
+		int index = columns.length;
+		double[] column = new double[capacity];
+		Arrays.fill(column, Double.NaN);
+
+		columns = Arrays.copyOf(columns, index + 1);
+		columns[index] = column;
+		minValues = Arrays.copyOf(minValues, index + 1);
+		maxValues = Arrays.copyOf(maxValues, index + 1);
+		minValues[index] = Double.NaN;
+		maxValues[index] = Double.NaN;
+		columnIndex.put(type, index);
+		return index;
+	}
+
+	private void grow(int newCapacity) {
+		for (int i = 0; i < columns.length; i++) {
+			double[] column = Arrays.copyOf(columns[i], newCapacity);
+			Arrays.fill(column, capacity, newCapacity, Double.NaN);
+			columns[i] = column;
+		}
+		capacity = newCapacity;
+	}
 }
@@ -21,6 +21,9 @@ import info.openrocket.core.util.Mutable;
  * <li>A WarningSet including warnings that occurred during simulation
  * </ul>
  * <p>
+ * The branches may be loaded on demand, see {@link #setBranchLoaders(List)}.  The summary
+ * values and the lengths of the branches are then available before the branches are loaded.
+ * <p>
  * A FlightData object can be made immutable by calling {@link #immute()}.
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
@@ -42,7 +45,12 @@ public class FlightData {
 	
 	private final ArrayList<FlightDataBranch> branches = new ArrayList<>();
 	
+	/** Load the branches on first access, or null when the branches are loaded */
+	private volatile List<BranchLoader> branchLoaders = null;
+	
 	private final WarningSet warnings = new WarningSet();
+
+	private SimulationTimers timers = SimulationTimers.DISABLED;
 	
 	private double maxAltitude = Double.NaN;
 	private double maxVelocity = Double.NaN;
@@ -121,27 +129,116 @@ public class FlightData {
 	public WarningSet getWarningSet() {
 		return warnings;
 	}
+
+	/**
+	 * Return the time spent in the phases of the simulation that produced this data.
+	 *
+	 * @return	the timers of the simulation, or {@link SimulationTimers#DISABLED} if timing
+	 * 			was not enabled in the simulation options.
+	 */
+	public SimulationTimers getTimers() {
+		return timers;
+	}
+
+	public void setTimers(SimulationTimers timers) {
+		mutable.check();
+		this.timers = timers;
+	}
 	
 	
 	public void addBranch(FlightDataBranch branch) {
 		mutable.check();
 		
+		loadBranches();
 		branches.add(branch);
 	}
 	
+	/**
+	 * Load the branches of this flight data on first access instead of storing them up front.
+	 * The summary values are not recalculated when the branches are loaded.
+	 * <p>
+	 * The loaders may be called more than once, since clones of this object that are made
+	 * before the branches are loaded share the loaders.  They must return new branches, which
+	 * are made immutable if this object is immutable.
+	 * 
+	 * @param loaders	the loaders of the branches, in order.
+	 */
+	public void setBranchLoaders(List<BranchLoader> loaders) {
+		mutable.check();
+		if (!branches.isEmpty()) {
+			throw new IllegalStateException("FlightData already contains branches");
+		}
+		this.branchLoaders = List.copyOf(loaders);
+	}
+	
+	/**
+	 * Return whether the branches of this flight data have been loaded.
+	 */
+	public boolean isLoaded() {
+		return branchLoaders == null;
+	}
+	
+	/**
+	 * Return the loaders of the branches, or <code>null</code> if the branches have been
+	 * loaded.  This allows e.g. storing the branches again without loading them.
+	 */
+	public List<BranchLoader> getBranchLoaders() {
+		return branchLoaders;
+	}
+	
+	private void loadBranches() {
+		if (branchLoaders == null)
+			return;
+		synchronized (this) {
+			List<BranchLoader> loaders = branchLoaders;
+			if (loaders == null)
+				return;
+			
+			log.debug("Loading " + loaders.size() + " flight data branches");
+			for (BranchLoader loader : loaders) {
+				FlightDataBranch b = loader.load();
+				if (!mutable.isMutable()) {
+					b.immute();
+				}
+				branches.add(b);
+			}
+			branchLoaders = null;
+		}
+	}
+	
 	public int getBranchCount() {
+		List<BranchLoader> loaders = branchLoaders;
+		if (loaders != null) {
+			return loaders.size();
+		}
 		return branches.size();
 	}
 	
+	/**
+	 * Return the number of data points of a branch, without loading the branches.
+	 * 
+	 * @param stageNr	the index of the branch.
+	 */
+	public int getBranchLength(int stageNr) {
+		List<BranchLoader> loaders = branchLoaders;
+		if (loaders != null) {
+			return loaders.get(stageNr).getLength();
+		}
+		return branches.get(stageNr).getLength();
+	}
+	
 	public FlightDataBranch getBranch(int stageNr) {
+		loadBranches();
 		return branches.get(stageNr);
 	}
 
 	public int getStageNr(FlightDataBranch branch) {
+		loadBranches();
 		return branches.indexOf(branch);
 	}
 
 	public List<FlightDataBranch> getBranches() {
+		loadBranches();
 		return branches;
 	}
 	
@@ -197,6 +294,7 @@ public class FlightData {
 	 * and ground hit velocity.
 	 */
 	public void calculateInterestingValues() {
+		loadBranches();
 		if (branches.isEmpty())
 			return;
 		
@@ -249,7 +347,7 @@ public class FlightData {
 		}
 		
 		// Max. acceleration (must be after apogee time)
-		if (branch.get(FlightDataType.TYPE_ACCELERATION_TOTAL) != null) {
+		if (branch.containsType(FlightDataType.TYPE_ACCELERATION_TOTAL)) {
 			maxAcceleration = calculateMaxAcceleration();
 		} else {
 			maxAcceleration = Double.NaN;
@@ -284,8 +382,11 @@ public class FlightData {
 	public FlightData clone() {
 		FlightData clone = new FlightData();
 		clone.warnings.addAll(warnings);
-		for (FlightDataBranch b : branches) {
-			clone.branches.add(b.clone());
+		synchronized (this) {
+			for (FlightDataBranch b : branches) {
+				clone.branches.add(b.clone());
+			}
+			clone.branchLoaders = branchLoaders;
 		}
 		clone.maxAltitude = maxAltitude;
 		clone.maxVelocity = maxVelocity;
@@ -316,8 +417,8 @@ public class FlightData {
 			}
 		}
 		
-		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
-		List<Double> acceleration = branch.get(FlightDataType.TYPE_ACCELERATION_TOTAL);
+		double[] time = branch.getValues(FlightDataType.TYPE_TIME);
+		double[] acceleration = branch.getValues(FlightDataType.TYPE_ACCELERATION_TOTAL);
 		
 		if (time == null || acceleration == null) {
 			return Double.NaN;
@@ -325,15 +426,31 @@ public class FlightData {
 		
 		double max = 0;
 		
-		for (int i = 0; i < time.size(); i++) {
-			if (time.get(i) >= endTime) {
+		for (int i = 0; i < time.length; i++) {
+			if (time[i] >= endTime) {
 				break;
 			}
-			double a = acceleration.get(i);
+			double a = acceleration[i];
 			if (a > max)
 				max = a;
 		}
 		
 		return max;
 	}
+
+	/**
+	 * A flight data branch whose data points are loaded on demand.
+	 */
+	public interface BranchLoader {
+		
+		/**
+		 * Return the number of data points of the branch, without loading them.
+		 */
+		int getLength();
+		
+		/**
+		 * Load the branch with its data points.
+		 */
+		FlightDataBranch load();
+	}
 }
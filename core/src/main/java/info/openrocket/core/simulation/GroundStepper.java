@@ -18,6 +18,9 @@ public class GroundStepper extends AbstractSimulationStepper {
 	public void step(SimulationStatus status, double timeStep) throws SimulationException {
 		log.trace("step:  position=" + status.getRocketPosition() + ", velocity=" + status.getRocketVelocity());
 		status.setSimulationTime(status.getSimulationTime() + timeStep);
+		final SimulationTimers timers = status.getSimulationConditions().getTimers();
+		final long start = timers.start();
 		status.storeData();
+		timers.stop(SimulationTimers.Phase.DATA_STORAGE, start);
 	}
 }
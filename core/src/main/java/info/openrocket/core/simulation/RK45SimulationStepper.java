@@ -0,0 +1,262 @@
+package info.openrocket.core.simulation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.MathUtil;
+
+/**
+ * A simulation stepper using the Dormand-Prince 5(4) embedded Runge-Kutta method.
+ * <p>
+ * Each step evaluates the forces seven times and advances the state with the fifth order
+ * solution.  The difference to the embedded fourth order solution estimates the error of
+ * the step, and the step size is chosen so that the error stays within the integration
+ * tolerance of the simulation.  Steps with too large an error are rejected and retried with
+ * a smaller step.  In coasting flight this allows much longer steps than the heuristic limits
+ * of {@link RK4SimulationStepper}, whose force model and event handling this stepper shares.
+ * <p>
+ * The error tolerance does not cover everything, so the step is further limited:
+ * <ul>
+ * <li>to 1/5th of the user-selected time step and 1/10th of the launch rod length while
+ *     on the launch rod, as in {@link RK4SimulationStepper},</li>
+ * <li>to the user-selected time step while the motors are thrusting, since the thrust
+ *     curves are not smooth,</li>
+ * <li>to the maximum angle step and roll angle step limits of {@link RK4SimulationStepper},</li>
+ * <li>to the predicted time of apogee, so that the apogee is found with the resolution of
+ *     the user-selected time step,</li>
+ * <li>to {@value #MAX_STEP_MULTIPLIER} times the user-selected time step, and</li>
+ * <li>to the next scheduled flight event.</li>
+ * </ul>
+ * The random perturbation of the pitch and yaw moments is drawn once per step instead of
+ * on every force evaluation, since the error estimate requires the forces to be smooth
+ * within the step.  The forces at the end of a step are not reused for the next step,
+ * because listeners and flight events may change the status between steps.
+ */
+public class RK45SimulationStepper extends RK4SimulationStepper {
+
+	private static final Logger log = LoggerFactory.getLogger(RK45SimulationStepper.class);
+
+	/**
+	 * A recommended relative error tolerance per step.
+	 */
+	public static final double RECOMMENDED_TOLERANCE = 1e-3;
+
+	/** The smallest accepted integration tolerance */
+	public static final double MIN_TOLERANCE = 1e-10;
+
+	/** The largest accepted integration tolerance */
+	public static final double MAX_TOLERANCE = 1e-2;
+
+	/** The maximum step as a multiple of the user-selected time step */
+	public static final double MAX_STEP_MULTIPLIER = 10;
+
+	/** Safety factor applied to the optimal step size */
+	private static final double SAFETY = 0.9;
+	/** Limits of the step size change between two steps */
+	private static final double MIN_SCALE = 0.2;
+	private static final double MAX_SCALE = 5.0;
+
+	private static final int STAGES = 7;
+
+	/** The nodes of the stages, as fractions of the time step */
+	private static final double[] C = { 0, 1.0 / 5, 3.0 / 10, 4.0 / 5, 8.0 / 9, 1, 1 };
+
+	/** The Runge-Kutta matrix; the last row are also the weights of the fifth order solution */
+	private static final double[][] A = {
+			{},
+			{ 1.0 / 5 },
+			{ 3.0 / 40, 9.0 / 40 },
+			{ 44.0 / 45, -56.0 / 15, 32.0 / 9 },
+			{ 19372.0 / 6561, -25360.0 / 2187, 64448.0 / 6561, -212.0 / 729 },
+			{ 9017.0 / 3168, -355.0 / 33, 46732.0 / 5247, 49.0 / 176, -5103.0 / 18656 },
+			{ 35.0 / 384, 0, 500.0 / 1113, 125.0 / 192, -2187.0 / 6784, 11.0 / 84 }
+	};
+
+	/** The difference between the weights of the fifth and the fourth order solutions */
+	private static final double[] E = {
+			71.0 / 57600, 0, -71.0 / 16695, 71.0 / 1920, -17253.0 / 339200, 22.0 / 525, -1.0 / 40
+	};
+
+	// Derivatives of the stages, reused on every step
+	private final Coordinate[] a = new Coordinate[STAGES];
+	private final Coordinate[] v = new Coordinate[STAGES];
+	private final Coordinate[] ra = new Coordinate[STAGES];
+	private final Coordinate[] rv = new Coordinate[STAGES];
+	private final RK4Parameters k = new RK4Parameters();
+
+	/** The step proposed by the error control for the next step, or NaN before the first step */
+	private double proposedTimeStep = Double.NaN;
+
+	// The pitch and yaw moment perturbations of the current step
+	private final double[] pitchYawRandom = new double[2];
+	private int pitchYawIndex = 0;
+
+	@Override
+	public SimulationStatus initialize(SimulationStatus original) {
+		proposedTimeStep = Double.NaN;
+		return super.initialize(original);
+	}
+
+	@Override
+	public void step(SimulationStatus status, double maxTimeStep) throws SimulationException {
+
+		pitchYawRandom[0] = super.nextPitchYawRandom();
+		pitchYawRandom[1] = super.nextPitchYawRandom();
+		pitchYawIndex = 0;
+
+		/*
+		 * Get the current atmospheric conditions
+		 */
+		calculateFlightConditions(status, store);
+		store.atmosphericConditions = store.flightConditions.getAtmosphericConditions();
+
+		//// First stage, k1 = f(t, y)
+
+		computeStage(status, 0);
+		final SimulationTimers timers = status.getSimulationConditions().getTimers();
+		final long start = timers.start();
+		store.storeData(status);
+		timers.stop(SimulationTimers.Phase.DATA_STORAGE, start);
+
+		final SimulationConditions conditions = status.getSimulationConditions();
+		final double minTimeStep = MathUtil.max(conditions.getTimeStep() / 20, MIN_TIME_STEP);
+		double timeStep = selectTimeStep(status, maxTimeStep);
+
+		SimulationStatus status2 = status.clone();
+		Coordinate deltaV, deltaP, deltaR, deltaO;
+		int rejected = 0;
+		while (true) {
+
+			//// Remaining stages, ki = f(t + ci*h, y + h*sum(aij*kj))
+
+			for (int i = 1; i < STAGES; i++) {
+				setStageStatus(status, status2, i, timeStep);
+				computeStage(status2, i);
+			}
+
+			//// Fifth order solution, y(n+1) = y(n) + h*sum(bi*ki), and its error estimate
+
+			double[] b = A[STAGES - 1];
+			deltaV = sum(a, b, timeStep);
+			deltaP = sum(v, b, timeStep);
+			deltaR = sum(ra, b, timeStep);
+			deltaO = sum(rv, b, timeStep);
+
+			double error = errorRatio(sum(v, E, timeStep), status.getRocketPosition(), deltaP);
+			error = Math.max(error, errorRatio(sum(a, E, timeStep), status.getRocketVelocity(), deltaV));
+			error = Math.max(error, errorRatio(sum(ra, E, timeStep), status.getRocketRotationVelocity(), deltaR));
+			error = Math.max(error, errorRatio(sum(rv, E, timeStep), Coordinate.ZERO, Coordinate.ZERO));
+			error /= conditions.getIntegrationTolerance();
+			checkNaN(error);
+
+			// Optimal step for the fourth order error estimate, h_opt = h * (1/error)^(1/5)
+			double scale = (error > 0) ? SAFETY * Math.pow(error, -0.2) : MAX_SCALE;
+			scale = MathUtil.clamp(scale, MIN_SCALE, MAX_SCALE);
+
+			if (error <= 1 || timeStep <= minTimeStep) {
+				proposedTimeStep = timeStep * scale;
+				break;
+			}
+
+			// Reject the step and retry with a smaller one
+			rejected++;
+			timeStep = MathUtil.max(timeStep * scale, minTimeStep);
+		}
+
+		if (log.isTraceEnabled()) {
+			log.trace("Took time step " + timeStep + " after " + rejected + " rejected steps, next step " +
+					proposedTimeStep);
+		}
+
+		store.timeStep = timeStep;
+		completeStep(status, deltaV, deltaP, deltaR, deltaO);
+	}
+
+	/**
+	 * Select the time step to try, from the step proposed by the error control and the limits
+	 * listed in the class description.
+	 */
+	private double selectTimeStep(SimulationStatus status, double maxTimeStep) throws SimulationException {
+		final SimulationConditions conditions = status.getSimulationConditions();
+		final double userTimeStep = MathUtil.max(conditions.getTimeStep(), MIN_TIME_STEP);
+
+		double timeStep = Double.isNaN(proposedTimeStep) ? userTimeStep : proposedTimeStep;
+		timeStep = MathUtil.min(timeStep, MAX_STEP_MULTIPLIER * userTimeStep, maxTimeStep);
+
+		if (!status.isLaunchRodCleared()) {
+			timeStep = MathUtil.min(timeStep, userTimeStep / 5,
+					conditions.getLaunchRodLength() / v[0].length() / 10);
+		}
+		if (store.thrustForce > 0) {
+			timeStep = MathUtil.min(timeStep, userTimeStep);
+		}
+		timeStep = MathUtil.min(timeStep, conditions.getMaximumAngleStep() / store.lateralPitchRate,
+				Math.abs(MAX_ROLL_STEP_ANGLE / store.flightConditions.getRollRate()));
+
+		// Step up to the predicted apogee, and then across it with the user-selected time step
+		double verticalVelocity = v[0].z;
+		double verticalAcceleration = a[0].z;
+		if (!status.isApogeeReached() && verticalVelocity > 0 && verticalAcceleration < 0) {
+			timeStep = MathUtil.min(timeStep, MathUtil.max(-verticalVelocity / verticalAcceleration, userTimeStep));
+		}
+
+		return limitToNextEvent(status, timeStep);
+	}
+
+	@Override
+	protected double nextPitchYawRandom() {
+		double value = pitchYawRandom[pitchYawIndex];
+		pitchYawIndex = 1 - pitchYawIndex;
+		return value;
+	}
+
+	private void computeStage(SimulationStatus status, int stage) throws SimulationException {
+		computeParameters(status, store, k);
+		a[stage] = k.a;
+		v[stage] = k.v;
+		ra[stage] = k.ra;
+		rv[stage] = k.rv;
+	}
+
+	/**
+	 * Set the integrated state of the intermediate status of a stage.  The orientation is
+	 * computed from the orientation at the start of the step, as in {@link RK4SimulationStepper}.
+	 */
+	private void setStageStatus(SimulationStatus status, SimulationStatus status2, int stage, double h) {
+		double[] weights = A[stage];
+		status2.setSimulationTime(status.getSimulationTime() + C[stage] * h);
+		status2.setRocketPosition(status.getRocketPosition().add(sum(v, weights, h)));
+		status2.setRocketVelocity(status.getRocketVelocity().add(sum(a, weights, h)));
+		status2.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion()
+				.multiplyLeftRotation(sum(rv, weights, 1), h));
+		status2.setRocketRotationVelocity(status.getRocketRotationVelocity().add(sum(ra, weights, h)));
+	}
+
+	/**
+	 * Return <code>h * sum(weights[i] * c[i])</code> over the weights given.
+	 */
+	private static Coordinate sum(Coordinate[] c, double[] weights, double h) {
+		double x = 0, y = 0, z = 0;
+		for (int i = 0; i < weights.length; i++) {
+			double w = weights[i];
+			if (w != 0) {
+				x += w * c[i].x;
+				y += w * c[i].y;
+				z += w * c[i].z;
+			}
+		}
+		return new Coordinate(x * h, y * h, z * h);
+	}
+
+	/**
+	 * Return the error of a state vector relative to its magnitude at the start and end of the
+	 * step.  Magnitudes below one (in SI units) are treated as one, which makes the tolerance
+	 * absolute for small values.
+	 */
+	private static double errorRatio(Coordinate error, Coordinate value, Coordinate delta) {
+		double magnitude = MathUtil.max(1, value.length(), value.add(delta).length());
+		return error.length() / magnitude;
+	}
+}
@@ -51,7 +51,7 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 	 * Maximum roll step allowed.  This is selected as an uneven division of the full
 	 * circle so that the simulation will sample the most wind directions
 	 */
-	private static final double MAX_ROLL_STEP_ANGLE = 2 * 28.32 * Math.PI / 180;
+	static final double MAX_ROLL_STEP_ANGLE = 2 * 28.32 * Math.PI / 180;
 	//	private static final double MAX_ROLL_STEP_ANGLE = 8.32 * Math.PI/180;
 	
 	private static final double MAX_ROLL_RATE_CHANGE = 2 * Math.PI / 180;
@@ -59,6 +59,13 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 	
 	private Random random;
 	DataStore store = new DataStore();
+
+	// Scratch objects reused on every step to avoid per-step allocation
+	private final double[] dt = new double[8];
+	private final RK4Parameters k1 = new RK4Parameters();
+	private final RK4Parameters k2 = new RK4Parameters();
+	private final RK4Parameters k3 = new RK4Parameters();
+	private final RK4Parameters k4 = new RK4Parameters();
 	
 	@Override
 	public SimulationStatus initialize(SimulationStatus original) {
@@ -90,7 +97,6 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		////////  Perform RK4 integration:  ////////
 		
 		SimulationStatus status2;
-		RK4Parameters k1, k2, k3, k4;
 
 		/*
 		 * Get the current atmospheric conditions
@@ -104,8 +110,11 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 
 		//// First position, k1 = f(t, y)
 		
-		k1 = computeParameters(status, store);
+		computeParameters(status, store, k1);
+		final SimulationTimers timers = status.getSimulationConditions().getTimers();
+		long start = timers.start();
 		store.storeData(status);
+		timers.stop(SimulationTimers.Phase.DATA_STORAGE, start);
 		
 		/*
 		 * Select the actual time step to use.  It is the minimum of the following:
@@ -123,7 +132,6 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		 * 
 		 * The step is still at least 1/20th of the user-selected time step.
 		 */
-		double[] dt = new double[8];
 		Arrays.fill(dt, Double.MAX_VALUE);
 
 		// If the user selected a really small timestep, use MIN_TIME_STEP instead.
@@ -150,81 +158,60 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 			}
 		}
 
-		log.trace("Selected time step " + store.timeStep + " (limiting factor " + limitingValue + ")");
-
-		// If we have a scheduled event coming up before the end of our timestep, truncate step
-		// else if the time from the end of our timestep to the next scheduled event time is less than
-		// minTimeStep, stretch it
-		double minTimeStep = status.getSimulationConditions().getTimeStep() / 20;
-		FlightEvent nextEvent = status.getEventQueue().peek();
-		if (nextEvent != null) {
-			double nextEventTime = nextEvent.getTime();
-			if (status.getSimulationTime() + store.timeStep > nextEventTime) {
-				store.timeStep = nextEventTime - status.getSimulationTime();
-				log.trace("scheduled event at " + nextEventTime + " truncates timestep to " + store.timeStep);
-			} else if ((status.getSimulationTime() + store.timeStep < nextEventTime) &&
-					   (status.getSimulationTime() + store.timeStep + minTimeStep > nextEventTime)) {
-				store.timeStep = nextEventTime - status.getSimulationTime();
-				log.trace("Scheduled event at " + nextEventTime + " stretches timestep to " + store.timeStep);
-			}
+		if (log.isTraceEnabled()) {
+			log.trace("Selected time step " + store.timeStep + " (limiting factor " + limitingValue + ")");
 		}
 
-		// If we've wound up with a too-small timestep, increase it avoid numerical instability even at the
-		// cost of not being *quite* on an event
-		if (store.timeStep < minTimeStep) {
-			log.trace("Too small time step " + store.timeStep + " (limiting factor " + limitingValue + "), using " +
-					minTimeStep + " instead.");
-			store.timeStep = minTimeStep;
-		}
+		store.timeStep = limitToNextEvent(status, store.timeStep);
 
-		checkNaN(store.timeStep);
 
 
+		/*
+		 * The intermediate positions share a single shallow copy of the status, all state that is
+		 * integrated is overwritten before each evaluation.  The orientation is always computed
+		 * from the orientation at the start of the step.
+		 */
+		status2 = status.clone();
 
 		//// Second position, k2 = f(t + h/2, y + k1*h/2)
 		
-		status2 = status.clone();
-		status2.setSimulationTime(status.getSimulationTime() + store.timeStep / 2);
-		status2.setRocketPosition(status.getRocketPosition().add(k1.v.multiply(store.timeStep / 2)));
-		status2.setRocketVelocity(status.getRocketVelocity().add(k1.a.multiply(store.timeStep / 2)));
-		status2.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion().multiplyLeft(Quaternion.rotation(k1.rv.multiply(store.timeStep / 2))));
-		status2.setRocketRotationVelocity(status.getRocketRotationVelocity().add(k1.ra.multiply(store.timeStep / 2)));
-		
-		k2 = computeParameters(status2, store);
+		setIntermediateStatus(status, status2, k1, store.timeStep / 2);
+		computeParameters(status2, store, k2);
 		
 
 		//// Third position, k3 = f(t + h/2, y + k2*h/2)
 		
-		status2 = status.clone();
-		status2.setSimulationTime(status.getSimulationTime() + store.timeStep / 2);
-		status2.setRocketPosition(status.getRocketPosition().add(k2.v.multiply(store.timeStep / 2)));
-		status2.setRocketVelocity(status.getRocketVelocity().add(k2.a.multiply(store.timeStep / 2)));
-		status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion().multiplyLeft(Quaternion.rotation(k2.rv.multiply(store.timeStep / 2))));
-		status2.setRocketRotationVelocity(status.getRocketRotationVelocity().add(k2.ra.multiply(store.timeStep / 2)));
-		
-		k3 = computeParameters(status2, store);
+		setIntermediateStatus(status, status2, k2, store.timeStep / 2);
+		computeParameters(status2, store, k3);
 		
 
 		//// Fourth position, k4 = f(t + h, y + k3*h)
 		
-		status2 = status.clone();
-		status2.setSimulationTime(status.getSimulationTime() + store.timeStep);
-		status2.setRocketPosition(status.getRocketPosition().add(k3.v.multiply(store.timeStep)));
-		status2.setRocketVelocity(status.getRocketVelocity().add(k3.a.multiply(store.timeStep)));
-		status2.setRocketOrientationQuaternion(status2.getRocketOrientationQuaternion().multiplyLeft(Quaternion.rotation(k3.rv.multiply(store.timeStep))));
-		status2.setRocketRotationVelocity(status.getRocketRotationVelocity().add(k3.ra.multiply(store.timeStep)));
-		
-		k4 = computeParameters(status2, store);
+		setIntermediateStatus(status, status2, k3, store.timeStep);
+		computeParameters(status2, store, k4);
 		
 
 		//// Sum all together,  y(n+1) = y(n) + h*(k1 + 2*k2 + 2*k3 + k4)/6
 		Coordinate deltaV, deltaP, deltaR, deltaO;
-		deltaV = k2.a.add(k3.a).multiply(2).add(k1.a).add(k4.a).multiply(store.timeStep / 6);
-		deltaP = k2.v.add(k3.v).multiply(2).add(k1.v).add(k4.v).multiply(store.timeStep / 6);
-		deltaR = k2.ra.add(k3.ra).multiply(2).add(k1.ra).add(k4.ra).multiply(store.timeStep / 6);
-		deltaO = k2.rv.add(k3.rv).multiply(2).add(k1.rv).add(k4.rv).multiply(store.timeStep / 6);
+		deltaV = weightedSum(k1.a, k2.a, k3.a, k4.a, store.timeStep / 6);
+		deltaP = weightedSum(k1.v, k2.v, k3.v, k4.v, store.timeStep / 6);
+		deltaR = weightedSum(k1.ra, k2.ra, k3.ra, k4.ra, store.timeStep / 6);
+		deltaO = weightedSum(k1.rv, k2.rv, k3.rv, k4.rv, store.timeStep / 6);
 		
 
+		completeStep(status, deltaV, deltaP, deltaR, deltaO);
+	}
+	
+	
+
+
+
+	/**
+	 * Advance the status over the selected time step {@link DataStore#timeStep} by the given
+	 * changes of the integrated state, and store the flight data at the end of the step.
+	 */
+	protected void completeStep(SimulationStatus status, Coordinate deltaV, Coordinate deltaP, Coordinate deltaR,
+								Coordinate deltaO) throws SimulationException {
 		status.setRocketVelocity(status.getRocketVelocity().add(deltaV));
 		status.setRocketPosition(status.getRocketPosition().add(deltaP));
 		status.setRocketRotationVelocity(status.getRocketRotationVelocity().add(deltaR));
@@ -242,9 +229,12 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		
 		// Store data
 		// TODO: MEDIUM: Store acceleration etc of entire RK4 step, store should be cloned or something...
+		final SimulationTimers timers = status.getSimulationConditions().getTimers();
+		final long start = timers.start();
 		status.getFlightDataBranch().addPoint();
 		status.storeData();
 		store.storeData(status);
+		timers.stop(SimulationTimers.Phase.DATA_STORAGE, start);
 		
 		// Verify that values don't run out of range
 		if (status.getRocketVelocity().length2() > 1.0e18 ||
@@ -254,13 +244,76 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		}
 	}
 	
-	
-
+	/**
+	 * Limit a time step so that the step ends at the next scheduled event, if the event is within
+	 * the step or only slightly after it.  The returned step is still at least 1/20th of the
+	 * user-selected time step.
+	 *
+	 * @param status	the current simulation status.
+	 * @param timeStep	the selected time step.
+	 * @return			the time step to take.
+	 */
+	protected double limitToNextEvent(SimulationStatus status, double timeStep) throws SimulationException {
+		// If we have a scheduled event coming up before the end of our timestep, truncate step
+		// else if the time from the end of our timestep to the next scheduled event time is less than
+		// minTimeStep, stretch it
+		double minTimeStep = status.getSimulationConditions().getTimeStep() / 20;
+		FlightEvent nextEvent = status.getEventQueue().peek();
+		if (nextEvent != null) {
+			double nextEventTime = nextEvent.getTime();
+			if (status.getSimulationTime() + timeStep > nextEventTime) {
+				timeStep = nextEventTime - status.getSimulationTime();
+				log.trace("scheduled event at " + nextEventTime + " truncates timestep to " + timeStep);
+			} else if ((status.getSimulationTime() + timeStep < nextEventTime) &&
+					   (status.getSimulationTime() + timeStep + minTimeStep > nextEventTime)) {
+				timeStep = nextEventTime - status.getSimulationTime();
+				log.trace("Scheduled event at " + nextEventTime + " stretches timestep to " + timeStep);
+			}
+		}
 
+		// If we've wound up with a too-small timestep, increase it avoid numerical instability even at the
+		// cost of not being *quite* on an event
+		if (timeStep < minTimeStep) {
+			log.trace("Too small time step " + timeStep + ", using " + minTimeStep + " instead.");
+			timeStep = minTimeStep;
+		}
 
-	private RK4Parameters computeParameters(SimulationStatus status, DataStore dataStore)
+		checkNaN(timeStep);
+		return timeStep;
+	}
+	
+	
+	/**
+	 * Set the integrated state of an intermediate RK4 position, <code>y + k*h</code>.
+	 * 
+	 * @param status		the status at the start of the step.
+	 * @param status2		the intermediate status to modify.
+	 * @param k				the derivatives to step with.
+	 * @param h				the time step to the intermediate position.
+	 */
+	private static void setIntermediateStatus(SimulationStatus status, SimulationStatus status2,
+											  RK4Parameters k, double h) {
+		status2.setSimulationTime(status.getSimulationTime() + h);
+		status2.setRocketPosition(status.getRocketPosition().addScaled(k.v, h));
+		status2.setRocketVelocity(status.getRocketVelocity().addScaled(k.a, h));
+		status2.setRocketOrientationQuaternion(status.getRocketOrientationQuaternion().multiplyLeftRotation(k.rv, h));
+		status2.setRocketRotationVelocity(status.getRocketRotationVelocity().addScaled(k.ra, h));
+	}
+	
+	/**
+	 * Compute the RK4 weighted sum <code>(c1 + 2*c2 + 2*c3 + c4) * m</code> using the
+	 * same operation order as the corresponding chain of <code>Coordinate</code> operations.
+	 */
+	private static Coordinate weightedSum(Coordinate c1, Coordinate c2, Coordinate c3, Coordinate c4, double m) {
+		return new Coordinate(
+				((c2.x + c3.x) * 2 + c1.x + c4.x) * m,
+				((c2.y + c3.y) * 2 + c1.y + c4.y) * m,
+				((c2.z + c3.z) * 2 + c1.z + c4.z) * m,
+				((c2.weight + c3.weight) * 2 + c1.weight + c4.weight) * m);
+	}
+	
+	void computeParameters(SimulationStatus status, DataStore dataStore, RK4Parameters params)
 			throws SimulationException {
-		RK4Parameters params = new RK4Parameters();
 		
 		// Call pre-listeners
 		store.accelerationData = SimulationListenerHelper.firePreAccelerationCalculation(status);
@@ -282,8 +335,6 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		checkNaN(params.ra);
 		checkNaN(params.v);
 		checkNaN(params.rv);
-		
-		return params;
 	}
 	
 	
@@ -411,16 +462,19 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		WarningSet warnings = status.recordWarnings() ? new WarningSet() : null;
 
 		// Calculate aerodynamic forces
+		final SimulationTimers timers = status.getSimulationConditions().getTimers();
+		final long start = timers.start();
 		store.forces = status.getSimulationConditions().getAerodynamicCalculator()
 				.getAerodynamicForces(status.getConfiguration(), store.flightConditions, warnings);
+		timers.stop(SimulationTimers.Phase.AERODYNAMICS, start);
 		if (null != warnings) {
 			status.addWarnings(warnings);
 		}
 
 		// Add very small randomization to yaw & pitch moments to prevent over-perfect flight
 		// TODO: HIGH: This should rather be performed as a listener
-		store.forces.setCm(store.forces.getCm() + (PITCH_YAW_RANDOM * 2 * (random.nextDouble() - 0.5)));
-		store.forces.setCyaw(store.forces.getCyaw() + (PITCH_YAW_RANDOM * 2 * (random.nextDouble() - 0.5)));
+		store.forces.setCm(store.forces.getCm() + nextPitchYawRandom());
+		store.forces.setCyaw(store.forces.getCyaw() + nextPitchYawRandom());
 		
 
 		// Call post-listeners
@@ -429,6 +483,15 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 	
 	
 
+	/**
+	 * Return a random amount to add to a pitch or yaw moment coefficient, within
+	 * {@link #PITCH_YAW_RANDOM} plus or minus.  This is called for the pitch moment and
+	 * then the yaw moment on every aerodynamic calculation.
+	 */
+	protected double nextPitchYawRandom() {
+		return PITCH_YAW_RANDOM * 2 * (random.nextDouble() - 0.5);
+	}
+
 	/**
 	 * Calculate and return the flight conditions for the current rocket status.
 	 * Listeners can override these if necessary.
@@ -436,7 +499,7 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 	 * Additionally the fields thetaRotation and lateralPitchRate are defined in
 	 * the data store, and can be used after calling this method.
 	 */
-	private void calculateFlightConditions(SimulationStatus status, DataStore store)
+	void calculateFlightConditions(SimulationStatus status, DataStore store)
 			throws SimulationException {
 		
 		// Call pre listeners, allow complete override
@@ -513,7 +576,7 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		
 	}
 
-	private static class RK4Parameters {
+	static class RK4Parameters {
 		/** Linear acceleration */
 		public Coordinate a;
 		/** Linear velocity */
@@ -57,12 +57,17 @@ public class SimulationConditions implements Monitorable, Cloneable {
 
 	private double timeStep = RK4SimulationStepper.RECOMMENDED_TIME_STEP;
 	private double maximumAngleStep = RK4SimulationStepper.RECOMMENDED_ANGLE_STEP;
+	private SimulationStepperType stepperType = SimulationStepperType.RK4;
+	private double integrationTolerance = RK45SimulationStepper.RECOMMENDED_TOLERANCE;
 
 
 	private List<SimulationListener> simulationListeners = new ArrayList<>();
 
 	private int randomSeed = 0;
 
+	/** The phase timers, shared by the clones of the conditions */
+	private SimulationTimers timers = SimulationTimers.DISABLED;
+
 	private ModID modID = ModID.INVALID;
 	private ModID modIDadd = ModID.INVALID;
 
@@ -219,6 +224,27 @@ public class SimulationConditions implements Monitorable, Cloneable {
 		this.modID = new ModID();
 	}
 
+	public SimulationStepperType getStepperType() {
+		return stepperType;
+	}
+
+	public void setStepperType(SimulationStepperType stepperType) {
+		this.stepperType = stepperType;
+		this.modID = new ModID();
+	}
+
+	/**
+	 * Return the relative error tolerance per step of the adaptive stepper.
+	 */
+	public double getIntegrationTolerance() {
+		return integrationTolerance;
+	}
+
+	public void setIntegrationTolerance(double integrationTolerance) {
+		this.integrationTolerance = integrationTolerance;
+		this.modID = new ModID();
+	}
+
 	public int getRandomSeed() {
 		return randomSeed;
 	}
@@ -228,6 +254,18 @@ public class SimulationConditions implements Monitorable, Cloneable {
 		this.modID = new ModID();
 	}
 
+	/**
+	 * Return the timers recording the time spent in the phases of the simulation.  The
+	 * timers are {@link SimulationTimers#DISABLED} unless timing has been enabled.
+	 */
+	public SimulationTimers getTimers() {
+		return timers;
+	}
+
+	public void setTimers(SimulationTimers timers) {
+		this.timers = timers;
+	}
+
 	public void setSimulation(Simulation sim) {
 		this.simulation = sim;
 	}
@@ -14,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.openrocket.core.aerodynamics.BarrowmanCalculator;
+import info.openrocket.core.aerodynamics.TabulatedAerodynamicCalculator;
 import info.openrocket.core.masscalc.MassCalculator;
 import info.openrocket.core.models.atmosphere.AtmosphericModel;
 import info.openrocket.core.models.atmosphere.ExtendedISAModel;
@@ -78,6 +79,13 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 	
 	private int randomSeed = new Random().nextInt();
 
+	private boolean tabulatedAerodynamics = false;
+
+	private SimulationStepperType stepperType = SimulationStepperType.RK4;
+	private double integrationTolerance = RK45SimulationStepper.RECOMMENDED_TOLERANCE;
+
+	private boolean collectTimings = false;
+
 	private List<EventListener> listeners = new ArrayList<>();
 
 	private WindModelType windModelType = WindModelType.AVERAGE;
@@ -307,6 +315,69 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 		fireChangeEvent();
 	}
 
+	/**
+	 * Return whether the aerodynamic forces are interpolated from precomputed tables instead
+	 * of being calculated at every step.
+	 *
+	 * @see TabulatedAerodynamicCalculator
+	 */
+	public boolean isTabulatedAerodynamics() {
+		return tabulatedAerodynamics;
+	}
+
+	public void setTabulatedAerodynamics(boolean tabulatedAerodynamics) {
+		if (this.tabulatedAerodynamics == tabulatedAerodynamics)
+			return;
+		this.tabulatedAerodynamics = tabulatedAerodynamics;
+		fireChangeEvent();
+	}
+
+	/**
+	 * Return the integration method used for the powered and coasting flight.
+	 */
+	public SimulationStepperType getStepperType() {
+		return stepperType;
+	}
+
+	public void setStepperType(SimulationStepperType stepperType) {
+		if (this.stepperType == stepperType)
+			return;
+		this.stepperType = stepperType;
+		fireChangeEvent();
+	}
+
+	/**
+	 * Return the relative error tolerance per step of the {@link SimulationStepperType#RK45}
+	 * integration method.  It is not used by the other methods.
+	 */
+	public double getIntegrationTolerance() {
+		return integrationTolerance;
+	}
+
+	public void setIntegrationTolerance(double integrationTolerance) {
+		integrationTolerance = MathUtil.clamp(integrationTolerance, RK45SimulationStepper.MIN_TOLERANCE,
+				RK45SimulationStepper.MAX_TOLERANCE);
+		if (MathUtil.equals(this.integrationTolerance, integrationTolerance))
+			return;
+		this.integrationTolerance = integrationTolerance;
+		fireChangeEvent();
+	}
+
+	/**
+	 * Return whether the time spent in the phases of the simulation is recorded.  The
+	 * timings do not affect the simulation results, so this setting is not considered by
+	 * {@link #equals(Object)} and is not stored in the design file.
+	 *
+	 * @see SimulationTimers
+	 */
+	public boolean isCollectTimings() {
+		return collectTimings;
+	}
+
+	public void setCollectTimings(boolean collectTimings) {
+		this.collectTimings = collectTimings;
+	}
+
 	public int getRandomSeed() {
 		return randomSeed;
 	}
@@ -426,6 +497,19 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 			isChanged = true;
 			this.geodeticComputation = src.geodeticComputation;
 		}
+		if (this.tabulatedAerodynamics != src.tabulatedAerodynamics) {
+			isChanged = true;
+			this.tabulatedAerodynamics = src.tabulatedAerodynamics;
+		}
+		if (this.stepperType != src.stepperType) {
+			isChanged = true;
+			this.stepperType = src.stepperType;
+		}
+		if (this.integrationTolerance != src.integrationTolerance) {
+			isChanged = true;
+			this.integrationTolerance = src.integrationTolerance;
+		}
+		this.collectTimings = src.collectTimings;
 
 		if (isChanged) {
 			// Only copy the randomSeed if something else has changed.
@@ -455,6 +539,9 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 				MathUtil.equals(this.launchTemperature, o.launchTemperature) &&
 				MathUtil.equals(this.maximumAngle, o.maximumAngle) &&
 				MathUtil.equals(this.timeStep, o.timeStep)) &&
+				this.tabulatedAerodynamics == o.tabulatedAerodynamics &&
+				this.stepperType == o.stepperType &&
+				MathUtil.equals(this.integrationTolerance, o.integrationTolerance) &&
 				this.windModelType == o.windModelType &&
 				this.averageWindModel.equals(o.averageWindModel) &&
 				this.multiLevelPinkNoiseWindModel.equals(o.multiLevelPinkNoiseWindModel);
@@ -512,11 +599,20 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 		GravityModel gravityModel = new WGSGravityModel();
 		conditions.setGravityModel(gravityModel);
 
-		conditions.setAerodynamicCalculator(new BarrowmanCalculator());
+		if (tabulatedAerodynamics) {
+			conditions.setAerodynamicCalculator(new TabulatedAerodynamicCalculator());
+		} else {
+			conditions.setAerodynamicCalculator(new BarrowmanCalculator());
+		}
 		conditions.setMassCalculator(new MassCalculator());
+		if (collectTimings) {
+			conditions.setTimers(new SimulationTimers());
+		}
 
 		conditions.setTimeStep(getTimeStep());
 		conditions.setMaximumAngleStep(getMaximumStepAngle());
+		conditions.setStepperType(getStepperType());
+		conditions.setIntegrationTolerance(getIntegrationTolerance());
 
 		return conditions;
 	}
@@ -540,6 +636,9 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 				.concat(String.format("    launchPressure:  %f\n", launchPressure))
 				.concat(String.format("    timeStep:  %f\n", timeStep))
 				.concat(String.format("    maximumAngle:  %f\n", maximumAngle))
+				.concat(String.format("    tabulatedAerodynamics:  %b\n", tabulatedAerodynamics))
+				.concat(String.format("    stepperType:  %s\n", stepperType))
+				.concat(String.format("    integrationTolerance:  %g\n", integrationTolerance))
 				.concat("]\n");
 	}
 
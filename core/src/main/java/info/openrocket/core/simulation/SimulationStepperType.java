@@ -0,0 +1,56 @@
+package info.openrocket.core.simulation;
+
+import java.util.Locale;
+
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.startup.Application;
+
+/**
+ * The integration methods available for the powered and coasting flight of a simulation.
+ */
+public enum SimulationStepperType {
+	/** Fixed order Runge-Kutta integration with heuristic step size limits, see {@link RK4SimulationStepper} */
+	RK4("RK4"),
+	/** Adaptive Dormand-Prince integration with error control, see {@link RK45SimulationStepper} */
+	RK45("RK45");
+
+	private static final Translator trans = Application.getTranslator();
+
+	private final String stringValue;
+
+	SimulationStepperType(String stringValue) {
+		this.stringValue = stringValue;
+	}
+
+	/**
+	 * Return the name of this integration method.
+	 */
+	public String getName() {
+		return trans.get(name().toLowerCase(Locale.ENGLISH) + ".name");
+	}
+
+	/**
+	 * Return a description of this integration method.
+	 */
+	public String getDescription() {
+		return trans.get(name().toLowerCase(Locale.ENGLISH) + ".desc");
+	}
+
+	@Override
+	public String toString() {
+		return getName();
+	}
+
+	public String toStringValue() {
+		return stringValue;
+	}
+
+	public static SimulationStepperType fromString(String stringValue) {
+		for (SimulationStepperType type : SimulationStepperType.values()) {
+			if (type.stringValue.equalsIgnoreCase(stringValue)) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("No enum constant " + SimulationStepperType.class.getCanonicalName() + " for string value: " + stringValue);
+	}
+}
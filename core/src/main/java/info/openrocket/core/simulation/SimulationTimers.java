@@ -0,0 +1,148 @@
+package info.openrocket.core.simulation;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Accumulated wall clock time spent in the phases of a simulation, for finding out where the
+ * CPU time of a simulation goes.
+ * <p>
+ * The timers are opt-in: {@link #DISABLED} is used unless the simulation options enable
+ * timing, and its {@link #start()} and {@link #stop(Phase, long)} methods do nothing.  When
+ * enabled, timing a phase costs two calls to {@link System#nanoTime()}.  The timers of a
+ * simulation are shared by all of its branches and are not thread-safe.
+ * <p>
+ * Timing a phase follows the pattern:
+ * <pre>
+ * final long start = timers.start();
+ * ... the timed code ...
+ * timers.stop(SimulationTimers.Phase.AERODYNAMICS, start);
+ * </pre>
+ * The phases do not overlap, except that the listener calls and data storage during event
+ * handling are counted in both, and {@link Phase#SIMULATION} contains all other phases.
+ * The simulations run to compute the optimum coast time are part of the enclosing simulation.
+ */
+public class SimulationTimers {
+
+	/**
+	 * The timed phases of a simulation.
+	 */
+	public enum Phase {
+		/** The aerodynamic force calculation */
+		AERODYNAMICS("aerodynamics"),
+		/** The structure and motor mass calculation */
+		MASS("mass"),
+		/** The atmospheric model */
+		ATMOSPHERE("atmosphere"),
+		/** The wind model */
+		WIND("wind"),
+		/** The calls to the simulation listeners */
+		LISTENERS("listeners"),
+		/** The handling of the flight events */
+		EVENTS("events"),
+		/** Storing the flight data */
+		DATA_STORAGE("dataStorage"),
+		/** The complete simulation */
+		SIMULATION("simulation");
+
+		private final String key;
+
+		Phase(String key) {
+			this.key = key;
+		}
+
+		/**
+		 * Return the identifier of the phase used when exporting the timings.
+		 */
+		public String getKey() {
+			return key;
+		}
+	}
+
+	private static final Phase[] PHASES = Phase.values();
+
+	/** Timers that do not record anything */
+	public static final SimulationTimers DISABLED = new SimulationTimers(false);
+
+	private final boolean enabled;
+	private final long[] nanos = new long[PHASES.length];
+	private final long[] counts = new long[PHASES.length];
+
+	/**
+	 * Create a new set of enabled timers.
+	 */
+	public SimulationTimers() {
+		this(true);
+	}
+
+	private SimulationTimers(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Start timing a phase.
+	 *
+	 * @return	the start time to pass to {@link #stop(Phase, long)}.
+	 */
+	public long start() {
+		return enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Stop timing a phase, adding the time since <code>start</code> to the phase.
+	 *
+	 * @param phase		the timed phase.
+	 * @param start		the start time returned by {@link #start()}.
+	 */
+	public void stop(Phase phase, long start) {
+		if (enabled) {
+			nanos[phase.ordinal()] += System.nanoTime() - start;
+			counts[phase.ordinal()]++;
+		}
+	}
+
+	/**
+	 * Return the total time spent in a phase, in seconds.
+	 */
+	public double getTime(Phase phase) {
+		return nanos[phase.ordinal()] / 1e9;
+	}
+
+	/**
+	 * Return the number of times a phase was timed.
+	 */
+	public long getCount(Phase phase) {
+		return counts[phase.ordinal()];
+	}
+
+	/**
+	 * Return the total time spent in each phase, in seconds.
+	 */
+	public Map<Phase, Double> getTimes() {
+		Map<Phase, Double> times = new EnumMap<>(Phase.class);
+		for (Phase phase : PHASES) {
+			times.put(phase, getTime(phase));
+		}
+		return times;
+	}
+
+	@Override
+	public String toString() {
+		if (!enabled) {
+			return "SimulationTimers[disabled]";
+		}
+		StringBuilder sb = new StringBuilder("SimulationTimers[");
+		for (Phase phase : PHASES) {
+			if (phase.ordinal() > 0) {
+				sb.append(", ");
+			}
+			sb.append(String.format("%s=%.3f ms/%d", phase.getKey(), nanos[phase.ordinal()] / 1e6,
+					counts[phase.ordinal()]));
+		}
+		return sb.append(']').toString();
+	}
+}
@@ -0,0 +1,147 @@
+package info.openrocket.core.simulation.customexpression;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import de.congrace.exp4j.Calculable;
+import de.congrace.exp4j.Variable;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.SimulationStatus;
+
+/**
+ * A custom expression parsed once for evaluation on every step of a simulation, created by
+ * {@link CustomExpression#compile()}.
+ * <p>
+ * A compiled expression keeps the variable values and intermediate results of its previous
+ * evaluation, so it must not be shared between simulations running at the same time.
+ */
+public abstract class CompiledExpression {
+
+	private final CustomExpression expression;
+
+	protected CompiledExpression(CustomExpression expression) {
+		this.expression = expression;
+	}
+
+	/**
+	 * Return the expression this was compiled from.
+	 */
+	public CustomExpression getExpression() {
+		return expression;
+	}
+
+	/**
+	 * Evaluate the expression using the current flight data of the simulation.
+	 *
+	 * @param status	the simulation status.
+	 * @return			the value, or a variable named "Unknown" if the expression cannot be evaluated.
+	 */
+	public abstract Variable evaluate(SimulationStatus status);
+
+	/**
+	 * Evaluate the expression as a double, returning NaN for infinite values.
+	 */
+	public double evaluateDouble(SimulationStatus status) {
+		double result = evaluate(status).getDoubleValue();
+		if (result == Double.NEGATIVE_INFINITY || result == Double.POSITIVE_INFINITY)
+			result = Double.NaN;
+		return result;
+	}
+
+	/**
+	 * Return the value of a flight data type at a time, interpolated linearly between the
+	 * data points.  Times outside the data return the first or last value.
+	 *
+	 * @param branch	the flight data, with at least one point.
+	 * @param type		the flight data type.
+	 * @param time		the time.
+	 * @return			the value, or NaN if the branch does not contain the type.
+	 */
+	protected static double interpolate(FlightDataBranch branch, FlightDataType type, double time) {
+		if (!branch.containsType(type)) {
+			return Double.NaN;
+		}
+		int length = branch.getLength();
+
+		// Find the first point after the time
+		int low = 0, high = length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (branch.getValue(FlightDataType.TYPE_TIME, mid) <= time) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		if (low == 0) {
+			return branch.getValue(type, 0);
+		}
+		double t1 = branch.getValue(FlightDataType.TYPE_TIME, low - 1);
+		double y1 = branch.getValue(type, low - 1);
+		if (low == length || t1 == time) {
+			return y1;
+		}
+		double t2 = branch.getValue(FlightDataType.TYPE_TIME, low);
+		double y2 = branch.getValue(type, low);
+		return (time - t1) / (t2 - t1) * (y2 - y1) + y1;
+	}
+
+	/**
+	 * The flight data variables of a calculable, bound to the flight data types of the
+	 * branch once instead of setting every type on each evaluation.
+	 */
+	static final class FlightDataVariables {
+		private final String[] symbols;
+		private final FlightDataType[] types;
+
+		private FlightDataBranch boundBranch = null;
+		private int boundTypeCount = -1;
+
+		/**
+		 * @param calc	the calculable, may be <code>null</code>.
+		 */
+		FlightDataVariables(Calculable calc) {
+			if (calc == null) {
+				symbols = new String[0];
+			} else {
+				// Sub-expressions are set separately
+				symbols = calc.getUsedVariableNames().stream()
+						.filter(name -> !name.startsWith("$"))
+						.toArray(String[]::new);
+			}
+			types = new FlightDataType[symbols.length];
+		}
+
+		/**
+		 * Set the variables of a calculable to the last values of the branch.  Symbols
+		 * without data are set to placeholders.
+		 */
+		void set(Calculable calc, FlightDataBranch branch) {
+			if (branch != boundBranch || branch.getTypeCount() != boundTypeCount) {
+				bind(branch);
+			}
+			for (int i = 0; i < symbols.length; i++) {
+				if (types[i] == null) {
+					calc.setVariable(new Variable(symbols[i]));
+				} else {
+					calc.setVariable(new Variable(symbols[i], branch.getLast(types[i])));
+				}
+			}
+		}
+
+		private void bind(FlightDataBranch branch) {
+			Map<String, FlightDataType> bySymbol = new HashMap<>();
+			if (branch.getTypeCount() > 0) {
+				for (FlightDataType type : branch.getTypes()) {
+					bySymbol.put(type.getSymbol(), type);
+				}
+			}
+			for (int i = 0; i < symbols.length; i++) {
+				types[i] = bySymbol.get(symbols[i]);
+			}
+			boundBranch = branch;
+			boundTypeCount = branch.getTypeCount();
+		}
+	}
+}
@@ -6,7 +6,6 @@ import java.util.regex.Pattern;
 
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.logging.Markers;
-import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.unit.FixedUnitGroup;
@@ -415,38 +414,65 @@ public class CustomExpression implements Cloneable {
 	/*
 	 * Evaluate the expression using the last variable values from the simulation
 	 * status.
-	 * Returns NaN on any error.
+	 * Returns NaN on any error.  The expression is parsed on every call, use
+	 * compile() to evaluate it repeatedly.
 	 */
 	public Variable evaluate(SimulationStatus status) {
+		return compile().evaluate(status);
+	}
 
-		Calculable calc = buildExpression(builder);
-		if (calc == null) {
-			return new Variable("Unknown");
-		}
-
-		// Evaluate any sub expressions and set associated variables in the calculable
+	/**
+	 * Parse the expression and its sub-expressions for evaluation during a simulation.
+	 * Errors are logged, and the compiled expression then evaluates to "Unknown".
+	 *
+	 * @return	a new compiled expression.
+	 */
+	public CompiledExpression compile() {
+		List<CompiledExpression> compiledSubExpressions = new ArrayList<>();
 		for (CustomExpression expr : this.subExpressions) {
-			calc.setVariable(expr.evaluate(status));
+			compiledSubExpressions.add(expr.compile());
 		}
+		return new Compiled(this, buildExpression(builder), compiledSubExpressions);
+	}
 
-		// Set all the built-in variables. Strictly we surely won't need all of them
-		// Going through and checking them to include only the ones used *might* give a
-		// speedup
-		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		for (FlightDataType type : dataBranch.getTypes()) {
-			double value = dataBranch.getLast(type);
-			calc.setVariable(new Variable(type.getSymbol(), value));
-		}
+	private static class Compiled extends CompiledExpression {
+		private final Calculable calc;
+		private final List<CompiledExpression> subExpressions;
+		private final FlightDataVariables variables;
 
-		double result = Double.NaN;
-		try {
-			result = calc.calculate().getDoubleValue();
-		} catch (java.util.EmptyStackException e) {
-			log.info(Markers.USER_MARKER,
-					"Unable to calculate expression " + this.expression + " due to empty stack exception");
+		Compiled(CustomExpression expression, Calculable calc, List<CompiledExpression> subExpressions) {
+			super(expression);
+			this.calc = calc;
+			this.subExpressions = subExpressions;
+			this.variables = new FlightDataVariables(calc);
 		}
 
-		return new Variable(name, result);
+		@Override
+		public Variable evaluate(SimulationStatus status) {
+			if (calc == null) {
+				return new Variable("Unknown");
+			}
+
+			// Evaluate any sub expressions and set associated variables in the calculable
+			for (CompiledExpression expr : subExpressions) {
+				String hash = expr.getExpression().hash();
+				Variable value = expr.evaluate(status);
+				calc.setVariable(hash.equals(value.getName()) ? value : new Variable(hash));
+			}
+
+			// Set the flight data variables used in the expression
+			variables.set(calc, status.getFlightDataBranch());
+
+			double result = Double.NaN;
+			try {
+				result = calc.calculate().getDoubleValue();
+			} catch (java.util.EmptyStackException e) {
+				log.info(Markers.USER_MARKER,
+						"Unable to calculate expression " + getExpression().expression + " due to empty stack exception");
+			}
+
+			return new Variable(getExpression().getName(), result);
+		}
 	}
 
 	/*
@@ -1,8 +1,10 @@
 package info.openrocket.core.simulation.customexpression;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
@@ -15,23 +17,52 @@ public class CustomExpressionSimulationListener extends AbstractSimulationListen
 	private static final Logger log = LoggerFactory.getLogger(CustomExpressionSimulationListener.class);
 	private final List<CustomExpression> expressions;
 
+	// The expressions compiled for the current simulation, and their data types
+	private List<CompiledExpression> compiled = null;
+	private List<FlightDataType> types = null;
+
 	public CustomExpressionSimulationListener(List<CustomExpression> expressions) {
 		super();
 		this.expressions = expressions;
 	}
 
+	@Override
+	public void startSimulation(SimulationStatus status) throws SimulationException {
+		compile();
+	}
+
+	/**
+	 * Parse the expressions once for the simulation.  New lists are created, so that copies
+	 * of this listener made for nested simulations do not share the compiled expressions.
+	 */
+	private void compile() {
+		List<CompiledExpression> compiled = new ArrayList<>();
+		List<FlightDataType> types = new ArrayList<>();
+		if (expressions != null) {
+			for (CustomExpression expression : expressions) {
+				compiled.add(expression.compile());
+				types.add(expression.getType());
+			}
+		}
+		this.compiled = compiled;
+		this.types = types;
+	}
+
 	@Override
 	public void postStep(SimulationStatus status) throws SimulationException {
 		if (expressions == null || expressions.size() == 0) {
 			return;
 		}
+		if (compiled == null) {
+			compile();
+		}
 		// Calculate values for custom expressions
 		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		for (CustomExpression expression : expressions) {
-			double value = expression.evaluateDouble(status);
+		for (int i = 0; i < compiled.size(); i++) {
+			double value = compiled.get(i).evaluateDouble(status);
 			// log.debug("Setting value of custom expression "+expression.toString()+" =
 			// "+value);
-			dataBranch.setValue(expression.getType(), value);
+			dataBranch.setValue(types.get(i), value);
 		}
 	}
 
@@ -93,6 +93,9 @@ public class Functions {
 			public Variable applyFunction(List<Variable> vars) {
 				double[] vals;
 				try {
+					if (vars.get(0) instanceof RangeVariable range) {
+						return new Variable("double MEAN result, ", range.getMean());
+					}
 					vals = vars.get(0).getArrayValue();
 				} catch (Exception e) {
 					return new Variable("Invalid");
@@ -107,6 +110,9 @@ public class Functions {
 			public Variable applyFunction(List<Variable> vars) {
 				double[] vals;
 				try {
+					if (vars.get(0) instanceof RangeVariable range) {
+						return new Variable("double MIN result, ", range.getMin());
+					}
 					vals = vars.get(0).getArrayValue();
 				} catch (Exception e) {
 					return new Variable("Invalid");
@@ -121,6 +127,9 @@ public class Functions {
 			public Variable applyFunction(List<Variable> vars) {
 				double[] vals;
 				try {
+					if (vars.get(0) instanceof RangeVariable range) {
+						return new Variable("double MAX result, ", range.getMax());
+					}
 					vals = vars.get(0).getArrayValue();
 				} catch (Exception e) {
 					return new Variable("Invalid");
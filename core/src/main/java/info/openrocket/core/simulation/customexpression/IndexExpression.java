@@ -1,7 +1,5 @@
 package info.openrocket.core.simulation.customexpression;
 
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,7 +10,6 @@ import info.openrocket.core.logging.Markers;
 import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
-import info.openrocket.core.util.LinearInterpolator;
 
 public class IndexExpression extends CustomExpression {
 
@@ -28,41 +25,36 @@ public class IndexExpression extends CustomExpression {
 	}
 
 	@Override
-	public Variable evaluate(SimulationStatus status) {
-		Calculable calc = buildExpression();
-		if (calc == null) {
-			return new Variable("Unknown");
-		}
-
-		// From the given datatype, get the time and function values and make an
-		// interpolator
+	public CompiledExpression compile() {
+		final Calculable calc = buildExpression();
 
 		// Note: must get in a way that flight data system will figure out units.
 		// Otherwise there will be a type conflict when we get the new data.
-		FlightDataType myType = FlightDataType.getType(null, getSymbol(), null);
-
-		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		List<Double> data = dataBranch.get(myType);
-		List<Double> time = dataBranch.get(FlightDataType.TYPE_TIME);
-		LinearInterpolator interp = new LinearInterpolator(time, data);
-
-		// Set the variables in the expression to evaluate
-		for (FlightDataType etype : dataBranch.getTypes()) {
-			double value = dataBranch.getLast(etype);
-			calc.setVariable(new Variable(etype.getSymbol(), value));
-		}
-
-		// Evaluate this expression to get the t value
-		// System.out.println("Evaluating expression to get t value
-		// "+this.getExpressionString());
-		try {
-			double tvalue = calc.calculate().getDoubleValue();
-			// System.out.println("t = "+tvalue);
-			return new Variable(hash(), interp.getValue(tvalue));
-		} catch (java.util.EmptyStackException e) {
-			log.info(Markers.USER_MARKER, "Unable to calculate time index for indexed expression "
-					+ getExpressionString() + " due to empty stack exception");
-			return new Variable("Unknown");
-		}
+		final FlightDataType myType = FlightDataType.getType(null, getSymbol(), null);
+		final CompiledExpression.FlightDataVariables variables = new CompiledExpression.FlightDataVariables(calc);
+
+		return new CompiledExpression(this) {
+			@Override
+			public Variable evaluate(SimulationStatus status) {
+				if (calc == null) {
+					return new Variable("Unknown");
+				}
+
+				// Set the variables in the expression to evaluate
+				FlightDataBranch dataBranch = status.getFlightDataBranch();
+				variables.set(calc, dataBranch);
+
+				// Evaluate this expression to get the t value and interpolate the
+				// given datatype at it
+				try {
+					double tvalue = calc.calculate().getDoubleValue();
+					return new Variable(hash(), interpolate(dataBranch, myType, tvalue));
+				} catch (java.util.EmptyStackException e) {
+					log.info(Markers.USER_MARKER, "Unable to calculate time index for indexed expression "
+							+ getExpressionString() + " due to empty stack exception");
+					return new Variable("Unknown");
+				}
+			}
+		};
 	}
 }
@@ -4,7 +4,7 @@
 
 package info.openrocket.core.simulation.customexpression;
 
-import java.util.List;
+import java.util.Arrays;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,8 +17,6 @@ import info.openrocket.core.logging.Markers;
 import info.openrocket.core.simulation.FlightDataBranch;
 import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
-import info.openrocket.core.util.ArrayUtils;
-import info.openrocket.core.util.LinearInterpolator;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.StringUtils;
 
@@ -59,64 +57,115 @@ public class RangeExpression extends CustomExpression {
 	}
 
 	@Override
-	public Variable evaluate(SimulationStatus status) {
-
-		Calculable startCalc = buildExpression(startBuilder);
-		Calculable endCalc = buildExpression(endBuilder);
-		if (startCalc == null || endCalc == null) {
-			return new Variable("Unknown");
-		}
-
-		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		// Set the variables in the start and end calculators
-		for (FlightDataType type : dataBranch.getTypes()) {
-			double value = dataBranch.getLast(type);
-			startCalc.setVariable(new Variable(type.getSymbol(), value));
-			endCalc.setVariable(new Variable(type.getSymbol(), value));
-		}
-
-		// From the given datatype, get the time and function values and make an
-		// interpolator
+	public CompiledExpression compile() {
+		return new CompiledRange(buildExpression(startBuilder), buildExpression(endBuilder));
+	}
 
+	/**
+	 * A compiled range expression.  The values sampled over the range are kept between
+	 * evaluations, and while the start of the range does not move only the samples beyond
+	 * the data that was final at the previous evaluation are interpolated again.  The minimum,
+	 * maximum and sum of the final samples are kept as well, so that the aggregates of the
+	 * range are updated in time proportional to the new samples (see {@link RangeVariable}).
+	 */
+	private class CompiledRange extends CompiledExpression {
+		private final Calculable startCalc, endCalc;
+		private final FlightDataVariables startVariables, endVariables;
 		// Note: must get in a way that flight data system will figure out units.
 		// Otherwise there will be a type conflict when we get the new data.
-		FlightDataType type = FlightDataType.getType(null, getSymbol(), null);
-
-		List<Double> data = dataBranch.get(type);
-		List<Double> time = dataBranch.get(FlightDataType.TYPE_TIME);
-		LinearInterpolator interp = new LinearInterpolator(time, data);
-
-		// Evaluate the expression to get the start and end of the range
-		double startTime, endTime;
-		try {
-			startTime = startCalc.calculate().getDoubleValue();
-			startTime = MathUtil.clamp(startTime, 0, Double.MAX_VALUE);
-
-			endTime = endCalc.calculate().getDoubleValue();
-			endTime = MathUtil.clamp(endTime, 0, time.get(time.size() - 1));
-		} catch (java.util.EmptyStackException e) {
-			log.info(Markers.USER_MARKER, "Unable to calculate time index for range expression " + getSymbol()
-					+ " due to empty stack exception");
-			return new Variable("Unknown");
+		private final FlightDataType type = FlightDataType.getType(null, getSymbol(), null);
+
+		// The samples of the previous evaluation, of which the first validCount only depend on
+		// data points that do not change any more
+		private FlightDataBranch sampledBranch = null;
+		private double sampledStart = Double.NaN, sampledStep = Double.NaN;
+		private double[] samples = new double[0];
+		private int validCount = 0;
+		private double validMin = Double.POSITIVE_INFINITY, validMax = Double.NEGATIVE_INFINITY, validSum = 0;
+		private double nextSampleTime = Double.NaN;
+
+		CompiledRange(Calculable startCalc, Calculable endCalc) {
+			super(RangeExpression.this);
+			this.startCalc = startCalc;
+			this.endCalc = endCalc;
+			this.startVariables = new FlightDataVariables(startCalc);
+			this.endVariables = new FlightDataVariables(endCalc);
 		}
 
-		// generate an array representing the range
-		double step = status.getSimulationConditions().getSimulation().getOptions().getTimeStep();
-		double[] t = ArrayUtils.range(startTime, endTime, step);
-		double[] y = new double[t.length];
-		int i = 0;
-		for (double tval : t) {
-			y[i] = interp.getValue(tval);
-			i++;
+		@Override
+		public Variable evaluate(SimulationStatus status) {
+			if (startCalc == null || endCalc == null) {
+				return new Variable("Unknown");
+			}
+
+			// Set the variables in the start and end calculators
+			FlightDataBranch dataBranch = status.getFlightDataBranch();
+			startVariables.set(startCalc, dataBranch);
+			endVariables.set(endCalc, dataBranch);
+
+			// Evaluate the expression to get the start and end of the range
+			int length = dataBranch.getLength();
+			double startTime, endTime;
+			try {
+				startTime = startCalc.calculate().getDoubleValue();
+				startTime = MathUtil.clamp(startTime, 0, Double.MAX_VALUE);
+
+				endTime = endCalc.calculate().getDoubleValue();
+				endTime = MathUtil.clamp(endTime, 0, dataBranch.getValue(FlightDataType.TYPE_TIME, length - 1));
+			} catch (java.util.EmptyStackException e) {
+				log.info(Markers.USER_MARKER, "Unable to calculate time index for range expression " + getSymbol()
+						+ " due to empty stack exception");
+				return new Variable("Unknown");
+			}
+
+			// sample the range with the time step of the simulation, as ArrayUtils.range(...)
+			double step = status.getSimulationConditions().getSimulation().getOptions().getTimeStep();
+			int size = (int) Math.floor(((endTime - startTime) / step)) + 1;
+			if (size <= 0) {
+				return new Variable("Unknown");
+			}
+
+			if (dataBranch != sampledBranch || startTime != sampledStart || step != sampledStep || size < validCount) {
+				sampledBranch = dataBranch;
+				sampledStart = startTime;
+				sampledStep = step;
+				validCount = 0;
+				validMin = Double.POSITIVE_INFINITY;
+				validMax = Double.NEGATIVE_INFINITY;
+				validSum = 0;
+				nextSampleTime = startTime;
+			}
+			if (samples.length < size) {
+				samples = Arrays.copyOf(samples, Math.max(size, 2 * samples.length));
+			}
+
+			// Only the last data point may still change
+			double finalTime = (length >= 2) ? dataBranch.getValue(FlightDataType.TYPE_TIME, length - 2)
+					: Double.NEGATIVE_INFINITY;
+			double t = nextSampleTime;
+			double min = validMin, max = validMax, sum = validSum;
+			boolean valid = true;
+			for (int i = validCount; i < size; i++) {
+				final double value = interpolate(dataBranch, type, t);
+				samples[i] = value;
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+				if (!Double.isNaN(value)) {
+					sum += value;
+				}
+				if (valid && t <= finalTime) {
+					validCount = i + 1;
+					validMin = min;
+					validMax = max;
+					validSum = sum;
+					nextSampleTime = t + step;
+				} else {
+					valid = false;
+				}
+				t = t + step;
+			}
+
+			return new RangeVariable(hash(), samples, size, startTime, step, min, max, sum);
 		}
-
-		Variable result;
-		if (y.length == 0) {
-			result = new Variable("Unknown");
-		} else {
-			result = new Variable(hash(), y, startTime, step);
-		}
-
-		return result;
 	}
 }
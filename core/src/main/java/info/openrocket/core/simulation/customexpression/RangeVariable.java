@@ -0,0 +1,66 @@
+package info.openrocket.core.simulation.customexpression;
+
+import java.util.Arrays;
+
+import de.congrace.exp4j.Variable;
+
+/**
+ * The value of a range expression: the values sampled over the range, together with their
+ * minimum, maximum and sum, which the range expression keeps up to date as the range grows.
+ * The min, max and mean functions use these instead of scanning the values, and the values
+ * are copied into an array only when another function or operator needs them.
+ * <p>
+ * The variable refers to the sample buffer of the range expression, so it must be used
+ * before the next evaluation of the expression.
+ */
+final class RangeVariable extends Variable {
+
+	private final double[] samples;
+	private final int size;
+	private final double min, max, sum;
+	private double[] values = null;
+
+	/**
+	 * @param name		the name of the variable.
+	 * @param samples	the buffer whose first <code>size</code> values are the sampled values.
+	 * @param size		the number of values, positive.
+	 * @param start		the time of the first value.
+	 * @param step		the time step between the values.
+	 * @param min		the minimum of the values, as {@link Math#min} of the values in order.
+	 * @param max		the maximum of the values, as {@link Math#max} of the values in order.
+	 * @param sum		the sum of the values that are not NaN, added in order.
+	 */
+	RangeVariable(String name, double[] samples, int size, double start, double step, double min, double max,
+			double sum) {
+		super(name, samples, start, step);
+		this.samples = samples;
+		this.size = size;
+		this.min = min;
+		this.max = max;
+		this.sum = sum;
+	}
+
+	@Override
+	public double[] getArrayValue() {
+		if (values == null) {
+			values = Arrays.copyOf(samples, size);
+		}
+		return values;
+	}
+
+	double getMin() {
+		return min;
+	}
+
+	double getMax() {
+		return max;
+	}
+
+	/**
+	 * Return the mean of the values as {@link info.openrocket.core.util.ArrayUtils#mean},
+	 * where NaN values count towards the number of values but not the sum.
+	 */
+	double getMean() {
+		return sum / size;
+	}
+}
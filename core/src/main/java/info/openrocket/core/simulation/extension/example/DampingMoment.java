@@ -82,13 +82,12 @@ public class DampingMoment extends AbstractSimulationExtension {
 			// dm/dt = (thrust - ma)/v
 			FlightDataBranch dataBranch = status.getFlightDataBranch();
 
-			List<Double> mpAll = dataBranch.get(FlightDataType.TYPE_MOTOR_MASS);
-			List<Double> time = dataBranch.get(FlightDataType.TYPE_TIME);
-			if (mpAll == null || time == null) {
+			if (!dataBranch.containsType(FlightDataType.TYPE_MOTOR_MASS) ||
+					!dataBranch.containsType(FlightDataType.TYPE_TIME)) {
 				return Double.NaN;
 			}
 
-			int len = mpAll.size();
+			int len = dataBranch.getLength();
 
 			// This isn't as accurate as I would like
 			double mdot = Double.NaN;
@@ -103,7 +102,10 @@ public class DampingMoment extends AbstractSimulationExtension {
 				// double dt = .01;
 				// mdot = (interp.eval(x[4], coeff) - interp.eval(x[4]-dt, coeff))/dt;
 
-				mdot = (mpAll.get(len - 1) - mpAll.get(len - 2)) / (time.get(len - 1) - time.get(len - 2));
+				mdot = (dataBranch.getValue(FlightDataType.TYPE_MOTOR_MASS, len - 1) -
+						dataBranch.getValue(FlightDataType.TYPE_MOTOR_MASS, len - 2)) /
+						(dataBranch.getValue(FlightDataType.TYPE_TIME, len - 1) -
+						dataBranch.getValue(FlightDataType.TYPE_TIME, len - 2));
 			}
 
 			double cg = dataBranch.getLast(FlightDataType.TYPE_CG_LOCATION);
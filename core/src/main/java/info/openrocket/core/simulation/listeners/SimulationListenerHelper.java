@@ -15,6 +15,7 @@ import info.openrocket.core.simulation.AccelerationData;
 import info.openrocket.core.simulation.FlightEvent;
 import info.openrocket.core.simulation.MotorClusterState;
 import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.SimulationTimers;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.MathUtil;
@@ -39,7 +40,9 @@ public class SimulationListenerHelper {
 		ModID modID = status.getModID();
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+			final long start = startTimer(status);
 			l.startSimulation(status);
+			stopTimer(status, start);
 			if (modID != status.getModID()) {
 				warn(status, l);
 				modID = status.getModID();
@@ -54,7 +57,9 @@ public class SimulationListenerHelper {
 		ModID modID = status.getModID();
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+			final long start = startTimer(status);
 			l.endSimulation(status, exception);
+			stopTimer(status, start);
 			if (modID != status.getModID()) {
 				warn(status, l);
 				modID = status.getModID();
@@ -74,7 +79,9 @@ public class SimulationListenerHelper {
 		ModID modID = status.getModID();
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+			final long start = startTimer(status);
 			b = l.preStep(status);
+			stopTimer(status, start);
 			if (modID != status.getModID()) {
 				warn(status, l);
 				modID = status.getModID();
@@ -95,7 +102,9 @@ public class SimulationListenerHelper {
 		ModID modID = status.getModID();
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+			final long start = startTimer(status);
 			l.postStep(status);
+			stopTimer(status, start);
 			if (modID != status.getModID()) {
 				warn(status, l);
 				modID = status.getModID();
@@ -117,7 +126,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationEventListener) {
+				final long start = startTimer(status);
 				b = ((SimulationEventListener) l).addFlightEvent(status, event);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -143,7 +154,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationEventListener) {
+				final long start = startTimer(status);
 				b = ((SimulationEventListener) l).handleFlightEvent(status, event);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -170,7 +183,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationEventListener) {
+				final long start = startTimer(status);
 				result = ((SimulationEventListener) l).motorIgnition(status, motorId, mount, instance);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -197,7 +212,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationEventListener) {
+				final long start = startTimer(status);
 				result = ((SimulationEventListener) l).recoveryDeviceDeployment(status, device);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -225,7 +242,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				conditions = ((SimulationComputationListener) l).preAtmosphericModel(status);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -253,7 +272,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				c = ((SimulationComputationListener) l).postAtmosphericModel(status, clone);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -280,7 +301,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				wind = ((SimulationComputationListener) l).preWindModel(status);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -305,7 +328,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				w = ((SimulationComputationListener) l).postWindModel(status, wind);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -331,7 +356,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				gravity = ((SimulationComputationListener) l).preGravityModel(status);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -356,7 +383,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				g = ((SimulationComputationListener) l).postGravityModel(status, gravity);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -382,7 +411,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				conditions = ((SimulationComputationListener) l).preFlightConditions(status);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -411,7 +442,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				c = ((SimulationComputationListener) l).postFlightConditions(status, clone);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -438,7 +471,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				forces = ((SimulationComputationListener) l).preAerodynamicCalculation(status);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -465,7 +500,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				f = ((SimulationComputationListener) l).postAerodynamicCalculation(status, clone);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -492,7 +529,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				mass = ((SimulationComputationListener) l).preMassCalculation(status);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -518,7 +557,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				m = ((SimulationComputationListener) l).postMassCalculation(status, mass);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -544,7 +585,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				thrust = ((SimulationComputationListener) l).preSimpleThrustCalculation(status);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -569,7 +612,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				t = ((SimulationComputationListener) l).postSimpleThrustCalculation(status, thrust);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -594,7 +639,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				acceleration = ((SimulationComputationListener) l).preAccelerationCalculation(status);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -620,7 +667,9 @@ public class SimulationListenerHelper {
 
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
 			if (l instanceof SimulationComputationListener) {
+				final long start = startTimer(status);
 				a = ((SimulationComputationListener) l).postAccelerationCalculation(status, acceleration);
+				stopTimer(status, start);
 				if (modID != status.getModID()) {
 					warn(status, l);
 					modID = status.getModID();
@@ -634,6 +683,14 @@ public class SimulationListenerHelper {
 		return acceleration;
 	}
 
+	private static long startTimer(SimulationStatus status) {
+		return status.getSimulationConditions().getTimers().start();
+	}
+
+	private static void stopTimer(SimulationStatus status, long start) {
+		status.getSimulationConditions().getTimers().stop(SimulationTimers.Phase.LISTENERS, start);
+	}
+
 	private static void warn(SimulationStatus status, SimulationListener listener) {
 		if (!listener.isSystemListener()) {
 			log.info("Non-system listener " + listener + " affected the simulation");
@@ -0,0 +1,116 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.List;
+
+import info.openrocket.core.models.wind.MultiLevelPinkNoiseWindModel;
+import info.openrocket.core.models.wind.MultiLevelPinkNoiseWindModel.LevelWindModel;
+import info.openrocket.core.models.wind.PinkNoiseWindModel;
+import info.openrocket.core.models.wind.WindModel;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
+import info.openrocket.core.util.MathUtil;
+
+/**
+ * Simulation listener that applies the dispersed parameters of a single Monte Carlo run
+ * that are not part of the simulation options: the wind, the motor thrust and the mass
+ * and CG of the rocket structure.
+ * <p>
+ * The wind model is replaced by a copy whose turbulence is generated from the seed of the
+ * run, so that every run is reproducible.  The mass and CG are modified by overriding the
+ * mass and CG of each component of the rocket copy that is owned by the simulation engine,
+ * the rocket of the design is never modified.
+ */
+class DispersionListener extends AbstractSimulationListener {
+
+	private final DispersionSample sample;
+
+	DispersionListener(DispersionSample sample) {
+		this.sample = sample;
+	}
+
+	@Override
+	public void startSimulation(SimulationStatus status) throws SimulationException {
+		SimulationConditions conditions = status.getSimulationConditions();
+		conditions.setWindModel(disperseWind(conditions.getWindModel(), sample));
+
+		if (sample.getMassScale() != 1 || sample.getCGShift() != 0) {
+			disperseMass(status.getConfiguration().getRocket(), sample.getMassScale(), sample.getCGShift());
+			// The rocket copy of the simulation does not necessarily fire change events
+			if (conditions.getMassCalculator() != null) {
+				conditions.getMassCalculator().clearCache();
+			}
+		}
+	}
+
+	@Override
+	public double postSimpleThrustCalculation(SimulationStatus status, double thrust) throws SimulationException {
+		if (sample.getThrustScale() == 1) {
+			return Double.NaN;
+		}
+		return thrust * sample.getThrustScale();
+	}
+
+	/**
+	 * Return a copy of the wind model with the dispersed wind applied and the turbulence
+	 * seeded from the sample.  Wind models of other types are returned unchanged.
+	 */
+	static WindModel disperseWind(WindModel model, DispersionSample sample) {
+		if (model instanceof PinkNoiseWindModel) {
+			PinkNoiseWindModel original = (PinkNoiseWindModel) model;
+			PinkNoiseWindModel dispersed = new PinkNoiseWindModel(sample.getWindSeed());
+			dispersed.loadFrom(original);
+			dispersed.setAverage(original.getAverage() + sample.getWindSpeedOffset());
+			dispersed.setDirection(MathUtil.reduce2Pi(original.getDirection() + sample.getWindDirectionOffset()));
+			return dispersed;
+		}
+
+		if (model instanceof MultiLevelPinkNoiseWindModel) {
+			List<LevelWindModel> levels = ((MultiLevelPinkNoiseWindModel) model).getLevels();
+			MultiLevelPinkNoiseWindModel dispersed = new MultiLevelPinkNoiseWindModel();
+			for (int i = 0; i < levels.size(); i++) {
+				LevelWindModel level = levels.get(i);
+				double speed = Math.max(0,
+						level.getSpeed() + sample.getWindSpeedOffset() + sample.getWindLevelSpeedOffset(i));
+				// Keep the turbulence intensity of the level
+				double standardDeviation = level.getStandardDeviation();
+				if (level.getSpeed() > 0) {
+					standardDeviation *= speed / level.getSpeed();
+				}
+				dispersed.addWindLevel(level.getAltitude(), speed,
+						MathUtil.reduce2Pi(level.getDirection() + sample.getWindDirectionOffset()),
+						standardDeviation, sample.getWindSeed() + i);
+			}
+			return dispersed;
+		}
+
+		return model;
+	}
+
+	/**
+	 * Scale the mass and move the CG of every massive component of the rocket.  Components
+	 * whose mass or CG is already overridden have the override values modified.
+	 */
+	static void disperseMass(RocketComponent rocket, double massScale, double cgShift) {
+		for (RocketComponent c : rocket) {
+			if (massScale != 1) {
+				if (c.isMassOverridden()) {
+					c.setOverrideMass(c.getOverrideMass() * massScale);
+				} else if (c.isMassive()) {
+					c.setOverrideMass(c.getComponentMass() * massScale);
+					c.setMassOverridden(true);
+				}
+			}
+			if (cgShift != 0) {
+				if (c.isCGOverridden()) {
+					c.setOverrideCGX(c.getOverrideCGX() + cgShift);
+				} else if (c.isMassive()) {
+					c.setOverrideCGX(c.getComponentCG().x + cgShift);
+					c.setCGOverridden(true);
+				}
+			}
+		}
+	}
+}
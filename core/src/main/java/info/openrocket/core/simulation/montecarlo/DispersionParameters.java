@@ -0,0 +1,178 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.Random;
+
+/**
+ * The distributions of the parameters that are varied between the runs of a
+ * {@link MonteCarloSimulation}.
+ * <p>
+ * Each parameter is either <code>null</code>, in which case it is not dispersed, or a
+ * distribution of an offset or scale factor applied to the nominal value of the simulation.
+ * Every parameter is drawn from its own random stream derived from the seed of the run, so
+ * enabling or changing one parameter does not change the values drawn for the others.
+ * All values are in SI units.
+ */
+public class DispersionParameters implements Cloneable {
+
+	// Stream indices of the parameters, must not be changed to keep results reproducible
+	private static final int WIND_SPEED = 1;
+	private static final int WIND_DIRECTION = 2;
+	private static final int WIND_LEVEL_SPEED = 3;
+	private static final int LAUNCH_ROD_ANGLE = 4;
+	private static final int LAUNCH_ROD_DIRECTION = 5;
+	private static final int THRUST_SCALE = 6;
+	private static final int MASS_SCALE = 7;
+	private static final int CG_SHIFT = 8;
+	private static final int WIND_SEED = 9;
+
+	private Distribution windSpeed = null;
+	private Distribution windDirection = null;
+	private Distribution windLevelSpeed = null;
+	private Distribution launchRodAngle = null;
+	private Distribution launchRodDirection = null;
+	private Distribution thrustScale = null;
+	private Distribution massScale = null;
+	private Distribution cgShift = null;
+
+	/**
+	 * Return the distribution of the offset added to the average wind speed (of every
+	 * level of a multi-level wind model), or <code>null</code>.
+	 */
+	public Distribution getWindSpeed() {
+		return windSpeed;
+	}
+
+	public void setWindSpeed(Distribution windSpeed) {
+		this.windSpeed = windSpeed;
+	}
+
+	/**
+	 * Return the distribution of the offset added to the wind direction (of every level
+	 * of a multi-level wind model), or <code>null</code>.
+	 */
+	public Distribution getWindDirection() {
+		return windDirection;
+	}
+
+	public void setWindDirection(Distribution windDirection) {
+		this.windDirection = windDirection;
+	}
+
+	/**
+	 * Return the distribution of the offset added independently to the wind speed of each
+	 * level of a multi-level wind model, or <code>null</code>.  Not used with the average
+	 * wind model.
+	 */
+	public Distribution getWindLevelSpeed() {
+		return windLevelSpeed;
+	}
+
+	public void setWindLevelSpeed(Distribution windLevelSpeed) {
+		this.windLevelSpeed = windLevelSpeed;
+	}
+
+	/**
+	 * Return the distribution of the offset added to the launch rod angle, or <code>null</code>.
+	 */
+	public Distribution getLaunchRodAngle() {
+		return launchRodAngle;
+	}
+
+	public void setLaunchRodAngle(Distribution launchRodAngle) {
+		this.launchRodAngle = launchRodAngle;
+	}
+
+	/**
+	 * Return the distribution of the offset added to the launch rod direction, or <code>null</code>.
+	 */
+	public Distribution getLaunchRodDirection() {
+		return launchRodDirection;
+	}
+
+	public void setLaunchRodDirection(Distribution launchRodDirection) {
+		this.launchRodDirection = launchRodDirection;
+	}
+
+	/**
+	 * Return the distribution of the factor the motor thrust is multiplied with, or <code>null</code>.
+	 */
+	public Distribution getThrustScale() {
+		return thrustScale;
+	}
+
+	public void setThrustScale(Distribution thrustScale) {
+		this.thrustScale = thrustScale;
+	}
+
+	/**
+	 * Return the distribution of the factor the mass of the rocket structure (excluding the
+	 * motors) is multiplied with, or <code>null</code>.
+	 */
+	public Distribution getMassScale() {
+		return massScale;
+	}
+
+	public void setMassScale(Distribution massScale) {
+		this.massScale = massScale;
+	}
+
+	/**
+	 * Return the distribution of the distance the CG of the rocket structure (excluding the
+	 * motors) is moved aft, or <code>null</code>.
+	 */
+	public Distribution getCGShift() {
+		return cgShift;
+	}
+
+	public void setCGShift(Distribution cgShift) {
+		this.cgShift = cgShift;
+	}
+
+	/**
+	 * Draw the parameter values of a single run.
+	 *
+	 * @param runSeed		the random seed of the run.
+	 * @param windLevels	the number of levels of the wind model, zero if not a multi-level model.
+	 * @return				the sampled values.
+	 */
+	public DispersionSample sample(int runSeed, int windLevels) {
+		double[] levelSpeedOffsets = new double[windLevels];
+		if (windLevelSpeed != null) {
+			Random random = random(runSeed, WIND_LEVEL_SPEED);
+			for (int i = 0; i < windLevels; i++) {
+				levelSpeedOffsets[i] = windLevelSpeed.sample(random);
+			}
+		}
+
+		return new DispersionSample(
+				sample(windSpeed, runSeed, WIND_SPEED, 0),
+				sample(windDirection, runSeed, WIND_DIRECTION, 0),
+				levelSpeedOffsets,
+				sample(launchRodAngle, runSeed, LAUNCH_ROD_ANGLE, 0),
+				sample(launchRodDirection, runSeed, LAUNCH_ROD_DIRECTION, 0),
+				sample(thrustScale, runSeed, THRUST_SCALE, 1),
+				sample(massScale, runSeed, MASS_SCALE, 1),
+				sample(cgShift, runSeed, CG_SHIFT, 0),
+				random(runSeed, WIND_SEED).nextInt());
+	}
+
+	private static double sample(Distribution distribution, int runSeed, int stream, double nominal) {
+		if (distribution == null) {
+			return nominal;
+		}
+		return distribution.sample(random(runSeed, stream));
+	}
+
+	private static Random random(int runSeed, int stream) {
+		return new Random(MonteCarloSimulation.mix(((long) runSeed << 8) ^ stream));
+	}
+
+	@Override
+	public DispersionParameters clone() {
+		try {
+			return (DispersionParameters) super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(); // This should never happen
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * The parameter values drawn for a single run of a {@link MonteCarloSimulation}.
+ * Offsets are zero and scale factors one for parameters that are not dispersed.
+ */
+public final class DispersionSample {
+
+	private final double windSpeedOffset;
+	private final double windDirectionOffset;
+	private final double[] windLevelSpeedOffsets;
+	private final double launchRodAngleOffset;
+	private final double launchRodDirectionOffset;
+	private final double thrustScale;
+	private final double massScale;
+	private final double cgShift;
+	private final int windSeed;
+
+	DispersionSample(double windSpeedOffset, double windDirectionOffset, double[] windLevelSpeedOffsets,
+					 double launchRodAngleOffset, double launchRodDirectionOffset, double thrustScale,
+					 double massScale, double cgShift, int windSeed) {
+		this.windSpeedOffset = windSpeedOffset;
+		this.windDirectionOffset = windDirectionOffset;
+		this.windLevelSpeedOffsets = windLevelSpeedOffsets;
+		this.launchRodAngleOffset = launchRodAngleOffset;
+		this.launchRodDirectionOffset = launchRodDirectionOffset;
+		this.thrustScale = thrustScale;
+		this.massScale = massScale;
+		this.cgShift = cgShift;
+		this.windSeed = windSeed;
+	}
+
+	public double getWindSpeedOffset() {
+		return windSpeedOffset;
+	}
+
+	public double getWindDirectionOffset() {
+		return windDirectionOffset;
+	}
+
+	/**
+	 * Return the additional wind speed offset of a level of a multi-level wind model.
+	 *
+	 * @param level		the index of the wind level.
+	 */
+	public double getWindLevelSpeedOffset(int level) {
+		return (level < windLevelSpeedOffsets.length) ? windLevelSpeedOffsets[level] : 0;
+	}
+
+	public double getLaunchRodAngleOffset() {
+		return launchRodAngleOffset;
+	}
+
+	public double getLaunchRodDirectionOffset() {
+		return launchRodDirectionOffset;
+	}
+
+	public double getThrustScale() {
+		return thrustScale;
+	}
+
+	public double getMassScale() {
+		return massScale;
+	}
+
+	public double getCGShift() {
+		return cgShift;
+	}
+
+	/**
+	 * Return the seed of the wind turbulence of the run.
+	 */
+	public int getWindSeed() {
+		return windSeed;
+	}
+}
@@ -0,0 +1,53 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.Random;
+
+/**
+ * A probability distribution of a dispersed simulation parameter.
+ */
+@FunctionalInterface
+public interface Distribution {
+
+	/**
+	 * Draw a value from the distribution.
+	 *
+	 * @param random	the random number source to use.
+	 * @return			the sampled value.
+	 */
+	double sample(Random random);
+
+	/**
+	 * Return a normal (Gaussian) distribution.
+	 *
+	 * @param mean					the mean value.
+	 * @param standardDeviation		the standard deviation, must not be negative.
+	 */
+	static Distribution normal(double mean, double standardDeviation) {
+		if (!(standardDeviation >= 0)) {
+			throw new IllegalArgumentException("Standard deviation must not be negative, was " + standardDeviation);
+		}
+		return random -> mean + standardDeviation * random.nextGaussian();
+	}
+
+	/**
+	 * Return a uniform distribution between two values.
+	 *
+	 * @param min	the minimum value (inclusive).
+	 * @param max	the maximum value (exclusive).
+	 */
+	static Distribution uniform(double min, double max) {
+		if (!(min <= max)) {
+			throw new IllegalArgumentException("Invalid range " + min + " .. " + max);
+		}
+		return random -> min + (max - min) * random.nextDouble();
+	}
+
+	/**
+	 * Return a distribution that always produces the same value.
+	 *
+	 * @param value		the value.
+	 */
+	static Distribution constant(double value) {
+		return random -> value;
+	}
+}
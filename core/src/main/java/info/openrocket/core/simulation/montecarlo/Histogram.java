@@ -0,0 +1,96 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * A histogram of values in equally wide bins.  Values outside the range of the histogram
+ * are counted in the first or last bin, values that are not finite are ignored.
+ */
+public class Histogram {
+
+	private final double min;
+	private final double max;
+	private final int[] counts;
+	private int total = 0;
+
+	/**
+	 * Construct an empty histogram.
+	 *
+	 * @param min	the lower limit of the first bin.
+	 * @param max	the upper limit of the last bin, must not be less than <code>min</code>.
+	 * @param bins	the number of bins, must be positive.
+	 */
+	public Histogram(double min, double max, int bins) {
+		if (bins <= 0) {
+			throw new IllegalArgumentException("Number of bins must be positive, was " + bins);
+		}
+		if (!(min <= max)) {
+			throw new IllegalArgumentException("Invalid range " + min + " .. " + max);
+		}
+		this.min = min;
+		this.max = max;
+		this.counts = new int[bins];
+	}
+
+	/**
+	 * Count a value in the histogram.
+	 *
+	 * @param value		the value, ignored if not finite.
+	 */
+	public void add(double value) {
+		if (!Double.isFinite(value)) {
+			return;
+		}
+		counts[getBin(value)]++;
+		total++;
+	}
+
+	/**
+	 * Return the index of the bin a value falls into.
+	 */
+	public int getBin(double value) {
+		if (max == min) {
+			return 0;
+		}
+		int bin = (int) Math.floor((value - min) / (max - min) * counts.length);
+		return Math.max(0, Math.min(counts.length - 1, bin));
+	}
+
+	public int getBinCount() {
+		return counts.length;
+	}
+
+	/**
+	 * Return the number of values in a bin.
+	 */
+	public int getCount(int bin) {
+		return counts[bin];
+	}
+
+	/**
+	 * Return the total number of values in the histogram.
+	 */
+	public int getTotal() {
+		return total;
+	}
+
+	/**
+	 * Return the lower limit of a bin.
+	 */
+	public double getBinStart(int bin) {
+		return min + (max - min) * bin / counts.length;
+	}
+
+	/**
+	 * Return the upper limit of a bin.
+	 */
+	public double getBinEnd(int bin) {
+		return getBinStart(bin + 1);
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+}
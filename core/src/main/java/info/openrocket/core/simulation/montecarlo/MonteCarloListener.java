@@ -0,0 +1,20 @@
+package info.openrocket.core.simulation.montecarlo;
+
+/**
+ * A listener for the progress of a {@link MonteCarloSimulation}.
+ * <p>
+ * The method is called from the worker thread that ran the simulation, so implementations
+ * must be thread-safe and should return quickly.
+ */
+public interface MonteCarloListener {
+
+	/**
+	 * Called when a run has finished, successfully or not.  The runs do not necessarily
+	 * finish in the order of their indices.
+	 *
+	 * @param run		the summary of the run.
+	 * @param result	the aggregated results, including the run.
+	 */
+	void runCompleted(MonteCarloRun run, MonteCarloResult result);
+
+}
@@ -0,0 +1,113 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.Arrays;
+
+import info.openrocket.core.simulation.montecarlo.MonteCarloRun.Quantity;
+
+/**
+ * The aggregated results of a {@link MonteCarloSimulation}.
+ * <p>
+ * The values of each {@link Quantity} are kept in a primitive array indexed by the run
+ * number, so the results take a few bytes per run regardless of the length of the flights,
+ * and the statistics do not depend on the order in which the runs completed.  Runs that
+ * did not complete successfully have NaN values, which are ignored by the statistics and
+ * histograms.
+ * <p>
+ * The results may be read while the simulation is running; the statistics then cover the
+ * runs completed so far.
+ */
+public class MonteCarloResult {
+
+	private final int runCount;
+	private final double[][] values;
+	private int completed = 0;
+	private int successful = 0;
+
+	MonteCarloResult(int runCount) {
+		this.runCount = runCount;
+		this.values = new double[Quantity.VALUES.length][runCount];
+		for (double[] v : values) {
+			Arrays.fill(v, Double.NaN);
+		}
+	}
+
+	synchronized void record(MonteCarloRun run) {
+		for (Quantity q : Quantity.VALUES) {
+			values[q.ordinal()][run.getIndex()] = run.getValue(q);
+		}
+		completed++;
+		if (run.isSuccessful()) {
+			successful++;
+		}
+	}
+
+	/**
+	 * Return the total number of runs of the simulation.
+	 */
+	public int getRunCount() {
+		return runCount;
+	}
+
+	/**
+	 * Return the number of runs that have finished, successfully or not.
+	 */
+	public synchronized int getCompletedCount() {
+		return completed;
+	}
+
+	/**
+	 * Return the number of runs that completed successfully.
+	 */
+	public synchronized int getSuccessfulCount() {
+		return successful;
+	}
+
+	/**
+	 * Return the values of a quantity, indexed by the run number.
+	 *
+	 * @return	a copy of the values, NaN for runs that have not completed successfully.
+	 */
+	public synchronized double[] getValues(Quantity quantity) {
+		return values[quantity.ordinal()].clone();
+	}
+
+	/**
+	 * Return the statistics of a quantity over the successful runs.
+	 */
+	public synchronized RunningStatistics getStatistics(Quantity quantity) {
+		RunningStatistics statistics = new RunningStatistics();
+		for (double value : values[quantity.ordinal()]) {
+			statistics.add(value);
+		}
+		return statistics;
+	}
+
+	/**
+	 * Return a histogram of a quantity over the successful runs, with the bins spanning
+	 * the range of the values.
+	 *
+	 * @param bins	the number of bins.
+	 */
+	public synchronized Histogram getHistogram(Quantity quantity, int bins) {
+		RunningStatistics statistics = getStatistics(quantity);
+		if (statistics.getCount() == 0) {
+			return new Histogram(0, 0, bins);
+		}
+		return getHistogram(quantity, statistics.getMin(), statistics.getMax(), bins);
+	}
+
+	/**
+	 * Return a histogram of a quantity over the successful runs.
+	 *
+	 * @param min	the lower limit of the first bin.
+	 * @param max	the upper limit of the last bin.
+	 * @param bins	the number of bins.
+	 */
+	public synchronized Histogram getHistogram(Quantity quantity, double min, double max, int bins) {
+		Histogram histogram = new Histogram(min, max, bins);
+		for (double value : values[quantity.ordinal()]) {
+			histogram.add(value);
+		}
+		return histogram;
+	}
+}
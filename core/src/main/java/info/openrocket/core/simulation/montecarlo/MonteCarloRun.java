@@ -0,0 +1,125 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.Arrays;
+
+import info.openrocket.core.simulation.BatchSimulationRunner.State;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+
+/**
+ * The summary of a single run of a {@link MonteCarloSimulation}.  Only the values of the
+ * {@link Quantity quantities} are kept, the flight data of the run is discarded.
+ */
+public final class MonteCarloRun {
+
+	/**
+	 * The values recorded of each run.  All values are in SI units, landing positions are
+	 * relative to the launch point.
+	 */
+	public enum Quantity {
+		APOGEE,
+		LANDING_X,
+		LANDING_Y,
+		LANDING_DISTANCE,
+		FLIGHT_TIME,
+		MAX_VELOCITY,
+		GROUND_HIT_VELOCITY;
+
+		static final Quantity[] VALUES = values();
+	}
+
+	private final int index;
+	private final int seed;
+	private final DispersionSample sample;
+	private final State state;
+	private final Throwable error;
+	private final double[] values;
+
+	private MonteCarloRun(int index, int seed, DispersionSample sample, State state, Throwable error, double[] values) {
+		this.index = index;
+		this.seed = seed;
+		this.sample = sample;
+		this.state = state;
+		this.error = error;
+		this.values = values;
+	}
+
+	/**
+	 * Create the summary of a completed run.
+	 */
+	static MonteCarloRun of(int index, int seed, DispersionSample sample, FlightData data) {
+		double[] values = new double[Quantity.VALUES.length];
+		FlightDataBranch branch = data.getBranch(0);
+		double x = last(branch, FlightDataType.TYPE_POSITION_X);
+		double y = last(branch, FlightDataType.TYPE_POSITION_Y);
+
+		values[Quantity.APOGEE.ordinal()] = data.getMaxAltitude();
+		values[Quantity.LANDING_X.ordinal()] = x;
+		values[Quantity.LANDING_Y.ordinal()] = y;
+		values[Quantity.LANDING_DISTANCE.ordinal()] = Math.hypot(x, y);
+		values[Quantity.FLIGHT_TIME.ordinal()] = data.getFlightTime();
+		values[Quantity.MAX_VELOCITY.ordinal()] = data.getMaxVelocity();
+		values[Quantity.GROUND_HIT_VELOCITY.ordinal()] = data.getGroundHitVelocity();
+		return new MonteCarloRun(index, seed, sample, State.DONE, null, values);
+	}
+
+	/**
+	 * Create the summary of a run that failed or was cancelled.  All values are NaN.
+	 */
+	static MonteCarloRun unsuccessful(int index, int seed, DispersionSample sample, State state, Throwable error) {
+		double[] values = new double[Quantity.VALUES.length];
+		Arrays.fill(values, Double.NaN);
+		return new MonteCarloRun(index, seed, sample, state, error, values);
+	}
+
+	private static double last(FlightDataBranch branch, FlightDataType type) {
+		if (branch == null || !branch.containsType(type) || branch.getLength() == 0) {
+			return Double.NaN;
+		}
+		return branch.getLast(type);
+	}
+
+	/**
+	 * Return the index of the run, starting from zero.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Return the random seed of the simulation of this run.
+	 */
+	public int getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Return the dispersed parameter values used in this run.
+	 */
+	public DispersionSample getSample() {
+		return sample;
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	public boolean isSuccessful() {
+		return state == State.DONE;
+	}
+
+	/**
+	 * Return the exception that caused the run to fail, or <code>null</code>.
+	 */
+	public Throwable getError() {
+		return error;
+	}
+
+	/**
+	 * Return a value of the run, NaN if the run was not successful.
+	 */
+	public double getValue(Quantity quantity) {
+		return values[quantity.ordinal()];
+	}
+}
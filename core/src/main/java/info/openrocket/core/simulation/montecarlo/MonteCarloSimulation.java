@@ -0,0 +1,234 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.models.wind.WindModelType;
+import info.openrocket.core.simulation.BatchSimulationListener;
+import info.openrocket.core.simulation.BatchSimulationRunner;
+import info.openrocket.core.simulation.BatchSimulationRunner.SimulationTask;
+import info.openrocket.core.simulation.BatchSimulationRunner.State;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.SimulationOptions;
+
+/**
+ * Runs a Monte Carlo dispersion analysis of a simulation: the simulation is run a number
+ * of times with parameters drawn from the distributions of {@link DispersionParameters},
+ * and the landing point, apogee and other summary values of the runs are aggregated
+ * into a {@link MonteCarloResult}.
+ * <p>
+ * The random seed of each run is derived from the random seed of the simulation options
+ * and the index of the run, so the results are reproducible and do not depend on the
+ * number of worker threads or the order in which the runs complete.  The runs are created
+ * only when a worker thread is about to become free, and the flight data of each run is
+ * discarded as soon as its summary values have been recorded, so the memory use does not
+ * grow with the length of the flights.
+ * <p>
+ * The original simulation and its rocket are not modified.
+ */
+public class MonteCarloSimulation {
+
+	/** Number of runs queued per worker thread in addition to the running ones */
+	private static final int QUEUED_RUNS_PER_THREAD = 1;
+
+	private final Simulation simulation;
+	private final DispersionParameters parameters;
+	private final int runCount;
+
+	private final int baseSeed;
+	private final double launchRodAngle;
+	private final double launchRodDirection;
+	private final boolean launchIntoWind;
+	private final int windLevels;
+
+	/** The submitted runs that have not finished, by index */
+	private final Map<Integer, SimulationTask> running = new ConcurrentHashMap<>();
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Construct a Monte Carlo simulation.  The simulation options are read at construction
+	 * time, later changes to the simulation are not taken into account.
+	 *
+	 * @param simulation	the nominal simulation.
+	 * @param parameters	the distributions of the dispersed parameters.
+	 * @param runCount		the number of runs, must be positive.
+	 */
+	public MonteCarloSimulation(Simulation simulation, DispersionParameters parameters, int runCount) {
+		if (runCount <= 0) {
+			throw new IllegalArgumentException("Number of runs must be positive, was " + runCount);
+		}
+		this.simulation = simulation;
+		this.parameters = parameters.clone();
+		this.runCount = runCount;
+
+		SimulationOptions options = simulation.getOptions();
+		this.baseSeed = options.getRandomSeed();
+		this.launchRodAngle = options.getLaunchRodAngle();
+		this.launchRodDirection = options.getLaunchRodDirection();
+		this.launchIntoWind = options.getLaunchIntoWind();
+		this.windLevels = (options.getWindModelType() == WindModelType.MULTI_LEVEL) ?
+				options.getMultiLevelWindModel().getLevels().size() : 0;
+	}
+
+	public Simulation getSimulation() {
+		return simulation;
+	}
+
+	public int getRunCount() {
+		return runCount;
+	}
+
+	/**
+	 * Return the random seed of a run.
+	 *
+	 * @param index		the index of the run, starting from zero.
+	 */
+	public int getRunSeed(int index) {
+		return (int) mix(((long) baseSeed << 32) ^ index);
+	}
+
+	/**
+	 * Return the dispersed parameter values of a run.
+	 *
+	 * @param index		the index of the run, starting from zero.
+	 */
+	public DispersionSample getSample(int index) {
+		return parameters.sample(getRunSeed(index), windLevels);
+	}
+
+	/**
+	 * Run all simulations on the runner and wait for them to finish.  Failures of individual
+	 * runs are recorded in the result.
+	 *
+	 * @param runner	the runner to use.
+	 * @param listener	the listener to notify of each completed run, or <code>null</code>.
+	 * @return			the aggregated results.  If the runner is closed during the runs, the
+	 * 					remaining runs are cancelled and the results of the finished runs are returned.
+	 * @throws InterruptedException	if the calling thread is interrupted while waiting, in which
+	 * 								case the remaining runs are cancelled.
+	 */
+	public MonteCarloResult run(BatchSimulationRunner runner, MonteCarloListener listener)
+			throws InterruptedException {
+		final MonteCarloResult result = new MonteCarloResult(runCount);
+		final int permits = runner.getParallelism() * (1 + QUEUED_RUNS_PER_THREAD);
+		final Semaphore available = new Semaphore(permits);
+
+		try {
+			for (int i = 0; i < runCount && !cancelled; i++) {
+				available.acquire();
+				if (cancelled) {
+					available.release();
+					break;
+				}
+				try {
+					submit(runner, i, result, listener, available);
+				} catch (RejectedExecutionException e) {
+					// The runner was closed, the submitted runs are reported as cancelled by it
+					available.release();
+					cancel();
+				}
+			}
+			// Every submitted run releases its permit when it finishes, fails or is cancelled
+			available.acquire(permits);
+		} catch (InterruptedException e) {
+			cancel();
+			throw e;
+		}
+		return result;
+	}
+
+	/**
+	 * Cancel the runs that have not finished yet.  Runs that have not been started are
+	 * not recorded in the result.
+	 */
+	public void cancel() {
+		cancelled = true;
+		for (SimulationTask task : running.values()) {
+			task.cancel();
+		}
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	private void submit(BatchSimulationRunner runner, final int index, final MonteCarloResult result,
+						final MonteCarloListener listener, final Semaphore available) {
+		final int seed = getRunSeed(index);
+		final DispersionSample sample = parameters.sample(seed, windLevels);
+		Simulation run = createRun(index, seed, sample);
+
+		BatchSimulationListener batchListener = new BatchSimulationListener() {
+			@Override
+			public void simulationDone(Simulation s, FlightData data) {
+				finish(MonteCarloRun.of(index, seed, sample, data));
+			}
+
+			@Override
+			public void simulationCancelled(Simulation s) {
+				finish(MonteCarloRun.unsuccessful(index, seed, sample, State.CANCELLED, null));
+			}
+
+			@Override
+			public void simulationFailed(Simulation s, Throwable t) {
+				finish(MonteCarloRun.unsuccessful(index, seed, sample, State.FAILED, t));
+			}
+
+			private void finish(MonteCarloRun r) {
+				running.remove(index);
+				try {
+					result.record(r);
+					if (listener != null) {
+						listener.runCompleted(r, result);
+					}
+				} finally {
+					available.release();
+				}
+			}
+		};
+
+		SimulationTask task = runner.submit(run, batchListener, new DispersionListener(sample));
+		running.put(index, task);
+		// The run may have finished before it was added
+		if (task.isDone()) {
+			running.remove(index);
+		} else if (cancelled) {
+			task.cancel();
+		}
+	}
+
+	/**
+	 * Create the simulation of a single run, with the dispersed simulation options applied.
+	 */
+	private Simulation createRun(int index, int seed, DispersionSample sample) {
+		Simulation run = simulation.copy();
+		run.setName(simulation.getName() + " #" + (index + 1));
+
+		SimulationOptions options = run.getOptions();
+		options.setRandomSeed(seed);
+		options.setLaunchRodAngle(launchRodAngle + sample.getLaunchRodAngleOffset());
+
+		// The direction of the rod is fixed, when launching into the wind it follows the dispersed wind
+		double direction = launchRodDirection + sample.getLaunchRodDirectionOffset();
+		if (launchIntoWind) {
+			direction += sample.getWindDirectionOffset();
+		}
+		options.setLaunchIntoWind(false);
+		options.setLaunchRodDirection(direction);
+		return run;
+	}
+
+	/**
+	 * Scramble the bits of a value (the finalizer of the SplitMix64 generator).  Consecutive
+	 * inputs produce statistically independent outputs, which makes it suitable for deriving
+	 * seeds from run indices.
+	 */
+	static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
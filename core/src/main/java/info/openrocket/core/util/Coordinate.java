@@ -155,6 +155,19 @@ public final class Coordinate implements Cloneable, Serializable {
 		return new Coordinate(this.x + x1, this.y + y1, this.z + z1, this.weight + w1);
 	}
 	
+	/**
+	 * Return <code>this + other * m</code>, including the weights.  This is equivalent to
+	 * <code>add(other.multiply(m))</code>, but does not create the intermediate coordinate.
+	 * 
+	 * @param other  the <code>Coordinate</code> to scale and add
+	 * @param m		 the scaling factor
+	 * @return		 the scaled sum of the coordinates
+	 */
+	public Coordinate addScaled(Coordinate other, double m) {
+		return new Coordinate(this.x + other.x * m, this.y + other.y * m, this.z + other.z * m,
+				this.weight + other.weight * m);
+	}
+	
 	/**
 	 * Subtract a Coordinate from this Coordinate.  The weight of the resulting Coordinate
 	 * is the same as of this Coordinate; i.e. the weight of the argument is ignored.
@@ -1,13 +1,23 @@
 package info.openrocket.core.util;
 
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
+/**
+ * A linear interpolator between points.  Values outside the points are those of the
+ * first and last point.
+ * <p>
+ * The points are kept in primitive arrays sorted by x, and adding a point with an
+ * existing x-coordinate replaces its value.  Values are looked up by binary search,
+ * or by a {@link Cursor} for a series of lookups with increasing x.
+ */
 public class LinearInterpolator implements Cloneable {
 
-	private TreeMap<Double, Double> sortMap = new TreeMap<>();
+	private static final int INITIAL_CAPACITY = 8;
+
+	private double[] xPoints = new double[INITIAL_CAPACITY];
+	private double[] yPoints = new double[INITIAL_CAPACITY];
+	private int size = 0;
 
 	/**
 	 * Construct a <code>LinearInterpolator</code> with no points. Some points must
@@ -20,7 +30,7 @@ public class LinearInterpolator implements Cloneable {
 
 	/**
 	 * Construct a <code>LinearInterpolator</code> with the given points.
-	 * 
+	 *
 	 * @param x the x-coordinates of the points.
 	 * @param y the y-coordinates of the points.
 	 * @throws IllegalArgumentException if the lengths of <code>x</code> and
@@ -37,18 +47,39 @@ public class LinearInterpolator implements Cloneable {
 	}
 
 	/**
-	 * Add the point to the linear interpolation.
-	 * 
+	 * Add the point to the linear interpolation.  Points are added fastest in order
+	 * of increasing x.
+	 *
 	 * @param x the x-coordinate of the point.
 	 * @param y the y-coordinate of the point.
 	 */
 	public void addPoint(double x, double y) {
-		sortMap.put(x, y);
+		int index;
+		if (size == 0 || Double.compare(x, xPoints[size - 1]) > 0) {
+			index = -size - 1;
+		} else {
+			index = Arrays.binarySearch(xPoints, 0, size, x);
+		}
+		if (index >= 0) {
+			yPoints[index] = y;
+			return;
+		}
+
+		index = -index - 1;
+		if (size == xPoints.length) {
+			xPoints = Arrays.copyOf(xPoints, 2 * size);
+			yPoints = Arrays.copyOf(yPoints, 2 * size);
+		}
+		System.arraycopy(xPoints, index, xPoints, index + 1, size - index);
+		System.arraycopy(yPoints, index, yPoints, index + 1, size - index);
+		xPoints[index] = x;
+		yPoints[index] = y;
+		size++;
 	}
 
 	/**
 	 * Add the points to the linear interpolation.
-	 * 
+	 *
 	 * @param x the x-coordinates of the points.
 	 * @param y the y-coordinates of the points.
 	 * @throws IllegalArgumentException if the lengths of <code>x</code> and
@@ -60,8 +91,9 @@ public class LinearInterpolator implements Cloneable {
 			throw new IllegalArgumentException("Array lengths do not match, x=" + x.length +
 					" y=" + y.length);
 		}
+		ensureCapacity(size + x.length);
 		for (int i = 0; i < x.length; i++) {
-			sortMap.put(x[i], y[i]);
+			addPoint(x[i], y[i]);
 		}
 	}
 
@@ -70,88 +102,129 @@ public class LinearInterpolator implements Cloneable {
 			throw new IllegalArgumentException("Array lengths do not match, x=" + x.size() +
 					" y=" + y.size());
 		}
+		ensureCapacity(size + x.size());
 		for (int i = 0; i < x.size(); i++) {
-			sortMap.put((Double) x.toArray()[i], (Double) y.toArray()[i]);
+			addPoint(x.get(i), y.get(i));
 		}
 	}
 
 	public double getValue(double x) {
-		double x1, x2;
-		Double y1, y2;
-		// Froyo does not support floorEntry, firstEntry or higherEntry. We instead have
-		// to
-		// resort to using other more awkward methods.
-
-		y1 = sortMap.get(x);
-
-		if (y1 != null) {
-			// Wow, x was a key in the map. Such luck.
-			return y1;
-		}
-
-		// we now know that x is not in the map, so we need to find the lower and higher
-		// keys.
-
-		// let's just make certain that our map is not empty.
-		if (sortMap.isEmpty()) {
-			throw new IllegalStateException("No points added yet to the interpolator.");
+		checkNotEmpty();
+		int index = Arrays.binarySearch(xPoints, 0, size, x);
+		if (index >= 0) {
+			return yPoints[index];
 		}
+		return interpolate(-index - 1, x);
+	}
 
-		// firstKey in the map - cannot be null since the map is not empty.
-		Double firstKey = sortMap.firstKey();
-
-		// x is smaller than the first entry in the map.
-		if (x < firstKey) {
-			y1 = sortMap.get(firstKey);
-			return y1;
+	/**
+	 * Compute the values at several x-coordinates.  Lookups of increasing x-coordinates
+	 * continue from the previous point instead of searching all points.
+	 *
+	 * @param x		the x-coordinates.
+	 * @param out	the array to store the values in, at least as long as <code>x</code>.
+	 */
+	public void getValues(double[] x, double[] out) {
+		Cursor cursor = cursor();
+		for (int i = 0; i < x.length; i++) {
+			out[i] = cursor.getValue(x[i]);
 		}
+	}
 
-		// floor key is the largest key smaller than x - since we have at least one key,
-		// and x>=firstKey, we know that floorKey != null.
-		Double floorKey = sortMap.subMap(firstKey, x).lastKey();
-
-		x1 = floorKey;
-		y1 = sortMap.get(floorKey);
+	/**
+	 * Return a cursor for looking up values in order of increasing x, such as along a
+	 * time series.  Points must not be added while the cursor is used.
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	}
 
-		// Now we need to find the key that is greater or equal to x
-		SortedMap<Double, Double> tailMap = sortMap.tailMap(x);
+	public double[] getXPoints() {
+		return Arrays.copyOf(xPoints, size);
+	}
 
-		// Check if x is bigger than all the entries.
-		if (tailMap.isEmpty()) {
-			return y1;
+	/**
+	 * Interpolate between the points before and at an index, where the index is the
+	 * insertion point of x.
+	 */
+	private double interpolate(int index, double x) {
+		if (index == 0) {
+			// x is smaller than the first point
+			return yPoints[0];
 		}
-		Double ceilKey = tailMap.firstKey();
-
-		// Check if x is bigger than all the entries.
-		if (ceilKey == null) {
-			return y1;
+		if (index == size) {
+			// x is bigger than all the points
+			return yPoints[size - 1];
 		}
-
-		x2 = ceilKey;
-		y2 = sortMap.get(ceilKey);
-
+		double x1 = xPoints[index - 1];
+		double y1 = yPoints[index - 1];
+		double x2 = xPoints[index];
+		double y2 = yPoints[index];
 		return (x - x1) / (x2 - x1) * (y2 - y1) + y1;
 	}
 
-	public double[] getXPoints() {
-		double[] x = new double[sortMap.size()];
-		Iterator<Double> iter = sortMap.keySet().iterator();
-		for (int i = 0; iter.hasNext(); i++) {
-			x[i] = iter.next();
+	private void checkNotEmpty() {
+		if (size == 0) {
+			throw new IllegalStateException("No points added yet to the interpolator.");
+		}
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > xPoints.length) {
+			xPoints = Arrays.copyOf(xPoints, capacity);
+			yPoints = Arrays.copyOf(yPoints, capacity);
 		}
-		return x;
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public LinearInterpolator clone() {
 		try {
 			LinearInterpolator other = (LinearInterpolator) super.clone();
-			other.sortMap = (TreeMap<Double, Double>) this.sortMap.clone();
+			other.xPoints = this.xPoints.clone();
+			other.yPoints = this.yPoints.clone();
 			return other;
 		} catch (CloneNotSupportedException e) {
 			throw new BugException("CloneNotSupportedException?!", e);
 		}
 	}
 
+	/**
+	 * Looks up values of the interpolator remembering the position of the previous
+	 * lookup.  A lookup at an x-coordinate not less than the previous one searches
+	 * forward from the previous point in steps of doubling length, so that a series of
+	 * increasing lookups mostly stays within a few points.  Other lookups search all
+	 * points.  A cursor is not thread-safe.
+	 */
+	public class Cursor {
+		// Insertion point of the previous lookup, all points before it are less than previousX
+		private int index = 0;
+		private double previousX = Double.NEGATIVE_INFINITY;
+
+		private Cursor() {
+		}
+
+		public double getValue(double x) {
+			checkNotEmpty();
+			if (Double.isNaN(x)) {
+				return LinearInterpolator.this.getValue(x);
+			}
+			int from = (x >= previousX) ? index : 0;
+			previousX = x;
+
+			// Find a point not less than x, all points before low are less than x
+			int low = from, high = from, step = 1;
+			while (high < size && xPoints[high] < x) {
+				low = high + 1;
+				high = from + step;
+				step <<= 1;
+			}
+			int found = Arrays.binarySearch(xPoints, low, Math.min(high + 1, size), x);
+			if (found >= 0) {
+				index = found;
+				return yPoints[found];
+			}
+			index = -found - 1;
+			return interpolate(index, x);
+		}
+	}
 }
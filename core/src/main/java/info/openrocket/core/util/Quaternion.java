@@ -167,6 +167,44 @@ public class Quaternion {
 		return new Quaternion(newW, newX, newY, newZ);
 	}
 
+	/**
+	 * Multiply this quaternion from the left side by the rotation quaternion corresponding
+	 * to the rotation vector <code>rotation * scale</code>.  This is equivalent to
+	 * <code>multiplyLeft(Quaternion.rotation(rotation.multiply(scale)))</code>, but does
+	 * not create the intermediate objects.
+	 * 
+	 * @param rotation the rotation vector
+	 * @param scale    the factor to scale the rotation vector by
+	 * @return the rotated quaternion.
+	 */
+	public Quaternion multiplyLeftRotation(Coordinate rotation, double scale) {
+		double rx = rotation.x * scale;
+		double ry = rotation.y * scale;
+		double rz = rotation.z * scale;
+		double length = MathUtil.safeSqrt(rx * rx + ry * ry + rz * rz);
+
+		double ow, ox, oy, oz;
+		if (length < 0.000001) {
+			ow = 1;
+			ox = 0;
+			oy = 0;
+			oz = 0;
+		} else {
+			double sin = Math.sin(length / 2);
+			ow = Math.cos(length / 2);
+			ox = sin * rx / length;
+			oy = sin * ry / length;
+			oz = sin * rz / length;
+		}
+
+		double newW = (ow * this.w - ox * this.x - oy * this.y - oz * this.z);
+		double newX = (ow * this.x + ox * this.w + oy * this.z - oz * this.y);
+		double newY = (ow * this.y + oy * this.w + oz * this.x - ox * this.z);
+		double newZ = (ow * this.z + oz * this.w + ox * this.y - oy * this.x);
+
+		return new Quaternion(newW, newX, newY, newZ);
+	}
+
 	/**
 	 * Return a normalized version of this quaternion. If this quaternion is the
 	 * zero quaternion, throws
@@ -33,6 +33,7 @@ open module info.openrocket.core {
 	exports info.openrocket.core.appearance;
 	exports info.openrocket.core.appearance.defaults;
 	exports info.openrocket.core.arch;
+	exports info.openrocket.core.cli;
 	exports info.openrocket.core.communication;
 	exports info.openrocket.core.componentanalysis;
 	exports info.openrocket.core.database;
@@ -92,6 +93,7 @@ open module info.openrocket.core {
 	exports info.openrocket.core.simulation.listeners;
 	exports info.openrocket.core.simulation.listeners.example;
 	exports info.openrocket.core.simulation.listeners.system;
+	exports info.openrocket.core.simulation.montecarlo;
 	exports info.openrocket.core.startup;
 	exports info.openrocket.core.thrustcurve;
 	exports info.openrocket.core.unit;
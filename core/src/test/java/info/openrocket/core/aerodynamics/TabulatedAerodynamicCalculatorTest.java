@@ -0,0 +1,109 @@
+package info.openrocket.core.aerodynamics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class TabulatedAerodynamicCalculatorTest extends BaseTestCase {
+
+	@Test
+	public void testInterpolatedForces() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		TabulatedAerodynamicCalculator tabulated = new TabulatedAerodynamicCalculator();
+		BarrowmanCalculator direct = new BarrowmanCalculator();
+
+		assertTrue(tabulated.isTabulated(config), "Table error " + tabulated.getTableError(config));
+
+		FlightConditions conditions = new FlightConditions(config);
+		conditions.setAtmosphericConditions(new AtmosphericConditions(280, 90000));
+		conditions.setMach(0.37);
+		conditions.setAOA(Math.toRadians(2.7));
+		conditions.setTheta(0.4);
+		conditions.setRollRate(13);
+		conditions.setPitchRate(0.3);
+
+		AerodynamicForces expected = direct.getAerodynamicForces(config, conditions, null);
+		AerodynamicForces actual = tabulated.getAerodynamicForces(config, conditions, null);
+		assertEquals(expected.getCN(), actual.getCN(), 0.01 * Math.abs(expected.getCN()));
+		assertEquals(expected.getCm(), actual.getCm(), 0.01 * Math.abs(expected.getCm()));
+		assertEquals(expected.getCroll(), actual.getCroll(), 0.02 * Math.abs(expected.getCroll()));
+		assertEquals(expected.getCD(), actual.getCD(), 0.01 * expected.getCD());
+		assertEquals(expected.getCDaxial(), actual.getCDaxial(), 0.01 * expected.getCDaxial());
+		assertEquals(expected.getPitchDampingMoment(), actual.getPitchDampingMoment(),
+				0.01 * Math.abs(expected.getPitchDampingMoment()));
+		assertEquals(direct.getStallMargin(), tabulated.getStallMargin(), 0);
+	}
+
+	@Test
+	public void testOutsideGrid() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		TabulatedAerodynamicCalculator tabulated = new TabulatedAerodynamicCalculator();
+		BarrowmanCalculator direct = new BarrowmanCalculator();
+
+		FlightConditions conditions = new FlightConditions(config);
+		conditions.setMach(3.5);
+		conditions.setAOA(Math.toRadians(5));
+
+		AerodynamicForces expected = direct.getAerodynamicForces(config, conditions, null);
+		AerodynamicForces actual = tabulated.getAerodynamicForces(config, conditions, null);
+		assertEquals(expected.getCN(), actual.getCN(), 0);
+		assertEquals(expected.getCD(), actual.getCD(), 0);
+	}
+
+	@Test
+	public void testSharedTables() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		AerodynamicTable table = new TabulatedAerodynamicCalculator().getTable(config);
+
+		// Copies of the rocket, as used by the simulations, share the table
+		Rocket copy = rocket.copyWithOriginalID();
+		FlightConfiguration copyConfig = config.clone(copy);
+		assertSame(table, new TabulatedAerodynamicCalculator().getTable(copyConfig));
+		assertSame(table, new TabulatedAerodynamicCalculator().newInstance().getTable(config));
+
+		// A modified rocket does not
+		TabulatedAerodynamicCalculator calculator = new TabulatedAerodynamicCalculator();
+		assertSame(table, calculator.getTable(copyConfig));
+		((FinSet) copy.getChild(0).getChild(1).getChild(0)).setFinCount(4);
+		assertNotSame(table, calculator.getTable(copyConfig));
+		assertSame(table, calculator.getTable(config));
+	}
+
+	@Test
+	public void testSimulation() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation simulation = new Simulation(rocket);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.getOptions().getAverageWindModel().setAverage(0.1);
+		simulation.getOptions().getAverageWindModel().setStandardDeviation(0.02);
+		simulation.getOptions().setRandomSeed(42);
+
+		simulation.simulate();
+		double directApogee = simulation.getSimulatedData().getMaxAltitude();
+
+		simulation.getOptions().setTabulatedAerodynamics(true);
+		SimulationConditions conditions = simulation.getOptions().toSimulationConditions();
+		assertTrue(conditions.getAerodynamicCalculator() instanceof TabulatedAerodynamicCalculator);
+		simulation.simulate();
+		double tabulatedApogee = simulation.getSimulatedData().getMaxAltitude();
+
+		assertEquals(directApogee, tabulatedApogee, 0.01 * directApogee);
+	}
+}
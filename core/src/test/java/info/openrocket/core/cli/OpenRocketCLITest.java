@@ -0,0 +1,187 @@
+package info.openrocket.core.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.BatchSimulationRunner;
+import info.openrocket.core.simulation.BatchSimulationRunner.SimulationTask;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.SimulationStepperType;
+import info.openrocket.core.simulation.SimulationTimers;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+
+public class OpenRocketCLITest extends BaseTestCase {
+
+	@Test
+	public void testParseOptions() {
+		CommandLineOptions options = CommandLineOptions.parse("-s", "Sim 1", "--simulation", "Sim 2",
+				"-o", "out", "-f", "json", "-t", "3", "--summary-only", "a.ork", "b.ork");
+
+		assertEquals(List.of(new File("a.ork"), new File("b.ork")), options.getFiles());
+		assertEquals(2, options.getSimulationNames().size());
+		assertTrue(options.getSimulationNames().contains("Sim 2"));
+		assertEquals(new File("out"), options.getOutputDirectory());
+		assertEquals(CommandLineOptions.Format.JSON, options.getFormat());
+		assertEquals(3, options.getThreads());
+		assertTrue(options.isSummaryOnly());
+		assertFalse(options.isTimings());
+		assertFalse(options.isQuiet());
+		assertTrue(CommandLineOptions.parse("--timings", "a.ork").isTimings());
+		assertNull(options.getStepperType());
+		assertNull(options.getIntegrationTolerance());
+
+		options = CommandLineOptions.parse("--stepper", "rk45", "--tolerance", "1e-4", "a.ork");
+		assertSame(SimulationStepperType.RK45, options.getStepperType());
+		assertEquals(1e-4, options.getIntegrationTolerance(), 0);
+	}
+
+	@Test
+	public void testInvalidOptions() {
+		assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse());
+		assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse("--bogus", "a.ork"));
+		assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse("-f", "xml", "a.ork"));
+		assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse("-t", "0", "a.ork"));
+		assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse("a.ork", "-o"));
+		assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse("--stepper", "euler", "a.ork"));
+		assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse("--tolerance", "x", "a.ork"));
+		assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse("--tolerance", "0.5", "a.ork"));
+		assertTrue(CommandLineOptions.parse("--help").isHelp());
+	}
+
+	@Test
+	public void testWriteResults() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation simulation = new Simulation(rocket);
+		simulation.setName("Alpha, \"III\"");
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+
+		File file = new File("alpha.ork");
+		SimulationResult result;
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(1)) {
+			SimulationTask task = runner.runAll(List.of(simulation), null).get(0);
+			result = SimulationResult.of(file, task);
+		}
+		assertTrue(result.isSuccessful());
+		List<SimulationResult> results = List.of(result, SimulationResult.loadFailure(new File("missing.ork"),
+				new IOException("not found")));
+		FlightDataBranch branch = result.getFlightData().getBranch(0);
+
+		// CSV summary, the simulation name must be quoted
+		String csv = write(new CSVResultWriter(), results);
+		String[] lines = csv.split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].startsWith("file,simulation,status,warnings,maxAltitude,"));
+		assertTrue(lines[1].startsWith("alpha.ork,\"Alpha, \"\"III\"\"\",DONE,"));
+		assertTrue(lines[2].startsWith("missing.ork,,FAILED,0,NaN,"));
+		assertTrue(lines[2].endsWith(",not found"));
+
+		// CSV data, one line per data point in addition to the comments and the header
+		StringWriter writer = new StringWriter();
+		new CSVResultWriter().writeBranch(writer, result, branch);
+		long dataLines = writer.toString().lines().filter(l -> !l.startsWith("#")).count();
+		assertEquals(branch.getLength() + 1, dataLines);
+
+		// JSON summary and data
+		JsonArray summary = Json.createReader(new StringReader(write(new JSONResultWriter(), results))).readArray();
+		assertEquals(2, summary.size());
+		assertEquals(result.getFlightData().getMaxAltitude(),
+				summary.getJsonObject(0).getJsonNumber("maxAltitude").doubleValue(), 0);
+		assertTrue(summary.getJsonObject(1).isNull("maxAltitude"));
+		assertEquals("not found", summary.getJsonObject(1).getString("error"));
+
+		writer = new StringWriter();
+		new JSONResultWriter().writeBranch(writer, result, branch);
+		JsonObject data = Json.createReader(new StringReader(writer.toString())).readObject();
+		assertEquals(branch.getLength(), data.getInt("length"));
+		assertEquals(branch.getTypes().length, data.getJsonArray("data").size());
+		JsonObject time = data.getJsonArray("data").getJsonObject(0);
+		assertEquals(FlightDataType.TYPE_TIME.getSymbol(), time.getString("symbol"));
+		assertEquals(branch.getLength(), time.getJsonArray("values").size());
+	}
+
+	@Test
+	public void testWriteTimings() throws Exception {
+		Simulation timed = makeSimulation("Timed");
+		timed.getOptions().setCollectTimings(true);
+		Simulation untimed = makeSimulation("Untimed");
+
+		File file = new File("alpha.ork");
+		List<SimulationResult> results = new ArrayList<>();
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(1)) {
+			for (SimulationTask task : runner.runAll(List.of(timed, untimed), null)) {
+				results.add(SimulationResult.of(file, task));
+			}
+		}
+
+		SimulationTimers timers = results.get(0).getTimers();
+		assertTrue(timers.isEnabled());
+		for (SimulationTimers.Phase phase : List.of(SimulationTimers.Phase.AERODYNAMICS, SimulationTimers.Phase.MASS,
+				SimulationTimers.Phase.ATMOSPHERE, SimulationTimers.Phase.WIND, SimulationTimers.Phase.EVENTS,
+				SimulationTimers.Phase.DATA_STORAGE)) {
+			assertTrue(timers.getCount(phase) > 0, phase.getKey());
+			assertTrue(timers.getTime(phase) <= timers.getTime(SimulationTimers.Phase.SIMULATION), phase.getKey());
+		}
+		assertEquals(1, timers.getCount(SimulationTimers.Phase.SIMULATION));
+		assertSame(SimulationTimers.DISABLED, results.get(1).getTimers());
+
+		// Only the timed simulation is written, one line or object per phase
+		StringWriter writer = new StringWriter();
+		new CSVResultWriter().writeTimings(writer, results);
+		String[] lines = writer.toString().split("\n");
+		assertEquals(SimulationTimers.Phase.values().length + 1, lines.length);
+		assertEquals("file,simulation,phase,time,count", lines[0]);
+		assertTrue(lines[1].startsWith("alpha.ork,Timed,aerodynamics,"));
+
+		writer = new StringWriter();
+		new JSONResultWriter().writeTimings(writer, results);
+		JsonArray json = Json.createReader(new StringReader(writer.toString())).readArray();
+		assertEquals(1, json.size());
+		JsonObject phases = json.getJsonObject(0).getJsonObject("phases");
+		assertEquals(SimulationTimers.Phase.values().length, phases.size());
+		assertEquals(1, phases.getJsonObject("simulation").getInt("count"));
+	}
+
+	@Test
+	public void testSanitize() {
+		assertEquals("a_b_c", OpenRocketCLI.sanitize("a/b:c"));
+		assertEquals("_", OpenRocketCLI.sanitize(" "));
+	}
+
+	private static Simulation makeSimulation(String name) {
+		Simulation simulation = new Simulation(TestRockets.makeEstesAlphaIII());
+		simulation.setName(name);
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		return simulation;
+	}
+
+	private static String write(ResultWriter resultWriter, List<SimulationResult> results) throws IOException {
+		StringWriter writer = new StringWriter();
+		resultWriter.writeSummary(writer, results);
+		return writer.toString();
+	}
+}
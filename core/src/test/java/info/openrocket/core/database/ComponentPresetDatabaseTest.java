@@ -0,0 +1,110 @@
+package info.openrocket.core.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.motor.Manufacturer;
+import info.openrocket.core.preset.ComponentPreset;
+import info.openrocket.core.preset.ComponentPresetFactory;
+import info.openrocket.core.preset.InvalidComponentPresetException;
+import info.openrocket.core.preset.TypedPropertyMap;
+import info.openrocket.core.util.BaseTestCase;
+
+public class ComponentPresetDatabaseTest extends BaseTestCase {
+
+	private static final String[] MANUFACTURERS = { "Estes", "LOC Precision", "Apogee" };
+	private static final String[] WORDS = { "Tube", "Coupler", "Ring", "Blue", "Kraft", "Glassine", "BT-20", "BT-50",
+			"Kärlek", "Σίγμας" };
+
+	/**
+	 * Test that the indexed queries return the same presets in the same order as checking
+	 * every preset.
+	 */
+	@Test
+	public void testQueries() throws InvalidComponentPresetException {
+		Random random = new Random(98765);
+		ComponentPresetDatabase db = new ComponentPresetDatabase();
+		List<ComponentPreset> presets = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			presets.add(makePreset(random, i));
+		}
+		db.addAll(presets.subList(0, 200));
+		db.listForType(ComponentPreset.Type.BODY_TUBE);
+		// Presets added after a query are found
+		presets.subList(200, 300).forEach(db::add);
+
+		for (ComponentPreset.Type type : Arrays.asList(ComponentPreset.Type.BODY_TUBE, ComponentPreset.Type.TUBE_COUPLER,
+				ComponentPreset.Type.NOSE_CONE)) {
+			assertEquals(filter(db, p -> p.getType() == type), db.listForType(type));
+		}
+		assertEquals(filter(db, p -> p.getType() != ComponentPreset.Type.BODY_TUBE),
+				db.listForTypes(ComponentPreset.Type.TUBE_COUPLER, ComponentPreset.Type.CENTERING_RING,
+						ComponentPreset.Type.TUBE_COUPLER));
+
+		for (int i = 0; i < 100; i++) {
+			ComponentPreset preset = presets.get(random.nextInt(presets.size()));
+			String manufacturer = MANUFACTURERS[random.nextInt(MANUFACTURERS.length)];
+			assertEquals(filter(db, p -> p.getManufacturer().matches(manufacturer) &&
+							p.getPartNo().equals(preset.getPartNo())),
+					db.find(manufacturer, preset.getPartNo()));
+		}
+
+		for (int i = 0; i < 300; i++) {
+			String description = preset(presets, random).get(ComponentPreset.DESCRIPTION);
+			int start = random.nextInt(description.length());
+			int end = Math.min(description.length(), start + 1 + random.nextInt(8));
+			String text = switch (random.nextInt(3)) {
+				case 0 -> description.substring(start, end).toUpperCase(Locale.ROOT);
+				case 1 -> preset(presets, random).getPartNo().substring(1);
+				default -> MANUFACTURERS[random.nextInt(MANUFACTURERS.length)].substring(random.nextInt(3));
+			};
+			ComponentPreset.Type type = random.nextBoolean() ? null : ComponentPreset.Type.BODY_TUBE;
+			// The search ignores case as the regular expression filter of the preset chooser does
+			Pattern pattern = Pattern.compile("(?iu)" + Pattern.quote(text));
+			assertEquals(filter(db, p -> (type == null || p.getType() == type) &&
+							(pattern.matcher(p.getManufacturer().getDisplayName()).find() ||
+									pattern.matcher(p.getPartNo()).find() ||
+									pattern.matcher(p.get(ComponentPreset.DESCRIPTION)).find())),
+					db.search(type, text), text);
+		}
+	}
+
+	private static ComponentPreset preset(List<ComponentPreset> presets, Random random) {
+		return presets.get(random.nextInt(presets.size()));
+	}
+
+	private static List<ComponentPreset> filter(ComponentPresetDatabase db,
+			java.util.function.Predicate<ComponentPreset> predicate) {
+		List<ComponentPreset> result = new ArrayList<>();
+		for (ComponentPreset preset : db) {
+			if (predicate.test(preset)) {
+				result.add(preset);
+			}
+		}
+		return result;
+	}
+
+	private static ComponentPreset makePreset(Random random, int n) throws InvalidComponentPresetException {
+		TypedPropertyMap spec = new TypedPropertyMap();
+		double od = 0.02 + random.nextInt(5) * 0.01;
+		ComponentPreset.Type[] types = { ComponentPreset.Type.BODY_TUBE, ComponentPreset.Type.TUBE_COUPLER,
+				ComponentPreset.Type.CENTERING_RING };
+		spec.put(ComponentPreset.TYPE, types[random.nextInt(types.length)]);
+		spec.put(ComponentPreset.MANUFACTURER, Manufacturer.getManufacturer(MANUFACTURERS[random.nextInt(MANUFACTURERS.length)]));
+		spec.put(ComponentPreset.PARTNO, "P" + random.nextInt(150) + "-" + n % 7);
+		spec.put(ComponentPreset.DESCRIPTION, WORDS[random.nextInt(WORDS.length)] + " " +
+				WORDS[random.nextInt(WORDS.length)] + " " + n);
+		spec.put(ComponentPreset.LENGTH, 0.1 + random.nextInt(10) * 0.05);
+		spec.put(ComponentPreset.OUTER_DIAMETER, od);
+		spec.put(ComponentPreset.INNER_DIAMETER, od * 0.9);
+		return ComponentPresetFactory.create(spec);
+	}
+}
@@ -0,0 +1,127 @@
+package info.openrocket.core.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DatabaseTest {
+
+	/**
+	 * Test that adding elements at once results in the same database as adding them
+	 * one by one, and fires a single event.
+	 */
+	@Test
+	public void testAddAll() {
+		Random random = new Random(4321);
+		for (int n = 0; n < 50; n++) {
+			List<Item> initial = randomItems(random, random.nextInt(20));
+			List<Item> elements = randomItems(random, random.nextInt(40));
+
+			Database<Item> expected = new Database<>();
+			Database<Item> actual = new Database<>();
+			initial.forEach(expected::add);
+			initial.forEach(actual::add);
+			boolean changed = false;
+			for (Item item : elements) {
+				changed |= expected.add(item);
+			}
+
+			List<Collection<Item>> events = new ArrayList<>();
+			actual.addDatabaseListener(new DatabaseListener<>() {
+				@Override
+				public void elementAdded(Item element, Database<Item> source) {
+					throw new AssertionError("Single element event");
+				}
+
+				@Override
+				public void elementRemoved(Item element, Database<Item> source) {
+				}
+
+				@Override
+				public void elementsAdded(Collection<Item> added, Database<Item> source) {
+					events.add(new ArrayList<>(added));
+				}
+			});
+			assertEquals(changed, actual.addAll(elements));
+
+			// Items comparing equal may be in a different order
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(0, expected.get(i).compareTo(actual.get(i)));
+				assertTrue(actual.contains(expected.get(i)));
+			}
+			assertEquals(changed ? 1 : 0, events.size());
+			if (changed) {
+				assertEquals(expected.size() - initial.stream().distinct().count(), events.get(0).size());
+			}
+		}
+	}
+
+	@Test
+	public void testAddAllDefaultListener() {
+		Database<Item> database = new Database<>();
+		List<Item> added = new ArrayList<>();
+		database.addDatabaseListener(new DatabaseListener<>() {
+			@Override
+			public void elementAdded(Item element, Database<Item> source) {
+				added.add(element);
+			}
+
+			@Override
+			public void elementRemoved(Item element, Database<Item> source) {
+			}
+		});
+		assertTrue(database.addAll(Arrays.asList(new Item('b', 1), new Item('a', 1), new Item('b', 1))));
+		assertEquals(Arrays.asList(new Item('a', 1), new Item('b', 1)), added);
+		assertFalse(database.addAll(Arrays.asList(new Item('a', 1))));
+	}
+
+	private static List<Item> randomItems(Random random, int count) {
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			items.add(new Item((char) ('a' + random.nextInt(6)), random.nextInt(3)));
+		}
+		return items;
+	}
+
+	/**
+	 * An item ordered by its key only, items with the same key are equal if their values are.
+	 */
+	private static class Item implements Comparable<Item> {
+		private final char key;
+		private final int value;
+
+		Item(char key, int value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public int compareTo(Item o) {
+			return Character.compare(key, o.key);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Item && ((Item) o).key == key && ((Item) o).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			return key * 31 + value;
+		}
+
+		@Override
+		public String toString() {
+			return key + "" + value;
+		}
+	}
+}
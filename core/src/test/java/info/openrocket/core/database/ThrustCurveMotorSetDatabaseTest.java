@@ -0,0 +1,130 @@
+package info.openrocket.core.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.database.motor.ThrustCurveMotorSet;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+import info.openrocket.core.motor.Manufacturer;
+import info.openrocket.core.motor.Motor;
+import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.util.Coordinate;
+
+public class ThrustCurveMotorSetDatabaseTest {
+
+	private static final String[] MANUFACTURERS = { "Estes", "AeroTech", "Cesaroni", "Apogee" };
+	private static final double[] DIAMETERS = { 0.013, 0.018, 0.024, 0.029, 0.038 };
+	private static final Motor.Type[] TYPES = { Motor.Type.SINGLE, Motor.Type.RELOAD, Motor.Type.HYBRID };
+
+	/**
+	 * Test that the indexed search returns the same motors in the same order as checking
+	 * every motor.
+	 */
+	@Test
+	public void testFindMotors() {
+		Random random = new Random(1234);
+		ThrustCurveMotorSetDatabase db = new ThrustCurveMotorSetDatabase();
+		List<String> designations = new ArrayList<>();
+		List<String> digests = new ArrayList<>();
+		for (int i = 0; i < 400; i++) {
+			String designation = (char) ('A' + random.nextInt(8)) + String.valueOf(1 + random.nextInt(120)) +
+					(random.nextBoolean() ? "W" : "T");
+			String digest = "digest" + random.nextInt(300);
+			designations.add(designation);
+			digests.add(digest);
+			db.addMotor(makeMotor(MANUFACTURERS[random.nextInt(MANUFACTURERS.length)], designation,
+					TYPES[random.nextInt(TYPES.length)], DIAMETERS[random.nextInt(DIAMETERS.length)],
+					0.05 + random.nextInt(20) * 0.01, digest));
+		}
+
+		for (int i = 0; i < 2000; i++) {
+			String digest = random.nextInt(3) == 0 ? digests.get(random.nextInt(digests.size())) : null;
+			Motor.Type type = random.nextInt(3) == 0 ? TYPES[random.nextInt(TYPES.length)] : null;
+			String manufacturer = random.nextInt(3) == 0 ? MANUFACTURERS[random.nextInt(MANUFACTURERS.length)]
+					.toLowerCase() : null;
+			String designation = null;
+			switch (random.nextInt(5)) {
+				case 0:
+					designation = designations.get(random.nextInt(designations.size()));
+					break;
+				case 1:
+					designation = designations.get(random.nextInt(designations.size())).toLowerCase() + "-"
+							+ random.nextInt(10);
+					break;
+				case 2:
+					designation = designations.get(random.nextInt(designations.size())).substring(1, 2);
+					break;
+				default:
+					break;
+			}
+			double diameter = random.nextInt(3) == 0 ? DIAMETERS[random.nextInt(DIAMETERS.length)] +
+					random.nextGaussian() * 0.004 : Double.NaN;
+			double length = random.nextInt(3) == 0 ? 0.05 + random.nextDouble() * 0.2 : Double.NaN;
+
+			String query = digest + " " + type + " " + manufacturer + " " + designation + " " + diameter + " " +
+					length;
+			assertEquals(findMotorsLinear(db, digest, type, manufacturer, designation, diameter, length),
+					db.findMotors(digest, type, manufacturer, designation, diameter, length), query);
+		}
+
+		// Motors added after searching are found
+		db.addMotor(makeMotor("Estes", "Z999W", Motor.Type.SINGLE, 0.018, 0.07, "digestZ"));
+		assertEquals(1, db.findMotors(null, null, null, "Z999W-7", Double.NaN, Double.NaN).size());
+		assertEquals(1, db.findMotors("digestZ", null, null, null, Double.NaN, Double.NaN).size());
+	}
+
+	/**
+	 * Find motors by checking every motor of the database.
+	 */
+	private static List<ThrustCurveMotor> findMotorsLinear(ThrustCurveMotorSetDatabase db, String digest,
+			Motor.Type type, String manufacturer, String designation, double diameter, double length) {
+		List<ThrustCurveMotor> fullMatches = new ArrayList<>();
+		List<ThrustCurveMotor> digestMatches = new ArrayList<>();
+		List<ThrustCurveMotor> descriptionMatches = new ArrayList<>();
+		for (ThrustCurveMotorSet set : db.getMotorSets()) {
+			for (ThrustCurveMotor m : set.getMotors()) {
+				boolean matchDigest = digest != null && digest.equals(m.getDigest());
+				boolean matchDescription = !(type != null && type != set.getType()) &&
+						!(manufacturer != null && !m.getManufacturer().matches(manufacturer)) &&
+						!(designation != null &&
+								!m.getDesignation().toUpperCase().contains(designation.toUpperCase()) &&
+								!designation.toUpperCase().contains(m.getCommonName().toUpperCase())) &&
+						!(!Double.isNaN(diameter) && (Math.abs(diameter - m.getDiameter()) > 0.005)) &&
+						!(!Double.isNaN(length) && (Math.abs(length - m.getLength()) > 0.005));
+				if (matchDigest)
+					digestMatches.add(m);
+				if (matchDescription)
+					descriptionMatches.add(m);
+				if (matchDigest && matchDescription)
+					fullMatches.add(m);
+			}
+		}
+		if (!fullMatches.isEmpty())
+			return fullMatches;
+		if (!digestMatches.isEmpty())
+			return digestMatches;
+		return descriptionMatches;
+	}
+
+	private static ThrustCurveMotor makeMotor(String manufacturer, String designation, Motor.Type type,
+			double diameter, double length, String digest) {
+		return new ThrustCurveMotor.Builder()
+				.setManufacturer(Manufacturer.getManufacturer(manufacturer))
+				.setDesignation(designation)
+				.setDescription("Desc")
+				.setMotorType(type)
+				.setStandardDelays(new double[] {})
+				.setDiameter(diameter)
+				.setLength(length)
+				.setTimePoints(new double[] { 0, 1, 2 })
+				.setThrustPoints(new double[] { 0, 1, 0 })
+				.setCGPoints(new Coordinate[] { Coordinate.NUL, Coordinate.NUL, Coordinate.NUL })
+				.setDigest(digest)
+				.build();
+	}
+}
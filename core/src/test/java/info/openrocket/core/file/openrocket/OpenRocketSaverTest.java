@@ -1,7 +1,9 @@
 package info.openrocket.core.file.openrocket;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -13,7 +15,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.zip.ZipFile;
 
 import info.openrocket.core.ServicesForTesting;
 import info.openrocket.core.database.ComponentPresetDao;
@@ -25,6 +29,7 @@ import info.openrocket.core.document.OpenRocketDocumentFactory;
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.document.StorageOptions;
 import info.openrocket.core.file.GeneralRocketLoader;
+import info.openrocket.core.file.GeneralRocketSaver;
 import info.openrocket.core.file.RocketLoadException;
 import info.openrocket.core.file.motor.GeneralMotorLoader;
 import info.openrocket.core.l10n.DebugTranslator;
@@ -38,6 +43,10 @@ import info.openrocket.core.plugin.PluginModule;
 import info.openrocket.core.rocketcomponent.BodyTube;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.SimulationStepperType;
 import info.openrocket.core.simulation.extension.impl.ScriptingExtension;
 import info.openrocket.core.simulation.extension.impl.ScriptingUtil;
 import info.openrocket.core.startup.Application;
@@ -326,6 +335,127 @@ public class OpenRocketSaverTest {
 		assertEquals(Simulation.Status.LOADED, rocketDocLoaded.getSimulations().get(2).getStatus());
 		assertEquals(Simulation.Status.OUTDATED, rocketDocLoaded.getSimulations().get(3).getStatus());
 	}
+
+	/**
+	 * Test that flight data stored as XML text loads back with the precision of the text.
+	 */
+	@Test
+	public void testTextFlightData() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument rocketDoc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		Simulation simulation = new Simulation(rocket);
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		simulation.simulate();
+		rocketDoc.addSimulation(simulation);
+
+		StorageOptions options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		File file = saveRocket(rocketDoc, options);
+		OpenRocketDocument rocketDocLoaded = loadRocket(file.getPath());
+
+		FlightDataBranch expected = simulation.getSimulatedData().getBranch(0);
+		FlightDataBranch actual = rocketDocLoaded.getSimulations().get(0).getSimulatedData().getBranch(0);
+		assertEquals(expected.getLength(), actual.getLength());
+		assertEquals(expected.getEvents().size(), actual.getEvents().size());
+		for (FlightDataType type : expected.getTypes()) {
+			for (int i = 0; i < expected.getLength(); i++) {
+				double value = expected.getValue(type, i);
+				if (Double.isNaN(value)) {
+					assertTrue(Double.isNaN(actual.getValue(type, i)), type.getName());
+				} else {
+					assertEquals(value, actual.getValue(type, i), Math.abs(value) * 1e-3 + 1e-3, type.getName());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test that flight data stored in binary entries of the zip container loads back on demand
+	 * with single precision.
+	 */
+	@Test
+	public void testBinaryFlightData() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument rocketDoc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		Simulation simulation = new Simulation(rocket);
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		simulation.simulate();
+		rocketDoc.addSimulation(simulation);
+
+		StorageOptions options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		options.setBinaryFlightData(true);
+
+		for (boolean compress : new boolean[] { true, false }) {
+			options.setCompressFlightData(compress);
+			File file = File.createTempFile(TMP_DIR.getName(), ".ork");
+			new GeneralRocketSaver().save(file, rocketDoc, options);
+
+			// The document references the data, which is stored in a separate entry
+			try (ZipFile zip = new ZipFile(file)) {
+				String xml = new String(zip.getInputStream(zip.getEntry("rocket.ork")).readAllBytes(), StandardCharsets.UTF_8);
+				assertTrue(xml.contains("datafile=\"" + FlightDataBinaryFormat.getEntryName(1) + "\""));
+				assertFalse(xml.contains("<datapoint>"));
+				assertNotNull(zip.getEntry(FlightDataBinaryFormat.getEntryName(1)));
+			}
+
+			// The summary is available before the data points are loaded on first access
+			OpenRocketDocument rocketDocLoaded = loadRocket(file.getPath());
+			FlightData loadedData = rocketDocLoaded.getSimulations().get(0).getSimulatedData();
+			assertFalse(loadedData.isLoaded());
+			assertTrue(rocketDocLoaded.getDefaultStorageOptions().getSaveSimulationData());
+			assertTrue(rocketDocLoaded.getDefaultStorageOptions().isBinaryFlightData());
+			assertEquals(simulation.getSimulatedData().getMaxAltitude(), loadedData.getMaxAltitude(), 1e-3);
+			assertEquals(1, loadedData.getBranchCount());
+			assertEquals(simulation.getSimulatedData().getBranch(0).getLength(), loadedData.getBranchLength(0));
+			assertFalse(loadedData.isLoaded());
+
+			// Saving the loaded document again copies the stored data without loading it
+			GeneralRocketSaver resaver = new GeneralRocketSaver();
+			assertTrue(resaver.estimateFileSize(rocketDocLoaded, options) > 0);
+			File copy = File.createTempFile(TMP_DIR.getName(), ".ork");
+			resaver.save(copy, rocketDocLoaded, options);
+			assertFalse(loadedData.isLoaded());
+			try (ZipFile original = new ZipFile(file); ZipFile copied = new ZipFile(copy)) {
+				String name = FlightDataBinaryFormat.getEntryName(1);
+				assertArrayEquals(original.getInputStream(original.getEntry(name)).readAllBytes(),
+						copied.getInputStream(copied.getEntry(name)).readAllBytes());
+			}
+			copy.delete();
+
+			FlightDataBranch expected = simulation.getSimulatedData().getBranch(0);
+			FlightDataBranch actual = loadedData.getBranch(0);
+			assertTrue(loadedData.isLoaded());
+			assertFalse(actual.isMutable());
+			assertEquals(expected.getLength(), actual.getLength());
+			assertEquals(expected.getEvents().size(), actual.getEvents().size());
+			for (FlightDataType type : expected.getTypes()) {
+				double[] values = expected.getValues(type);
+				for (int i = 0; i < values.length; i++) {
+					values[i] = (float) values[i];
+				}
+				assertArrayEquals(values, actual.getValues(type), type.getName());
+			}
+			file.delete();
+		}
+
+		// Binary data must be chosen explicitly, by default the data is stored as text
+		options = new StorageOptions();
+		options.setSaveSimulationData(true);
+		File file = File.createTempFile(TMP_DIR.getName(), ".ork");
+		new GeneralRocketSaver().save(file, rocketDoc, options);
+		try (ZipFile zip = new ZipFile(file)) {
+			String xml = new String(zip.getInputStream(zip.getEntry("rocket.ork")).readAllBytes(), StandardCharsets.UTF_8);
+			assertTrue(xml.contains("<openrocket version=\"1.10\""));
+			assertTrue(xml.contains("<datapoint>"));
+			assertNull(zip.getEntry(FlightDataBinaryFormat.getEntryName(1)));
+		}
+		file.delete();
+	}
 	
 	////////////////////////////////
 	// Tests for File Version 1.10 //
@@ -337,6 +467,26 @@ public class OpenRocketSaverTest {
 		assertEquals(110, getCalculatedFileVersion(rocketDoc));
 	}
 	
+	////////////////////////////////
+	// Tests for File Version 1.11 //
+	////////////////////////////////
+	
+	@Test
+	public void testFileVersion111_withTabulatedAerodynamics() {
+		OpenRocketDocument rocketDoc = TestRockets.makeTestRocket_v110_withSimulationExtension(SIMULATION_EXTENSION_SCRIPT);
+		rocketDoc.getSimulation(0).getOptions().setTabulatedAerodynamics(true);
+		assertEquals(111, getCalculatedFileVersion(rocketDoc));
+	}
+	
+	@Test
+	public void testFileVersion111_withStepper() {
+		OpenRocketDocument rocketDoc = TestRockets.makeTestRocket_v110_withSimulationExtension(SIMULATION_EXTENSION_SCRIPT);
+		rocketDoc.getSimulation(0).getOptions().setStepperType(SimulationStepperType.RK45);
+		assertEquals(111, getCalculatedFileVersion(rocketDoc));
+		rocketDoc.getSimulation(0).getOptions().setStepperType(SimulationStepperType.RK4);
+		assertEquals(110, getCalculatedFileVersion(rocketDoc));
+	}
+	
 
 	////////////////////////////////
 	/*
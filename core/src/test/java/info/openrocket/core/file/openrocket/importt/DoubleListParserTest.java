@@ -0,0 +1,97 @@
+package info.openrocket.core.file.openrocket.importt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.util.TextUtil;
+
+public class DoubleListParserTest {
+
+	@Test
+	public void testSpecialValues() {
+		DoubleListParser parser = parse("0,-0,1.5,NaN,Inf,-Inf,1e3,-2.5e-3,+7, 42 ,0x1p3,1.0d");
+		assertFalse(parser.hasError());
+		assertEquals(12, parser.getCount());
+		double[] expected = { 0, -0.0, 1.5, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				1000, -0.0025, 7, 42, 8, 1 };
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], parser.getValues()[i], 0, "value " + i);
+		}
+		assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(parser.getValues()[1]));
+	}
+
+	@Test
+	public void testErrors() {
+		DoubleListParser parser = parse("1,foo,3");
+		assertTrue(parser.hasError());
+		assertEquals(3, parser.getCount());
+
+		parser = parse("");
+		assertTrue(parser.hasError());
+		assertEquals(1, parser.getCount());
+
+		parser = parse("1,,3");
+		assertTrue(parser.hasError());
+
+		parser = parse("1" + "0".repeat(100));
+		assertTrue(parser.hasError());
+
+		// The parser is reusable after an error
+		parser.reset();
+		parser.characters("4,5".toCharArray(), 0, 3);
+		parser.finish();
+		assertFalse(parser.hasError());
+		assertEquals(2, parser.getCount());
+	}
+
+	/**
+	 * Test that the values written by OpenRocket and full precision values parse as by
+	 * Double.parseDouble, when the text is split into chunks at any position.
+	 */
+	@Test
+	public void testRandomValues() {
+		Random random = new Random(42);
+		StringBuilder sb = new StringBuilder();
+		int count = 2000;
+		double[] expected = new double[count];
+		for (int i = 0; i < count; i++) {
+			double value = Math.pow(10, random.nextDouble() * 20 - 10) * (random.nextBoolean() ? 1 : -1);
+			String str = (i % 2 == 0) ? TextUtil.doubleToString(value) : Double.toString(value);
+			expected[i] = Double.parseDouble(str);
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(str);
+		}
+
+		char[] chars = sb.toString().toCharArray();
+		DoubleListParser parser = new DoubleListParser(1);
+		parser.reset();
+		int position = 0;
+		while (position < chars.length) {
+			int length = Math.min(random.nextInt(20), chars.length - position);
+			parser.characters(chars, position, length);
+			position += length;
+		}
+		parser.finish();
+
+		assertFalse(parser.hasError());
+		assertEquals(count, parser.getCount());
+		for (int i = 0; i < count; i++) {
+			assertEquals(expected[i], parser.getValues()[i], 0, "value " + i);
+		}
+	}
+
+	private static DoubleListParser parse(String text) {
+		DoubleListParser parser = new DoubleListParser(4);
+		parser.reset();
+		parser.characters(text.toCharArray(), 0, text.length());
+		parser.finish();
+		return parser;
+	}
+}
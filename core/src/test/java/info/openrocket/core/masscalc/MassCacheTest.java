@@ -1,89 +1,75 @@
 package info.openrocket.core.masscalc;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.Rocket;
-import info.openrocket.core.util.TestRockets;
+import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
 
 public class MassCacheTest extends BaseTestCase {
+	private static final double EPSILON = 0.00000001;
+
+	@Test
+	public void testStructureMatchesUncached() {
+		Rocket rocket = TestRockets.makeFalcon9Heavy();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		MassCalculator calculator = new MassCalculator();
+
+		RigidBody cached = calculator.getStructure(config);
+		assertBodyEquals(MassCalculator.calculateStructure(config), cached);
+		assertSame(cached, calculator.getStructure(config));
+	}
 
 	@Test
-	public void testCMCache() {
+	public void testStageActivation() {
 		Rocket rocket = TestRockets.makeFalcon9Heavy();
-		rocket.setName("TestRocket." + Thread.currentThread().getStackTrace()[1].getMethodName());
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		MassCalculator calculator = new MassCalculator();
+		RigidBody full = calculator.getStructure(config);
+
+		AxialStage booster = rocket.getStage(1);
+		config._setStageActive(booster.getStageNumber(), false);
+		RigidBody separated = calculator.getStructure(config);
+		assertBodyEquals(MassCalculator.calculateStructure(config), separated);
+		assertNotEquals(full.getMass(), separated.getMass());
 
-		// ant throws in error if it can't find a test case in the *Test.java file.
-		// .... soooo we have this waste of space. -DMW
-		assertTrue(true);
+		// Only the toggled stage is recalculated, the upper stage is reused
+		StructureCache cache = calculator.getStructureCache();
+		int hits = cache.getHitCount();
+		int misses = cache.getMissCount();
+		config.setAllStages();
+		assertBodyEquals(full, calculator.getStructure(config));
+		assertEquals(hits + 1, cache.getHitCount());
+		assertEquals(misses + 1, cache.getMissCount());
 	}
-	//
-	// FlightConfiguration config = rocket.getEmptyConfiguration();
-	// MassCalculator mc = new MassCalculator();
-	//
-	// {
-	// // validate payload stage
-	// AxialStage payloadStage = (AxialStage) rocket.getChild(0);
-	// int plNum = payloadStage.getStageNumber();
-	// config.setOnlyStage( plNum );
-	//
-	// MassData calcMass = mc.calculateBurnoutMassData( config );
-	//
-	// double expMass = 0.116287;
-	// double expCMx = 0.278070785749;
-	// assertEquals(expMass,
-	// calcMass.getCM().weight, EPSILON, "Upper Stage Mass is incorrect: ");
-	// assertEquals(expCMx, calcMass.getCM().x,
-	// EPSILON, "Upper Stage CM.x is incorrect: ");
-	// assertEquals(0.0f, calcMass.getCM().y,
-	// EPSILON, "Upper Stage CM.y is incorrect: ");
-	// assertEquals(0.0f, calcMass.getCM().z,
-	// EPSILON, "Upper Stage CM.z is incorrect: ");
-	//
-	// MassData rocketLaunchMass = mc.getRocketLaunchMassData( config);
-	// assertEquals(expMass,
-	// rocketLaunchMass.getCM().weight, EPSILON, "Upper Stage Mass (cache) is incorrect: ");
-	// assertEquals(expCMx,
-	// rocketLaunchMass.getCM().x, EPSILON, "Upper Stage CM.x (cache) is incorrect: ");
-	//
-	// MassData rocketSpentMass = mc.getRocketSpentMassData( config);
-	// assertEquals(expMass,
-	// rocketSpentMass.getCM().weight, EPSILON, "Upper Stage Mass (cache) is incorrect: ");
-	// assertEquals(expCMx,
-	// rocketSpentMass.getCM().x, EPSILON, "Upper Stage CM.x (cache) is incorrect: ");
-	// }{
-	// ParallelStage boosters = (ParallelStage) rocket.getChild(1).getChild(1);
-	// int boostNum = boosters.getStageNumber();
-	// config.setOnlyStage( boostNum );
-	//
-	// MassData boosterMass = mc.calculateBurnoutMassData( config);
-	//
-	// double expMass = BOOSTER_SET_NO_MOTORS_MASS;
-	// double expCMx = BOOSTER_SET_NO_MOTORS_CMX;
-	// assertEquals(expMass,
-	// boosterMass.getCM().weight, EPSILON, "Heavy Booster Mass is incorrect: ");
-	// assertEquals(expCMx,
-	// boosterMass.getCM().x, EPSILON, "Heavy Booster CM.x is incorrect: ");
-	// assertEquals(0.0f,
-	// boosterMass.getCM().y, EPSILON, "Heavy Booster CM.y is incorrect: ");
-	// assertEquals(0.0f,
-	// boosterMass.getCM().z, EPSILON, "Heavy Booster CM.z is incorrect: ");
-	//
-	// MassData rocketLaunchMass = mc.getRocketLaunchMassData( config);
-	// assertEquals(expMass,
-	// rocketLaunchMass.getCM().weight, EPSILON, " Booster Stage Mass (cache) is incorrect: ");
-	// assertEquals(expCMx,
-	// rocketLaunchMass.getCM().x, EPSILON, " Booster Stage CM.x (cache) is incorrect: ");
-	//
-	// MassData rocketSpentMass = mc.getRocketSpentMassData( config);
-	// assertEquals(expMass,
-	// rocketSpentMass.getCM().weight, EPSILON, " Booster Stage Mass (cache) is incorrect: ");
-	// assertEquals(expCMx,
-	// rocketSpentMass.getCM().x, EPSILON, " Booster Stage CM.x (cache) is incorrect: ");
-	// }
-	// }
-	//
 
+	@Test
+	public void testMassChange() {
+		Rocket rocket = TestRockets.makeFalcon9Heavy();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		MassCalculator calculator = new MassCalculator();
+		RigidBody before = calculator.getStructure(config);
+
+		RocketComponent component = rocket.getStage(0).getChild(0);
+		component.setOverrideMass(component.getComponentMass() + 1.0);
+		component.setMassOverridden(true);
+
+		RigidBody after = calculator.getStructure(config);
+		assertBodyEquals(MassCalculator.calculateStructure(config), after);
+		assertEquals(before.getMass() + 1.0, after.getMass(), EPSILON);
+	}
+
+	private static void assertBodyEquals(RigidBody expected, RigidBody actual) {
+		assertEquals(expected.getMass(), actual.getMass(), 0);
+		assertEquals(expected.getCenterOfMass(), actual.getCenterOfMass());
+		assertEquals(expected.getLongitudinalInertia(), actual.getLongitudinalInertia(), 0);
+		assertEquals(expected.getRotationalInertia(), actual.getRotationalInertia(), 0);
+	}
 }
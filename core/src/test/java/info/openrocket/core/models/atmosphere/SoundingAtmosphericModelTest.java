@@ -0,0 +1,81 @@
+package info.openrocket.core.models.atmosphere;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import info.openrocket.core.models.wind.MultiLevelPinkNoiseWindModel;
+
+import org.junit.jupiter.api.Test;
+
+public class SoundingAtmosphericModelTest {
+
+	private static final String SOUNDING =
+			"# altitude temperature pressure speed direction\n" +
+			"100  15.0  1000.0  2.0  270\n" +
+			"\n" +
+			"1100, 9.0, 890.0, 6.0, 280\n" +
+			"3100;-3.0;700.0;12.0;300\n";
+
+	@Test
+	public void testLoad() throws IOException {
+		SoundingAtmosphericModel model = SoundingAtmosphericModel.load(new StringReader(SOUNDING));
+		assertEquals(3, model.getTable().getLength());
+
+		AtmosphericConditions ground = model.getConditions(0);
+		assertEquals(288.15, ground.getTemperature(), 1e-9);
+		assertEquals(100000, ground.getPressure(), 1e-9);
+
+		AtmosphericConditions middle = model.getConditions(600);
+		assertEquals(285.15, middle.getTemperature(), 1e-9);
+		assertEquals(94500, middle.getPressure(), 1e-9);
+
+		AtmosphericConditions high = model.getConditions(2100);
+		assertEquals(276.15, high.getTemperature(), 1e-9);
+		assertEquals(79500, high.getPressure(), 1e-9);
+		assertEquals(70000, model.getConditions(20000).getPressure(), 1e-9);
+
+		assertTrue(model.hasWind());
+		MultiLevelPinkNoiseWindModel wind = model.createWindModel(0);
+		assertEquals(3, wind.getLevels().size());
+		assertEquals(6.0, wind.getWindVelocity(0, 1100).length(), 1e-9);
+		assertEquals(Math.toRadians(280), wind.getWindDirection(0, 1100), 1e-9);
+	}
+
+	@Test
+	public void testLoadWithoutWind() throws IOException {
+		SoundingAtmosphericModel model = SoundingAtmosphericModel.load(new StringReader("0 15 1013.25\n"));
+		assertFalse(model.hasWind());
+		assertEquals(101325, model.getConditions(5000).getPressure(), 1e-9);
+		assertThrows(IllegalStateException.class, () -> model.createWindModel(0));
+	}
+
+	@Test
+	public void testIllegalFormat() {
+		assertThrows(IOException.class, () -> SoundingAtmosphericModel.load(new StringReader("")));
+		assertThrows(IOException.class, () -> SoundingAtmosphericModel.load(new StringReader("0 15\n")));
+		assertThrows(IOException.class, () -> SoundingAtmosphericModel.load(new StringReader("0 15 1000\n0 14 990\n")));
+		assertThrows(IOException.class, () -> SoundingAtmosphericModel.load(new StringReader("0 15 1000\n10 14 990 1 1\n")));
+		assertThrows(IOException.class, () -> SoundingAtmosphericModel.load(new StringReader("0 15 high\n")));
+	}
+
+	@Test
+	public void testInterpolatedISA() {
+		ExtendedISAModel model = new ExtendedISAModel(100, 280, 100000);
+		AtmosphereTable table = model.getTable();
+		for (double altitude = -100; altitude < 90000; altitude += 123.4) {
+			AtmosphericConditions conditions = model.getConditions(altitude);
+			assertEquals(table.getTemperature(altitude), conditions.getTemperature(), 0);
+			assertEquals(table.getPressure(altitude), conditions.getPressure(), 0);
+		}
+		for (int i = 0; i < table.getLength(); i++) {
+			AtmosphericConditions exact = model.getExactConditions(i * 500);
+			assertEquals(exact.getTemperature(), model.getConditions(i * 500).getTemperature(), 1e-9);
+			assertEquals(exact.getPressure(), model.getConditions(i * 500).getPressure(), 1e-6);
+		}
+	}
+}
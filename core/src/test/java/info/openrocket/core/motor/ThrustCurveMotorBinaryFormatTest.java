@@ -0,0 +1,159 @@
+package info.openrocket.core.motor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.database.motor.ThrustCurveMotorSet;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+import info.openrocket.core.util.Coordinate;
+
+public class ThrustCurveMotorBinaryFormatTest {
+
+	private final ThrustCurveMotor motorA8 = new ThrustCurveMotor.Builder()
+			.setManufacturer(Manufacturer.getManufacturer("Estes"))
+			.setDesignation("A8-3")
+			.setDescription("A8 Test Motor")
+			.setMotorType(Motor.Type.SINGLE)
+			.setStandardDelays(new double[] { 0, 3, 5, Motor.PLUGGED_DELAY })
+			.setDiameter(0.018)
+			.setLength(0.07)
+			.setTimePoints(new double[] { 0, 0.2, 0.5, 0.73 })
+			.setThrustPoints(new double[] { 0, 9.73, 2.3, 0 })
+			.setCGPoints(new Coordinate[] {
+					new Coordinate(0.035, 0, 0, 0.0163),
+					new Coordinate(0.036, 0, 0, 0.0150),
+					new Coordinate(0.038, 0, 0, 0.0135),
+					new Coordinate(0.040, 0, 0, 0.0125) })
+			.setCaseInfo("SU 18.0x70")
+			.setPropellantInfo("Black powder")
+			.setDigest("digestA8")
+			.build();
+
+	private final ThrustCurveMotor motorX6 = new ThrustCurveMotor.Builder()
+			.setManufacturer(Manufacturer.getManufacturer("foo"))
+			.setDesignation("X6")
+			.setMotorType(Motor.Type.RELOAD)
+			.setStandardDelays(new double[] {})
+			.setDiameter(0.05)
+			.setLength(0.1)
+			.setTimePoints(new double[] { 0, 1, 3, 4 })
+			.setThrustPoints(new double[] { 0, 2, 3, 0 })
+			.setCGPoints(new Coordinate[] {
+					new Coordinate(0.02, 0, 0, 0.05),
+					new Coordinate(0.02, 0, 0, 0.05),
+					new Coordinate(0.02, 0, 0, 0.05),
+					new Coordinate(0.03, 0, 0, 0.03) })
+			.setDigest(null)
+			.setAvailability(false)
+			.build();
+
+	@Test
+	public void testReadWrite() throws IOException {
+		List<ThrustCurveMotor> motors = Arrays.asList(motorA8, motorX6);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ThrustCurveMotorBinaryFormat.write(motors, out);
+		List<ThrustCurveMotor> read = ThrustCurveMotorBinaryFormat.read(new ByteArrayInputStream(out.toByteArray()));
+
+		assertEquals(motors.size(), read.size());
+		for (int i = 0; i < motors.size(); i++) {
+			ThrustCurveMotor expected = motors.get(i);
+			ThrustCurveMotor actual = read.get(i);
+			assertSame(expected.getManufacturer(), actual.getManufacturer());
+			assertEquals(expected.getDigest(), actual.getDigest());
+			assertEquals(expected.getDesignation(), actual.getDesignation());
+			assertEquals(expected.getCommonName(), actual.getCommonName());
+			assertEquals(expected.getDescription(), actual.getDescription());
+			assertEquals(expected.getMotorType(), actual.getMotorType());
+			assertEquals(expected.getCaseInfo(), actual.getCaseInfo());
+			assertEquals(expected.getPropellantInfo(), actual.getPropellantInfo());
+			assertEquals(expected.isAvailable(), actual.isAvailable());
+			assertEquals(expected.getDiameter(), actual.getDiameter(), 0);
+			assertEquals(expected.getLength(), actual.getLength(), 0);
+			assertArrayEquals(expected.getStandardDelays(), actual.getStandardDelays(), 0);
+			assertEquals(expected.getUnitIxx(), actual.getUnitIxx(), 0);
+			assertEquals(expected.getUnitIyy(), actual.getUnitIyy(), 0);
+
+			// The statistics are available before the curve is decoded
+			assertEquals(expected.getTotalImpulseEstimate(), actual.getTotalImpulseEstimate(), 0);
+			assertEquals(expected.getAverageThrustEstimate(), actual.getAverageThrustEstimate(), 0);
+			assertEquals(expected.getMaxThrustEstimate(), actual.getMaxThrustEstimate(), 0);
+			assertEquals(expected.getBurnTimeEstimate(), actual.getBurnTimeEstimate(), 0);
+
+			assertEquals(expected.getThrust(0.35), actual.getThrust(0.35), 0);
+			assertArrayEquals(expected.getTimePoints(), actual.getTimePoints(), 0);
+			assertArrayEquals(expected.getThrustPoints(), actual.getThrustPoints(), 0);
+			assertArrayEquals(expected.getCGPoints(), actual.getCGPoints());
+			assertEquals(expected.getLaunchMass(), actual.getLaunchMass(), 0);
+		}
+	}
+
+	@Test
+	public void testAddToDatabaseKeepsCurvesEncoded() throws IOException {
+		ThrustCurveMotor motorA8Long = new ThrustCurveMotor.Builder()
+				.setManufacturer(Manufacturer.getManufacturer("Estes"))
+				.setDesignation("A8-3")
+				.setDescription("A8 Test Motor with more points")
+				.setMotorType(Motor.Type.SINGLE)
+				.setStandardDelays(new double[] { 0, 3, 5, Motor.PLUGGED_DELAY })
+				.setDiameter(0.018)
+				.setLength(0.07)
+				.setTimePoints(new double[] { 0, 0.1, 0.2, 0.5, 0.73 })
+				.setThrustPoints(new double[] { 0, 5, 9.73, 2.3, 0 })
+				.setCGPoints(new Coordinate[] {
+						new Coordinate(0.035, 0, 0, 0.0163),
+						new Coordinate(0.035, 0, 0, 0.0160),
+						new Coordinate(0.036, 0, 0, 0.0150),
+						new Coordinate(0.038, 0, 0, 0.0135),
+						new Coordinate(0.040, 0, 0, 0.0125) })
+				.setCaseInfo("SU 18.0x70")
+				.setPropellantInfo("Black powder")
+				.setDigest("digestA8Long")
+				.build();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ThrustCurveMotorBinaryFormat.write(Arrays.asList(motorA8, motorA8Long, motorX6), out);
+		List<ThrustCurveMotor> read = ThrustCurveMotorBinaryFormat.read(new ByteArrayInputStream(out.toByteArray()));
+
+		ThrustCurveMotorSetDatabase database = new ThrustCurveMotorSetDatabase();
+		database.addMotors(read);
+
+		// Sorting the motors of a set by their number of points must not decode the curves
+		for (ThrustCurveMotor motor : read) {
+			assertFalse(motor.isCurveDecoded());
+		}
+		List<ThrustCurveMotorSet> sets = database.getMotorSets();
+		assertEquals(2, sets.size());
+		List<ThrustCurveMotor> a8 = sets.get(0).getMotors();
+		assertEquals(2, a8.size());
+		assertEquals(5, a8.get(0).getSampleSize());
+		assertEquals(4, a8.get(1).getSampleSize());
+		assertEquals(5, a8.get(0).getDataSize());
+		for (ThrustCurveMotor motor : read) {
+			assertFalse(motor.isCurveDecoded());
+		}
+	}
+
+	@Test
+	public void testInvalidData() {
+		assertThrows(IOException.class,
+				() -> ThrustCurveMotorBinaryFormat.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 })));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertThrows(IOException.class, () -> {
+			ThrustCurveMotorBinaryFormat.write(Arrays.asList(motorA8), out);
+			byte[] data = Arrays.copyOf(out.toByteArray(), out.size() - 10);
+			ThrustCurveMotorBinaryFormat.read(new ByteArrayInputStream(data));
+		});
+	}
+}
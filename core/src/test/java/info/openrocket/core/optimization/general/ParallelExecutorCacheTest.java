@@ -0,0 +1,99 @@
+package info.openrocket.core.optimization.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.simulation.BatchSimulationRunner;
+
+public class ParallelExecutorCacheTest {
+
+	private final AtomicInteger evaluations = new AtomicInteger();
+
+	private final Function function = point -> {
+		evaluations.incrementAndGet();
+		return point.get(0) + 2 * point.get(1);
+	};
+
+	@Test
+	public void testLeastRecentlyUsedDiscarded() throws InterruptedException, OptimizationException {
+		ParallelExecutorCache cache = new ParallelExecutorCache(Executors.newSingleThreadExecutor(), 3);
+		cache.setFunction(function);
+
+		Point first = new Point(0.1, 0.1);
+		for (double x = 0.2; x < 0.55; x += 0.1) {
+			computeValue(cache, first);
+			computeValue(cache, new Point(x, 0.5));
+		}
+		assertEquals(3, cache.size());
+		assertEquals(5, evaluations.get());
+
+		// The first point is used most often and is still cached
+		assertEquals(0.3, computeValue(cache, first), 1e-12);
+		assertEquals(5, evaluations.get());
+		computeValue(cache, new Point(0.2, 0.5));
+		assertEquals(6, evaluations.get());
+		assertThrows(IllegalStateException.class, () -> cache.getValue(new Point(0.3, 0.5)));
+		cache.getExecutor().shutdownNow();
+	}
+
+	@Test
+	public void testSetValue() throws InterruptedException, OptimizationException {
+		ParallelExecutorCache cache = new ParallelExecutorCache(Executors.newSingleThreadExecutor());
+		cache.setFunction(function);
+		cache.setValue(new Point(1.0 / 3, 0.7), 5.0);
+		assertEquals(5.0, computeValue(cache, new Point(1.0 / 3, 0.7)), 0);
+		assertEquals(0, evaluations.get());
+		assertEquals(0.5, computeValue(cache, new Point(0.1, 0.2)), 1e-12);
+		assertEquals(1, evaluations.get());
+		cache.getExecutor().shutdownNow();
+	}
+
+	@Test
+	public void testAbortOnSimulationRunner() throws InterruptedException, OptimizationException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Point blocking = new Point(0.9, 0.9);
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(1)) {
+			ParallelExecutorCache cache = new ParallelExecutorCache(runner.getExecutor());
+			cache.setFunction(point -> {
+				if (point.equals(blocking)) {
+					started.countDown();
+					try {
+						Thread.sleep(60000);
+					} catch (InterruptedException e) {
+						interrupted.countDown();
+						throw e;
+					}
+				}
+				if (Thread.currentThread().isInterrupted()) {
+					throw new InterruptedException("Interrupt of an aborted evaluation was not cleared");
+				}
+				return function.evaluate(point);
+			});
+
+			// Aborting an evaluation interrupts it on the fork-join pool of the runner,
+			// and the interrupt does not affect the next evaluation on the same thread
+			cache.compute(blocking);
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+			assertFalse(cache.abort(blocking));
+			assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+			assertEquals(0.5, computeValue(cache, new Point(0.1, 0.2)), 1e-12);
+		}
+	}
+
+	private static double computeValue(ParallelExecutorCache cache, Point point)
+			throws InterruptedException, OptimizationException {
+		cache.compute(point);
+		cache.waitFor(point);
+		return cache.getValue(point);
+	}
+}
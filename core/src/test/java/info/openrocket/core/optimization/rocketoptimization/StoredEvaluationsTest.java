@@ -0,0 +1,100 @@
+package info.openrocket.core.optimization.rocketoptimization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.unit.Value;
+import info.openrocket.core.util.BaseTestCase;
+
+@ExtendWith(MockitoExtension.class)
+public class StoredEvaluationsTest extends BaseTestCase {
+
+	@Mock
+	OptimizableParameter parameter;
+	@Mock
+	SimulationModifier modifier1;
+	@Mock
+	SimulationModifier modifier2;
+	@Mock
+	RocketOptimizationListener listener;
+
+	@Test
+	public void testSaveAndLoad(@TempDir File directory) throws IOException {
+		when(parameter.getUnitGroup()).thenReturn(UnitGroup.UNITS_DISTANCE);
+		when(modifier1.getUnitGroup()).thenReturn(UnitGroup.UNITS_LENGTH);
+		when(modifier2.getUnitGroup()).thenReturn(UnitGroup.UNITS_MASS);
+		File file = new File(directory, "cache/key.txt");
+
+		StoredEvaluations evaluations = new StoredEvaluations(parameter, modifier1, modifier2);
+		Value reference = new Value(2.5, UnitGroup.UNITS_STABILITY_CALIBERS);
+		evaluations.evaluated(new Point(0.1, 1.0 / 3), new Value[] { new Value(0.02, UnitGroup.UNITS_LENGTH),
+				new Value(0.5, UnitGroup.UNITS_MASS) }, reference, new Value(300, UnitGroup.UNITS_DISTANCE), -300);
+		evaluations.evaluated(new Point(0.9, 0.8), new Value[] { new Value(0.04, UnitGroup.UNITS_LENGTH),
+				new Value(0.7, UnitGroup.UNITS_MASS) }, null, null, Double.MAX_VALUE);
+		evaluations.save(file, "key");
+
+		StoredEvaluations other = new StoredEvaluations(parameter, modifier1, modifier2);
+		assertEquals(0, other.load(file, "other key"));
+		assertEquals(0, other.load(new File(directory, "missing.txt"), "key"));
+		assertEquals(2, other.load(file, "key"));
+
+		// The loaded evaluations are reported with the same values
+		StoredEvaluations.Evaluation first = other.getEvaluations().get(0);
+		assertEquals(new Point(0.1, 1.0 / 3), first.getPoint());
+		assertEquals(-300, first.getGoalValue(), 0);
+		first.replay(listener);
+		ArgumentCaptor<Value[]> state = ArgumentCaptor.forClass(Value[].class);
+		ArgumentCaptor<Value> domainReference = ArgumentCaptor.forClass(Value.class);
+		ArgumentCaptor<Value> parameterValue = ArgumentCaptor.forClass(Value.class);
+		verify(listener).evaluated(eq(new Point(0.1, 1.0 / 3)), state.capture(), domainReference.capture(),
+				parameterValue.capture(), eq(-300.0));
+		assertEquals(0.02, state.getValue()[0].getValue(), 0);
+		assertEquals(0.5, state.getValue()[1].getValue(), 0);
+		assertEquals(reference.toString(), domainReference.getValue().toString());
+		assertEquals(reference.getUnitValue(), domainReference.getValue().getUnitValue(), 1e-12);
+		assertEquals(300, parameterValue.getValue().getValue(), 0);
+
+		StoredEvaluations.Evaluation second = other.getEvaluations().get(1);
+		assertNull(second.getDomainReference());
+		second.replay(listener);
+		verify(listener).evaluated(eq(new Point(0.9, 0.8)), any(), isNull(), isNull(), eq(Double.MAX_VALUE));
+	}
+
+	@Test
+	public void testPrune(@TempDir File directory) throws IOException {
+		for (int i = 0; i < 4; i++) {
+			File file = new File(directory, "design" + i + StoredEvaluations.FILE_EXTENSION);
+			assertTrue(file.createNewFile());
+			assertTrue(file.setLastModified(1_000_000_000_000L + i * 1000L));
+		}
+		File other = new File(directory, "other.dat");
+		assertTrue(other.createNewFile());
+
+		assertEquals(2, StoredEvaluations.prune(directory, 2));
+		assertFalse(new File(directory, "design0.txt").exists());
+		assertFalse(new File(directory, "design1.txt").exists());
+		assertTrue(new File(directory, "design2.txt").exists());
+		assertTrue(new File(directory, "design3.txt").exists());
+		assertTrue(other.exists());
+		assertEquals(0, StoredEvaluations.prune(directory, 2));
+	}
+}
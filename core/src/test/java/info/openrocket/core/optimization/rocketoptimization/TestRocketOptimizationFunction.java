@@ -2,25 +2,36 @@ package info.openrocket.core.optimization.rocketoptimization;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.optimization.general.Point;
+import info.openrocket.core.optimization.rocketoptimization.goals.MaximizationGoal;
+import info.openrocket.core.optimization.rocketoptimization.goals.ValueSeekGoal;
+import info.openrocket.core.optimization.rocketoptimization.modifiers.GenericComponentModifier;
+import info.openrocket.core.rocketcomponent.BodyTube;
 import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.unit.Unit;
 import info.openrocket.core.unit.UnitGroup;
 import info.openrocket.core.unit.Value;
 import info.openrocket.core.util.Pair;
 import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -217,6 +228,84 @@ public class TestRocketOptimizationFunction extends BaseTestCase {
 		verify(domain).getDistanceToDomain(simulation);
 	}
 
+	@Test
+	public void testSimulationReused() throws InterruptedException, OptimizationException {
+		final Rocket rocket = TestRockets.makeEstesAlphaIII();
+		final Simulation simulation = new Simulation(rocket);
+		BodyTube body = null;
+		for (RocketComponent c : rocket) {
+			if (c instanceof BodyTube) {
+				body = (BodyTube) c;
+				break;
+			}
+		}
+		final double baseThickness = body.getThickness();
+		final UUID bodyId = body.getID();
+		final int[] copies = { 0 };
+
+		// The parameter value is the wall thickness, which a small radius limits
+		when(domain.getDistanceToDomain(any())).thenReturn(new Pair<>(-1.0, new Value(0, Unit.NOUNIT)));
+		when(parameter.computeValue(any())).thenAnswer(invocation -> {
+			Simulation sim = invocation.getArgument(0);
+			return ((BodyTube) sim.getRocket().findComponent(bodyId)).getThickness();
+		});
+		when(parameter.getUnitGroup()).thenReturn(UnitGroup.UNITS_LENGTH);
+		when(goal.getMinimizationParameter(anyDouble())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		GenericComponentModifier radius = new GenericComponentModifier("radius", "radius", body,
+				UnitGroup.UNITS_LENGTH, 1.0, BodyTube.class, bodyId, "OuterRadius");
+		radius.setMinValue(baseThickness / 2);
+		radius.setMaxValue(0.1);
+
+		RocketOptimizationFunction function = new RocketOptimizationFunction(simulation,
+				parameter, goal, domain, radius) {
+			@Override
+			Simulation newSimulationInstance(Simulation sim) {
+				copies[0]++;
+				return super.newSimulationInstance(sim);
+			}
+		};
+
+		assertEquals(baseThickness / 2, function.evaluate(new Point(0.0)), 1e-12);
+		assertEquals(baseThickness, function.evaluate(new Point(1.0)), 1e-12);
+		assertEquals(1, copies[0]);
+
+		// The base simulation is not modified
+		assertEquals(baseThickness, body.getThickness(), 0);
+		assertEquals(rocket.getModID(), simulation.getRocket().getModID());
+
+		// Released contexts are created again
+		function.clearEvaluationContexts();
+		assertEquals(baseThickness, function.evaluate(new Point(1.0)), 1e-12);
+		assertEquals(2, copies[0]);
+	}
+
+	@Test
+	public void testCacheKey() {
+		final Rocket rocket = TestRockets.makeEstesAlphaIII();
+		final Simulation simulation = new Simulation(rocket);
+
+		String key = new RocketOptimizationFunction(simulation, parameter, new ValueSeekGoal(100), domain,
+				modifier1, modifier2).getCacheKey();
+		assertEquals(key, new RocketOptimizationFunction(simulation, parameter, new ValueSeekGoal(100), domain,
+				modifier1, modifier2).getCacheKey());
+		assertNotEquals(key, new RocketOptimizationFunction(simulation, parameter, new ValueSeekGoal(200), domain,
+				modifier1, modifier2).getCacheKey());
+		assertNotEquals(key, new RocketOptimizationFunction(simulation, parameter, new MaximizationGoal(), domain,
+				modifier1, modifier2).getCacheKey());
+
+		// The random seed is not stored in the file but affects the results
+		simulation.getOptions().setRandomSeed(simulation.getOptions().getRandomSeed() + 1);
+		String seeded = new RocketOptimizationFunction(simulation, parameter, new ValueSeekGoal(100), domain,
+				modifier1, modifier2).getCacheKey();
+		assertNotEquals(key, seeded);
+		key = seeded;
+
+		rocket.getChild(0).getChild(0).setName("Changed");
+		assertNotEquals(key, new RocketOptimizationFunction(simulation, parameter, new ValueSeekGoal(100), domain,
+				modifier1, modifier2).getCacheKey());
+	}
+
 	@Test
 	public void testNewSimulationNames() {
 		final Rocket rocket = new Rocket();
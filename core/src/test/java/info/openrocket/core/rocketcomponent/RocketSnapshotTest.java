@@ -0,0 +1,110 @@
+package info.openrocket.core.rocketcomponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.TestRockets;
+
+public class RocketSnapshotTest extends BaseTestCase {
+
+	@Test
+	public void testSharedComponents() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		RocketSnapshot first = new RocketSnapshot(rocket, null);
+		assertEquals(first.getComponentCount(), first.getCopiedComponentCount());
+		assertEquals(rocket.getModID(), first.getModID());
+
+		// Unchanged rocket shares all components except the rocket itself
+		RocketSnapshot second = new RocketSnapshot(rocket, first);
+		assertEquals(1, second.getCopiedComponentCount());
+
+		BodyTube body = findBodyTube(rocket);
+		body.setLength(0.5);
+		RocketSnapshot third = new RocketSnapshot(rocket, second);
+		assertEquals(2, third.getCopiedComponentCount());
+		assertEquals(first.getComponentCount(), third.getComponentCount());
+
+		// Events fired by the rocket itself copy all components
+		rocket.fireComponentChangeEvent(ComponentChangeEvent.AEROMASS_CHANGE);
+		RocketSnapshot fourth = new RocketSnapshot(rocket, third);
+		assertEquals(fourth.getComponentCount(), fourth.getCopiedComponentCount());
+	}
+
+	@Test
+	public void testToRocket() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		double length = findBodyTube(rocket).getLength();
+		RocketSnapshot first = new RocketSnapshot(rocket, null);
+		findBodyTube(rocket).setLength(0.5);
+		RocketSnapshot second = new RocketSnapshot(rocket, first);
+
+		Rocket restored = first.toRocket();
+		assertEquals(length, findBodyTube(restored).getLength(), MathUtil.EPSILON);
+		assertEquals(0.5, findBodyTube(second.toRocket()).getLength(), MathUtil.EPSILON);
+
+		// Same structure with new component instances
+		Iterator<RocketComponent> expected = rocket.iterator(true);
+		Iterator<RocketComponent> actual = restored.iterator(true);
+		while (expected.hasNext()) {
+			assertTrue(actual.hasNext());
+			RocketComponent e = expected.next();
+			RocketComponent a = actual.next();
+			assertEquals(e.getID(), a.getID());
+			assertEquals(e.getClass(), a.getClass());
+			assertEquals(e.getChildCount(), a.getChildCount());
+			assertNotSame(e, a);
+		}
+		assertFalse(actual.hasNext());
+
+		assertEquals(rocket.getStageCount(), restored.getStageCount());
+		assertSame(restored.getChild(0), restored.getStage(0));
+		assertEquals(rocket.getFlightConfigurationCount(), restored.getFlightConfigurationCount());
+		assertEquals(rocket.getSelectedConfiguration().getId(), restored.getSelectedConfiguration().getId());
+		assertSame(restored, restored.getSelectedConfiguration().getRocket());
+	}
+
+	@Test
+	public void testUndoRedo() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument document = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		double length = findBodyTube(rocket).getLength();
+
+		document.addUndoPosition("Modify length");
+		findBodyTube(rocket).setLength(0.5);
+		document.addUndoPosition("Modify name");
+		findBodyTube(rocket).setName("Tube");
+
+		document.undo();
+		assertEquals("Modify name", document.getRedoDescription());
+		assertEquals(0.5, findBodyTube(rocket).getLength(), MathUtil.EPSILON);
+		document.undo();
+		assertEquals(length, findBodyTube(rocket).getLength(), MathUtil.EPSILON);
+		assertFalse(document.isUndoAvailable());
+
+		document.redo();
+		document.redo();
+		assertEquals(0.5, findBodyTube(rocket).getLength(), MathUtil.EPSILON);
+		assertEquals("Tube", findBodyTube(rocket).getName());
+		assertFalse(document.isRedoAvailable());
+	}
+
+	private static BodyTube findBodyTube(Rocket rocket) {
+		for (RocketComponent c : rocket) {
+			if (c instanceof BodyTube) {
+				return (BodyTube) c;
+			}
+		}
+		throw new AssertionError("No body tube");
+	}
+}
@@ -0,0 +1,155 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.BatchSimulationRunner.SimulationTask;
+import info.openrocket.core.simulation.BatchSimulationRunner.State;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class BatchSimulationRunnerTest extends BaseTestCase {
+
+	private static Simulation createSimulation() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		return sim;
+	}
+
+	@Test
+	public void testRunAll() throws InterruptedException {
+		List<Simulation> simulations = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			simulations.add(createSimulation());
+		}
+
+		AtomicInteger started = new AtomicInteger();
+		AtomicInteger done = new AtomicInteger();
+		BatchSimulationListener listener = new BatchSimulationListener() {
+			@Override
+			public void simulationStarted(Simulation simulation) {
+				started.incrementAndGet();
+			}
+
+			@Override
+			public void simulationDone(Simulation simulation, FlightData data) {
+				assertNotNull(data);
+				done.incrementAndGet();
+			}
+		};
+
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(2)) {
+			List<SimulationTask> tasks = runner.runAll(simulations, listener);
+
+			assertEquals(4, tasks.size());
+			for (int i = 0; i < tasks.size(); i++) {
+				SimulationTask task = tasks.get(i);
+				assertEquals(simulations.get(i), task.getSimulation());
+				assertEquals(State.DONE, task.getState());
+				assertNull(task.getThrowable());
+				assertTrue(task.getFlightData().getMaxAltitude() > 100);
+			}
+		}
+		assertEquals(4, started.get());
+		assertEquals(4, done.get());
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger startCount = new AtomicInteger();
+		AtomicInteger cancelCount = new AtomicInteger();
+
+		BatchSimulationListener listener = new BatchSimulationListener() {
+			@Override
+			public void simulationStarted(Simulation simulation) {
+				startCount.incrementAndGet();
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public void simulationCancelled(Simulation simulation) {
+				cancelCount.incrementAndGet();
+			}
+		};
+
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(1)) {
+			SimulationTask running = runner.submit(createSimulation(), listener);
+			SimulationTask queued = runner.submit(createSimulation(), listener);
+
+			// Cancel one task while it is running and one that is still queued
+			started.await();
+			running.cancel();
+			queued.cancel();
+			release.countDown();
+
+			running.await();
+			queued.await();
+
+			assertEquals(State.CANCELLED, running.getState());
+			assertNull(running.getFlightData());
+			assertEquals(State.CANCELLED, queued.getState());
+		}
+		assertEquals(1, startCount.get());
+		assertEquals(2, cancelCount.get());
+	}
+
+	@Test
+	public void testClose() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch cancelled = new CountDownLatch(3);
+
+		BatchSimulationListener listener = new BatchSimulationListener() {
+			@Override
+			public void simulationStarted(Simulation simulation) {
+				started.countDown();
+				try {
+					// Interrupted by close()
+					new CountDownLatch(1).await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+
+			@Override
+			public void simulationCancelled(Simulation simulation) {
+				cancelled.countDown();
+			}
+		};
+
+		BatchSimulationRunner runner = new BatchSimulationRunner(1);
+		SimulationTask running = runner.submit(createSimulation(), listener);
+		SimulationTask queued1 = runner.submit(createSimulation(), listener);
+		SimulationTask queued2 = runner.submit(createSimulation(), listener);
+		started.await();
+		runner.close();
+
+		// The queued simulations are reported as cancelled without being started
+		assertEquals(State.CANCELLED, queued1.getState());
+		assertEquals(State.CANCELLED, queued2.getState());
+		assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+		assertEquals(State.CANCELLED, running.getState());
+		assertNull(running.getFlightData());
+	}
+}
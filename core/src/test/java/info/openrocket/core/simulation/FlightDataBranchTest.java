@@ -0,0 +1,107 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the column storage of FlightDataBranch.
+ */
+public class FlightDataBranchTest {
+
+	@Test
+	public void testAddPointsAndValues() {
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+
+		// Enough points to force the columns to grow several times
+		for (int i = 0; i < 100; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i * 0.1);
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, 50 - Math.abs(50 - i));
+		}
+
+		assertEquals(100, branch.getLength());
+		assertEquals(9.9, branch.getLast(FlightDataType.TYPE_TIME), 1e-12);
+		assertEquals(50, branch.getMaximum(FlightDataType.TYPE_ALTITUDE), 0);
+		assertEquals(0, branch.getMinimum(FlightDataType.TYPE_ALTITUDE), 0);
+		assertEquals(25, branch.getValue(FlightDataType.TYPE_ALTITUDE, 25), 0);
+		assertEquals(25, branch.getByIndex(FlightDataType.TYPE_ALTITUDE, 25), 0);
+
+		List<Double> list = branch.get(FlightDataType.TYPE_ALTITUDE);
+		double[] array = branch.getValues(FlightDataType.TYPE_ALTITUDE);
+		assertEquals(100, list.size());
+		assertEquals(100, array.length);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(list.get(i), array[i], 0);
+		}
+
+		double[] range = new double[3];
+		assertTrue(branch.copyValues(FlightDataType.TYPE_TIME, 10, 13, range, 0));
+		assertArrayEquals(new double[] { 1.0, 1.1, 1.2 }, range, 1e-12);
+		assertFalse(branch.copyValues(FlightDataType.TYPE_MACH_NUMBER, 10, 13, range, 0));
+		assertThrows(IndexOutOfBoundsException.class,
+				() -> branch.copyValues(FlightDataType.TYPE_TIME, 98, 101, range, 0));
+	}
+
+	@Test
+	public void testNewTypeIsBackfilledWithNaN() {
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME);
+		for (int i = 0; i < 20; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i);
+		}
+		assertNull(branch.get(FlightDataType.TYPE_VELOCITY_Z));
+		assertTrue(Double.isNaN(branch.getValue(FlightDataType.TYPE_VELOCITY_Z, 0)));
+
+		branch.setValue(FlightDataType.TYPE_VELOCITY_Z, 3.0);
+		branch.addPoint();
+
+		double[] velocity = branch.getValues(FlightDataType.TYPE_VELOCITY_Z);
+		assertEquals(21, velocity.length);
+		for (int i = 0; i < 19; i++) {
+			assertTrue(Double.isNaN(velocity[i]));
+		}
+		assertEquals(3.0, velocity[19], 0);
+		assertTrue(Double.isNaN(velocity[20]));
+		assertTrue(Double.isNaN(branch.getLast(FlightDataType.TYPE_TIME)));
+	}
+
+	@Test
+	public void testCloneIsIndependent() {
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME);
+		branch.addPoint();
+		branch.setValue(FlightDataType.TYPE_TIME, 1.0);
+
+		FlightDataBranch clone = branch.clone();
+		assertEquals(branch.getModID(), clone.getModID());
+
+		clone.addPoint();
+		clone.setValue(FlightDataType.TYPE_TIME, 2.0);
+
+		assertEquals(1, branch.getLength());
+		assertEquals(1.0, branch.getLast(FlightDataType.TYPE_TIME), 0);
+		assertEquals(1.0, branch.getMaximum(FlightDataType.TYPE_TIME), 0);
+		assertEquals(2, clone.getLength());
+		assertEquals(2.0, clone.getMaximum(FlightDataType.TYPE_TIME), 0);
+	}
+
+	@Test
+	public void testModIDChangesOnModification() {
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME);
+		branch.addPoint();
+		branch.setValue(FlightDataType.TYPE_TIME, 1.0);
+
+		Object modID = branch.getModID();
+		assertEquals(modID, branch.getModID());
+
+		branch.setValue(FlightDataType.TYPE_TIME, 2.0);
+		assertFalse(modID.equals(branch.getModID()));
+	}
+}
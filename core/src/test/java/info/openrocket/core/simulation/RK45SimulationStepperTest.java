@@ -0,0 +1,91 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.MotorMount;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class RK45SimulationStepperTest extends BaseTestCase {
+
+	@Test
+	public void testStepperSelection() {
+		SimulationOptions options = new SimulationOptions();
+		assertEquals(SimulationStepperType.RK4, options.toSimulationConditions().getStepperType());
+
+		options.setStepperType(SimulationStepperType.RK45);
+		options.setIntegrationTolerance(1e-5);
+		SimulationConditions conditions = options.toSimulationConditions();
+		assertEquals(SimulationStepperType.RK45, conditions.getStepperType());
+		assertEquals(1e-5, conditions.getIntegrationTolerance(), 0);
+
+		options.setIntegrationTolerance(1);
+		assertEquals(RK45SimulationStepper.MAX_TOLERANCE, options.getIntegrationTolerance(), 0);
+		assertEquals(SimulationStepperType.RK45, SimulationStepperType.fromString("rk45"));
+	}
+
+	/**
+	 * Fly the Alpha III without deploying the recovery device, so that the flight stepper is used
+	 * for the coast to apogee and the ballistic descent, and compare against a small RK4 step.
+	 */
+	@Test
+	public void testCoastAccuracy() throws Exception {
+		FlightData reference = simulate(SimulationStepperType.RK4, 0.01);
+		FlightData rk4 = simulate(SimulationStepperType.RK4, 0.05);
+		FlightData rk45 = simulate(SimulationStepperType.RK45, 0.05);
+
+		assertEquals(reference.getMaxAltitude(), rk45.getMaxAltitude(), 0.05);
+		assertEquals(reference.getTimeToApogee(), rk45.getTimeToApogee(), 0.01);
+		assertEquals(reference.getMaxVelocity(), rk45.getMaxVelocity(), 0.05);
+
+		int rk4Steps = countCoastSteps(rk4);
+		int rk45Steps = countCoastSteps(rk45);
+		assertTrue(rk45Steps < rk4Steps * 0.6, "RK45 took " + rk45Steps + " coast steps, RK4 " + rk4Steps);
+	}
+
+	/**
+	 * Return the number of steps from burnout to apogee.
+	 */
+	private static int countCoastSteps(FlightData data) {
+		FlightDataBranch branch = data.getBranch(0);
+		double burnout = Double.NaN;
+		for (FlightEvent event : branch.getEvents()) {
+			if (event.getType() == FlightEvent.Type.BURNOUT) {
+				burnout = event.getTime();
+			}
+		}
+		int steps = 0;
+		for (double time : branch.get(FlightDataType.TYPE_TIME)) {
+			if (time > burnout && time <= data.getTimeToApogee()) {
+				steps++;
+			}
+		}
+		return steps;
+	}
+
+	private static FlightData simulate(SimulationStepperType stepperType, double timeStep) throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		for (RocketComponent component : rocket) {
+			if (component instanceof MotorMount mount && mount.isMotorMount()) {
+				mount.getMotorConfig(TestRockets.TEST_FCID_0).setEjectionDelay(1000);
+			}
+		}
+
+		Simulation simulation = new Simulation(rocket);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(timeStep);
+		simulation.getOptions().getAverageWindModel().setAverage(0.1);
+		simulation.getOptions().getAverageWindModel().setStandardDeviation(0.02);
+		simulation.getOptions().setRandomSeed(42);
+		simulation.getOptions().setStepperType(stepperType);
+		simulation.simulate();
+		return simulation.getSimulatedData();
+	}
+}
@@ -1,8 +1,18 @@
 package info.openrocket.core.simulation.customexpression;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.ArrayUtils;
 import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.LinearInterpolator;
+import info.openrocket.core.util.TestRockets;
 
 import org.junit.jupiter.api.Test;
 
@@ -21,4 +31,60 @@ public class TestExpressions extends BaseTestCase {
 		// System.out.println(exp.getExpressionString());
 
 	}
+
+	/**
+	 * Test the values of plain, indexed and range expressions computed during a simulation.
+	 */
+	@Test
+	public void testSimulationValues() throws SimulationException {
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createDocumentFromRocket(TestRockets.makeEstesAlphaIII());
+		CustomExpression twice = new CustomExpression(doc, "Twice altitude", "hh", "m", "2*h + 0*Vz");
+		CustomExpression indexed = new CustomExpression(doc, "Altitude at one", "h1", "m", "h[0.5+0.5]");
+		CustomExpression range = new CustomExpression(doc, "Maximum altitude", "hmax", "m", "max(h[0:t])");
+		CustomExpression mean = new CustomExpression(doc, "Mean altitude", "hmean", "m", "mean(h[0:t])");
+		CustomExpression rms = new CustomExpression(doc, "RMS altitude", "hrms", "m", "rms(h[0:t])");
+		doc.addCustomExpression(twice);
+		doc.addCustomExpression(indexed);
+		doc.addCustomExpression(range);
+		doc.addCustomExpression(mean);
+		doc.addCustomExpression(rms);
+
+		Simulation sim = new Simulation(doc, doc.getRocket());
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.simulate(new CustomExpressionSimulationListener(doc.getCustomExpressions()));
+
+		FlightDataBranch branch = sim.getSimulatedData().getBranch(0);
+		double[] time = branch.getValues(FlightDataType.TYPE_TIME);
+		double[] altitude = branch.getValues(FlightDataType.TYPE_ALTITUDE);
+		double[] hh = branch.getValues(twice.getType());
+		double[] h1 = branch.getValues(indexed.getType());
+		double[] hmax = branch.getValues(range.getType());
+		double[] hmean = branch.getValues(mean.getType());
+		double[] hrms = branch.getValues(rms.getType());
+		assertTrue(time.length > 50);
+
+		LinearInterpolator interpolator = new LinearInterpolator(time, altitude);
+		double altitudeAtOne = interpolator.getValue(1.0);
+		// The first point is stored before the first step
+		for (int i = 1; i < time.length; i++) {
+			assertEquals(2 * altitude[i], hh[i], 1e-9);
+			if (time[i] > 1.0 + 0.1) {
+				assertEquals(altitudeAtOne, h1[i], 1e-9);
+			}
+
+			// The aggregates of the altitude sampled with the time step up to the current time
+			int count = (int) Math.floor(time[i] / 0.05) + 1;
+			double[] samples = new double[count];
+			double t = 0;
+			for (int j = 0; j < count; j++) {
+				samples[j] = interpolator.getValue(t);
+				t = t + 0.05;
+			}
+			assertEquals(ArrayUtils.max(samples), hmax[i], 1e-9, "time " + time[i]);
+			assertEquals(ArrayUtils.mean(samples), hmean[i], 1e-9, "time " + time[i]);
+			assertEquals(ArrayUtils.rms(samples), hrms[i], 1e-9, "time " + time[i]);
+		}
+	}
 }
@@ -0,0 +1,156 @@
+package info.openrocket.core.simulation.montecarlo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.masscalc.MassCalculator;
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.BatchSimulationRunner;
+import info.openrocket.core.simulation.montecarlo.MonteCarloRun.Quantity;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class MonteCarloSimulationTest extends BaseTestCase {
+	private static final double EPSILON = 1e-9;
+
+	@Test
+	public void testReproducibleResults() throws Exception {
+		Simulation simulation = createSimulation();
+		DispersionParameters parameters = new DispersionParameters();
+		parameters.setWindSpeed(Distribution.uniform(0, 0.1));
+		parameters.setWindDirection(Distribution.uniform(-Math.PI, Math.PI));
+		parameters.setLaunchRodAngle(Distribution.normal(0, Math.toRadians(2)));
+		parameters.setThrustScale(Distribution.normal(1, 0.03));
+		parameters.setMassScale(Distribution.normal(1, 0.05));
+
+		MonteCarloResult single;
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(1)) {
+			single = new MonteCarloSimulation(simulation, parameters, 6).run(runner, null);
+		}
+		MonteCarloResult parallel;
+		AtomicInteger completed = new AtomicInteger();
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(3)) {
+			parallel = new MonteCarloSimulation(simulation, parameters, 6).run(runner,
+					(run, result) -> completed.incrementAndGet());
+		}
+
+		assertEquals(6, completed.get());
+		assertEquals(6, parallel.getSuccessfulCount());
+		for (Quantity q : Quantity.values()) {
+			assertArrayEquals(single.getValues(q), parallel.getValues(q), q.name());
+		}
+
+		RunningStatistics apogee = parallel.getStatistics(Quantity.APOGEE);
+		assertEquals(6, apogee.getCount());
+		assertTrue(apogee.getMin() > 50);
+		assertTrue(apogee.getStandardDeviation() > 0);
+		assertTrue(parallel.getStatistics(Quantity.LANDING_DISTANCE).getMean() > 0);
+		assertEquals(6, parallel.getHistogram(Quantity.APOGEE, 4).getTotal());
+	}
+
+	@Test
+	public void testRunnerClosed() throws Exception {
+		MonteCarloSimulation monteCarlo = new MonteCarloSimulation(createSimulation(), new DispersionParameters(), 50);
+		CountDownLatch completed = new CountDownLatch(1);
+		BatchSimulationRunner runner = new BatchSimulationRunner(2);
+		FutureTask<MonteCarloResult> task = new FutureTask<>(() -> monteCarlo.run(runner, (run, result) -> completed.countDown()));
+		new Thread(task).start();
+
+		// Closing the runner during the runs ends the Monte Carlo simulation
+		completed.await();
+		runner.close();
+		MonteCarloResult result = task.get(30, TimeUnit.SECONDS);
+		assertTrue(monteCarlo.isCancelled());
+		assertTrue(result.getSuccessfulCount() < 50, "Successful runs " + result.getSuccessfulCount());
+	}
+
+	@Test
+	public void testIndependentParameters() {
+		DispersionParameters parameters = new DispersionParameters();
+		parameters.setWindSpeed(Distribution.normal(0, 1));
+		DispersionSample windOnly = parameters.sample(42, 0);
+		parameters.setThrustScale(Distribution.normal(1, 0.1));
+		DispersionSample both = parameters.sample(42, 0);
+
+		assertEquals(windOnly.getWindSpeedOffset(), both.getWindSpeedOffset(), 0);
+		assertEquals(1, windOnly.getThrustScale(), 0);
+		assertNotEquals(1, both.getThrustScale());
+		assertNotEquals(windOnly.getWindSpeedOffset(), parameters.sample(43, 0).getWindSpeedOffset());
+	}
+
+	@Test
+	public void testDisperseMass() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getFlightConfiguration(TestRockets.TEST_FCID_0);
+		RigidBody nominal = MassCalculator.calculateStructure(config);
+
+		Rocket copy = rocket.copyWithOriginalID();
+		DispersionListener.disperseMass(copy, 1.5, 0.01);
+		RigidBody dispersed = MassCalculator.calculateStructure(config.clone(copy));
+
+		assertEquals(nominal.getMass() * 1.5, dispersed.getMass(), EPSILON);
+		assertEquals(nominal.getCenterOfMass().x + 0.01, dispersed.getCenterOfMass().x, EPSILON);
+		assertEquals(nominal.getMass(), MassCalculator.calculateStructure(config).getMass(), 0);
+	}
+
+	@Test
+	public void testThrustScale() throws Exception {
+		Simulation simulation = createSimulation();
+		DispersionParameters parameters = new DispersionParameters();
+		parameters.setThrustScale(Distribution.constant(1.2));
+
+		MonteCarloResult result;
+		try (BatchSimulationRunner runner = new BatchSimulationRunner(1)) {
+			result = new MonteCarloSimulation(simulation, parameters, 1).run(runner, null);
+		}
+		simulation.simulate();
+		assertTrue(result.getValues(Quantity.APOGEE)[0] > simulation.getSimulatedData().getMaxAltitude());
+	}
+
+	@Test
+	public void testHistogram() {
+		Histogram histogram = new Histogram(0, 10, 5);
+		for (double value : new double[] { -1, 0, 1.9, 2, 9.99, 10, 15, Double.NaN }) {
+			histogram.add(value);
+		}
+		assertEquals(7, histogram.getTotal());
+		assertEquals(3, histogram.getCount(0));
+		assertEquals(1, histogram.getCount(1));
+		assertEquals(3, histogram.getCount(4));
+		assertEquals(4, histogram.getBinStart(2), 0);
+		assertEquals(6, histogram.getBinEnd(2), 0);
+
+		RunningStatistics statistics = new RunningStatistics();
+		for (double value : new double[] { 1, 2, 3, 4, Double.NaN }) {
+			statistics.add(value);
+		}
+		assertEquals(4, statistics.getCount());
+		assertEquals(2.5, statistics.getMean(), EPSILON);
+		assertEquals(5.0 / 3, statistics.getVariance(), EPSILON);
+		assertEquals(1, statistics.getMin(), 0);
+		assertEquals(4, statistics.getMax(), 0);
+	}
+
+	private static Simulation createSimulation() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation simulation = new Simulation(rocket);
+		simulation.getOptions().setISAAtmosphere(true);
+		simulation.getOptions().setTimeStep(0.05);
+		simulation.getOptions().getAverageWindModel().setAverage(0.1);
+		simulation.getOptions().getAverageWindModel().setStandardDeviation(0.02);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		return simulation;
+	}
+}
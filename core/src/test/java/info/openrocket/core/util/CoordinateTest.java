@@ -143,6 +143,15 @@ public class CoordinateTest {
 		assertCoordinateEquals(new Coordinate(5, 5, 5, 5), x.interpolate(y, 0.5));
 	}
 
+	@Test
+	public void testAddScaled() {
+		Coordinate x = new Coordinate(1, 2, 4, 1);
+		Coordinate y = new Coordinate(3, 5, 9, 2);
+
+		assertCoordinateEquals(x.add(y.multiply(0.3)), x.addScaled(y, 0.3));
+		assertCoordinateEquals(new Coordinate(7, 12, 22, 5), x.addScaled(y, 2));
+	}
+
 	private void assertCoordinateEquals(Coordinate expected, Coordinate actual) {
 		assertEquals(expected.x, actual.x, EPS);
 		assertEquals(expected.y, actual.y, EPS);
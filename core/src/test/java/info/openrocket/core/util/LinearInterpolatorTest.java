@@ -1,6 +1,9 @@
 package info.openrocket.core.util;
 
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 
 public class LinearInterpolatorTest {
@@ -28,4 +31,70 @@ public class LinearInterpolatorTest {
 		}
 
 	}
+
+	@Test
+	public void testUnorderedPoints() {
+		LinearInterpolator interpolator = new LinearInterpolator();
+		assertThrows(IllegalStateException.class, () -> interpolator.getValue(0));
+
+		interpolator.addPoint(4, 2);
+		interpolator.addPoint(1, 0);
+		interpolator.addPoint(2, 5);
+		interpolator.addPoint(1.5, 1);
+		interpolator.addPoint(5, 2);
+		// Replaces the previous value
+		interpolator.addPoint(2, 0);
+
+		assertArrayEquals(new double[] { 1, 1.5, 2, 4, 5 }, interpolator.getXPoints());
+		assertEquals(0.6, interpolator.getValue(1.3), 1e-12);
+		assertEquals(0.0, interpolator.getValue(2), 0);
+		assertEquals(1.0, interpolator.getValue(3), 1e-12);
+
+		LinearInterpolator copy = interpolator.clone();
+		copy.addPoint(3, 10);
+		assertEquals(1.0, interpolator.getValue(3), 1e-12);
+		assertEquals(10.0, copy.getValue(3), 0);
+	}
+
+	@Test
+	public void testCursor() {
+		Random random = new Random(4321);
+		double[] x = new double[1000];
+		double[] y = new double[x.length];
+		for (int i = 1; i < x.length; i++) {
+			x[i] = x[i - 1] + random.nextDouble();
+			y[i] = random.nextGaussian();
+		}
+		LinearInterpolator interpolator = new LinearInterpolator(x, y);
+
+		// Increasing lookups with small and large steps, repeats and exact points
+		double[] lookups = new double[2000];
+		lookups[0] = -10;
+		for (int i = 1; i < lookups.length; i++) {
+			switch (random.nextInt(4)) {
+			case 0:
+				lookups[i] = lookups[i - 1];
+				break;
+			case 1:
+				lookups[i] = x[random.nextInt(x.length)];
+				break;
+			default:
+				lookups[i] = lookups[i - 1] + random.nextDouble() * ((i % 100 == 0) ? 100 : 1);
+			}
+		}
+		lookups[lookups.length - 1] = x[x.length - 1] + 10;
+
+		double[] values = new double[lookups.length];
+		interpolator.getValues(lookups, values);
+		for (int i = 0; i < lookups.length; i++) {
+			assertEquals(interpolator.getValue(lookups[i]), values[i], 0, "x = " + lookups[i]);
+		}
+
+		LinearInterpolator.Cursor cursor = interpolator.cursor();
+		assertEquals(y[500], cursor.getValue(x[500]), 0);
+		assertEquals(y[100], cursor.getValue(x[100]), 0);
+		assertEquals(interpolator.getValue(x[900] + 0.1), cursor.getValue(x[900] + 0.1), 0);
+		assertEquals(y[y.length - 1], cursor.getValue(Double.NaN), 0);
+		assertEquals(y[0], cursor.getValue(-1), 0);
+	}
 }
@@ -43,4 +43,21 @@ public class QuaternionTest {
 
 	}
 
+	@Test
+	public void testMultiplyLeftRotation() {
+		Quaternion q = new Quaternion(0.237188, 0.570190, -0.514542, 0.594872);
+		Coordinate[] rotations = { new Coordinate(0.1, -0.3, 0.02), new Coordinate(1e-9, 0, 0), Coordinate.NUL };
+
+		for (Coordinate rot : rotations) {
+			Quaternion expected = q.multiplyLeft(Quaternion.rotation(rot.multiply(0.025)));
+			Quaternion actual = q.multiplyLeftRotation(rot, 0.025);
+
+			// Must be bit-identical to the composed operations
+			assertEquals(expected.getW(), actual.getW(), 0);
+			assertEquals(expected.getX(), actual.getX(), 0);
+			assertEquals(expected.getY(), actual.getY(), 0);
+			assertEquals(expected.getZ(), actual.getZ(), 0);
+		}
+	}
+
 }
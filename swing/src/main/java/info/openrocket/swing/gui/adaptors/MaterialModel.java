@@ -2,6 +2,7 @@ package info.openrocket.swing.gui.adaptors;
 
 
 import java.awt.Component;
+import java.util.Collection;
 
 import javax.swing.AbstractListModel;
 import javax.swing.ComboBoxModel;
@@ -158,6 +159,11 @@ public class MaterialModel extends AbstractListModel<Material> implements
 		this.fireContentsChanged(this, 0, applicationDatabase.size() + documentDatabase.size());
 	}
 
+	@Override
+	public void elementsAdded(Collection<Material> elements, Database<Material> source) {
+		this.fireContentsChanged(this, 0, applicationDatabase.size() + documentDatabase.size());
+	}
+
 	@Override
 	public void elementRemoved(Material element, Database<Material> source) {
 		this.fireContentsChanged(this, 0, applicationDatabase.size() + documentDatabase.size());
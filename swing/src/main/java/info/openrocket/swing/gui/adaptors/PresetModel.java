@@ -1,6 +1,7 @@
 package info.openrocket.swing.gui.adaptors;
 
 import java.awt.Component;
+import java.util.Collection;
 import java.util.List;
 
 import javax.swing.AbstractListModel;
@@ -100,6 +101,12 @@ public class PresetModel extends AbstractListModel
 		presets = Application.getComponentPresetDao().listForType(component.getPresetType(), true);
 		this.fireContentsChanged(this, 0, getSize());
 	}
+
+	@Override
+	public void elementsAdded(Collection<ComponentPreset> elements, Database<ComponentPreset> source) {
+		presets = Application.getComponentPresetDao().listForType(component.getPresetType(), true);
+		this.fireContentsChanged(this, 0, getSize());
+	}
 	
 	@Override
 	public void elementRemoved(ComponentPreset element, Database<ComponentPreset> source) {
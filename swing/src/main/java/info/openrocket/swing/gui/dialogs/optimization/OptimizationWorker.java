@@ -1,5 +1,7 @@
 package info.openrocket.swing.gui.dialogs.optimization;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -9,12 +11,12 @@ import javax.swing.SwingUtilities;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import info.openrocket.core.arch.SystemInfo;
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.optimization.general.FunctionOptimizer;
 import info.openrocket.core.optimization.general.OptimizationController;
 import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.optimization.general.ParallelExecutorCache;
-import info.openrocket.core.optimization.general.ParallelFunctionCache;
 import info.openrocket.core.optimization.general.Point;
 import info.openrocket.core.optimization.general.multidim.MultidirectionalSearchOptimizer;
 import info.openrocket.core.optimization.general.onedim.GoldenSectionSearchOptimizer;
@@ -24,6 +26,9 @@ import info.openrocket.core.optimization.rocketoptimization.RocketOptimizationFu
 import info.openrocket.core.optimization.rocketoptimization.RocketOptimizationListener;
 import info.openrocket.core.optimization.rocketoptimization.SimulationDomain;
 import info.openrocket.core.optimization.rocketoptimization.SimulationModifier;
+import info.openrocket.core.optimization.rocketoptimization.StoredEvaluations;
+import info.openrocket.core.simulation.BatchSimulationRunner;
+import info.openrocket.core.startup.Application;
 import info.openrocket.core.unit.Value;
 import info.openrocket.core.util.BugException;
 
@@ -53,6 +58,8 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 	private static final long PURGE_TIMEOUT = 500;
 	/** End optimization when step size is below this threshold */
 	private static final double STEP_SIZE_LIMIT = 0.005;
+	/** The maximum number of designs whose evaluations are stored */
+	private static final int MAX_STORED_DESIGNS = 50;
 	
 	private final FunctionOptimizer optimizer;
 	private final RocketOptimizationFunction function;
@@ -60,7 +67,10 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 	private final Simulation simulation;
 	private final SimulationModifier[] modifiers;
 	
-	private final ParallelFunctionCache cache;
+	private final BatchSimulationRunner runner;
+	private final ParallelExecutorCache cache;
+	/** The evaluations stored for reuse, or null if they are not stored */
+	private final StoredEvaluations storedEvaluations;
 
 	private final LinkedBlockingQueue<FunctionEvaluationData> evaluationQueue = new LinkedBlockingQueue<>();
 	private final LinkedBlockingQueue<OptimizationStepData> stepQueue = new LinkedBlockingQueue<>();
@@ -86,7 +96,14 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 		function = new RocketOptimizationFunction(simulation, parameter, goal, domain, modifiers);
 		function.addRocketOptimizationListener(this);
 		
-		cache = new ParallelExecutorCache(1);
+		if (Application.getPreferences().isStoreOptimizationEvaluations()) {
+			storedEvaluations = new StoredEvaluations(parameter, modifiers);
+		} else {
+			storedEvaluations = null;
+		}
+		
+		runner = new BatchSimulationRunner(1);
+		cache = new ParallelExecutorCache(runner.getExecutor());
 		cache.setFunction(function);
 		
 		if (modifiers.length == 1) {
@@ -99,8 +116,29 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 	
 	@Override
 	public void run() {
+		String cacheKey = null;
+		File cacheFile = null;
 		try {
 			
+			// Reuse the evaluations of earlier optimizations of the same design
+			if (storedEvaluations != null) {
+				try {
+					cacheKey = function.getCacheKey();
+					cacheFile = new File(getStorageDirectory(), cacheKey + StoredEvaluations.FILE_EXTENSION);
+					int count = storedEvaluations.load(cacheFile, cacheKey);
+					log.info("Loaded " + count + " stored function evaluations from " + cacheFile);
+				} catch (IOException | RuntimeException e) {
+					log.warn("Could not load stored function evaluations from " + cacheFile, e);
+				}
+				
+				// Report the reused evaluations like computed ones, so that their values are shown
+				for (StoredEvaluations.Evaluation evaluation : storedEvaluations.getEvaluations()) {
+					cache.setValue(evaluation.getPoint(), evaluation.getGoalValue());
+					evaluation.replay(this);
+				}
+				function.addRocketOptimizationListener(storedEvaluations);
+			}
+			
 			double[] current = new double[modifiers.length];
 			for (int i = 0; i < modifiers.length; i++) {
 				current[i] = modifiers[i].getCurrentScaledValue(simulation);
@@ -112,6 +150,18 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 		} catch (OptimizationException e) {
 			this.optimizationException = e;
 		} finally {
+			if (cacheFile != null) {
+				try {
+					storedEvaluations.save(cacheFile, cacheKey);
+					StoredEvaluations.prune(cacheFile.getParentFile(), MAX_STORED_DESIGNS);
+				} catch (IOException e) {
+					log.warn("Could not save stored function evaluations to " + cacheFile, e);
+				}
+			}
+			// Stop the evaluations and their threads, and release their simulation copies
+			cache.abortAll();
+			runner.close();
+			function.clearEvaluationContexts();
 			SwingUtilities.invokeLater(() -> {
 				lastPurge = System.currentTimeMillis() + 24L * 3600L * 1000L;
 				processQueue();
@@ -120,6 +170,13 @@ public abstract class OptimizationWorker extends Thread implements OptimizationC
 		}
 	}
 	
+	/**
+	 * Return the directory of the stored function evaluations.
+	 */
+	private static File getStorageDirectory() {
+		return new File(SystemInfo.getUserApplicationDirectory(), "OptimizationCache");
+	}
+	
 	/**
 	 * This method is called after the optimization has ended, either normally, when interrupted
 	 * or by throwing an exception.  This method is called on the EDT, like the done() method of SwingWorker.
@@ -390,6 +390,18 @@ public class GeneralPreferencesPanel extends PreferencesPanel {
 		});
 		this.add(openRecentOnStartupBox,"spanx, wrap");
 
+		//// Reuse the evaluations of earlier optimizations
+		final JCheckBox storeOptimizationBox = new JCheckBox(trans.get("pref.dlg.checkbox.StoreOptimizationEvaluations"));
+		storeOptimizationBox.setToolTipText(trans.get("pref.dlg.checkbox.StoreOptimizationEvaluations.ttip"));
+		storeOptimizationBox.setSelected(preferences.isStoreOptimizationEvaluations());
+		storeOptimizationBox.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				preferences.setStoreOptimizationEvaluations(storeOptimizationBox.isSelected());
+			}
+		});
+		this.add(storeOptimizationBox, "spanx, wrap");
+
 		//// Save RASAero Format warning dialog
 		final JCheckBox rasaeroWarningDialogBox = new JCheckBox(trans.get("pref.dlg.lbl.RASAeroWarning"));
 		rasaeroWarningDialogBox.setSelected(preferences.getShowRASAeroFormatWarning());
@@ -12,7 +12,11 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -58,6 +62,9 @@ public class ComponentPresetChooserDialog extends JDialog {
 	private static final Translator trans = Application.getTranslator();
 	
 	private final SwingPreferences preferences = (SwingPreferences) Application.getPreferences();
+
+	/** Filter text without regular expression metacharacters, which is looked up in the preset search index */
+	private static final Pattern PLAIN_TEXT = Pattern.compile("[^\\\\^$.|?*+()\\[\\]{}]*");
 	
 	private final RocketComponent component;
 	
@@ -380,8 +387,23 @@ public class ComponentPresetChooserDialog extends JDialog {
 		if (filterTextRegex != null) {
 			try {
 				// The "(?iu)" magic turns on case insensitivity with unicode chars
-				RowFilter<TableModel, Object> regexFilter = RowFilter.regexFilter("(?iu)" + filterTextRegex);
-				filters.add(regexFilter);
+				final RowFilter<TableModel, Object> regexFilter = RowFilter.regexFilter("(?iu)" + filterTextRegex);
+				if (!filterTextRegex.isEmpty() && PLAIN_TEXT.matcher(filterTextRegex).matches()) {
+					// Rows whose manufacturer, part number or description contain plain text are
+					// found with the preset search index, which ignores case as "(?iu)" does.
+					// Only the other rows need the text to be matched against every column.
+					final Set<ComponentPreset> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+					matches.addAll(Application.getComponentPresetDao().search(presetType, filterTextRegex));
+					filters.add(new RowFilter<TableModel, Object>() {
+						@Override
+						public boolean include(Entry<? extends TableModel, ? extends Object> entry) {
+							return matches.contains(presets.get((Integer) entry.getIdentifier())) ||
+									regexFilter.include(entry);
+						}
+					});
+				} else {
+					filters.add(regexFilter);
+				}
 			} catch (java.util.regex.PatternSyntaxException e) {
 			}
 		}
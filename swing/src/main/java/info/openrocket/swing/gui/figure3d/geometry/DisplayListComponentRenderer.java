@@ -1,54 +1,156 @@
 package info.openrocket.swing.gui.figure3d.geometry;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 import com.jogamp.opengl.GL2;
 import com.jogamp.opengl.GLAutoDrawable;
 
 import info.openrocket.swing.gui.figure3d.geometry.Geometry.Surface;
+import info.openrocket.core.rocketcomponent.BodyTube;
+import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.MassObject;
+import info.openrocket.core.rocketcomponent.RingComponent;
 import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.rocketcomponent.Transition;
+import info.openrocket.core.rocketcomponent.TubeFinSet;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.ModID;
 
+/**
+ * A component renderer that compiles the geometry of each component into display lists.
+ * <p>
+ * The lists are kept when the figure is updated and recompiled only for components that
+ * have changed, as told by the modification ID of the component and the dimensions it takes
+ * from the components around it.  Lists of components that were not rendered since the
+ * previous update, such as removed components, are deleted.
+ */
 public class DisplayListComponentRenderer extends ComponentRenderer {
-	private Map<Key, Integer> lists = new HashMap<>();
-	
+	private final Map<Key, CachedList> lists = new HashMap<>();
+	private final Set<Key> rendered = new HashSet<>();
+
+	@Override
+	public void init(GLAutoDrawable drawable) {
+		super.init(drawable);
+		// Lists of a previous context are not valid
+		lists.clear();
+		rendered.clear();
+	}
+
 	@Override
 	public void updateFigure(GLAutoDrawable drawable) {
 		super.updateFigure(drawable);
-		
+
+		// Nothing was drawn since the previous update, keep the lists for the next frame
+		if (rendered.isEmpty()) {
+			return;
+		}
+
 		GL2 gl = drawable.getGL().getGL2();
-		for (int i : lists.values()) {
-			gl.glDeleteLists(i, 1);
+		Iterator<Map.Entry<Key, CachedList>> iterator = lists.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Key, CachedList> entry = iterator.next();
+			if (!rendered.contains(entry.getKey())) {
+				gl.glDeleteLists(entry.getValue().list, 1);
+				iterator.remove();
+			}
 		}
-		lists.clear();
+		rendered.clear();
 	}
-	
+
 	@Override
 	protected void renderInstance(GL2 gl, RocketComponent c, Surface which) {
 		Key k = new Key(c, which);
-		if (lists.containsKey(k)) {
-			gl.glCallList(lists.get(k));
-		} else {
-			int list = gl.glGenLists(1);
-			gl.glNewList(list, GL2.GL_COMPILE_AND_EXECUTE);
-			super.renderInstance(gl, c, which);
-			gl.glEndList();
-			lists.put(k, list);
+		rendered.add(k);
+
+		ModID modID = c.getComponentModID();
+		double[] dimensions = getDerivedDimensions(c);
+		CachedList cached = lists.get(k);
+		if (cached != null && cached.modID == modID && Arrays.equals(cached.dimensions, dimensions)) {
+			gl.glCallList(cached.list);
+			return;
+		}
+
+		// Compiling into an existing list replaces its contents
+		int list = (cached != null) ? cached.list : gl.glGenLists(1);
+		gl.glNewList(list, GL2.GL_COMPILE_AND_EXECUTE);
+		super.renderInstance(gl, c, which);
+		gl.glEndList();
+		lists.put(k, new CachedList(list, modID, dimensions));
+	}
+
+	/**
+	 * Return the dimensions of a component that may be computed from other components,
+	 * which change without changing the modification ID of the component.
+	 */
+	private static double[] getDerivedDimensions(RocketComponent c) {
+		if (c instanceof BodyTube) {
+			BodyTube t = (BodyTube) c;
+			return new double[] { t.getOuterRadius(), t.getInnerRadius() };
+		} else if (c instanceof RingComponent) {
+			RingComponent r = (RingComponent) c;
+			return new double[] { r.getOuterRadius(), r.getInnerRadius() };
+		} else if (c instanceof Transition) {
+			Transition t = (Transition) c;
+			return new double[] { t.getForeRadius(), t.getAftRadius(),
+					t.getForeShoulderRadius(), t.getAftShoulderRadius() };
+		} else if (c instanceof MassObject) {
+			return new double[] { ((MassObject) c).getRadius() };
+		} else if (c instanceof FinSet) {
+			// The root of the fins and the tab follows the profile of the parent component
+			FinSet f = (FinSet) c;
+			Coordinate[] finPoints = f.getFinPointsWithLowResRoot();
+			Coordinate[] tabPoints = f.getTabPointsWithRootLowRes();
+			double[] dimensions = new double[1 + 2 * (finPoints.length + tabPoints.length)];
+			dimensions[0] = f.getBodyRadius();
+			int n = 1;
+			for (Coordinate[] points : new Coordinate[][] { finPoints, tabPoints }) {
+				for (Coordinate point : points) {
+					dimensions[n++] = point.x;
+					dimensions[n++] = point.y;
+				}
+			}
+			return dimensions;
+		} else if (c instanceof TubeFinSet) {
+			TubeFinSet t = (TubeFinSet) c;
+			return new double[] { t.getOuterRadius(), t.getInnerRadius(), t.getBodyRadius() };
+		}
+		return null;
+	}
+
+	private static class CachedList {
+		final int list;
+		final ModID modID;
+		final double[] dimensions;
+
+		CachedList(final int list, final ModID modID, final double[] dimensions) {
+			this.list = list;
+			this.modID = modID;
+			this.dimensions = dimensions;
 		}
 	}
-	
+
+	/**
+	 * The key of a list, holding the component ID so that the lists do not keep copies of
+	 * components replaced by undo alive.
+	 */
 	private static class Key {
-		final RocketComponent c;
-		
+		final UUID id;
+
 		@Override
 		public int hashCode() {
 			final int prime = 31;
 			int result = 1;
-			result = prime * result + ((c == null) ? 0 : c.hashCode());
+			result = prime * result + ((id == null) ? 0 : id.hashCode());
 			result = prime * result + ((which == null) ? 0 : which.hashCode());
 			return result;
 		}
-		
+
 		@Override
 		public boolean equals(Object obj) {
 			if (this == obj)
@@ -58,20 +160,20 @@ public class DisplayListComponentRenderer extends ComponentRenderer {
 			if (getClass() != obj.getClass())
 				return false;
 			Key other = (Key) obj;
-			if (c == null) {
-				if (other.c != null)
+			if (id == null) {
+				if (other.id != null)
 					return false;
-			} else if (!c.equals(other.c))
+			} else if (!id.equals(other.id))
 				return false;
 			if (which != other.which)
 				return false;
 			return true;
 		}
-		
+
 		final Surface which;
-		
+
 		Key(final RocketComponent c, final Surface which) {
-			this.c = c;
+			this.id = c.getID();
 			this.which = which;
 		}
 	}
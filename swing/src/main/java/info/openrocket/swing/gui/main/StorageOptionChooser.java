@@ -5,6 +5,7 @@ import java.awt.event.ActionListener;
 
 import javax.swing.BorderFactory;
 import javax.swing.ButtonGroup;
+import javax.swing.JCheckBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -33,6 +34,8 @@ public class StorageOptionChooser extends JPanel {
 	private JRadioButton someButton;
 	private JRadioButton noneButton;
 	
+	private JCheckBox binaryCheck;
+	
 	private JSpinner timeSpinner;
 
 	private JLabel infoLabel;
@@ -50,6 +53,7 @@ public class StorageOptionChooser extends JPanel {
 		ActionListener actionUpdater = new ActionListener() {
 			@Override
 			public void actionPerformed(ActionEvent e) {
+				updateBinaryCheck();
 				updateInfoLabel();
 			}
 		};
@@ -70,6 +74,13 @@ public class StorageOptionChooser extends JPanel {
 		buttonGroup.add(allButton);
 		allButton.addActionListener(actionUpdater);
 		this.add(allButton, "spanx, wrap rel");
+		
+		//// Store data in compact binary format
+		binaryCheck = new JCheckBox(trans.get("StorageOptChooser.checkbox.Binarydata"));
+		//// <html>Store the simulated data in a compact binary format that loads faster.<br>
+		//// Files saved this way cannot be opened with older versions of OpenRocket.
+		binaryCheck.setToolTipText(trans.get("StorageOptChooser.checkbox.Binarydata.ttip"));
+		this.add(binaryCheck, "gapleft para, spanx, wrap rel");
 				
 		//// Only summary data
 		noneButton = new JRadioButton(trans.get("StorageOptChooser.rdbut.Onlysummarydata"));
@@ -104,16 +115,23 @@ public class StorageOptionChooser extends JPanel {
 		} else {
 			noneButton.setSelected(true);
 		}
+		binaryCheck.setSelected(opts.isBinaryFlightData());
 		
+		updateBinaryCheck();
 		updateInfoLabel();
 	}
 	
 	
 	public void storeOptions(StorageOptions opts) {
 		opts.setSaveSimulationData(allButton.isSelected());
+		opts.setBinaryFlightData(binaryCheck.isSelected());
 		opts.setExplicitlySet(true);
 	}
 
+	private void updateBinaryCheck() {
+		binaryCheck.setEnabled(allButton.isSelected());
+	}
+
 	private void updateInfoLabel() {
 		if (allButton.isSelected()) {
 			infoLabel.setText(trans.get("StorageOptChooser.lbl.info1"));
@@ -53,6 +53,7 @@ import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -68,6 +69,12 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 
 	protected static final float PLOT_STROKE_WIDTH = 1.5f;
 
+	/**
+	 * The number of sections the visible part of each data series is reduced to, about the
+	 * width in pixels of a large plot.  See {@link PlotDownsampler}.
+	 */
+	protected static final int PLOT_RESOLUTION = 2000;
+
 	protected int branchCount;
 	protected final List<B> allBranches;
 	protected final List<ModifiedXYItemRenderer> renderers = new ArrayList<>();
@@ -77,6 +84,9 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 
 	protected final JFreeChart chart;
 
+	/** The domain range the data series were last reduced for */
+	private Range sampledDomainRange = null;
+
 	protected Plot(String plotName, B mainBranch, C config, List<B> allBranches, boolean initialShowPoints) {
 		this.branchCount = allBranches.size();
 		this.allBranches = allBranches;
@@ -208,7 +218,8 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 						MetadataXYSeries ser = (MetadataXYSeries) collection.getSeries(series);
 
 						// Determine the appropriate name based on the time and series
-						String name = getNameBasedOnIdxAndSeries(ser, item);
+						int dataIdx = ser.getDataIndex(item);
+						String name = getNameBasedOnIdxAndSeries(ser, dataIdx);
 
 						int dataTypeIdx = ser.getDataIdx();
 						DataType type = config.getType(dataTypeIdx);
@@ -217,7 +228,7 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 						double dataT = Double.NaN;
 						List<Double> time = allBranches.get(ser.getBranchIdx()).get((T)FlightDataType.TYPE_TIME);
 						if (null != time) {
-							dataT = time.get(item);
+							dataT = time.get(dataIdx);
 						}
 						String unitT = FlightDataType.TYPE_TIME.getUnitGroup().getDefaultUnit().toString();
 
@@ -278,6 +289,10 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 		plot.addDomainMarker(new ValueMarker(0));
 		plot.addRangeMarker(new ValueMarker(0));
 
+		// Resample the data series for the visible range when zooming or panning
+		plot.addChangeListener(event -> updateSampledRange());
+		updateSampledRange();
+
 		plot.getDomainAxis().setLabelFont(new Font("Dialog", Font.BOLD, 14));
 	}
 
@@ -306,15 +321,47 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 		List<Double> ploty = branch.get(type);
 
 		int pointCount = plotx.size();
+		double[] x = new double[pointCount];
+		double[] y = new double[pointCount];
 		for (int j = 0; j < pointCount; j++) {
-			double x = filledConfig.getDomainAxisUnit().toUnit(plotx.get(j));
-			double y = unit.toUnit(ploty.get(j));
-			series.add(x, y);
+			x[j] = filledConfig.getDomainAxisUnit().toUnit(plotx.get(j));
+			y[j] = unit.toUnit(ploty.get(j));
 		}
+		series.setData(x, y, getRetainedDataIndices(branch));
 
 		return Collections.singletonList(series);
 	}
 
+	/**
+	 * Return the indices of the data points of a branch that are always plotted, even when
+	 * the data is reduced to the plot resolution.  The default implementation returns none.
+	 *
+	 * @param branch	the data branch.
+	 * @return			the data indices in increasing order.
+	 */
+	protected int[] getRetainedDataIndices(B branch) {
+		return new int[0];
+	}
+
+	/**
+	 * Reduce the data series to the points visible in the current domain range, if the range
+	 * has changed.
+	 */
+	private void updateSampledRange() {
+		Range range = chart.getXYPlot().getDomainAxis().getRange();
+		if (range.equals(sampledDomainRange)) {
+			return;
+		}
+		sampledDomainRange = range;
+		for (XYSeriesCollection collection : data) {
+			for (Object series : collection.getSeries()) {
+				if (series instanceof MetadataXYSeries) {
+					((MetadataXYSeries) series).showRange(range.getLowerBound(), range.getUpperBound());
+				}
+			}
+		}
+	}
+
 	protected T postProcessType(T type) {
 		return type;
 	}
@@ -590,6 +637,13 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 		private final String branchName;
 		private String baseName;
 
+		// All data points, of which the points visible at the plot resolution are in the series
+		private double[] xData = null;
+		private double[] yData = null;
+		private int[] retainedIndices = null;
+		private boolean xSorted = false;
+		private int[] itemIndices = null;
+
 		public MetadataXYSeries(Comparable key, boolean autoSort, boolean allowDuplicateXValues, int branchIdx, int dataIdx, String unit,
 								String branchName, String baseName) {
 			super(key, autoSort, allowDuplicateXValues);
@@ -634,5 +688,58 @@ public abstract class Plot<T extends DataType, B extends DataBranch<T>, C extend
 			String description = branchName == null ? baseName : branchName + ": " + baseName;
 			setDescription(description);
 		}
+
+		/**
+		 * Set the data points of this series.  Instead of adding every point, the series holds
+		 * the points visible at the plot resolution, which are updated by {@link #showRange}.
+		 *
+		 * @param x			the x values.
+		 * @param y			the y values.
+		 * @param retained	the sorted indices of points that are always shown.
+		 */
+		public void setData(double[] x, double[] y, int[] retained) {
+			this.xData = x;
+			this.yData = y;
+			this.retainedIndices = retained;
+			this.xSorted = PlotDownsampler.isSorted(x);
+			showRange(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+		}
+
+		/**
+		 * Update the points of the series to those visible at the plot resolution when showing
+		 * an x range.  The whole data is sampled if the x values are not in order.
+		 */
+		public void showRange(double lower, double upper) {
+			if (xData == null) {
+				return;
+			}
+			int start = 0;
+			int end = xData.length;
+			if (xSorted) {
+				int[] visible = PlotDownsampler.getVisibleRange(xData, lower, upper);
+				start = visible[0];
+				end = visible[1];
+			}
+			int[] indices = PlotDownsampler.downsample(xData, yData, start, end, PLOT_RESOLUTION, retainedIndices);
+			if (Arrays.equals(indices, itemIndices)) {
+				return;
+			}
+			itemIndices = indices;
+
+			// Notify the listeners once
+			setNotify(false);
+			clear();
+			for (int i : indices) {
+				add(xData[i], yData[i], false);
+			}
+			setNotify(true);
+		}
+
+		/**
+		 * Return the index in the data of an item of the series.
+		 */
+		public int getDataIndex(int item) {
+			return (itemIndices == null) ? item : itemIndices[item];
+		}
 	}
 }
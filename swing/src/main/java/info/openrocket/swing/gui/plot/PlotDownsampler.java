@@ -0,0 +1,148 @@
+package info.openrocket.swing.gui.plot;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Reduces the points of a data series to those that are visible at the resolution of a plot.
+ * <p>
+ * The points are divided into consecutive sections, and of each section the first and last
+ * point, and the points with the minimum and maximum x and y values are kept.  Drawing these
+ * looks the same as drawing all the points when each section is at most a pixel wide, as the
+ * extremes of the line are preserved.  Points at the start and end of NaN gaps, and any points
+ * requested by the caller, such as those of flight events, are kept as well.
+ */
+final class PlotDownsampler {
+
+	/** The number of points kept of each section, at most */
+	private static final int POINTS_PER_SECTION = 6;
+
+	private PlotDownsampler() {
+	}
+
+	/**
+	 * Return the indices of the points to plot.
+	 *
+	 * @param x			the x values of the points.
+	 * @param y			the y values of the points.
+	 * @param start		the first point to plot.
+	 * @param end		the end of the points to plot, exclusive.
+	 * @param sections	the number of sections to divide the points into.
+	 * @param retained	sorted indices of points that must be kept, may include indices outside the range.
+	 * @return			the indices of the points to plot in increasing order.
+	 */
+	static int[] downsample(double[] x, double[] y, int start, int end, int sections, int[] retained) {
+		int count = end - start;
+		if (count <= sections * POINTS_PER_SECTION) {
+			int[] all = new int[Math.max(count, 0)];
+			for (int i = 0; i < all.length; i++) {
+				all[i] = start + i;
+			}
+			return all;
+		}
+
+		BitSet keep = new BitSet(end);
+		int sectionLength = (count + sections - 1) / sections;
+		for (int sectionStart = start; sectionStart < end; sectionStart += sectionLength) {
+			int sectionEnd = Math.min(sectionStart + sectionLength, end);
+			int minX = sectionStart, maxX = sectionStart, minY = -1, maxY = -1;
+			for (int i = sectionStart; i < sectionEnd; i++) {
+				if (x[i] < x[minX]) {
+					minX = i;
+				}
+				if (x[i] > x[maxX]) {
+					maxX = i;
+				}
+				if (Double.isNaN(y[i])) {
+					continue;
+				}
+				if (minY < 0 || y[i] < y[minY]) {
+					minY = i;
+				}
+				if (maxY < 0 || y[i] > y[maxY]) {
+					maxY = i;
+				}
+			}
+			keep.set(sectionStart);
+			keep.set(sectionEnd - 1);
+			keep.set(minX);
+			keep.set(maxX);
+			if (minY >= 0) {
+				keep.set(minY);
+				keep.set(maxY);
+			}
+		}
+
+		// Keep the ends of the gaps in the line
+		for (int i = start + 1; i < end; i++) {
+			if (Double.isNaN(y[i]) != Double.isNaN(y[i - 1])) {
+				keep.set(i - 1);
+				keep.set(i);
+			}
+		}
+
+		int from = Arrays.binarySearch(retained, start);
+		for (int i = (from < 0) ? -from - 1 : from; i < retained.length && retained[i] < end; i++) {
+			keep.set(retained[i]);
+		}
+
+		return keep.stream().toArray();
+	}
+
+	/**
+	 * Return whether the values are in non-decreasing order, which allows finding
+	 * the points within a range by binary search.
+	 */
+	static boolean isSorted(double[] values) {
+		for (int i = 1; i < values.length; i++) {
+			if (!(values[i - 1] <= values[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the range of points to plot to show the sorted values between two bounds, including
+	 * one point beyond each bound so that the line continues to the edge of the plot.
+	 *
+	 * @return	the start and the exclusive end of the range.
+	 */
+	static int[] getVisibleRange(double[] sortedValues, double lower, double upper) {
+		int start = lowerBound(sortedValues, lower);
+		int end = upperBound(sortedValues, upper);
+		return new int[] { Math.max(start - 1, 0), Math.min(end + 1, sortedValues.length) };
+	}
+
+	/**
+	 * Return the index of the first value not less than the key.
+	 */
+	private static int lowerBound(double[] values, double key) {
+		int low = 0, high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Return the index of the first value greater than the key.
+	 */
+	private static int upperBound(double[] values, double key) {
+		int low = 0, high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] <= key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Image;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.text.DecimalFormat;
 import java.util.HashSet;
@@ -11,6 +12,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.logging.SimulationAbort;
@@ -140,6 +142,35 @@ public class SimulationPlot extends Plot<FlightDataType, FlightDataBranch, Simul
 		}
 	}
 
+	/**
+	 * Keep the data points around each flight event, so that the plot shows the values at the
+	 * events when the data is reduced.
+	 */
+	@Override
+	protected int[] getRetainedDataIndices(FlightDataBranch branch) {
+		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
+		if (time == null) {
+			return new int[0];
+		}
+		Set<Integer> indices = new TreeSet<>();
+		for (FlightEvent event : branch.getEvents()) {
+			int idx = Collections.binarySearch(time, event.getTime());
+			if (idx >= 0) {
+				indices.add(idx);
+			} else {
+				// Points on both sides of the event
+				idx = -idx - 1;
+				if (idx > 0) {
+					indices.add(idx - 1);
+				}
+				if (idx < time.size()) {
+					indices.add(idx);
+				}
+			}
+		}
+		return indices.stream().mapToInt(Integer::intValue).toArray();
+	}
+
 	@Override
 	protected String getNameBasedOnIdxAndSeries(Plot.MetadataXYSeries ser, int dataIdx) {
 		int branchIdx = ser.getBranchIdx();
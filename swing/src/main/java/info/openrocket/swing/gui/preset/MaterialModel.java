@@ -13,6 +13,7 @@ import info.openrocket.swing.gui.dialogs.CustomMaterialDialog;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.SwingUtilities;
 import java.awt.Component;
+import java.util.Collection;
 
 /**
  * A material model specifically for presets.
@@ -125,6 +126,11 @@ public class MaterialModel extends DefaultComboBoxModel<Material> implements Dat
         this.fireContentsChanged(this, 0, database.size());
     }
 
+    @Override
+    public void elementsAdded(Collection<Material> elements, Database<Material> source) {
+        this.fireContentsChanged(this, 0, database.size());
+    }
+
     @Override
     public void elementRemoved(Material element, Database<Material> source) {
         this.fireContentsChanged(this, 0, database.size());
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Dialog.ModalityType;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.text.DecimalFormat;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -19,6 +20,7 @@ import javax.swing.JMenuItem;
 import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
+import javax.swing.AbstractSpinnerModel;
 import javax.swing.JSpinner;
 import javax.swing.MenuElement;
 import javax.swing.SwingUtilities;
@@ -27,7 +29,9 @@ import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.simulation.RK4SimulationStepper;
+import info.openrocket.core.simulation.RK45SimulationStepper;
 import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.SimulationStepperType;
 import info.openrocket.core.simulation.extension.SimulationExtension;
 import info.openrocket.core.simulation.extension.SimulationExtensionProvider;
 import info.openrocket.core.startup.Application;
@@ -57,6 +61,9 @@ class SimulationOptionsPanel extends JPanel {
 
 	private static final Translator trans = Application.getTranslator();
 	
+	/** Format of the integration tolerance, which spans several orders of magnitude */
+	private static final DecimalFormat TOLERANCE_FORMAT = new DecimalFormat("0.#E0");
+	
 	private OpenRocketDocument document;
 	final Simulation simulation;
 	
@@ -116,10 +123,45 @@ class SimulationOptionsPanel extends JPanel {
 		label.setToolTipText(tip);
 		subsub.add(label, "gapright para");
 		
-		label = new JLabel("6-DOF Runge-Kutta 4");
+		label = new JLabel("6-DOF");
 		label.setToolTipText(tip);
 		subsub.add(label, "growx, span 3, wrap");
 		
+		// // Integration method:
+		label = new JLabel(trans.get("simedtdlg.lbl.Integrationmethod"));
+		label.setToolTipText(trans.get("simedtdlg.lbl.ttip.Integrationmethod"));
+		subsub.add(label, "gapright para");
+		
+		EnumModel<SimulationStepperType> stepperModel = new EnumModel<>(conditions, "StepperType");
+		final JComboBox<SimulationStepperType> stepperCombo = new JComboBox<>(stepperModel);
+		subsub.add(stepperCombo, "span 3, wrap");
+		
+		// // Error tolerance:
+		label = new JLabel(trans.get("simedtdlg.lbl.Tolerance"));
+		tip = trans.get("simedtdlg.lbl.ttip.Tolerance") + " "
+				+ TOLERANCE_FORMAT.format(RK45SimulationStepper.RECOMMENDED_TOLERANCE) + ".";
+		label.setToolTipText(tip);
+		subsub.add(label, "gapright para");
+		
+		final JLabel toleranceLabel = label;
+		final JSpinner toleranceSpin = new JSpinner(new ToleranceSpinnerModel(conditions));
+		toleranceSpin.setEditor(new JSpinner.NumberEditor(toleranceSpin, TOLERANCE_FORMAT.toPattern()));
+		toleranceSpin.setToolTipText(tip);
+		subsub.add(toleranceSpin, "span 3, wrap para");
+		
+		// The tolerance is used only by the adaptive method
+		ActionListener stepperListener = new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				SimulationStepperType stepper = (SimulationStepperType) stepperCombo.getSelectedItem();
+				stepperCombo.setToolTipText(stepper.getDescription());
+				toleranceLabel.setEnabled(stepper == SimulationStepperType.RK45);
+				toleranceSpin.setEnabled(stepper == SimulationStepperType.RK45);
+			}
+		};
+		stepperCombo.addActionListener(stepperListener);
+		stepperListener.actionPerformed(null);
+		
 		// // Geodetic calculation method:
 		label = new JLabel(trans.get("simedtdlg.lbl.GeodeticMethod"));
 		label.setToolTipText(trans.get("simedtdlg.lbl.ttip.GeodeticMethodTip"));
@@ -186,6 +228,8 @@ class SimulationOptionsPanel extends JPanel {
 				conditions.setGeodeticComputation(preferences.getEnum(
 						ApplicationPreferences.GEODETIC_COMPUTATION,
 						GeodeticComputationStrategy.SPHERICAL));
+				conditions.setStepperType(SimulationStepperType.RK4);
+				conditions.setIntegrationTolerance(RK45SimulationStepper.RECOMMENDED_TOLERANCE);
 			}
 		});
 		
@@ -454,4 +498,47 @@ class SimulationOptionsPanel extends JPanel {
 		return null;
 	}
 	
+	/**
+	 * Spinner model of the integration tolerance of the simulation options.  The arrows
+	 * change the tolerance by a factor of ten.
+	 */
+	private static class ToleranceSpinnerModel extends AbstractSpinnerModel {
+		private final SimulationOptions conditions;
+		
+		public ToleranceSpinnerModel(SimulationOptions conditions) {
+			this.conditions = conditions;
+			conditions.addChangeListener(e -> fireStateChanged());
+		}
+		
+		@Override
+		public Object getValue() {
+			return conditions.getIntegrationTolerance();
+		}
+		
+		@Override
+		public void setValue(Object value) {
+			if (value instanceof Number) {
+				conditions.setIntegrationTolerance(((Number) value).doubleValue());
+			}
+		}
+		
+		@Override
+		public Object getNextValue() {
+			double tolerance = conditions.getIntegrationTolerance();
+			if (tolerance >= RK45SimulationStepper.MAX_TOLERANCE) {
+				return null;
+			}
+			return Math.min(tolerance * 10, RK45SimulationStepper.MAX_TOLERANCE);
+		}
+		
+		@Override
+		public Object getPreviousValue() {
+			double tolerance = conditions.getIntegrationTolerance();
+			if (tolerance <= RK45SimulationStepper.MIN_TOLERANCE) {
+				return null;
+			}
+			return Math.max(tolerance / 10, RK45SimulationStepper.MIN_TOLERANCE);
+		}
+	}
+	
 }
@@ -0,0 +1,79 @@
+package info.openrocket.swing.gui.plot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PlotDownsamplerTest {
+
+	@Test
+	public void testFewPoints() {
+		double[] x = { 0, 1, 2, 3 };
+		double[] y = { 5, 6, 7, 8 };
+		assertArrayEquals(new int[] { 1, 2 }, PlotDownsampler.downsample(x, y, 1, 3, 10, new int[0]));
+	}
+
+	@Test
+	public void testExtremesKept() {
+		Random random = new Random(1234);
+		int n = 100000;
+		double[] x = new double[n];
+		double[] y = new double[n];
+		for (int i = 1; i < n; i++) {
+			x[i] = x[i - 1] + random.nextDouble();
+			y[i] = y[i - 1] + random.nextGaussian();
+		}
+		for (int i = 40000; i < 40100; i++) {
+			y[i] = Double.NaN;
+		}
+		int[] retained = { 12345, 77777 };
+
+		int sections = 100;
+		int[] indices = PlotDownsampler.downsample(x, y, 0, n, sections, retained);
+		assertTrue(indices.length <= sections * 6 + 4 + retained.length);
+		for (int i = 1; i < indices.length; i++) {
+			assertTrue(indices[i - 1] < indices[i]);
+		}
+		assertEquals(0, indices[0]);
+		assertEquals(n - 1, indices[indices.length - 1]);
+		for (int i : new int[] { 39999, 40000, 40099, 40100, 12345, 77777, argMax(y), argMin(y) }) {
+			assertTrue(Arrays.binarySearch(indices, i) >= 0, "index " + i);
+		}
+	}
+
+	@Test
+	public void testVisibleRange() {
+		double[] x = { 0, 1, 2, 2, 3, 4, 5 };
+		assertTrue(PlotDownsampler.isSorted(x));
+		assertFalse(PlotDownsampler.isSorted(new double[] { 0, 2, 1 }));
+		assertArrayEquals(new int[] { 1, 6 }, PlotDownsampler.getVisibleRange(x, 1.5, 3));
+		assertArrayEquals(new int[] { 0, 7 }, PlotDownsampler.getVisibleRange(x, -1, 10));
+		assertArrayEquals(new int[] { 3, 5 }, PlotDownsampler.getVisibleRange(x, 2.5, 2.6));
+	}
+
+	private static int argMax(double[] values) {
+		int max = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] > values[max]) {
+				max = i;
+			}
+		}
+		return max;
+	}
+
+	private static int argMin(double[] values) {
+		int min = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] < values[min]) {
+				min = i;
+			}
+		}
+		return min;
+	}
+}